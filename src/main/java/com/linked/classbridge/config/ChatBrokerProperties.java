@@ -0,0 +1,38 @@
+package com.linked.classbridge.config;
+
+import com.linked.classbridge.type.BrokerMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.broker")
+public class ChatBrokerProperties {
+
+    private BrokerMode mode = BrokerMode.SIMPLE;
+
+    private Relay relay = new Relay();
+
+    private Kafka kafka = new Kafka();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+    }
+
+    @Getter
+    @Setter
+    public static class Kafka {
+        private String topic = "chat-broadcast";
+        private String groupIdPrefix = "chat-broadcast";
+    }
+}
@@ -0,0 +1,35 @@
+package com.linked.classbridge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.channel")
+public class ChatChannelProperties {
+
+    /**
+     * JDK 21 이상에서만 사용 가능. true 이면 inbound/outbound 작업을 가상 스레드에서 실행한다.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * inbound 메시지를 채팅방 단위로 직렬화하는 스트라이프 수
+     */
+    private int roomStripes = 64;
+
+    private Pool inbound = new Pool();
+
+    private Pool outbound = new Pool();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 8;   // 동시에 실행되는 스트라이프 수 상한
+        private int queueCapacity = 10000;                                          // 스트라이프 수로 나눈 값이 스트라이프별 대기 작업 상한
+    }
+}
@@ -1,5 +1,6 @@
 package com.linked.classbridge.config;
 
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -14,5 +15,29 @@ public class PayProperties {
     private String cid;     // 가맹점 코드
     private String readyUrl;
     private String approveUrl;
+    private String orderUrl;    // 결제 상태 조회
     private String cancelUrl;
+    private String redirectBaseUrl;  // 결제 완료/취소/실패 시 돌아올 이 서버의 주소
+    private Client client = new Client();
+
+    /**
+     * 카카오페이 API 호출용 WebClient 설정 (커넥션 풀, 타임아웃, 재시도, 서킷 브레이커)
+     */
+    @Getter
+    @Setter
+    public static class Client {
+        private int maxConnections = 50;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(3);  // 풀에서 커넥션을 기다리는 최대 시간
+        private Duration maxIdleTime = Duration.ofSeconds(20);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private int retryMaxAttempts = 2;                                // 5xx 응답 시 추가 시도 횟수
+        private Duration retryMinBackoff = Duration.ofMillis(200);
+        private Duration retryMaxBackoff = Duration.ofSeconds(1);
+        private double retryJitter = 0.5;
+        private int circuitWindowSize = 20;
+        private int circuitMinimumCalls = 10;
+        private float circuitFailureRate = 50;                           // 실패율(%)이 넘으면 차단
+        private Duration circuitOpenDuration = Duration.ofSeconds(30);
+    }
 }
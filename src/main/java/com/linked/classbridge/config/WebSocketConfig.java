@@ -1,8 +1,12 @@
 package com.linked.classbridge.config;
 
+import com.linked.classbridge.config.ChatBrokerProperties.Relay;
+import com.linked.classbridge.type.BrokerMode;
 import com.linked.classbridge.websocket.CustomHandshakeHandler;
 import com.linked.classbridge.websocket.HttpHandshakeInterceptor;
 import com.linked.classbridge.websocket.StompHandler;
+import com.linked.classbridge.websocket.StripedChannelExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -16,13 +20,33 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String[] BROKER_DESTINATIONS = {"/chatRooms", "/chatRoom", "/read"};
+
     private final HttpHandshakeInterceptor httpHandshakeInterceptor;
 
     private final StompHandler stompHandler;
 
+    private final ChatBrokerProperties chatBrokerProperties;
+
+    private final ChatChannelProperties chatChannelProperties;
+
+    private final MeterRegistry meterRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/chatRooms", "/chatRoom", "/read");
+        if (chatBrokerProperties.getMode() == BrokerMode.RELAY) {
+            // 외부 브로커가 모든 서버의 구독자에게 메시지를 전달한다.
+            Relay relay = chatBrokerProperties.getRelay();
+            config.enableStompBrokerRelay(BROKER_DESTINATIONS)
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode());
+        } else {
+            config.enableSimpleBroker(BROKER_DESTINATIONS);
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -39,5 +63,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompHandler);
+        // 채팅방 단위로 순서를 보장하면서 JPA/Mongo 블로킹 작업이 다른 세션을 막지 않도록 한다.
+        registration.executor(channelExecutor("clientInboundChannel", chatChannelProperties.getInbound()));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // outbound 메시지는 세션 단위로 스트라이프되어 세션별 전송 순서가 유지된다.
+        registration.executor(channelExecutor("clientOutboundChannel", chatChannelProperties.getOutbound()));
+    }
+
+    private StripedChannelExecutor channelExecutor(String channelName, ChatChannelProperties.Pool pool) {
+        StripedChannelExecutor executor = new StripedChannelExecutor(
+                channelName,
+                chatChannelProperties.getRoomStripes(),
+                chatChannelProperties.isVirtualThreads(),
+                pool.getMaxPoolSize(),
+                pool.getQueueCapacity(),
+                meterRegistry
+        );
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
     }
 }
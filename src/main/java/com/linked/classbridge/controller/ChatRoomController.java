@@ -2,13 +2,12 @@ package com.linked.classbridge.controller;
 
 import com.linked.classbridge.domain.User;
 import com.linked.classbridge.dto.SuccessResponse;
+import com.linked.classbridge.dto.chat.ChatMessageHistory;
 import com.linked.classbridge.dto.chat.CreateChatRoom;
 import com.linked.classbridge.dto.chat.GetChatRoomsResponse;
 import com.linked.classbridge.dto.chat.JoinChatRoom;
-import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.service.UserService;
 import com.linked.classbridge.service.chat.ChatService;
-import com.linked.classbridge.type.ErrorCode;
 import com.linked.classbridge.type.ResponseMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -19,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -36,8 +36,8 @@ public class ChatRoomController {
             @Valid @RequestBody CreateChatRoom.Request request
     ) {
 
-        User user = userService.findByEmail(userService.getCurrentUserEmail())
-                .orElseThrow(() -> new RestApiException(ErrorCode.USER_NOT_FOUND));
+        // 생성한 채팅방에 사용자를 저장하므로 탈퇴한 사용자는 여기서 거른다.
+        User user = userService.getCurrentUser();
         // 채팅방 생성
         return ResponseEntity.ok().body(
                 SuccessResponse.of(
@@ -50,15 +50,33 @@ public class ChatRoomController {
     @Operation(summary = "채팅방 입장", description = "채팅방에 입장합니다.")
     @GetMapping("/{chatRoomId}/join")
     public ResponseEntity<SuccessResponse<JoinChatRoom.Response>> joinChatRoom(
-            @PathVariable Long chatRoomId
+            @PathVariable Long chatRoomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int size
     ) {
-        User user = userService.findByEmail(userService.getCurrentUserEmail())
-                .orElseThrow(() -> new RestApiException(ErrorCode.USER_NOT_FOUND));
+        User user = userService.getCurrentUserReference();
         // 채팅방 참여
         return ResponseEntity.ok().body(
                 SuccessResponse.of(
                         ResponseMessage.CHAT_ROOM_JOIN_SUCCESS,
-                        chatService.enterChatRoomProcess(user, chatRoomId)
+                        chatService.enterChatRoomProcess(user, chatRoomId, before, size)
+                )
+        );
+    }
+
+    @Operation(summary = "이전 메시지 조회", description = "before 메시지 이전의 채팅 메시지를 조회합니다.")
+    @GetMapping("/{chatRoomId}/messages")
+    public ResponseEntity<SuccessResponse<ChatMessageHistory.Response>> getChatMessages(
+            @PathVariable Long chatRoomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        User user = userService.getCurrentUserReference();
+
+        return ResponseEntity.ok().body(
+                SuccessResponse.of(
+                        ResponseMessage.CHAT_MESSAGE_GET_SUCCESS,
+                        chatService.getChatMessageHistoryProcess(user, chatRoomId, before, size)
                 )
         );
     }
@@ -68,8 +86,7 @@ public class ChatRoomController {
     public ResponseEntity<SuccessResponse<String>> leaveChatRoom(
             @PathVariable Long chatRoomId
     ) {
-        User user = userService.findByEmail(userService.getCurrentUserEmail())
-                .orElseThrow(() -> new RestApiException(ErrorCode.USER_NOT_FOUND));
+        User user = userService.getCurrentUserReference();
         // 채팅방 나가기
         chatService.closeChatRoomProcess(user, chatRoomId);
         return ResponseEntity.ok().body(SuccessResponse.of(ResponseMessage.CHAT_ROOM_CLOSE_SUCCESS));
@@ -80,8 +97,7 @@ public class ChatRoomController {
     public ResponseEntity<SuccessResponse<String>> deleteChatRoom(
             @PathVariable Long chatRoomId
     ) {
-        User user = userService.findByEmail(userService.getCurrentUserEmail())
-                .orElseThrow(() -> new RestApiException(ErrorCode.USER_NOT_FOUND));
+        User user = userService.getCurrentUserReference();
         // 채팅방 삭제
         chatService.leaveChatRoomProcess(user, chatRoomId);
         return ResponseEntity.ok().body(SuccessResponse.of(ResponseMessage.CHAT_ROOM_LEAVE_SUCCESS));
@@ -90,8 +106,7 @@ public class ChatRoomController {
     @Operation(summary = "채팅방 목록 조회", description = "채팅방 목록을 조회합니다.")
     @GetMapping
     public ResponseEntity<SuccessResponse<GetChatRoomsResponse>> getChatRooms() {
-        User user = userService.findByEmail(userService.getCurrentUserEmail())
-                .orElseThrow(() -> new RestApiException(ErrorCode.USER_NOT_FOUND));
+        User user = userService.getCurrentUserReference();
 
         return ResponseEntity.ok().body(SuccessResponse.of(chatService.getChatRoomListProcess(user)));
     }
@@ -0,0 +1,30 @@
+package com.linked.classbridge.controller;
+
+import com.linked.classbridge.dto.search.ClassReindexStatus;
+import com.linked.classbridge.service.ClassReindexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// 운영용 재색인 엔드포인트. 관리자 권한이 없으므로 management.endpoints.web.exposure.include 에 reindex 를 추가한 환경에서만 노출한다.
+@Component
+@Endpoint(id = "reindex")
+@RequiredArgsConstructor
+public class ClassReindexEndpoint {
+
+    private final ClassReindexService classReindexService;
+
+    // GET /actuator/reindex
+    @ReadOperation
+    public ClassReindexStatus status() {
+        return classReindexService.getStatus();
+    }
+
+    // POST /actuator/reindex : 새 재색인을 시작하거나 중단된 재색인을 이어서 실행
+    @WriteOperation
+    public ClassReindexStatus start() {
+        return classReindexService.start();
+    }
+}
@@ -1,10 +1,17 @@
 package com.linked.classbridge.controller;
 
 import com.linked.classbridge.dto.SuccessResponse;
+import com.linked.classbridge.dto.oneDayClass.LessonDto;
 import com.linked.classbridge.dto.review.GetReviewResponse;
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.service.ClassSearchService;
+import com.linked.classbridge.service.ClassSuggestService;
+import com.linked.classbridge.service.OneDayClassService;
 import com.linked.classbridge.service.ReviewService;
 import com.linked.classbridge.type.ResponseMessage;
 import io.swagger.v3.oas.annotations.Operation;
+import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,8 +19,10 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequiredArgsConstructor
@@ -21,6 +30,54 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class OneDayClassController {
 
     private final ReviewService reviewService;
+    private final OneDayClassService oneDayClassService;
+    private final ClassSearchService classSearchService;
+    private final ClassSuggestService classSuggestService;
+
+    @Operation(summary = "클래스 검색", description = "위치, 가격, 날짜, 주차, 카테고리, 태그로 클래스 검색 (다음 페이지는 nextCursor 로 조회)")
+    @GetMapping("/search")
+    public ResponseEntity<SuccessResponse<ClassSearchDto.Response>> searchClasses(
+            @ModelAttribute ClassSearchDto.Request request
+    ) {
+        return ResponseEntity.ok().body(
+                SuccessResponse.of(
+                        ResponseMessage.CLASS_SEARCH_SUCCESS,
+                        classSearchService.search(request)
+                )
+        );
+    }
+
+    @Operation(summary = "클래스 자동완성", description = "입력한 접두어로 시작하는 클래스명, 태그 조회 (최대 10개)")
+    @GetMapping("/suggest")
+    public ResponseEntity<SuccessResponse<List<String>>> suggestClasses(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok().body(
+                SuccessResponse.of(
+                        ResponseMessage.CLASS_SUGGEST_SUCCESS,
+                        classSuggestService.suggest(prefix, size)
+                )
+        );
+    }
+
+    @Operation(summary = "클래스 레슨 조회", description = "기간 내 레슨 조회 (기본값: 오늘부터 한 달)")
+    @GetMapping("/{classId}/lessons")
+    public ResponseEntity<SuccessResponse<List<LessonDto>>> getClassLessons(
+            @PathVariable Long classId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to
+    ) {
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusMonths(1) : to;
+
+        return ResponseEntity.ok().body(
+                SuccessResponse.of(
+                        ResponseMessage.CLASS_LESSON_GET_SUCCESS,
+                        oneDayClassService.getLessons(classId, start, end)
+                )
+        );
+    }
 
     @Operation(summary = "클래스 리뷰 조회", description = "클래스 리뷰 조회")
     @GetMapping("/{classId}/reviews")
@@ -5,18 +5,16 @@ import static com.linked.classbridge.type.ErrorCode.PAY_ERROR;
 
 import com.linked.classbridge.dto.SuccessResponse;
 import com.linked.classbridge.dto.payment.CreatePaymentResponse;
-import com.linked.classbridge.dto.payment.PaymentApproveDto;
-import com.linked.classbridge.dto.payment.PaymentPrepareDto;
 import com.linked.classbridge.dto.payment.PaymentPrepareDto.Request;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.service.KakaoPaymentService;
 import com.linked.classbridge.type.ResponseMessage;
 import io.swagger.v3.oas.annotations.Operation;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -32,51 +30,45 @@ public class PaymentController {
 
     private final KakaoPaymentService paymentService;
 
-    private PaymentPrepareDto.Response paymentResponse;
-
+    /**
+     * 결제 요청
+     * <p>
+     * 승인에 필요한 tid 와 주문 번호는 좌석 hold 에 남기므로 컨트롤러에는 결제 상태를 두지 않는다.
+     */
     @Operation(summary = "결제 요청")
     @PostMapping("/prepare")
     public String initiatePayment(@RequestBody Request paymentRequest) {
-        paymentResponse = paymentService.initiatePayment(paymentRequest);
-        paymentResponse.setPartnerOrderId(paymentRequest.getPartnerOrderId());
-        paymentResponse.setPartnerUserId(paymentRequest.getPartnerUserId());
-        paymentResponse.setItemName(paymentRequest.getItemName());
-        paymentResponse.setQuantity(paymentRequest.getQuantity());
-        paymentResponse.setReservationId(paymentRequest.getReservationId());
-
-        return paymentResponse.getNext_redirect_pc_url();
+        return paymentService.initiatePayment(paymentRequest).getNext_redirect_pc_url();
     }
 
     /**
      * 결제 성공
+     * <p>
+     * 예약 ID 는 결제 요청 시 approval_url 에 붙여 둔 값이다.
      */
     @GetMapping("/complete")
-    public ResponseEntity<String> approvePayment(HttpServletRequest request,
-                                                 @RequestParam("pg_token") String pgToken) throws Exception {
-        paymentResponse.setPgToken(pgToken);
+    public ResponseEntity<SuccessResponse<CreatePaymentResponse>> approvePayment(
+            @RequestParam("reservation_id") Long reservationId,
+            @RequestParam("pg_token") String pgToken,
+            Authentication authentication) {
 
-        return paymentService.approvePayment(paymentResponse, request.getHeader("Authorization"));
-    }
-
-    @PostMapping("/complete")
-    public ResponseEntity<SuccessResponse<CreatePaymentResponse>> completePayment(
-            @RequestBody PaymentApproveDto.Response paymentResponse) {
-
-        // 결제 승인 응답 데이터 처리
+        // 카카오페이 승인 후 결제 저장, 예약 확정까지 처리
         return ResponseEntity.status(HttpStatus.OK).body(
                 SuccessResponse.of(
                         ResponseMessage.PAYMENT_SUCCESS,
-                        paymentService.savePayment(paymentResponse)
+                        paymentService.approvePayment(reservationId, pgToken, authentication.getName())
                 )
         );
     }
 
     /**
      * 결제 진행 중 취소
+     * <p>
+     * 만료를 기다리지 않고 잡아 둔 좌석을 바로 돌려준다. 예약 ID 는 결제 요청 시 cancel_url 에 붙여 둔 값이다.
      */
     @GetMapping("/cancel")
-    public void cancel() {
-
+    public void cancel(@RequestParam("reservation_id") Long reservationId, Authentication authentication) {
+        paymentService.releasePayment(reservationId, authentication.getName());
         throw new RestApiException(PAY_CANCEL);
     }
 
@@ -84,8 +76,8 @@ public class PaymentController {
      * 결제 실패
      */
     @GetMapping("/fail")
-    public void fail() {
-
+    public void fail(@RequestParam("reservation_id") Long reservationId, Authentication authentication) {
+        paymentService.releasePayment(reservationId, authentication.getName());
         throw new RestApiException(PAY_ERROR);
     }
 
@@ -0,0 +1,78 @@
+package com.linked.classbridge.controller;
+
+import com.linked.classbridge.dto.SuccessResponse;
+import com.linked.classbridge.dto.payment.CreatePaymentResponse;
+import com.linked.classbridge.dto.payment.PaymentPrepareDto;
+import com.linked.classbridge.dto.refund.PaymentRefundDto;
+import com.linked.classbridge.service.KakaoPaymentService;
+import com.linked.classbridge.service.KakaoRefundService;
+import com.linked.classbridge.type.ResponseMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * 결제 요청, 승인, 환불의 논블로킹 버전
+ * <p>
+ * Mono 를 반환하면 카카오페이 응답을 기다리는 동안 요청 스레드를 반납한다. 결제 정보는 결제 요청 시 서버(좌석 hold)에
+ * 남겨 두므로 승인 요청에는 결제 요청 응답의 tid 와 pg_token 만 있으면 된다.
+ * <p>
+ * 응답은 Mono 가 끝난 뒤 ASYNC 디스패치로 쓰인다. 인가는 처음 REQUEST 디스패치에서 끝나므로 SecurityConfig 가 ASYNC
+ * 디스패치를 허용한다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/reactive")
+public class ReactivePaymentController {
+
+    private final KakaoPaymentService paymentService;
+
+    private final KakaoRefundService refundService;
+
+    @Operation(summary = "결제 요청 (논블로킹)")
+    @PostMapping("/payments/prepare")
+    public Mono<ResponseEntity<SuccessResponse<PaymentPrepareDto.Response>>> initiatePayment(
+            @RequestBody PaymentPrepareDto.Request paymentRequest, Authentication authentication) {
+
+        return paymentService.initiatePaymentReactive(paymentRequest, authentication.getName())
+                .map(response -> {
+                    response.setPartnerOrderId(paymentRequest.getPartnerOrderId());
+                    response.setPartnerUserId(paymentRequest.getPartnerUserId());
+                    response.setItemName(paymentRequest.getItemName());
+                    response.setQuantity(paymentRequest.getQuantity());
+                    response.setReservationId(paymentRequest.getReservationId());
+
+                    return ResponseEntity.status(HttpStatus.OK).body(
+                            SuccessResponse.of(ResponseMessage.PAYMENT_PREPARE_SUCCESS, response));
+                });
+    }
+
+    @Operation(summary = "결제 승인 (논블로킹)")
+    @PostMapping("/payments/approve")
+    public Mono<ResponseEntity<SuccessResponse<CreatePaymentResponse>>> approvePayment(
+            @RequestBody PaymentPrepareDto.Response paymentResponse, Authentication authentication) {
+
+        return paymentService.approvePaymentReactive(paymentResponse, authentication.getName())
+                .map(response -> ResponseEntity.status(HttpStatus.OK).body(
+                        SuccessResponse.of(ResponseMessage.PAYMENT_SUCCESS, response)));
+    }
+
+    @Operation(summary = "환불 (논블로킹)")
+    @PostMapping("/refunds")
+    public Mono<ResponseEntity<SuccessResponse<PaymentRefundDto.Response>>> processRefund(
+            @RequestBody PaymentRefundDto.Requset request) {
+
+        return refundService.refundPaymentReactive(request)
+                .map(response -> ResponseEntity.status(HttpStatus.OK).body(
+                        SuccessResponse.of(ResponseMessage.REFUND_SUCCESS, response)));
+    }
+}
@@ -3,6 +3,7 @@ package com.linked.classbridge.controller;
 import static com.linked.classbridge.util.CookieUtil.createCookie;
 
 import com.linked.classbridge.dto.SuccessResponse;
+import com.linked.classbridge.dto.user.JwtClaims;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.type.ErrorCode;
 import com.linked.classbridge.type.ResponseMessage;
@@ -41,20 +42,22 @@ public class ReissueController {
             throw new RestApiException(ErrorCode.REFRESH_TOKEN_NULL);
         }
 
-        if(jwtService.isExpired(refresh)) {
+        JwtClaims claims = jwtService.parse(refresh);
+
+        if(claims.isExpired()) {
             throw new RestApiException(ErrorCode.REFRESH_TOKEN_EXPIRED);
         }
 
-        String tokenType = jwtService.getTokenType(refresh);
-        if (!tokenType.equals("refresh")) {
+        if (!claims.isTokenType(TokenType.REFRESH.getValue())) {
             throw new RestApiException(ErrorCode.INVALID_REFRESH_TOKEN);
         }
 
-        String email = jwtService.getEmail(refresh);
-        List<String> roles = jwtService.getRoles(refresh);
+        String email = claims.getEmail();
+        Long userId = claims.getUserId();
+        List<String> roles = claims.getRoles();
 
-        String newAccess = jwtService.createJwt(TokenType.ACCESS.getValue(), email, roles, TokenType.ACCESS.getExpiryTime());
-        String newRefresh = jwtService.createJwt(TokenType.REFRESH.getValue(), email, roles, TokenType.REFRESH.getExpiryTime());
+        String newAccess = jwtService.createJwt(TokenType.ACCESS.getValue(), email, userId, roles, TokenType.ACCESS.getExpiryTime());
+        String newRefresh = jwtService.createJwt(TokenType.REFRESH.getValue(), email, userId, roles, TokenType.REFRESH.getExpiryTime());
 
         response.setHeader(TokenType.ACCESS.getValue(), newAccess);
         response.addCookie(createCookie(TokenType.REFRESH.getValue(), newRefresh));
@@ -9,6 +9,7 @@ import com.linked.classbridge.dto.oneDayClass.ClassTagDto;
 import com.linked.classbridge.dto.oneDayClass.ClassFAQDto;
 import com.linked.classbridge.dto.oneDayClass.ClassUpdateDto;
 import com.linked.classbridge.dto.oneDayClass.LessonDto;
+import com.linked.classbridge.dto.oneDayClass.RepeatClassDto;
 import com.linked.classbridge.dto.review.GetReviewResponse;
 import com.linked.classbridge.dto.tutor.TutorInfoDto;
 import com.linked.classbridge.service.OneDayClassService;
@@ -18,6 +19,8 @@ import com.linked.classbridge.service.UserService;
 import com.linked.classbridge.type.ResponseMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -276,6 +279,41 @@ public class TutorController {
         );
     }
 
+    /**
+     * 반복 규칙으로 생성될 Class lesson 삭제
+     * @param   classId, lessonDate, startTime
+     * @return  ResponseEntity<SuccessResponse<Boolean>>
+     */
+    @Operation(summary = "반복 규칙 Class lesson 삭제", description = "아직 저장되지 않은 반복 규칙 lesson 삭제")
+    @DeleteMapping(path = "/class/{classId}/lesson")
+    public ResponseEntity<SuccessResponse<Boolean>> deleteLessonSlot(
+            @PathVariable Long classId,
+            @RequestParam LocalDate lessonDate,
+            @RequestParam LocalTime startTime
+    ) {
+        return ResponseEntity.status(OK).body(SuccessResponse.of(
+                ResponseMessage.CLASS_LESSON_DELETE_SUCCESS,
+                oneDayClassService.deleteLessonSlot(userService.getCurrentUserEmail(), classId, lessonDate, startTime))
+        );
+    }
+
+    /**
+     * Class 반복 규칙 수정
+     * @param   classId, request
+     * @return  ResponseEntity<SuccessResponse<List<LessonDto>>>
+     */
+    @Operation(summary = "Class 반복 규칙 수정", description = "반복 요일, 시간 수정 (응답은 오늘부터 한 달간의 레슨)")
+    @PutMapping(path = "/class/{classId}/lesson-rules")
+    public ResponseEntity<SuccessResponse<List<LessonDto>>> updateLessonRules(
+            @PathVariable Long classId,
+            @RequestBody List<RepeatClassDto> request
+    ) {
+        return ResponseEntity.status(OK).body(SuccessResponse.of(
+                ResponseMessage.CLASS_LESSON_RULE_UPDATE_SUCCESS,
+                oneDayClassService.updateLessonRules(userService.getCurrentUserEmail(), request, classId))
+        );
+    }
+
     /**
      * Class tag 추가
      * @param   request
@@ -2,8 +2,10 @@ package com.linked.classbridge.controller;
 
 import com.linked.classbridge.dto.chat.SendMessageDto;
 import com.linked.classbridge.exception.WebsocketException;
+import com.linked.classbridge.service.UserService;
 import com.linked.classbridge.service.chat.ChatService;
 import com.linked.classbridge.type.ErrorCode;
+import com.linked.classbridge.websocket.StompPrincipal;
 import java.security.Principal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -17,6 +19,8 @@ public class WebSocketController {
 
     private final ChatService chatService;
 
+    private final UserService userService;
+
     @MessageMapping("/send/{chatRoomId}")
     public void sendMessage(
             @DestinationVariable Long chatRoomId,
@@ -27,11 +31,12 @@ public class WebSocketController {
             throw new WebsocketException(ErrorCode.UNAUTHORIZED);
         }
 
-        chatService.sendMessageProcess(principal.getName(), chatRoomId, sendRequest.message());
+        chatService.sendMessageProcess(resolveUserId(principal), chatRoomId, sendRequest.message());
     }
 
-    @MessageMapping("/read/{messageId}")
-    public void markAsRead(
+    // /read 는 이전 클라이언트 호환용이다. 두 경로 모두 messageId 까지 일괄 읽음 처리하고 ReadRangeReceipt 하나로 알린다.
+    @MessageMapping({"/read/{messageId}", "/readUpTo/{messageId}"})
+    public void markAsReadUpTo(
             @DestinationVariable String messageId,
             Principal principal) {
 
@@ -39,7 +44,14 @@ public class WebSocketController {
             throw new WebsocketException(ErrorCode.UNAUTHORIZED);
         }
 
-        chatService.markMessageAsReadAndSendReceipt(principal.getName(), messageId);
+        chatService.markMessagesAsReadUpToAndSendReceipt(resolveUserId(principal), messageId);
+    }
+
+    private Long resolveUserId(Principal principal) {
+        if (principal instanceof StompPrincipal stompPrincipal && stompPrincipal.getUserId() != null) {
+            return stompPrincipal.getUserId();
+        }
+        return userService.getUserIdByEmail(principal.getName());
     }
 
 }
@@ -8,9 +8,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "chat_message")
+@CompoundIndex(name = "chat_room_send_time_idx", def = "{'chatRoomId': 1, 'sendTime': -1, '_id': -1}")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,35 @@
+package com.linked.classbridge.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "chat_unread_count")
+@CompoundIndex(name = "user_chat_room_idx", def = "{'userId': 1, 'chatRoomId': 1}")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatUnreadCount {
+
+    // "{chatRoomId}:{userId}"
+    @Id
+    private String id;
+
+    private Long chatRoomId;
+
+    private Long userId;
+
+    private int count;
+
+    // 변경될 때마다 증가한다. 재집계가 그 사이의 변경을 덮어쓰지 않도록 조건부 갱신에 사용한다.
+    private long version;
+
+    public static String idOf(Long chatRoomId, Long userId) {
+        return chatRoomId + ":" + userId;
+    }
+}
@@ -0,0 +1,60 @@
+package com.linked.classbridge.domain;
+
+import com.linked.classbridge.type.IndexOperation;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// OneDayClassDocument 색인 요청. 클래스 변경과 같은 트랜잭션에 저장되고 ClassIndexOutboxRelay 가 OpenSearch 에 반영한다.
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_class_index_outbox_next_attempt", columnList = "nextAttemptAt"))
+public class ClassIndexOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Long classId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IndexOperation operation;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public static ClassIndexOutbox of(Long classId, IndexOperation operation) {
+        LocalDateTime now = LocalDateTime.now();
+        return ClassIndexOutbox.builder()
+                .classId(classId)
+                .operation(operation)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.linked.classbridge.domain;
+
+import com.linked.classbridge.type.ReindexStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// onedayclass 전체 재색인 작업. lastClassId 까지 색인이 끝났음을 기록해 중단된 작업을 이어서 실행할 수 있다.
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassReindexJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private String targetIndex; // 새로 만든 버전 색인 이름 (onedayclass_yyyyMMddHHmmss)
+
+    @Column(nullable = false)
+    private Long lastClassId;   // 색인이 끝난 마지막 classId
+
+    @Column(nullable = false)
+    private long indexedCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReindexStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    public static ClassReindexJob start(String targetIndex) {
+        return ClassReindexJob.builder()
+                .targetIndex(targetIndex)
+                .lastClassId(0L)
+                .indexedCount(0)
+                .status(ReindexStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -12,6 +12,8 @@ import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -35,6 +37,8 @@ import org.hibernate.annotations.SQLRestriction;
 @ToString
 @SQLDelete(sql = "UPDATE LESSON SET deleted_at = now() WHERE lesson_id = ? and version = ?")
 @SQLRestriction("deleted_at is null")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_lesson_slot",
+        columnNames = {"class_id", "lesson_date", "start_time"}))
 public class Lesson extends BaseEntity {
 
     @Id
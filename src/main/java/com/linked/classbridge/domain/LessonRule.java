@@ -0,0 +1,34 @@
+package com.linked.classbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 클래스의 반복 규칙. 클래스 시작일 ~ 종료일 사이의 해당 요일, 시작 시간마다 레슨이 열린다.
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class LessonRule {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    public boolean matches(DayOfWeek dayOfWeek, LocalTime startTime) {
+        return this.dayOfWeek == dayOfWeek && this.startTime.equals(startTime);
+    }
+}
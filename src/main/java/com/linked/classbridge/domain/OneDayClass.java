@@ -1,7 +1,9 @@
 package com.linked.classbridge.domain;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -14,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.validation.constraints.Min;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -92,6 +95,12 @@ public class OneDayClass extends BaseEntity {
     @OneToMany(mappedBy = "oneDayClass", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Lesson> lessonList;
 
+    // 레슨은 이 규칙으로부터 조회 시점에 펼쳐지고, 예약이 처음 발생할 때에만 Lesson 으로 저장된다.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "one_day_class_lesson_rule", joinColumns = @JoinColumn(name = "class_id"))
+    @ToString.Exclude
+    private List<LessonRule> lessonRuleList;
+
     @OneToMany(mappedBy = "oneDayClass", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Review> reviewList;
 
@@ -116,4 +125,29 @@ public class OneDayClass extends BaseEntity {
     public void updateTotalStarRate(Double diff) {
         this.totalStarRate += diff;
     }
+
+    // 수정 요청의 값만 반영한다. 반복 규칙, 이미지, 별점/리뷰/찜 수 등 수정 요청에 없는 값은 그대로 둔다.
+    public void update(OneDayClass changeClass) {
+        this.className = changeClass.getClassName();
+        this.address1 = changeClass.getAddress1();
+        this.address2 = changeClass.getAddress2();
+        this.address3 = changeClass.getAddress3();
+        this.duration = changeClass.getDuration();
+        this.price = changeClass.getPrice();
+        this.personal = changeClass.getPersonal();
+        this.hasParking = changeClass.isHasParking();
+        this.introduction = changeClass.getIntroduction();
+        this.startDate = changeClass.getStartDate();
+        this.endDate = changeClass.getEndDate();
+        this.category = changeClass.getCategory();
+    }
+
+    // 반복 규칙으로 생성되는 레슨 슬롯인지 확인
+    public boolean hasLessonSlot(LocalDate lessonDate, LocalTime startTime) {
+        if (lessonRuleList == null || lessonDate.isBefore(startDate) || lessonDate.isAfter(endDate)) {
+            return false;
+        }
+        return lessonRuleList.stream()
+                .anyMatch(rule -> rule.matches(lessonDate.getDayOfWeek(), startTime));
+    }
 }
@@ -0,0 +1,63 @@
+package com.linked.classbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 결제 요청 시 잡아 둔 좌석. 결제가 확정되거나 취소되면 삭제되고, expiresAt 이 지나면 SeatHoldSweeper 가 좌석을 돌려준다.
+// 카카오페이 결제 준비가 끝나면 결제 고유 번호(tid)와 주문 번호를 남겨, 승인 요청 시 클라이언트가 보낸 값 대신 사용한다.
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_seat_hold_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_seat_hold_tid", columnList = "tid")
+})
+public class SeatHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long holdId;
+
+    @Column(nullable = false, unique = true)
+    private Long reservationId;
+
+    @Column(nullable = false)
+    private Long lessonId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private String tid;
+
+    private String partnerOrderId;
+
+    public static SeatHold of(Long reservationId, Long lessonId, int quantity, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        return SeatHold.builder()
+                .reservationId(reservationId)
+                .lessonId(lessonId)
+                .quantity(quantity)
+                .expiresAt(now.plus(ttl))
+                .createdAt(now)
+                .build();
+    }
+}
@@ -44,14 +44,6 @@ public class UserChatRoom extends BaseEntity {
     @Builder.Default
     private boolean isOnline = false;
 
-    public void setOnline() {
-        this.isOnline = true;
-    }
-
-    public void setOffline() {
-        this.isOnline = false;
-    }
-
     public void restoreUserChatRoom() {
         setDeletedAt(null);
     }
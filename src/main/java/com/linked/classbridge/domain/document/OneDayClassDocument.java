@@ -5,6 +5,7 @@ import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.type.CategoryType;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,6 +21,7 @@ import org.springframework.data.elasticsearch.annotations.GeoPointField;
 import org.springframework.data.elasticsearch.annotations.Mapping;
 import org.springframework.data.elasticsearch.annotations.Setting;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 
 @Getter
 @Setter
@@ -49,6 +51,8 @@ public class OneDayClassDocument {
 
     private List<String> tagList;
 
+    private Completion suggest; // 자동완성 입력 (클래스명, 태그). 찜이 많은 클래스를 먼저 제안한다.
+
     private boolean hasParking;  // 주차장
     @Field(type= FieldType.Date, format = DateFormat.date)
     private LocalDate startDate;    // 시작일
@@ -58,6 +62,13 @@ public class OneDayClassDocument {
     private CategoryType category;
 
     public OneDayClassDocument(OneDayClass oneDayClass) {
+        this(oneDayClass,
+                oneDayClass.getTagList().stream().map(ClassTag::getName).toList(),
+                !oneDayClass.getImageList().isEmpty() ? oneDayClass.getImageList().get(0).getUrl() : null);
+    }
+
+    // 태그와 대표 이미지를 따로 일괄 조회한 경우 (재색인)
+    public OneDayClassDocument(OneDayClass oneDayClass, List<String> tagList, String imageUrl) {
         this.classId = oneDayClass.getClassId();
         this.className = oneDayClass.getClassName();
         this.address1 = oneDayClass.getAddress1();
@@ -67,14 +78,31 @@ public class OneDayClassDocument {
         duration = oneDayClass.getDuration();
         price = oneDayClass.getPrice();
         personal = oneDayClass.getPersonal();
-        starRate = oneDayClass.getTotalStarRate() / (oneDayClass.getTotalReviews() == 0 ? 1 : oneDayClass.getTotalReviews());
+        starRate = starRateOf(oneDayClass);
         hasParking = oneDayClass.isHasParking();
         totalWish = oneDayClass.getTotalWish();
         startDate = oneDayClass.getStartDate();
         endDate = oneDayClass.getEndDate();
         category = oneDayClass.getCategory().getName();
-        tagList = oneDayClass.getTagList().stream().map(ClassTag::getName).toList();
-        imageUrl = !oneDayClass.getImageList().isEmpty() ?oneDayClass.getImageList().get(0).getUrl() : null;
+        this.tagList = tagList;
+        this.imageUrl = imageUrl;
+        this.suggest = suggestOf(className, tagList, totalWish);
+    }
+
+    public static List<String> suggestInputOf(String className, List<String> tagList) {
+        return Stream.concat(Stream.ofNullable(className), tagList == null ? Stream.empty() : tagList.stream())
+                .distinct()
+                .toList();
+    }
+
+    public static Completion suggestOf(String className, List<String> tagList, int totalWish) {
+        Completion completion = new Completion(suggestInputOf(className, tagList).toArray(String[]::new));
+        completion.setWeight(totalWish);
+        return completion;
+    }
+
+    public static Double starRateOf(OneDayClass oneDayClass) {
+        return oneDayClass.getTotalStarRate() / (oneDayClass.getTotalReviews() == 0 ? 1 : oneDayClass.getTotalReviews());
     }
 
 }
@@ -0,0 +1,28 @@
+package com.linked.classbridge.domain.document;
+
+import com.linked.classbridge.domain.OneDayClass;
+import java.util.List;
+
+/**
+ * OneDayClassDocument 부분 갱신 내용. null 인 필드는 변경하지 않는다.
+ * 값은 DB 의 현재 상태로 채우므로 같은 patch 를 여러 번 적용해도 결과가 같다.
+ */
+public record OneDayClassDocumentPatch(
+        Long classId,
+        Double starRate,
+        Integer totalWish,
+        List<String> tagList,
+        List<String> suggestInput   // 태그가 바뀌면 자동완성 입력도 함께 바뀐다.
+) {
+
+    // tagList 가 null 이면 태그는 갱신하지 않는다.
+    public static OneDayClassDocumentPatch of(OneDayClass oneDayClass, boolean counters, List<String> tagList) {
+        return new OneDayClassDocumentPatch(
+                oneDayClass.getClassId(),
+                counters ? OneDayClassDocument.starRateOf(oneDayClass) : null,
+                counters ? oneDayClass.getTotalWish() : null,
+                tagList,
+                tagList != null ? OneDayClassDocument.suggestInputOf(oneDayClass.getClassName(), tagList) : null
+        );
+    }
+}
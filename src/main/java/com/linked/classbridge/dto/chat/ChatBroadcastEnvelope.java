@@ -0,0 +1,10 @@
+package com.linked.classbridge.dto.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// 서버 간 브로드캐스트 메시지
+public record ChatBroadcastEnvelope(
+        String destination,
+        JsonNode payload
+) {
+}
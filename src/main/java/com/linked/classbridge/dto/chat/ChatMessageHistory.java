@@ -0,0 +1,18 @@
+package com.linked.classbridge.dto.chat;
+
+import java.util.List;
+
+public class ChatMessageHistory {
+
+    public record Response(
+            Long chatRoomId,
+            List<ChatMessageDto> messages,
+            boolean hasNext,
+            String nextCursor
+    ) {
+        public static Response of(Long chatRoomId, List<ChatMessageDto> messages, boolean hasNext,
+                                  String nextCursor) {
+            return new Response(chatRoomId, messages, hasNext, nextCursor);
+        }
+    }
+}
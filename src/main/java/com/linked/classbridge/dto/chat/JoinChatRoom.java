@@ -13,10 +13,13 @@ public class JoinChatRoom {
             Long initiatedTo,
             LocalDateTime createdAt,
             LocalDateTime updatedAt,
-            List<ChatMessageDto> messages
+            List<ChatMessageDto> messages,
+            boolean hasNext,
+            String nextCursor
     ) {
         public static Response of(Long chatRoomId, Long senderId, Long initiatedBy, Long initiatedTo,
-                                  LocalDateTime createdAt, LocalDateTime updatedAt, List<ChatMessageDto> messages) {
+                                  LocalDateTime createdAt, LocalDateTime updatedAt, List<ChatMessageDto> messages,
+                                  boolean hasNext, String nextCursor) {
             return new Response(
                     chatRoomId,
                     senderId,
@@ -24,7 +27,9 @@ public class JoinChatRoom {
                     initiatedTo,
                     createdAt,
                     updatedAt,
-                    messages
+                    messages,
+                    hasNext,
+                    nextCursor
             );
         }
 
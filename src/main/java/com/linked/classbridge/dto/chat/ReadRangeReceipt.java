@@ -0,0 +1,41 @@
+package com.linked.classbridge.dto.chat;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// userId 가 readUpTo 이전에 상대방이 보낸 메시지를 모두 읽었음을 한 번에 알리는 영수증
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReadRangeReceipt {
+
+    private Long userId;
+    private String lastReadMessageId;
+    private LocalDateTime readUpTo;
+    private long readCount;
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, lastReadMessageId, readUpTo, readCount);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ReadRangeReceipt that = (ReadRangeReceipt) obj;
+        return readCount == that.readCount
+                && Objects.equals(userId, that.userId)
+                && Objects.equals(lastReadMessageId, that.lastReadMessageId)
+                && Objects.equals(readUpTo, that.readUpTo);
+    }
+}
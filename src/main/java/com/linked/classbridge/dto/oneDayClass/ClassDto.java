@@ -175,7 +175,7 @@ public class ClassDto {
             List<ClassFAQDto> faqList,
             List<ClassTagDto> tagList
     ) {
-        public static ClassResponse fromEntity(OneDayClass oneDayClass) {
+        public static ClassResponse fromEntity(OneDayClass oneDayClass, List<LessonDto> lessonList) {
             return new ClassResponse(
                     oneDayClass.getClassId(),
                     oneDayClass.getClassName(),
@@ -197,7 +197,7 @@ public class ClassDto {
                     oneDayClass.getCategory().getName(),
                     oneDayClass.getTutor().getUserId(),
                     oneDayClass.getImageList().stream().map(ClassImageDto::new).toList(),
-                    oneDayClass.getLessonList().stream().map(LessonDto::new).toList(),
+                    lessonList,
                     oneDayClass.getFaqList().stream().map(ClassFAQDto::new).toList(),
                     oneDayClass.getTagList().stream().map(ClassTagDto::new).toList());
         }
@@ -0,0 +1,15 @@
+package com.linked.classbridge.dto.oneDayClass;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// 삭제된 레슨까지 포함한 저장된 레슨 슬롯. 삭제된 슬롯은 반복 규칙으로 다시 생성되지 않도록 막는 역할을 한다.
+public record LessonSlot(
+        Long lessonId,
+        LocalDate lessonDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        int participantNumber,
+        boolean deleted
+) {
+}
@@ -1,8 +1,10 @@
 package com.linked.classbridge.dto.oneDayClass;
 
+import com.linked.classbridge.domain.LessonRule;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,4 +21,12 @@ import lombok.ToString;
 public class RepeatClassDto {
     private DayOfWeek dayOfWeek;
     private List<LocalTime> times;
+
+    public static List<LessonRule> toLessonRules(List<RepeatClassDto> repeatClassDtoList) {
+        return repeatClassDtoList.stream()
+                .flatMap(repeatClassDto -> repeatClassDto.getTimes().stream()
+                        .map(time -> new LessonRule(repeatClassDto.getDayOfWeek(), time)))
+                .distinct()
+                .collect(Collectors.toList());
+    }
 }
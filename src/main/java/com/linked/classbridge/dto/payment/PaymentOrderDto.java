@@ -0,0 +1,26 @@
+package com.linked.classbridge.dto.payment;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class PaymentOrderDto {
+    @Getter
+    @Setter
+    public static class Response {
+        private String tid; // 결제 고유 번호
+        private String cid; // 가맹점 코드
+        private KakaoStatusType status; // 결제 상태
+        private String partner_order_id; // 가맹점 주문 번호
+        private String partner_user_id; // 가맹점 회원 id
+        private String payment_method_type; // 결제 수단
+        private Amount amount; // 결제 금액 정보
+        private String item_name; // 상품명
+        private int quantity; // 상품 수량
+        private String approved_at; // 결제 승인 시간
+
+        // 승인된 뒤 취소되지 않은 결제
+        public boolean isApproved() {
+            return status == KakaoStatusType.SUCCESS_PAYMENT;
+        }
+    }
+}
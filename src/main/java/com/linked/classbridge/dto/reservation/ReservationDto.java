@@ -2,7 +2,9 @@ package com.linked.classbridge.dto.reservation;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.linked.classbridge.domain.Reservation;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,6 +17,13 @@ public class ReservationDto {
         private Long userId;
         @JsonProperty("lesson_id")
         private Long lessonId;
+        // lessonId 가 없으면 반복 규칙 슬롯(classId, lessonDate, startTime)으로 예약한다.
+        @JsonProperty("class_id")
+        private Long classId;
+        @JsonProperty("lesson_date")
+        private LocalDate lessonDate;
+        @JsonProperty("start_time")
+        private LocalTime startTime;
         private int quantity;
     }
 
@@ -1,5 +1,5 @@
 package com.linked.classbridge.dto.reservation;
 
 public enum ReservationStatus {
-    PENDING, CONFIRMED, CANCELED_BY_CUSTOMER, CANCELED_BY_TUTOR, NO_SHOW
+    PENDING, CONFIRMED, CANCELED_BY_CUSTOMER, CANCELED_BY_TUTOR, NO_SHOW, EXPIRED
 }
@@ -0,0 +1,22 @@
+package com.linked.classbridge.dto.search;
+
+import com.linked.classbridge.domain.ClassReindexJob;
+import com.linked.classbridge.type.ReindexStatus;
+import java.time.LocalDateTime;
+
+// 재색인 진행 상황. docsPerSecond 는 현재 서버에서 실행 중인 구간의 처리량이다.
+public record ClassReindexStatus(
+        Long jobId,
+        String targetIndex,
+        ReindexStatus status,
+        Long lastClassId,
+        long indexedCount,
+        double docsPerSecond,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+    public static ClassReindexStatus of(ClassReindexJob job, double docsPerSecond) {
+        return new ClassReindexStatus(job.getJobId(), job.getTargetIndex(), job.getStatus(), job.getLastClassId(),
+                job.getIndexedCount(), docsPerSecond, job.getStartedAt(), job.getFinishedAt());
+    }
+}
@@ -0,0 +1,98 @@
+package com.linked.classbridge.dto.search;
+
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.ClassSearchSort;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+public class ClassSearchDto {
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @ToString
+    public static class Request {
+        private String query;           // 클래스명 검색어
+        private Double lat;             // 위도
+        private Double lng;             // 경도
+        @Builder.Default
+        private double distance = 10;   // 검색 반경 (km)
+        private Integer minPrice;
+        private Integer maxPrice;
+        private LocalDate date;         // 해당 날짜에 진행 중인 클래스
+        private Boolean hasParking;
+        private String address1;        // 시도 명
+        private String address2;        // 시군구 명
+        private CategoryType category;
+        private List<String> tags;      // 모든 태그를 가진 클래스
+        @Builder.Default
+        private ClassSearchSort sort = ClassSearchSort.RELEVANCE;
+        private String cursor;          // 이전 응답의 nextCursor
+        @Builder.Default
+        private int size = 20;
+
+        public boolean hasLocation() {
+            return lat != null && lng != null;
+        }
+    }
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class Response {
+        private List<ClassSummary> classes;
+        // 첫 페이지(cursor 가 없는 요청)에만 포함된다.
+        private Map<String, Long> categoryFacets;
+        private Map<String, Long> regionFacets; // address1 조건이 있으면 시군구별, 없으면 시도별
+        private Map<String, Long> tagFacets;
+        private boolean hasNext;
+        private String nextCursor;
+    }
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class ClassSummary {
+        private Long classId;
+        private String className;
+        private String address1;
+        private String address2;
+        private String imageUrl;
+        private int price;
+        private int duration;
+        private Double starRate;
+        private int totalWish;
+        private boolean hasParking;
+        private CategoryType category;
+        private List<String> tagList;
+        private Double distance;        // 검색 위치로부터의 거리 (km)
+
+        public static ClassSummary of(OneDayClassDocument document, Double distance) {
+            return ClassSummary.builder()
+                    .classId(document.getClassId())
+                    .className(document.getClassName())
+                    .address1(document.getAddress1())
+                    .address2(document.getAddress2())
+                    .imageUrl(document.getImageUrl())
+                    .price(document.getPrice())
+                    .duration(document.getDuration())
+                    .starRate(document.getStarRate())
+                    .totalWish(document.getTotalWish())
+                    .hasParking(document.isHasParking())
+                    .category(document.getCategory())
+                    .tagList(document.getTagList())
+                    .distance(distance)
+                    .build();
+        }
+    }
+}
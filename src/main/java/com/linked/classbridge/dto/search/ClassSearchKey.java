@@ -0,0 +1,102 @@
+package com.linked.classbridge.dto.search;
+
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.ClassSearchSort;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 정규화된 검색 조건. 검색 결과 캐시의 키로 쓰이며, 캐시에 저장되는 결과도 이 조건으로 검색한다.
+ * 검색어는 공백과 대소문자를, 태그는 순서와 중복을 무시하고 위치는 소수점 셋째 자리(약 100m)로 맞춘다.
+ */
+public record ClassSearchKey(
+        String query,
+        Double lat,
+        Double lng,
+        double distance,
+        Integer minPrice,
+        Integer maxPrice,
+        LocalDate date,
+        Boolean hasParking,
+        String address1,
+        String address2,
+        CategoryType category,
+        List<String> tags,
+        ClassSearchSort sort,
+        String cursor,
+        int size
+) {
+    private static final int LOCATION_SCALE = 3;
+
+    public static ClassSearchKey of(ClassSearchDto.Request request, int size) {
+        return new ClassSearchKey(
+                normalizeQuery(request.getQuery()),
+                round(request.getLat()),
+                round(request.getLng()),
+                request.getDistance(),
+                request.getMinPrice(),
+                request.getMaxPrice(),
+                request.getDate(),
+                request.getHasParking(),
+                normalizeRegion(request.getAddress1()),
+                normalizeRegion(request.getAddress2()),
+                request.getCategory(),
+                normalizeTags(request.getTags()),
+                request.getSort() == null ? ClassSearchSort.RELEVANCE : request.getSort(),
+                request.getCursor(),
+                size
+        );
+    }
+
+    public ClassSearchDto.Request toRequest() {
+        return ClassSearchDto.Request.builder()
+                .query(query)
+                .lat(lat)
+                .lng(lng)
+                .distance(distance)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .date(date)
+                .hasParking(hasParking)
+                .address1(address1)
+                .address2(address2)
+                .category(category)
+                .tags(tags)
+                .sort(sort)
+                .cursor(cursor)
+                .size(size)
+                .build();
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeRegion(String region) {
+        return region == null || region.isBlank() ? null : region.trim();
+    }
+
+    private static Double round(Double coordinate) {
+        return coordinate == null ? null
+                : BigDecimal.valueOf(coordinate).setScale(LOCATION_SCALE, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static List<String> normalizeTags(List<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        List<String> normalized = tags.stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(String::trim)
+                .distinct()
+                .sorted()
+                .toList();
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
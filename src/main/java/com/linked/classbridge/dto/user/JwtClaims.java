@@ -0,0 +1,26 @@
+package com.linked.classbridge.dto.user;
+
+import java.util.Date;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 서명 검증이 끝난 JWT 페이로드
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+
+    private final String tokenType;
+    private final String email;
+    private final Long userId;
+    private final List<String> roles;
+    private final Date expiration;
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+
+    public boolean isTokenType(String type) {
+        return type.equals(tokenType);
+    }
+}
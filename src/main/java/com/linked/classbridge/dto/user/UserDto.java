@@ -9,6 +9,7 @@ import lombok.Setter;
 @Setter
 public class UserDto {
 
+    private Long userId;
     private String provider;
     private String providerId;
     private String email;
@@ -0,0 +1,21 @@
+package com.linked.classbridge.dto.user;
+
+import com.linked.classbridge.domain.User;
+
+// 채팅 등 자주 호출되는 경로에서 사용하는 사용자 요약 정보
+public record UserSummary(
+        Long userId,
+        String email,
+        String nickname,
+        String profileImageUrl
+) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(
+                user.getUserId(),
+                user.getEmail(),
+                user.getNickname(),
+                user.getProfileImageUrl()
+        );
+    }
+}
@@ -45,8 +45,8 @@ public class CustomSuccessHandler extends SimpleUrlAuthenticationSuccessHandler
                     .collect(Collectors.toList());
 
             //토큰 생성
-            String access = jwtService.createJwt(TokenType.ACCESS.getValue(), email, roles, TokenType.ACCESS.getExpiryTime());
-            String refresh = jwtService.createJwt(TokenType.REFRESH.getValue(), email, roles, TokenType.REFRESH.getExpiryTime());
+            String access = jwtService.createJwt(TokenType.ACCESS.getValue(), email, user.getUserId(), roles, TokenType.ACCESS.getExpiryTime());
+            String refresh = jwtService.createJwt(TokenType.REFRESH.getValue(), email, user.getUserId(), roles, TokenType.REFRESH.getExpiryTime());
 
             //응답 설정
             response.setHeader(TokenType.ACCESS.getValue(), access);
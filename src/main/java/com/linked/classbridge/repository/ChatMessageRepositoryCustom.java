@@ -0,0 +1,19 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.ChatMessage;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChatMessageRepositoryCustom {
+
+    // (sendTime, id) 기준으로 커서보다 이전 메시지를 최신순으로 limit 개 조회한다. 커서가 null 이면 가장 최신 메시지부터 조회한다.
+    List<ChatMessage> findByChatRoomIdBeforeCursor(Long chatRoomId, LocalDateTime cursorSendTime, String cursorId,
+                                                   int limit);
+
+    // readerId 가 아닌 사람이 upTo 이전에 보낸 안 읽은 메시지를 한 번의 updateMany 로 읽음 처리하고, 변경된 수를 반환한다.
+    long markAsReadUpTo(Long chatRoomId, Long readerId, LocalDateTime upTo);
+
+    // 채팅방마다 가장 최근 메시지 하나씩을 한 번의 aggregation 으로 조회한다.
+    List<ChatMessage> findLatestMessagesByChatRoomIds(Collection<Long> chatRoomIds);
+}
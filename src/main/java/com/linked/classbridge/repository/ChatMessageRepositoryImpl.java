@@ -0,0 +1,77 @@
+package com.linked.classbridge.repository;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.replaceRoot;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.linked.classbridge.domain.ChatMessage;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class ChatMessageRepositoryImpl implements ChatMessageRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ChatMessage> findByChatRoomIdBeforeCursor(Long chatRoomId, LocalDateTime cursorSendTime,
+                                                          String cursorId, int limit) {
+        Criteria criteria = where("chatRoomId").is(chatRoomId);
+
+        if (cursorSendTime != null && cursorId != null) {
+            criteria.orOperator(
+                    where("sendTime").lt(cursorSendTime),
+                    where("sendTime").is(cursorSendTime).and("_id").lt(new ObjectId(cursorId))
+            );
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Direction.DESC, "sendTime").and(Sort.by(Direction.DESC, "_id")))
+                .limit(limit);
+
+        return mongoTemplate.find(query, ChatMessage.class);
+    }
+
+    @Override
+    public long markAsReadUpTo(Long chatRoomId, Long readerId, LocalDateTime upTo) {
+        Query query = new Query(where("chatRoomId").is(chatRoomId)
+                .and("senderId").ne(readerId)
+                .and("isRead").is(false)
+                .and("sendTime").lte(upTo));
+
+        return mongoTemplate.updateMulti(query, new Update().set("isRead", true), ChatMessage.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public List<ChatMessage> findLatestMessagesByChatRoomIds(Collection<Long> chatRoomIds) {
+        if (chatRoomIds.isEmpty()) {
+            return List.of();
+        }
+
+        // chatRoomId, sendTime 인덱스를 타도록 정렬 후 채팅방별 첫 번째 문서만 남긴다.
+        Aggregation aggregation = newAggregation(
+                match(where("chatRoomId").in(chatRoomIds)),
+                sort(Sort.by(Direction.ASC, "chatRoomId")
+                        .and(Sort.by(Direction.DESC, "sendTime"))
+                        .and(Sort.by(Direction.DESC, "_id"))),
+                group("chatRoomId").first(Aggregation.ROOT).as("latestMessage"),
+                replaceRoot("latestMessage")
+        );
+
+        return mongoTemplate.aggregate(aggregation, ChatMessage.class, ChatMessage.class).getMappedResults();
+    }
+}
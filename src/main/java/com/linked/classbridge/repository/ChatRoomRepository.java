@@ -4,6 +4,8 @@ import com.linked.classbridge.domain.ChatRoom;
 import com.linked.classbridge.domain.User;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -26,4 +28,6 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
             + "AND cr.deletedAt IS NULL "
             + "ORDER BY cr.updatedAt DESC")
     List<ChatRoom> findAllByUserOrderByLastMessageAtDesc(User user);
+
+    Slice<ChatRoom> findByChatRoomIdGreaterThanOrderByChatRoomIdAsc(Long chatRoomId, Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.ClassIndexOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClassIndexOutboxRepository extends JpaRepository<ClassIndexOutbox, Long> {
+
+    // 다른 서버가 잠근 행은 기다리지 않고 건너뛴다. 트랜잭션 안에서 호출한다.
+    @Query(value = "SELECT * FROM class_index_outbox WHERE next_attempt_at <= :now ORDER BY outbox_id "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ClassIndexOutbox> findDueForUpdateSkipLocked(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
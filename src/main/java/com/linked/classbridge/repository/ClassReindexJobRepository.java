@@ -0,0 +1,9 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.ClassReindexJob;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ClassReindexJobRepository extends JpaRepository<ClassReindexJob, Long> {
+    Optional<ClassReindexJob> findFirstByOrderByJobIdDesc();
+}
@@ -1,11 +1,20 @@
 package com.linked.classbridge.repository;
 
 import com.linked.classbridge.domain.ClassTag;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ClassTagRepository extends JpaRepository<ClassTag, Long> {
     List<ClassTag> findAllByOneDayClassClassId(Long classId);
 
+    List<ClassTag> findAllByOneDayClassClassIdIn(List<Long> classIds);
+
+    @Query(value = "SELECT DISTINCT class_id FROM class_tag WHERE updated_at >= :since OR deleted_at >= :since",
+            nativeQuery = true)
+    List<Long> findClassIdsChangedSince(@Param("since") LocalDateTime since);
+
     void deleteAllByOneDayClassClassId(long classId);
 }
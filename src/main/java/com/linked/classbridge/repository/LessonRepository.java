@@ -8,7 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface LessonRepository extends JpaRepository<Lesson, Long> {
+public interface LessonRepository extends JpaRepository<Lesson, Long>, LessonRepositoryCustom {
     void deleteAllByOneDayClassClassIdAndLessonDateIsAfter(Long classId, LocalDate lessonDate);
 
     boolean existsByOneDayClassClassIdAndLessonDateIsAfterAndParticipantNumberIsGreaterThan(Long classId, LocalDate endDate, int zero);
@@ -19,8 +19,6 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
     boolean existsByOneDayClassClassIdAndLessonDateIsBetweenAndParticipantNumberIsGreaterThan(long classId, LocalDate startDate, LocalDate changeStartDate,
                                                                                               int zero);
 
-    List<Lesson> findAllByOneDayClassClassIdAndLessonDateIsAfter(long classId, LocalDate localDate);
-
     boolean existsByOneDayClassClassIdAndParticipantNumberIsGreaterThanAndLessonDateIsAfter(long classId, int personal, LocalDate now);
 
     List<Lesson> findAllByOneDayClassClassId(long classId);
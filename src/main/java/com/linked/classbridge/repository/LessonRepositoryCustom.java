@@ -0,0 +1,37 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.dto.oneDayClass.LessonSlot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface LessonRepositoryCustom {
+
+    // 삭제된 레슨을 포함해 기간 내 저장된 레슨 슬롯을 조회한다.
+    List<LessonSlot> findSlots(Long classId, LocalDate from, LocalDate to);
+
+    Optional<LessonSlot> findSlot(Long classId, LocalDate lessonDate, LocalTime startTime);
+
+    // 잠금 읽기(FOR UPDATE)로 조회한다. 트랜잭션 스냅샷이 아닌 최신 커밋 행을 읽으므로
+    // 다른 트랜잭션이 먼저 저장한 슬롯도 보인다.
+    Optional<LessonSlot> findSlotForUpdate(Long classId, LocalDate lessonDate, LocalTime startTime);
+
+    // (class_id, lesson_date, start_time) 유니크 키로 동시에 같은 슬롯을 저장하더라도 한 행만 생성된다.
+    void insertSlotIfAbsent(Long classId, LocalDate lessonDate, LocalTime startTime, LocalTime endTime);
+
+    // 삭제된 슬롯을 참여 인원 0 인 레슨으로 되살린다.
+    void restoreSlot(Long lessonId, LocalTime endTime);
+
+    // 예약 이력이 없는 삭제된 슬롯을 물리적으로 삭제한다.
+    void purgeDeletedSlot(Long lessonId);
+
+    // fromDate 이후 레슨의 종료 시간을 시작 시간 + duration(분)으로 한 번에 변경하고 version 을 올린다.
+    int updateEndTimeOfLessonsFrom(Long classId, LocalDate fromDate, int duration);
+
+    // 정원을 넘지 않을 때만 참여 인원을 quantity 만큼 늘린다. 늘렸으면 1, 정원 초과나 없는 레슨이면 0.
+    int increaseParticipantNumber(Long lessonId, int quantity);
+
+    // 참여 인원이 quantity 이상일 때만 줄인다. 줄였으면 1, 아니면 0.
+    int decreaseParticipantNumber(Long lessonId, int quantity);
+}
@@ -0,0 +1,117 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.dto.oneDayClass.LessonSlot;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class LessonRepositoryImpl implements LessonRepositoryCustom {
+
+    private static final String SELECT_SLOT_SQL =
+            "SELECT lesson_id, lesson_date, start_time, end_time, participant_number, deleted_at FROM lesson ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<LessonSlot> findSlots(Long classId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                SELECT_SLOT_SQL + "WHERE class_id = ? AND lesson_date BETWEEN ? AND ? "
+                        + "ORDER BY lesson_date, start_time",
+                this::mapSlot,
+                classId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public Optional<LessonSlot> findSlot(Long classId, LocalDate lessonDate, LocalTime startTime) {
+        return jdbcTemplate.query(
+                        SELECT_SLOT_SQL + "WHERE class_id = ? AND lesson_date = ? AND start_time = ?",
+                        this::mapSlot,
+                        classId, Date.valueOf(lessonDate), Time.valueOf(startTime))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<LessonSlot> findSlotForUpdate(Long classId, LocalDate lessonDate, LocalTime startTime) {
+        return jdbcTemplate.query(
+                        SELECT_SLOT_SQL + "WHERE class_id = ? AND lesson_date = ? AND start_time = ? FOR UPDATE",
+                        this::mapSlot,
+                        classId, Date.valueOf(lessonDate), Time.valueOf(startTime))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void insertSlotIfAbsent(Long classId, LocalDate lessonDate, LocalTime startTime, LocalTime endTime) {
+        // 감사(auditing) 리스너를 거치지 않으므로 생성/수정 시각을 직접 채운다.
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO lesson (class_id, lesson_date, start_time, end_time, participant_number, "
+                        + "version, created_at, updated_at) VALUES (?, ?, ?, ?, 0, 0, ?, ?)",
+                classId, Date.valueOf(lessonDate), Time.valueOf(startTime), Time.valueOf(endTime), now, now);
+    }
+
+    @Override
+    public void restoreSlot(Long lessonId, LocalTime endTime) {
+        jdbcTemplate.update(
+                "UPDATE lesson SET deleted_at = NULL, participant_number = 0, end_time = ?, "
+                        + "version = version + 1, updated_at = ? WHERE lesson_id = ?",
+                Time.valueOf(endTime), Timestamp.valueOf(LocalDateTime.now()), lessonId);
+    }
+
+    @Override
+    public void purgeDeletedSlot(Long lessonId) {
+        jdbcTemplate.update(
+                "DELETE FROM lesson WHERE lesson_id = ? AND deleted_at IS NOT NULL AND participant_number = 0",
+                lessonId);
+    }
+
+    @Override
+    public int updateEndTimeOfLessonsFrom(Long classId, LocalDate fromDate, int duration) {
+        // 벌크 UPDATE 는 @Version 을 거치지 않으므로 직접 올려야 먼저 읽어 둔 레슨의 저장이 낙관적 락에 걸린다.
+        return jdbcTemplate.update(
+                "UPDATE lesson SET end_time = TIMESTAMPADD(MINUTE, ?, start_time), version = version + 1, "
+                        + "updated_at = ? WHERE class_id = ? AND lesson_date >= ? AND deleted_at IS NULL",
+                duration, Timestamp.valueOf(LocalDateTime.now()), classId, Date.valueOf(fromDate));
+    }
+
+    @Override
+    public int increaseParticipantNumber(Long lessonId, int quantity) {
+        // 조건 확인과 증가를 한 문장으로 처리하므로 동시에 요청해도 정원을 넘을 수 없다.
+        // version 을 올려 참여 인원을 먼저 읽어 둔 엔티티의 저장은 낙관적 락에 걸리게 한다.
+        return jdbcTemplate.update(
+                "UPDATE lesson SET participant_number = participant_number + ?, version = version + 1, "
+                        + "updated_at = ? WHERE lesson_id = ? AND deleted_at IS NULL AND participant_number + ? <= "
+                        + "(SELECT c.personal FROM one_day_class c WHERE c.class_id = lesson.class_id)",
+                quantity, Timestamp.valueOf(LocalDateTime.now()), lessonId, quantity);
+    }
+
+    @Override
+    public int decreaseParticipantNumber(Long lessonId, int quantity) {
+        return jdbcTemplate.update(
+                "UPDATE lesson SET participant_number = participant_number - ?, version = version + 1, "
+                        + "updated_at = ? WHERE lesson_id = ? AND participant_number >= ?",
+                quantity, Timestamp.valueOf(LocalDateTime.now()), lessonId, quantity);
+    }
+
+    private LessonSlot mapSlot(ResultSet rs, int rowNum) throws SQLException {
+        return new LessonSlot(
+                rs.getLong("lesson_id"),
+                rs.getDate("lesson_date").toLocalDate(),
+                rs.getTime("start_time").toLocalTime(),
+                rs.getTime("end_time").toLocalTime(),
+                rs.getInt("participant_number"),
+                rs.getTimestamp("deleted_at") != null
+        );
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.elasticsearch.repository.ElasticsearchRepository
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OneDayClassDocumentRepository extends ElasticsearchRepository<OneDayClassDocument, Long> {
+public interface OneDayClassDocumentRepository extends ElasticsearchRepository<OneDayClassDocument, Long>,
+        OneDayClassDocumentRepositoryCustom {
 
 }
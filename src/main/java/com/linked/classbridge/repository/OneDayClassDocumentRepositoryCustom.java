@@ -0,0 +1,13 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.document.OneDayClassDocumentPatch;
+import java.util.List;
+
+public interface OneDayClassDocumentRepositoryCustom {
+
+    // 문서를 읽지 않고 painless 스크립트(_update)로 patch 의 필드만 변경한다.
+    void patch(OneDayClassDocumentPatch patch);
+
+    // 여러 patch 를 한 번의 _bulk 요청으로 보낸다. 실패한 문서가 있으면 BulkFailureException 이 발생한다.
+    void bulkPatch(List<OneDayClassDocumentPatch> patches);
+}
@@ -0,0 +1,63 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.domain.document.OneDayClassDocumentPatch;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+
+@RequiredArgsConstructor
+public class OneDayClassDocumentRepositoryImpl implements OneDayClassDocumentRepositoryCustom {
+
+    // 같은 문서에 동시에 갱신이 들어오면 OpenSearch 가 버전 충돌 시 스크립트를 다시 실행한다.
+    private static final int RETRY_ON_CONFLICT = 3;
+
+    private final ElasticsearchOperations operations;
+
+    @Override
+    public void patch(OneDayClassDocumentPatch patch) {
+        operations.update(toUpdateQuery(patch), operations.getIndexCoordinatesFor(OneDayClassDocument.class));
+    }
+
+    @Override
+    public void bulkPatch(List<OneDayClassDocumentPatch> patches) {
+        if (patches.isEmpty()) {
+            return;
+        }
+        operations.bulkUpdate(patches.stream().map(this::toUpdateQuery).toList(), OneDayClassDocument.class);
+    }
+
+    UpdateQuery toUpdateQuery(OneDayClassDocumentPatch patch) {
+        StringBuilder script = new StringBuilder();
+        Map<String, Object> params = new HashMap<>();
+
+        if (patch.starRate() != null) {
+            script.append("ctx._source.starRate = params.starRate;");
+            params.put("starRate", patch.starRate());
+        }
+        if (patch.totalWish() != null) {
+            script.append("ctx._source.totalWish = params.totalWish;");
+            // 자동완성은 찜 수를 가중치로 사용한다.
+            script.append("if (ctx._source.suggest != null) { ctx._source.suggest.weight = params.totalWish; }");
+            params.put("totalWish", patch.totalWish());
+        }
+        if (patch.tagList() != null) {
+            script.append("ctx._source.tagList = params.tagList;");
+            params.put("tagList", patch.tagList());
+        }
+        if (patch.suggestInput() != null) {
+            script.append("ctx._source.suggest = ['input': params.suggestInput, 'weight': ctx._source.totalWish];");
+            params.put("suggestInput", patch.suggestInput());
+        }
+
+        return UpdateQuery.builder(patch.classId().toString())
+                .withScript(script.toString())
+                .withLang("painless")
+                .withParams(params)
+                .withRetryOnConflict(RETRY_ON_CONFLICT)
+                .build();
+    }
+}
@@ -1,10 +1,13 @@
 package com.linked.classbridge.repository;
 
 import com.linked.classbridge.domain.OneDayClass;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +15,12 @@ public interface OneDayClassRepository extends JpaRepository<OneDayClass, Long>
     Page<OneDayClass> findAllByTutorUserId(long userId, Pageable pageable);
 
     Page<OneDayClass> findAllByClassIdIn(List<Long> list, Pageable pageable);
+
+    // 재색인용 keyset 페이지네이션. offset 없이 classId 인덱스로 다음 페이지를 찾는다.
+    List<OneDayClass> findAllByClassIdGreaterThanOrderByClassIdAsc(Long classId, Pageable pageable);
+
+    // 삭제된 클래스도 포함해야 하므로 @SQLRestriction 이 적용되지 않는 native query 를 사용한다.
+    @Query(value = "SELECT class_id FROM one_day_class WHERE updated_at >= :since OR deleted_at >= :since",
+            nativeQuery = true)
+    List<Long> findClassIdsChangedSince(@Param("since") LocalDateTime since);
 }
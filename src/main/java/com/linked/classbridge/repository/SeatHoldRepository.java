@@ -0,0 +1,36 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.SeatHold;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long>, SeatHoldRepositoryCustom {
+
+    Optional<SeatHold> findByReservationId(Long reservationId);
+
+    Optional<SeatHold> findByTid(String tid);
+
+    List<SeatHold> findAllByReservationIdIn(Collection<Long> reservationIds);
+
+    List<SeatHold> findByExpiresAtLessThanEqualOrderByHoldIdAsc(LocalDateTime now, Pageable pageable);
+
+    // 확정, 취소, 만료가 같은 hold 를 동시에 처리해도 삭제에 성공한(1 을 받은) 쪽만 좌석을 바꾼다.
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.holdId = :holdId")
+    int deleteByHoldId(@Param("holdId") Long holdId);
+
+    @Modifying
+    @Query("UPDATE SeatHold h SET h.tid = :tid, h.partnerOrderId = :partnerOrderId "
+            + "WHERE h.reservationId = :reservationId")
+    int updatePayment(@Param("reservationId") Long reservationId, @Param("tid") String tid,
+                      @Param("partnerOrderId") String partnerOrderId);
+}
@@ -0,0 +1,10 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.SeatHold;
+import java.util.List;
+
+public interface SeatHoldRepositoryCustom {
+
+    // hold 들을 JDBC 배치 INSERT 로 저장한다. IDENTITY id 라 saveAll 은 행마다 INSERT 를 보낸다.
+    void bulkInsert(List<SeatHold> holds);
+}
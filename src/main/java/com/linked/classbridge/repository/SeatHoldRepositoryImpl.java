@@ -0,0 +1,32 @@
+package com.linked.classbridge.repository;
+
+import com.linked.classbridge.domain.SeatHold;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class SeatHoldRepositoryImpl implements SeatHoldRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_HOLD_SQL =
+            "INSERT INTO seat_hold (reservation_id, lesson_id, quantity, expires_at, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void bulkInsert(List<SeatHold> holds) {
+        jdbcTemplate.batchUpdate(INSERT_HOLD_SQL, holds, BATCH_SIZE,
+                (PreparedStatement ps, SeatHold hold) -> {
+                    ps.setLong(1, hold.getReservationId());
+                    ps.setLong(2, hold.getLessonId());
+                    ps.setInt(3, hold.getQuantity());
+                    ps.setTimestamp(4, Timestamp.valueOf(hold.getExpiresAt()));
+                    ps.setTimestamp(5, Timestamp.valueOf(hold.getCreatedAt()));
+                });
+    }
+}
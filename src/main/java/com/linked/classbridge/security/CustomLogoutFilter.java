@@ -1,5 +1,6 @@
 package com.linked.classbridge.security;
 
+import com.linked.classbridge.dto.user.JwtClaims;
 import com.linked.classbridge.service.JWTService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -55,19 +56,22 @@ public class CustomLogoutFilter extends GenericFilterBean {
         }
 
         // 만료 체크
-        if(jwtService.isExpired(refresh)) { // refresh 토큰이 만료되었으면 400 에러 반환
+        JwtClaims claims = jwtService.parse(refresh);
+        if(claims.isExpired()) { // refresh 토큰이 만료되었으면 400 에러 반환
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
         // 토큰이 refresh인지 확인 (발급시 페이로드에 명시)
-        String tokenType = jwtService.getTokenType(refresh);
-        if (!tokenType.equals("refresh")) { // 토큰 카테고리가 refresh가 아니면 400 에러 반환
+        if (!claims.isTokenType("refresh")) { // 토큰 카테고리가 refresh가 아니면 400 에러 반환
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
         // 로그아웃 진행
+        // 로그아웃한 토큰의 claims 만 캐시에서 제거
+        jwtService.invalidate(refresh);
+
         // Refresh 토큰 Cookie 값 0으로 설정
         Cookie cookie = new Cookie("refresh", null);
         cookie.setMaxAge(0); // 쿠키의 최대 나이를 0으로 설정하여 즉시 만료
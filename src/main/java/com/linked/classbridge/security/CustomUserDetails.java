@@ -59,6 +59,10 @@ public class CustomUserDetails implements UserDetails {
         return true;
     }
 
+    public Long getUserId() {
+        return userDto.getUserId();
+    }
+
     public UserDto getUserDto() {
         return userDto;
     }
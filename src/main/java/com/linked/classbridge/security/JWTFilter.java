@@ -1,5 +1,6 @@
 package com.linked.classbridge.security;
 
+import com.linked.classbridge.dto.user.JwtClaims;
 import com.linked.classbridge.dto.user.UserDto;
 import com.linked.classbridge.service.JWTService;
 import jakarta.servlet.FilterChain;
@@ -40,7 +41,9 @@ public class JWTFilter extends OncePerRequestFilter {
             return;
         }
 
-        if(jwtService.isExpired(accessToken)) {
+        JwtClaims claims = jwtService.parse(accessToken);
+
+        if(claims.isExpired()) {
             PrintWriter writer = response.getWriter();
             writer.print("access token expired");
 
@@ -49,9 +52,7 @@ public class JWTFilter extends OncePerRequestFilter {
             return;
         }
 
-        String tokenType = jwtService.getTokenType(accessToken);
-
-        if (!tokenType.equals("access")) {
+        if (!claims.isTokenType("access")) {
             PrintWriter writer = response.getWriter();
             writer.print("invalid access token");
 
@@ -60,11 +61,12 @@ public class JWTFilter extends OncePerRequestFilter {
             return;
         }
 
-        String email = jwtService.getEmail(accessToken);
-        List<String> roles = jwtService.getRoles(accessToken);
+        String email = claims.getEmail();
+        List<String> roles = claims.getRoles();
         log.info("Token validated. UserEmail: {}, Roles: {}", email, roles);
 
         UserDto userDto = new UserDto();
+        userDto.setUserId(claims.getUserId());
         userDto.setEmail(email);
         userDto.setRoles(roles);
 
@@ -0,0 +1,56 @@
+package com.linked.classbridge.service;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+import com.linked.classbridge.domain.ClassImage;
+import com.linked.classbridge.domain.ClassTag;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.repository.ClassImageRepository;
+import com.linked.classbridge.repository.ClassTagRepository;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 클래스의 검색 문서를 만들 때 태그와 대표 이미지를 클래스마다 지연 로딩하지 않고 한 번씩 일괄 조회한다.
+ * 재색인과 outbox 릴레이가 함께 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClassDocumentLoader {
+
+    private final ClassTagRepository classTagRepository;
+
+    private final ClassImageRepository classImageRepository;
+
+    public ClassDocumentSources load(List<Long> classIds) {
+        if (classIds.isEmpty()) {
+            return new ClassDocumentSources(Map.of(), Map.of());
+        }
+
+        Map<Long, List<String>> tags = classTagRepository.findAllByOneDayClassClassIdIn(classIds).stream()
+                .collect(groupingBy(tag -> tag.getOneDayClass().getClassId(), mapping(ClassTag::getName, toList())));
+        Map<Long, String> imageUrls = classImageRepository.findAllByOneDayClassClassIdInAndSequence(classIds, 1)
+                .stream()
+                .collect(toMap(image -> image.getOneDayClass().getClassId(), ClassImage::getUrl,
+                        (first, second) -> first));
+        return new ClassDocumentSources(tags, imageUrls);
+    }
+
+    public record ClassDocumentSources(Map<Long, List<String>> tags, Map<Long, String> imageUrls) {
+
+        public List<String> tagsOf(Long classId) {
+            return tags.getOrDefault(classId, List.of());
+        }
+
+        public OneDayClassDocument documentOf(OneDayClass oneDayClass) {
+            return new OneDayClassDocument(oneDayClass, tagsOf(oneDayClass.getClassId()),
+                    imageUrls.get(oneDayClass.getClassId()));
+        }
+    }
+}
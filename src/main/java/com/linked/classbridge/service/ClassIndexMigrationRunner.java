@@ -0,0 +1,56 @@
+package com.linked.classbridge.service;
+
+import com.linked.classbridge.dto.search.ClassReindexStatus;
+import com.linked.classbridge.type.ReindexStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * onedayclass 색인 마이그레이션 명령.
+ * <p>
+ * --migrate-search-index 옵션으로 실행하면 alias 가 가리키는 색인의 mapping 버전(_meta.version)을 확인하고, 이전 버전이면
+ * 현재 setting.json, mapping.json 으로 새 색인을 만들어 재색인한 뒤 종료한다. --force 를 함께 주면 버전과 관계없이 재색인한다.
+ * 이전에 중단된 재색인이 있으면 이어서 실행한다.
+ * <pre>
+ * java -jar classbridge.jar --spring.main.web-application-type=none --migrate-search-index
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClassIndexMigrationRunner implements ApplicationRunner {
+
+    static final String MIGRATE_OPTION = "migrate-search-index";
+
+    static final String FORCE_OPTION = "force";
+
+    private final ClassReindexService classReindexService;
+
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(MIGRATE_OPTION)) {
+            return;
+        }
+        int exitCode = migrate(args.containsOption(FORCE_OPTION));
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+
+    int migrate(boolean force) {
+        if (!force && classReindexService.isMappingUpToDate()) {
+            log.info("Class search index mapping is up to date, nothing to migrate");
+            return 0;
+        }
+
+        ClassReindexStatus status = classReindexService.runNow();
+        log.info("Class search index migration finished: {} ({} documents into {})",
+                status.status(), status.indexedCount(), status.targetIndex());
+        return status.status() == ReindexStatus.COMPLETED ? 0 : 1;
+    }
+}
@@ -0,0 +1,334 @@
+package com.linked.classbridge.service;
+
+import com.linked.classbridge.domain.ClassIndexOutbox;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.domain.document.OneDayClassDocumentPatch;
+import com.linked.classbridge.repository.ClassIndexOutboxRepository;
+import com.linked.classbridge.repository.OneDayClassDocumentRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.service.ClassDocumentLoader.ClassDocumentSources;
+import com.linked.classbridge.service.ClassSearchCache.ClassChange;
+import com.linked.classbridge.type.IndexOperation;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.xcontent.XContentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * class_index_outbox 에 쌓인 색인 요청을 주기적으로 OpenSearch 에 반영한다.
+ * 같은 classId 의 요청은 하나로 합쳐 DB 의 현재 상태로 문서를 만들고, 한 번의 _bulk 요청으로 보낸다.
+ * 별점, 찜 수, 태그만 바뀐 경우에는 문서 전체 대신 painless 스크립트 부분 갱신을 보낸다.
+ * 실패한 요청은 지수 백오프로 nextAttemptAt 을 미뤄 다시 시도한다.
+ * <p>
+ * 여러 서버가 함께 실행되므로 요청은 FOR UPDATE SKIP LOCKED 로 나눠 가져가고, 가져가면서 nextAttemptAt 을 lease 만큼
+ * 미뤄 처리하는 동안 다른 서버가 다시 가져가지 않게 한다. 문서는 클래스별로 만들어 실패한 클래스의 요청만 미룬다.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "search.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class ClassIndexOutboxRelay {
+
+    private final ClassIndexOutboxRepository outboxRepository;
+
+    private final OneDayClassRepository classRepository;
+
+    private final ClassDocumentLoader classDocumentLoader;
+
+    private final OneDayClassDocumentRepository documentRepository;
+
+    private final ElasticsearchOperations operations;
+
+    private final RestHighLevelClient client;
+
+    private final ClassSearchCache classSearchCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final int batchSize;
+
+    private final long initialBackoffMs;
+
+    private final long maxBackoffMs;
+
+    private final long leaseMs;
+
+    public ClassIndexOutboxRelay(
+            ClassIndexOutboxRepository outboxRepository,
+            OneDayClassRepository classRepository,
+            ClassDocumentLoader classDocumentLoader,
+            OneDayClassDocumentRepository documentRepository,
+            ElasticsearchOperations operations,
+            RestHighLevelClient client,
+            ClassSearchCache classSearchCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${search.outbox.batch-size:500}") int batchSize,
+            @Value("${search.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${search.outbox.max-backoff-ms:300000}") long maxBackoffMs,
+            @Value("${search.outbox.lease-ms:60000}") long leaseMs) {
+        this.outboxRepository = outboxRepository;
+        this.classRepository = classRepository;
+        this.classDocumentLoader = classDocumentLoader;
+        this.documentRepository = documentRepository;
+        this.operations = operations;
+        this.client = client;
+        this.classSearchCache = classSearchCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+    }
+
+    @Scheduled(fixedDelayString = "${search.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            // 밀린 요청이 있으면 비워질 때까지 이어서 처리한다.
+            while (relayBatch() == batchSize) {
+                log.debug("Class index outbox has more pending entries, relaying next batch");
+            }
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while relaying class index outbox", e);
+        }
+    }
+
+    int relayBatch() {
+        List<ClassIndexOutbox> batch = transactionTemplate.execute(status -> claim());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // outboxId 순으로 덮어쓰므로 classId 별 마지막 전체 색인/삭제 요청만 남는다.
+        Map<Long, IndexOperation> fullOperations = new LinkedHashMap<>();
+        Map<Long, Set<IndexOperation>> partialOperations = new LinkedHashMap<>();
+        for (ClassIndexOutbox outbox : batch) {
+            // 재시도는 전체 색인으로 처리한다. 문서가 없어 부분 갱신이 실패한 경우에도 문서가 다시 만들어진다.
+            IndexOperation operation = outbox.getAttempts() > 0 ? IndexOperation.UPSERT : outbox.getOperation();
+            if (operation == IndexOperation.UPSERT || operation == IndexOperation.DELETE) {
+                fullOperations.put(outbox.getClassId(), operation);
+            } else {
+                partialOperations.computeIfAbsent(outbox.getClassId(), classId -> EnumSet.noneOf(IndexOperation.class))
+                        .add(operation);
+            }
+        }
+        // 전체 색인되는 클래스는 부분 갱신이 필요 없다.
+        partialOperations.keySet().removeAll(fullOperations.keySet());
+
+        IndexChanges changes;
+        try {
+            changes = readOnlyTransactionTemplate.execute(status -> loadChanges(fullOperations, partialOperations));
+        } catch (RuntimeException e) {
+            // 클래스 조회 자체가 실패하면 이번 요청을 모두 미룬다.
+            log.warn("Failed to load classes to index", e);
+            Set<Long> classIds = new HashSet<>(fullOperations.keySet());
+            classIds.addAll(partialOperations.keySet());
+            changes = new IndexChanges(Map.of(), List.of(), classIds);
+        }
+
+        Set<Long> failedClassIds = new HashSet<>(changes.failedClassIds());
+        failedClassIds.addAll(sendDocuments(changes.documents()));
+        failedClassIds.addAll(sendPatches(changes.patches()));
+
+        transactionTemplate.executeWithoutResult(status -> acknowledge(batch, failedClassIds));
+        classSearchCache.invalidate(changedClasses(changes, failedClassIds));
+        return batch.size();
+    }
+
+    // 처리할 요청을 가져가고 lease 가 끝날 때까지 nextAttemptAt 을 미룬다. 변경은 트랜잭션 커밋 시 반영된다.
+    private List<ClassIndexOutbox> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ClassIndexOutbox> claimed = outboxRepository.findDueForUpdateSkipLocked(now, batchSize);
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        claimed.forEach(outbox -> outbox.setNextAttemptAt(leaseUntil));
+        return claimed;
+    }
+
+    // DB 의 현재 상태로 문서와 patch 를 만든다. 클래스가 이미 삭제되었으면 문서도 삭제한다(document 가 null).
+    // 태그와 대표 이미지는 한 번에 조회하고, 문서를 만들지 못한 클래스는 failedClassIds 로 돌려준다.
+    private IndexChanges loadChanges(Map<Long, IndexOperation> fullOperations,
+                                     Map<Long, Set<IndexOperation>> partialOperations) {
+        List<Long> classIds = new ArrayList<>(partialOperations.keySet());
+        fullOperations.forEach((classId, operation) -> {
+            if (operation == IndexOperation.UPSERT) {
+                classIds.add(classId);
+            }
+        });
+
+        Map<Long, OneDayClass> classes = new HashMap<>();
+        if (!classIds.isEmpty()) {
+            classRepository.findAllById(classIds)
+                    .forEach(oneDayClass -> classes.put(oneDayClass.getClassId(), oneDayClass));
+        }
+
+        ClassDocumentSources sources = classDocumentLoader.load(new ArrayList<>(classes.keySet()));
+
+        Map<Long, OneDayClassDocument> documents = new LinkedHashMap<>();
+        Set<Long> failedClassIds = new HashSet<>();
+        fullOperations.forEach((classId, operation) -> {
+            OneDayClass oneDayClass = classes.get(classId);
+            if (operation != IndexOperation.UPSERT || oneDayClass == null) {
+                documents.put(classId, null);
+                return;
+            }
+            try {
+                documents.put(classId, sources.documentOf(oneDayClass));
+            } catch (RuntimeException e) {
+                log.warn("Failed to build document of class {}", classId, e);
+                failedClassIds.add(classId);
+            }
+        });
+
+        List<OneDayClassDocumentPatch> patches = new ArrayList<>();
+        partialOperations.forEach((classId, partial) -> {
+            OneDayClass oneDayClass = classes.get(classId);
+            if (oneDayClass == null) {
+                documents.put(classId, null);
+                return;
+            }
+            try {
+                patches.add(OneDayClassDocumentPatch.of(oneDayClass, partial.contains(IndexOperation.COUNTERS),
+                        partial.contains(IndexOperation.TAGS) ? sources.tagsOf(classId) : null));
+            } catch (RuntimeException e) {
+                log.warn("Failed to build patch of class {}", classId, e);
+                failedClassIds.add(classId);
+            }
+        });
+
+        return new IndexChanges(documents, patches, failedClassIds);
+    }
+
+    private Set<Long> sendDocuments(Map<Long, OneDayClassDocument> documents) {
+        if (documents.isEmpty()) {
+            return Set.of();
+        }
+        String indexName = operations.getIndexCoordinatesFor(OneDayClassDocument.class).getIndexName();
+
+        BulkRequest bulkRequest = new BulkRequest();
+        List<Long> requestOrder = new ArrayList<>(documents.size());
+        documents.forEach((classId, document) -> {
+            if (document == null) {
+                bulkRequest.add(new DeleteRequest(indexName, classId.toString()));
+            } else {
+                bulkRequest.add(new IndexRequest(indexName)
+                        .id(classId.toString())
+                        .source(operations.getElasticsearchConverter().mapObject(document).toJson(),
+                                XContentType.JSON));
+            }
+            requestOrder.add(classId);
+        });
+
+        try {
+            BulkResponse response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+            Set<Long> failedClassIds = new HashSet<>();
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    Long classId = requestOrder.get(item.getItemId());
+                    log.warn("Failed to index class {}: {}", classId, item.getFailureMessage());
+                    failedClassIds.add(classId);
+                }
+            }
+            return failedClassIds;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to send bulk request for {} classes", requestOrder.size(), e);
+            return new HashSet<>(requestOrder);
+        }
+    }
+
+    private Set<Long> sendPatches(List<OneDayClassDocumentPatch> patches) {
+        if (patches.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            documentRepository.bulkPatch(patches);
+            return Set.of();
+        } catch (BulkFailureException e) {
+            log.warn("Failed to patch class documents {}", e.getFailedDocuments().keySet());
+            return e.getFailedDocuments().keySet().stream()
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet());
+        } catch (RuntimeException e) {
+            log.warn("Failed to send bulk patch for {} classes", patches.size(), e);
+            return patches.stream()
+                    .map(OneDayClassDocumentPatch::classId)
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    // 색인에 반영된 변경만 검색 결과 캐시에서 제거한다.
+    private List<ClassChange> changedClasses(IndexChanges changes, Set<Long> failedClassIds) {
+        List<ClassChange> changed = new ArrayList<>();
+        changes.documents().forEach((classId, document) -> {
+            if (!failedClassIds.contains(classId)) {
+                changed.add(document == null
+                        ? ClassChange.removed(classId)
+                        : ClassChange.upserted(classId, document.getCategory()));
+            }
+        });
+        changes.patches().stream()
+                .filter(patch -> !failedClassIds.contains(patch.classId()))
+                .forEach(patch -> changed.add(new ClassChange(patch.classId(), null, patch.tagList())));
+        return changed;
+    }
+
+    private void acknowledge(List<ClassIndexOutbox> batch, Set<Long> failedClassIds) {
+        List<ClassIndexOutbox> succeeded = new ArrayList<>();
+        List<ClassIndexOutbox> failed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (ClassIndexOutbox outbox : batch) {
+            if (!failedClassIds.contains(outbox.getClassId())) {
+                succeeded.add(outbox);
+                continue;
+            }
+            outbox.setAttempts(outbox.getAttempts() + 1);
+            outbox.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs(outbox.getAttempts()))));
+            failed.add(outbox);
+        }
+
+        if (!succeeded.isEmpty()) {
+            outboxRepository.deleteAllInBatch(succeeded);
+        }
+        if (!failed.isEmpty()) {
+            outboxRepository.saveAll(failed);
+        }
+    }
+
+    long backoffMs(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(initialBackoffMs << shift, maxBackoffMs);
+    }
+
+    private record IndexChanges(Map<Long, OneDayClassDocument> documents, List<OneDayClassDocumentPatch> patches,
+                                Set<Long> failedClassIds) {
+    }
+}
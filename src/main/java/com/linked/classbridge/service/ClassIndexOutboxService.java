@@ -0,0 +1,48 @@
+package com.linked.classbridge.service;
+
+import com.linked.classbridge.domain.ClassIndexOutbox;
+import com.linked.classbridge.repository.ClassIndexOutboxRepository;
+import com.linked.classbridge.type.IndexOperation;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * OneDayClassDocument 색인 요청을 outbox 테이블에 기록한다.
+ * 호출한 트랜잭션과 함께 커밋/롤백되므로 DB 와 색인이 어긋나지 않고, OpenSearch 호출은 ClassIndexOutboxRelay 가 비동기로 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClassIndexOutboxService {
+
+    private final ClassIndexOutboxRepository classIndexOutboxRepository;
+
+    @Transactional
+    public void upsert(Long classId) {
+        classIndexOutboxRepository.save(ClassIndexOutbox.of(classId, IndexOperation.UPSERT));
+    }
+
+    @Transactional
+    public void upsertAll(Collection<Long> classIds) {
+        classIndexOutboxRepository.saveAll(classIds.stream()
+                .map(classId -> ClassIndexOutbox.of(classId, IndexOperation.UPSERT))
+                .toList());
+    }
+
+    // 별점, 찜 수 변경
+    @Transactional
+    public void updateCounters(Long classId) {
+        classIndexOutboxRepository.save(ClassIndexOutbox.of(classId, IndexOperation.COUNTERS));
+    }
+
+    @Transactional
+    public void updateTags(Long classId) {
+        classIndexOutboxRepository.save(ClassIndexOutbox.of(classId, IndexOperation.TAGS));
+    }
+
+    @Transactional
+    public void delete(Long classId) {
+        classIndexOutboxRepository.save(ClassIndexOutbox.of(classId, IndexOperation.DELETE));
+    }
+}
@@ -0,0 +1,359 @@
+package com.linked.classbridge.service;
+
+import com.linked.classbridge.domain.ClassReindexJob;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.dto.search.ClassReindexStatus;
+import com.linked.classbridge.repository.ClassReindexJobRepository;
+import com.linked.classbridge.repository.ClassTagRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.service.ClassDocumentLoader.ClassDocumentSources;
+import com.linked.classbridge.type.ReindexStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * onedayclass 색인을 DB 로부터 새로 만든다.
+ * <p>
+ * classId 기준 keyset 페이지로 클래스를 읽고 태그와 대표 이미지는 페이지 단위로 한 번에 조회한다. 문서 생성과 _bulk 요청은
+ * 최대 parallelism 개까지 병렬로 실행되며, 새 버전 색인(onedayclass_yyyyMMddHHmmss)에 모두 적재되면 onedayclass alias 를
+ * 한 번의 요청으로 새 색인으로 옮긴다. 완료된 페이지까지 lastClassId 를 기록하므로 중단된 작업은 그 다음부터 이어서 실행된다.
+ * 재색인 중 바뀐 클래스는 alias 전환 후 outbox 로 다시 색인한다.
+ */
+@Service
+@Slf4j
+public class ClassReindexService {
+
+    public static final String INDEXED_DOCUMENTS = "search.reindex.indexed";
+
+    public static final String THROUGHPUT = "search.reindex.throughput";
+
+    public static final String RUNNING = "search.reindex.running";
+
+    private static final DateTimeFormatter INDEX_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final OneDayClassRepository classRepository;
+
+    private final ClassTagRepository classTagRepository;
+
+    private final ClassDocumentLoader classDocumentLoader;
+
+    private final ClassReindexJobRepository jobRepository;
+
+    private final ClassIndexOutboxService classIndexOutboxService;
+
+    private final ClassSearchCache classSearchCache;
+
+    private final ElasticsearchOperations operations;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final ExecutorService jobExecutor;
+
+    private final ExecutorService bulkExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // 현재 서버에서 실행 중인 구간에 색인한 문서 수와 시작 시각 (처리량 계산용)
+    private final AtomicLong indexedDocuments = new AtomicLong();
+
+    private volatile long runStartedNanos;
+
+    private volatile ClassReindexJob currentJob;
+
+    public ClassReindexService(
+            OneDayClassRepository classRepository,
+            ClassTagRepository classTagRepository,
+            ClassDocumentLoader classDocumentLoader,
+            ClassReindexJobRepository jobRepository,
+            ClassIndexOutboxService classIndexOutboxService,
+            ClassSearchCache classSearchCache,
+            ElasticsearchOperations operations,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${search.reindex.batch-size:500}") int batchSize,
+            @Value("${search.reindex.parallelism:4}") int parallelism) {
+        this.classRepository = classRepository;
+        this.classTagRepository = classTagRepository;
+        this.classDocumentLoader = classDocumentLoader;
+        this.jobRepository = jobRepository;
+        this.classIndexOutboxService = classIndexOutboxService;
+        this.classSearchCache = classSearchCache;
+        this.operations = operations;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "class-reindex"));
+        AtomicInteger bulkThreadCount = new AtomicInteger();
+        this.bulkExecutor = Executors.newFixedThreadPool(parallelism,
+                runnable -> new Thread(runnable, "class-reindex-bulk-" + bulkThreadCount.incrementAndGet()));
+
+        Gauge.builder(INDEXED_DOCUMENTS, indexedDocuments, AtomicLong::get)
+                .description("Documents bulk-loaded by the running class reindex job")
+                .register(meterRegistry);
+        Gauge.builder(THROUGHPUT, this, ClassReindexService::getDocsPerSecond)
+                .description("Documents per second bulk-loaded by the running class reindex job")
+                .baseUnit("documents/s")
+                .register(meterRegistry);
+        Gauge.builder(RUNNING, running, flag -> flag.get() ? 1 : 0)
+                .description("Whether a class reindex job is running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재색인을 시작한다. 완료되지 않은 이전 작업이 있으면 그 작업을 이어서 실행하고, 이미 실행 중이면 진행 상황만 반환한다.
+     */
+    public ClassReindexStatus start() {
+        if (!running.compareAndSet(false, true)) {
+            return getStatus();
+        }
+        try {
+            ClassReindexJob job = begin();
+            jobExecutor.execute(() -> run(job));
+            return getStatus();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 호출한 스레드에서 재색인을 끝까지 실행한다. 색인 마이그레이션 명령에서 사용한다.
+     */
+    public ClassReindexStatus runNow() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Class reindex job is already running");
+        }
+        ClassReindexJob job;
+        try {
+            job = begin();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        run(job);
+        return ClassReindexStatus.of(job, 0);
+    }
+
+    /**
+     * alias 가 가리키는 색인이 mapping.json 의 _meta.version 으로 만들어졌는지 확인한다.
+     */
+    public boolean isMappingUpToDate() {
+        IndexOperations aliasOps = operations.indexOps(IndexCoordinates.of(aliasName()));
+        if (!aliasOps.exists()) {
+            return false;
+        }
+        Object expected = mappingVersionOf(operations.indexOps(OneDayClassDocument.class).createMapping());
+        return aliasOps.getAliasesForIndex(aliasName()).keySet().stream()
+                .map(index -> mappingVersionOf(operations.indexOps(IndexCoordinates.of(index)).getMapping()))
+                .allMatch(version -> expected != null && String.valueOf(expected).equals(String.valueOf(version)));
+    }
+
+    private Object mappingVersionOf(Map<String, Object> mapping) {
+        return mapping != null && mapping.get("_meta") instanceof Map<?, ?> meta ? meta.get("version") : null;
+    }
+
+    private ClassReindexJob begin() {
+        ClassReindexJob job = prepareJob();
+        currentJob = job;
+        indexedDocuments.set(0);
+        runStartedNanos = System.nanoTime();
+        return job;
+    }
+
+    public ClassReindexStatus getStatus() {
+        ClassReindexJob job = currentJob != null ? currentJob : jobRepository.findFirstByOrderByJobIdDesc().orElse(null);
+        return job == null ? null : ClassReindexStatus.of(job, getDocsPerSecond());
+    }
+
+    public double getDocsPerSecond() {
+        if (!running.get()) {
+            return 0;
+        }
+        double elapsedSeconds = (System.nanoTime() - runStartedNanos) / 1_000_000_000.0;
+        return elapsedSeconds <= 0 ? 0 : indexedDocuments.get() / elapsedSeconds;
+    }
+
+    private ClassReindexJob prepareJob() {
+        ClassReindexJob job = jobRepository.findFirstByOrderByJobIdDesc()
+                .filter(last -> last.getStatus() != ReindexStatus.COMPLETED)
+                .filter(last -> operations.indexOps(IndexCoordinates.of(last.getTargetIndex())).exists())
+                .orElseGet(() -> ClassReindexJob.start(
+                        aliasName() + "_" + LocalDateTime.now().format(INDEX_SUFFIX)));
+        job.setStatus(ReindexStatus.RUNNING);
+        job.setFinishedAt(null);
+
+        IndexOperations targetOps = operations.indexOps(IndexCoordinates.of(job.getTargetIndex()));
+        if (!targetOps.exists()) {
+            // setting.json, mapping.json 을 그대로 사용해 새 버전 색인을 만든다.
+            IndexOperations documentOps = operations.indexOps(OneDayClassDocument.class);
+            targetOps.create(documentOps.createSettings(), documentOps.createMapping());
+        }
+        if (job.getLastClassId() > 0) {
+            log.info("Resuming class reindex job {} into {} after class {}",
+                    job.getJobId(), job.getTargetIndex(), job.getLastClassId());
+        }
+        return jobRepository.save(job);
+    }
+
+    void run(ClassReindexJob job) {
+        IndexCoordinates target = IndexCoordinates.of(job.getTargetIndex());
+        Deque<PendingBulk> inFlight = new ArrayDeque<>();
+        try {
+            long lastClassId = job.getLastClassId();
+            while (true) {
+                long afterClassId = lastClassId;
+                ClassPage page = readOnlyTransactionTemplate.execute(status -> readPage(afterClassId));
+                if (page.classes().isEmpty()) {
+                    break;
+                }
+                lastClassId = page.classes().get(page.classes().size() - 1).getClassId();
+                inFlight.add(new PendingBulk(lastClassId, page.classes().size(),
+                        CompletableFuture.runAsync(() -> bulkIndex(page, target), bulkExecutor)));
+
+                // 앞선 페이지가 끝나야 lastClassId 를 옮길 수 있으므로 요청한 순서대로 완료를 기다린다.
+                if (inFlight.size() >= parallelism) {
+                    checkpoint(job, inFlight.poll());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                checkpoint(job, inFlight.poll());
+            }
+
+            operations.indexOps(target).refresh();
+            swapAlias(target);
+            classSearchCache.invalidateAll();
+            catchUp(job);
+
+            job.setStatus(ReindexStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            log.info("Class reindex job {} completed: {} documents into {}",
+                    job.getJobId(), job.getIndexedCount(), job.getTargetIndex());
+        } catch (RuntimeException e) {
+            log.error("Class reindex job {} failed after class {}", job.getJobId(), job.getLastClassId(), e);
+            inFlight.forEach(pending -> pending.result().cancel(false));
+            job.setStatus(ReindexStatus.FAILED);
+            jobRepository.save(job);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ClassPage readPage(long afterClassId) {
+        List<OneDayClass> classes = classRepository.findAllByClassIdGreaterThanOrderByClassIdAsc(
+                afterClassId, PageRequest.of(0, batchSize));
+        List<Long> classIds = classes.stream().map(OneDayClass::getClassId).toList();
+        return new ClassPage(classes, classDocumentLoader.load(classIds));
+    }
+
+    private void bulkIndex(ClassPage page, IndexCoordinates target) {
+        List<IndexQuery> queries = page.classes().stream()
+                .map(page.sources()::documentOf)
+                .map(document -> new IndexQueryBuilder()
+                        .withId(document.getClassId().toString())
+                        .withObject(document)
+                        .build())
+                .toList();
+        operations.bulkIndex(queries, target);
+        indexedDocuments.addAndGet(queries.size());
+    }
+
+    private void checkpoint(ClassReindexJob job, PendingBulk pending) {
+        pending.result().join();
+        job.setLastClassId(pending.lastClassId());
+        job.setIndexedCount(job.getIndexedCount() + pending.size());
+        jobRepository.save(job);
+    }
+
+    // 이전 색인에서 alias 를 떼고 새 색인에 붙이는 작업을 하나의 _aliases 요청으로 보낸다. 이전 색인은 되돌릴 수 있도록 남겨 둔다.
+    void swapAlias(IndexCoordinates target) {
+        String alias = aliasName();
+        String targetIndex = target.getIndexName();
+        AliasActions actions = new AliasActions();
+
+        IndexOperations aliasOps = operations.indexOps(IndexCoordinates.of(alias));
+        if (aliasOps.exists()) {
+            for (String index : aliasOps.getAliasesForIndex(alias).keySet()) {
+                if (index.equals(alias)) {
+                    // alias 없이 만들어진 기존 색인은 같은 이름의 alias 를 붙이기 위해 함께 삭제한다.
+                    actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder()
+                            .withIndices(index)
+                            .build()));
+                } else if (!index.equals(targetIndex)) {
+                    actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                            .withIndices(index)
+                            .withAliases(alias)
+                            .build()));
+                }
+            }
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(targetIndex)
+                .withAliases(alias)
+                .build()));
+
+        operations.indexOps(target).alias(actions);
+        log.info("Alias {} now points to {}", alias, targetIndex);
+    }
+
+    // 재색인 중에 바뀐 클래스는 이전 색인에만 반영되었으므로 새 색인에 다시 색인한다.
+    private void catchUp(ClassReindexJob job) {
+        Set<Long> classIds = new LinkedHashSet<>(classRepository.findClassIdsChangedSince(job.getStartedAt()));
+        classIds.addAll(classTagRepository.findClassIdsChangedSince(job.getStartedAt()));
+        if (!classIds.isEmpty()) {
+            classIndexOutboxService.upsertAll(classIds);
+            log.info("Queued {} classes changed during reindex job {}", classIds.size(), job.getJobId());
+        }
+    }
+
+    private String aliasName() {
+        return operations.getIndexCoordinatesFor(OneDayClassDocument.class).getIndexName();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+
+    private record ClassPage(List<OneDayClass> classes, ClassDocumentSources sources) {
+    }
+
+    private record PendingBulk(long lastClassId, int size, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.linked.classbridge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.dto.search.ClassSearchKey;
+import com.linked.classbridge.type.CategoryType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 정규화된 검색 조건 -> 검색 결과 캐시.
+ * <p>
+ * TTL 로 만료되는 것과 별개로, ClassIndexOutboxRelay 가 클래스 변경을 색인에 반영하면 그 변경으로 결과가 달라질 수 있는 항목만
+ * 제거한다. 결과에 포함된 클래스가 바뀐 경우와, 등록/수정된 클래스가 새로 검색 조건에 들어올 수 있는 경우(같은 카테고리 또는
+ * 카테고리 조건 없음, 추가된 태그로 검색)가 대상이다. 다른 서버의 캐시는 TTL 이 지나야 갱신된다.
+ */
+@Slf4j
+@Component
+public class ClassSearchCache {
+
+    public static final String CACHE_NAME = "classSearch";
+
+    public static final String HIT_RATIO = "search.cache.hit.ratio";
+
+    public static final String LATENCY_SAVED = "search.cache.latency.saved";
+
+    public static final String INVALIDATIONS = "search.cache.invalidations";
+
+    private final Cache<ClassSearchKey, CachedResult> cache;
+
+    private final Counter latencySaved;
+
+    private final Counter invalidations;
+
+    public ClassSearchCache(MeterRegistry meterRegistry,
+                            @Value("${search.cache.max-size:10000}") long maxSize,
+                            @Value("${search.cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // cache.gets(hit/miss), cache.evictions, cache.size 등
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(HIT_RATIO, cache, c -> c.stats().hitRate())
+                .description("Ratio of class searches served from the cache")
+                .register(meterRegistry);
+        this.latencySaved = Counter.builder(LATENCY_SAVED)
+                .description("OpenSearch time avoided by serving class searches from the cache")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder(INVALIDATIONS)
+                .description("Cached class searches removed because an indexed class changed")
+                .register(meterRegistry);
+    }
+
+    public ClassSearchDto.Response get(ClassSearchKey key,
+                                       Function<ClassSearchKey, ClassSearchDto.Response> loader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        CachedResult result = cache.get(key, k -> {
+            loaded.set(true);
+            long startedAt = System.nanoTime();
+            ClassSearchDto.Response response = loader.apply(k);
+            return new CachedResult(response, System.nanoTime() - startedAt);
+        });
+        if (!loaded.get()) {
+            // 캐시가 없었다면 이 요청도 처음 검색했을 때만큼 걸렸을 것이다.
+            latencySaved.increment(result.loadNanos() / 1_000_000_000.0);
+        }
+        return result.response();
+    }
+
+    public void invalidate(Collection<ClassChange> changes) {
+        if (changes.isEmpty() || cache.estimatedSize() == 0) {
+            return;
+        }
+        // 캐시 전체를 한 번만 순회하도록 relay 배치 단위로 호출한다.
+        cache.asMap().entrySet().removeIf(entry -> {
+            boolean affected = changes.stream()
+                    .anyMatch(change -> change.affects(entry.getKey(), entry.getValue().response()));
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 색인에 반영된 클래스 변경.
+     *
+     * @param category 등록/수정으로 문서 전체가 다시 색인된 경우의 카테고리. 부분 갱신과 삭제는 null
+     * @param tagList  태그가 변경된 경우의 새 태그 목록
+     */
+    public record ClassChange(Long classId, CategoryType category, List<String> tagList) {
+
+        public static ClassChange upserted(Long classId, CategoryType category) {
+            return new ClassChange(classId, category, null);
+        }
+
+        public static ClassChange removed(Long classId) {
+            return new ClassChange(classId, null, null);
+        }
+
+        boolean affects(ClassSearchKey key, ClassSearchDto.Response response) {
+            if (response.getClasses().stream().anyMatch(summary -> summary.getClassId().equals(classId))) {
+                return true;
+            }
+            if (category != null && (key.category() == null || key.category() == category)) {
+                return true;
+            }
+            return tagList != null && key.tags() != null && !Collections.disjoint(key.tags(), tagList);
+        }
+    }
+
+    private record CachedResult(ClassSearchDto.Response response, long loadNanos) {
+    }
+}
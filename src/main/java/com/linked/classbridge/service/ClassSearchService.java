@@ -0,0 +1,263 @@
+package com.linked.classbridge.service;
+
+import static com.linked.classbridge.type.ErrorCode.INVALID_SEARCH_CURSOR;
+import static com.linked.classbridge.type.ErrorCode.SEARCH_LOCATION_REQUIRED;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.dto.search.ClassSearchDto.ClassSummary;
+import com.linked.classbridge.dto.search.ClassSearchKey;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.type.ClassSearchSort;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.common.geo.GeoDistance;
+import org.opensearch.common.unit.DistanceUnit;
+import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.opensearch.data.client.orhlc.NativeSearchQueryBuilder;
+import org.opensearch.data.client.orhlc.OpenSearchAggregations;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.sort.SortBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * onedayclass 색인 검색.
+ * <p>
+ * 위치, 가격, 날짜, 주차, 카테고리, 태그 조건은 점수 계산이 없는 filter 로 적용하고, 다음 페이지는 from/size 대신 이전 페이지 마지막
+ * 문서의 정렬 값(search_after)으로 조회한다. 정렬 값이 같은 문서가 누락되지 않도록 항상 classId 를 마지막 정렬 기준으로 둔다.
+ * <p>
+ * alias 가 아직 이전 매핑(_meta.version 없음)의 색인을 가리키면 category 는 text + category.keyword 이고 address1,
+ * address2 에는 keyword 필드가 없다. 재색인(--migrate-search-index)이 끝날 때까지는 예전 필드로 검색하고 지역 facet 은 뺀다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ClassSearchService {
+
+    static final String CATEGORY_FACET = "category";
+
+    static final String TAG_FACET = "tags";
+
+    static final String REGION_FACET = "region";
+
+    static final int MAX_SIZE = 50;
+
+    private static final int TAG_FACET_SIZE = 20;
+
+    private static final int REGION_FACET_SIZE = 30;
+
+    private final ElasticsearchOperations operations;
+
+    private final ObjectMapper objectMapper;
+
+    private final ClassSearchCache classSearchCache;
+
+    private final ClassReindexService classReindexService;
+
+    private volatile boolean mappingUpToDate;
+
+    // alias 가 재색인으로 새 색인을 가리키게 되면 다음 확인부터 keyword 필드를 사용한다.
+    @Scheduled(fixedDelayString = "${search.mapping-check-interval-ms:60000}")
+    public void refreshMappingVersion() {
+        try {
+            boolean upToDate = classReindexService.isMappingUpToDate();
+            if (upToDate != mappingUpToDate) {
+                log.info("Class search index mapping is {}", upToDate ? "up to date" : "outdated, using legacy fields");
+            }
+            mappingUpToDate = upToDate;
+        } catch (RuntimeException e) {
+            log.warn("Failed to check class search index mapping version", e);
+        }
+    }
+
+    public ClassSearchDto.Response search(ClassSearchDto.Request request) {
+        int size = Math.min(Math.max(request.getSize(), 1), MAX_SIZE);
+        ClassSearchKey key = ClassSearchKey.of(request, size);
+        if (key.cursor() != null) {
+            // 트래픽이 몰리는 첫 페이지만 캐시한다.
+            return searchIndex(key);
+        }
+        return classSearchCache.get(key, this::searchIndex);
+    }
+
+    private ClassSearchDto.Response searchIndex(ClassSearchKey key) {
+        ClassSearchDto.Request request = key.toRequest();
+        int size = key.size();
+        SearchHits<OneDayClassDocument> searchHits = operations.search(buildQuery(request, size),
+                OneDayClassDocument.class);
+
+        List<SearchHit<OneDayClassDocument>> hits = searchHits.getSearchHits();
+        boolean hasNext = hits.size() > size;
+        List<SearchHit<OneDayClassDocument>> page = hasNext ? hits.subList(0, size) : hits;
+
+        List<ClassSummary> classes = page.stream()
+                .map(hit -> ClassSummary.of(hit.getContent(), distanceOf(request, hit.getContent())))
+                .toList();
+
+        ClassSearchDto.Response.ResponseBuilder response = ClassSearchDto.Response.builder()
+                .classes(classes)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1).getSortValues()) : null);
+
+        if (searchHits.getAggregations() instanceof OpenSearchAggregations aggregations) {
+            response.categoryFacets(facetOf(aggregations.aggregations(), CATEGORY_FACET))
+                    .tagFacets(facetOf(aggregations.aggregations(), TAG_FACET))
+                    .regionFacets(facetOf(aggregations.aggregations(), REGION_FACET));
+        }
+        return response.build();
+    }
+
+    NativeSearchQuery buildQuery(ClassSearchDto.Request request, int size) {
+        if (request.getSort() == ClassSearchSort.DISTANCE && !request.hasLocation()) {
+            throw new RestApiException(SEARCH_LOCATION_REQUIRED);
+        }
+
+        NativeSearchQueryBuilder builder = new NativeSearchQueryBuilder()
+                .withQuery(buildBoolQuery(request))
+                .withPageable(PageRequest.of(0, size + 1)) // 다음 페이지 존재 여부 확인용으로 하나 더 조회
+                .withTrackTotalHits(false);
+
+        sortsOf(request).forEach(builder::withSort);
+
+        if (request.getCursor() != null) {
+            builder.withSearchAfter(decodeCursor(request.getCursor()));
+        } else {
+            // 집계는 첫 페이지에서만 계산한다.
+            if (mappingUpToDate) {
+                builder.withAggregations(
+                        AggregationBuilders.terms(CATEGORY_FACET).field("category"),
+                        AggregationBuilders.terms(TAG_FACET).field("tagList").size(TAG_FACET_SIZE),
+                        AggregationBuilders.terms(REGION_FACET)
+                                .field(request.getAddress1() == null ? "address1.keyword" : "address2.keyword")
+                                .size(REGION_FACET_SIZE));
+            } else {
+                builder.withAggregations(
+                        AggregationBuilders.terms(CATEGORY_FACET).field("category.keyword"),
+                        AggregationBuilders.terms(TAG_FACET).field("tagList").size(TAG_FACET_SIZE));
+            }
+        }
+        return builder.build();
+    }
+
+    private BoolQueryBuilder buildBoolQuery(ClassSearchDto.Request request) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery();
+        if (StringUtils.hasText(request.getQuery())) {
+            query.must(QueryBuilders.matchQuery("className", request.getQuery()));
+        } else {
+            query.must(QueryBuilders.matchAllQuery());
+        }
+
+        if (request.hasLocation()) {
+            query.filter(QueryBuilders.geoDistanceQuery("location")
+                    .point(request.getLat(), request.getLng())
+                    .distance(request.getDistance(), DistanceUnit.KILOMETERS));
+        }
+        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+            query.filter(QueryBuilders.rangeQuery("price").gte(request.getMinPrice()).lte(request.getMaxPrice()));
+        }
+        if (request.getDate() != null) {
+            query.filter(QueryBuilders.rangeQuery("startDate").lte(request.getDate().toString()));
+            query.filter(QueryBuilders.rangeQuery("endDate").gte(request.getDate().toString()));
+        }
+        if (request.getHasParking() != null) {
+            query.filter(QueryBuilders.termQuery("hasParking", request.getHasParking()));
+        }
+        if (request.getAddress1() != null) {
+            query.filter(addressFilter("address1", request.getAddress1()));
+        }
+        if (request.getAddress2() != null) {
+            query.filter(addressFilter("address2", request.getAddress2()));
+        }
+        if (request.getCategory() != null) {
+            query.filter(QueryBuilders.termQuery(mappingUpToDate ? "category" : "category.keyword",
+                    request.getCategory().name()));
+        }
+        if (request.getTags() != null) {
+            request.getTags().forEach(tag -> query.filter(QueryBuilders.termQuery("tagList", tag)));
+        }
+        return query;
+    }
+
+    // 이전 매핑에는 keyword 필드가 없어 text 필드에서 구문으로 찾는다.
+    private QueryBuilder addressFilter(String field, String value) {
+        return mappingUpToDate
+                ? QueryBuilders.termQuery(field + ".keyword", value)
+                : QueryBuilders.matchPhraseQuery(field, value);
+    }
+
+    // STAR_RATE 는 색인 정렬(setting.json 의 index.sort)과 같은 순서라 상위 N 개만 읽고 검색을 끝낼 수 있다.
+    private List<SortBuilder<?>> sortsOf(ClassSearchDto.Request request) {
+        ClassSearchSort sort = request.getSort() == null ? ClassSearchSort.RELEVANCE : request.getSort();
+        List<SortBuilder<?>> sorts = new ArrayList<>();
+        switch (sort) {
+            case DISTANCE -> sorts.add(SortBuilders.geoDistanceSort("location", request.getLat(), request.getLng())
+                    .unit(DistanceUnit.KILOMETERS)
+                    .order(SortOrder.ASC));
+            case PRICE -> sorts.add(SortBuilders.fieldSort("price").order(SortOrder.ASC));
+            case STAR_RATE -> {
+                sorts.add(SortBuilders.fieldSort("starRate").order(SortOrder.DESC));
+                sorts.add(SortBuilders.fieldSort("totalWish").order(SortOrder.DESC));
+            }
+            case WISH -> sorts.add(SortBuilders.fieldSort("totalWish").order(SortOrder.DESC));
+            case RELEVANCE -> sorts.add(SortBuilders.scoreSort());
+        }
+        sorts.add(SortBuilders.fieldSort("classId").order(SortOrder.ASC));
+        return sorts;
+    }
+
+    private Double distanceOf(ClassSearchDto.Request request, OneDayClassDocument document) {
+        if (!request.hasLocation() || document.getLocation() == null) {
+            return null;
+        }
+        return GeoDistance.ARC.calculate(request.getLat(), request.getLng(),
+                document.getLocation().getLat(), document.getLocation().getLon(), DistanceUnit.KILOMETERS);
+    }
+
+    private Map<String, Long> facetOf(Aggregations aggregations, String name) {
+        Map<String, Long> facet = new LinkedHashMap<>();
+        Terms terms = aggregations.get(name);
+        if (terms != null) {
+            terms.getBuckets().forEach(bucket -> facet.put(bucket.getKeyAsString(), bucket.getDocCount()));
+        }
+        return facet;
+    }
+
+    // 정렬 값 배열을 JSON 으로 직렬화해 URL 에 그대로 쓸 수 있는 문자열로 만든다.
+    String encodeCursor(List<Object> sortValues) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(sortValues));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    List<Object> decodeCursor(String cursor) {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {
+            });
+        } catch (IllegalArgumentException | IOException e) {
+            throw new RestApiException(INVALID_SEARCH_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.linked.classbridge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.suggest.SuggestBuilder;
+import org.opensearch.search.suggest.SuggestBuilders;
+import org.opensearch.search.suggest.completion.CompletionSuggestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 클래스명, 태그 자동완성.
+ * <p>
+ * 입력할 때마다 nori 로 className 을 검색하는 대신 completion suggester(suggest 필드)로 접두어에 맞는 입력을 찾는다.
+ * 자주 입력되는 접두어는 메모리에 잠시 캐시하므로 같은 접두어는 OpenSearch 를 거치지 않는다.
+ * suggest 필드가 없는 예전 매핑의 색인이면 재색인이 끝날 때까지 조회하지 않고 빈 목록을 반환한다.
+ */
+@Slf4j
+@Service
+public class ClassSuggestService {
+
+    public static final String CACHE_NAME = "classSuggest";
+
+    public static final String LATENCY = "search.suggest.latency";
+
+    static final int MAX_SIZE = 10;
+
+    private static final String SUGGESTION = "class";
+
+    private final RestHighLevelClient client;
+
+    private final ElasticsearchOperations operations;
+
+    private final Cache<String, List<String>> prefixCache;
+
+    private final Timer latency;
+
+    private final ClassReindexService classReindexService;
+
+    private volatile boolean mappingUpToDate;
+
+    public ClassSuggestService(RestHighLevelClient client,
+                               ElasticsearchOperations operations,
+                               ClassReindexService classReindexService,
+                               MeterRegistry meterRegistry,
+                               @Value("${search.suggest.cache.max-size:5000}") long maxSize,
+                               @Value("${search.suggest.cache.ttl:1m}") Duration ttl) {
+        this.client = client;
+        this.operations = operations;
+        this.classReindexService = classReindexService;
+        // Caffeine 은 자주 조회되는 항목을 남기므로 가장 많이 입력되는 접두어가 캐시에 유지된다.
+        this.prefixCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, prefixCache, CACHE_NAME);
+        this.latency = Timer.builder(LATENCY)
+                .description("Time to fetch class suggestions from OpenSearch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // 입력마다 매핑을 확인하지 않도록 주기적으로 확인한 결과를 사용한다.
+    @Scheduled(fixedDelayString = "${search.mapping-check-interval-ms:60000}")
+    public void refreshMappingVersion() {
+        try {
+            mappingUpToDate = classReindexService.isMappingUpToDate();
+        } catch (RuntimeException e) {
+            log.warn("Failed to check class search index mapping version", e);
+        }
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || !mappingUpToDate) {
+            return List.of();
+        }
+
+        try {
+            List<String> suggestions = prefixCache.get(normalized, this::fetch);
+            return suggestions.subList(0, Math.min(Math.max(size, 1), suggestions.size()));
+        } catch (RuntimeException e) {
+            // 자동완성 실패로 화면이 깨지지 않도록 빈 목록을 반환한다. 실패한 결과는 캐시하지 않는다.
+            log.warn("Failed to fetch class suggestions for '{}'", normalized, e);
+            return List.of();
+        }
+    }
+
+    private List<String> fetch(String prefix) {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .fetchSource(false)
+                .suggest(new SuggestBuilder().addSuggestion(SUGGESTION,
+                        SuggestBuilders.completionSuggestion("suggest")
+                                .prefix(prefix)
+                                .skipDuplicates(true)
+                                .size(MAX_SIZE)));
+        SearchRequest request = new SearchRequest(
+                operations.getIndexCoordinatesFor(OneDayClassDocument.class).getIndexName())
+                .source(source);
+
+        return latency.record(() -> {
+            try {
+                SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+                if (response.getSuggest() == null) {
+                    return List.of();
+                }
+                CompletionSuggestion suggestion = response.getSuggest().getSuggestion(SUGGESTION);
+                return suggestion.getOptions().stream()
+                        .map(option -> option.getText().string())
+                        .toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private String normalize(String prefix) {
+        return prefix == null ? "" : prefix.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
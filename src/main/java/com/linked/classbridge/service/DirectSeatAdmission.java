@@ -0,0 +1,18 @@
+package com.linked.classbridge.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "seat.admission.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectSeatAdmission implements SeatAdmission {
+
+    private final SeatInventoryService seatInventoryService;
+
+    @Override
+    public void admit(Long reservationId, Long lessonId, int quantity) {
+        seatInventoryService.hold(reservationId, lessonId, quantity);
+    }
+}
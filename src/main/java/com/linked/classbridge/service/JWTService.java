@@ -1,10 +1,20 @@
 package com.linked.classbridge.service;
 
+import com.linked.classbridge.dto.user.JwtClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -16,51 +26,156 @@ import org.springframework.stereotype.Component;
 @Component
 public class JWTService {
 
-    private SecretKey secretKey;
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final SecretKey secretKey;
+
+    private final JwtParser jwtParser;
+
+    // 토큰 digest -> 검증된 claims, 토큰 만료 시각까지만 유효
+    private final Cache<String, JwtClaims> claimsCache;
 
     @Autowired
-    public JWTService(@Value("${spring.jwt.secret}")String secret) {
+    public JWTService(@Value("${spring.jwt.secret}") String secret,
+                      @Value("${spring.jwt.claims-cache-size:" + DEFAULT_CACHE_SIZE + "}") int maxCacheSize) {
+
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        // 가득 차면 캐시 전체가 아니라 적게 쓰인 토큰부터 하나씩 밀어낸다.
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return untilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime,
+                                                  long currentDuration) {
+                        return untilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public JWTService(String secret) {
+        this(secret, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 토큰을 한 번만 파싱하고 서명을 검증한 claims 를 반환한다.
+     * 같은 토큰은 만료 시각까지 캐시된 결과를 재사용한다.
+     * 서명이 잘못되었거나 만료된 토큰은 기존과 동일하게 JwtException 이 발생한다.
+     */
+    public JwtClaims parse(String token) {
+
+        String key = digest(token);
+        JwtClaims cached = claimsCache.getIfPresent(key);
+
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        JwtClaims claims = toJwtClaims(jwtParser.parseSignedClaims(token).getPayload());
+        claimsCache.put(key, claims);
+
+        return claims;
+    }
+
+    /**
+     * 로그아웃 등으로 더 이상 쓰지 않는 토큰의 claims 만 캐시에서 제거한다.
+     */
+    public void invalidate(String token) {
 
-        secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        claimsCache.invalidate(digest(token));
+    }
+
+    // 테스트용: 정리 작업을 마친 뒤의 캐시 크기
+    long cachedSize() {
+
+        claimsCache.cleanUp();
+        return claimsCache.estimatedSize();
     }
 
     public String getEmail(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("email", String.class);
+        return parse(token).getEmail();
     }
 
-    public List<String> getRoles(String token) {
+    public Long getUserId(String token) {
 
-        List<?> roles = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("roles", List.class);
+        return parse(token).getUserId();
+    }
 
-        if (roles != null) {
-            return roles.stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toList());
-        } else {
-            return Collections.emptyList();
-        }
+    public List<String> getRoles(String token) {
+
+        return parse(token).getRoles();
     }
 
     public Boolean isExpired(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getExpiration().before(new Date());
+        return parse(token).isExpired();
     }
 
     public String getTokenType(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("tokenType", String.class);
+        return parse(token).getTokenType();
     }
 
-    public String createJwt(String tokenType, String email, List<String> roles, Long expiredMs) {
+    public String createJwt(String tokenType, String email, Long userId, List<String> roles, Long expiredMs) {
 
         return Jwts.builder()
                 .claim("tokenType", tokenType)
                 .claim("email", email)
+                .claim("userId", userId)
                 .claim("roles", roles)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiredMs))
                 .signWith(secretKey)
                 .compact();
     }
-}
\ No newline at end of file
+
+    private JwtClaims toJwtClaims(Claims payload) {
+
+        List<?> roles = payload.get("roles", List.class);
+
+        List<String> roleNames = roles == null
+                ? Collections.emptyList()
+                : roles.stream().map(Object::toString).collect(Collectors.toUnmodifiableList());
+
+        // userId 클레임이 없는 이전 토큰은 null 로 두고 이메일로 조회한다.
+        Number userId = payload.get("userId", Number.class);
+
+        return new JwtClaims(
+                payload.get("tokenType", String.class),
+                payload.get("email", String.class),
+                userId == null ? null : userId.longValue(),
+                roleNames,
+                payload.getExpiration()
+        );
+    }
+
+    private static long untilExpiration(JwtClaims claims) {
+
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    private String digest(String token) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.linked.classbridge.service;
+
+import com.linked.classbridge.config.PayProperties;
+import com.linked.classbridge.dto.payment.PaymentApproveDto;
+import com.linked.classbridge.dto.payment.PaymentOrderDto;
+import com.linked.classbridge.dto.payment.PaymentPrepareDto;
+import com.linked.classbridge.dto.refund.PaymentRefundDto;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.type.ErrorCode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+/**
+ * 카카오페이 API 호출 전용 클라이언트
+ * <p>
+ * 호출마다 WebClient 를 새로 만들면 커넥션도 매번 새로 맺는다. 카카오페이 전용 커넥션 풀을 하나 두고 모든 결제 요청이
+ * 공유한다. 다시 보내도 안전한 요청(결제 준비, 상태 조회)의 5xx 응답은 jitter 를 준 backoff 로 재시도하고, 카카오페이
+ * 장애가 이어지면 서킷 브레이커가 요청을 바로 실패시켜 스레드와 커넥션이 응답 대기로 묶이지 않게 한다.
+ */
+@Slf4j
+@Component
+public class KakaoPayClient {
+
+    static final String RETRY = "kakao.pay.retry";
+
+    static final String CIRCUIT_STATE = "kakao.pay.circuit.state";
+
+    private final PayProperties payProperties;
+
+    private final ConnectionProvider connectionProvider;
+
+    private final WebClient webClient;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    public KakaoPayClient(PayProperties payProperties, WebClient.Builder webClientBuilder,
+                          MeterRegistry meterRegistry) {
+        this.payProperties = payProperties;
+        this.meterRegistry = meterRegistry;
+
+        PayProperties.Client client = payProperties.getClient();
+        this.connectionProvider = ConnectionProvider.builder("kakao-pay")
+                .maxConnections(client.getMaxConnections())
+                .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+                .maxIdleTime(client.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .responseTimeout(client.getResponseTimeout());
+
+        // 공용 빌더를 그대로 고치면 다른 WebClient 에도 커넥터가 적용되므로 복제해서 사용
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "SECRET_KEY " + payProperties.getDevKey())
+                .build();
+
+        this.circuitBreaker = CircuitBreaker.of("kakao-pay", CircuitBreakerConfig.custom()
+                .slidingWindowType(SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(client.getCircuitWindowSize())
+                .minimumNumberOfCalls(client.getCircuitMinimumCalls())
+                .failureRateThreshold(client.getCircuitFailureRate())
+                .waitDurationInOpenState(client.getCircuitOpenDuration())
+                .recordException(KakaoPayClient::isGatewayFailure)
+                .build());
+        this.circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("kakao pay circuit :: {}", event.getStateTransition()));
+
+        // 0: CLOSED, 1: OPEN, 2: HALF_OPEN
+        Gauge.builder(CIRCUIT_STATE, circuitBreaker, breaker -> breaker.getState().getOrder())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 결제 준비
+     */
+    public Mono<PaymentPrepareDto.Response> ready(Map<String, String> parameters) {
+        return post("ready", payProperties.getReadyUrl(), parameters, PaymentPrepareDto.Response.class, true);
+    }
+
+    /**
+     * 결제 승인
+     * <p>
+     * 5xx 나 타임아웃은 카카오페이가 승인을 처리했는지 알 수 없는 응답이다. 같은 pg_token 으로 다시 승인하면 이미 승인된
+     * 결제도 실패로 돌아오므로 재시도하지 않고, 호출한 쪽에서 결제 상태 조회(order)로 승인 여부를 확인한다.
+     */
+    public Mono<PaymentApproveDto.Response> approve(Map<String, String> parameters) {
+        return post("approve", payProperties.getApproveUrl(), parameters, PaymentApproveDto.Response.class, false);
+    }
+
+    /**
+     * 결제 상태 조회 (조회만 하므로 5xx 는 재시도한다.)
+     */
+    public Mono<PaymentOrderDto.Response> order(Map<String, String> parameters) {
+        return post("order", payProperties.getOrderUrl(), parameters, PaymentOrderDto.Response.class, true);
+    }
+
+    /**
+     * 결제 취소
+     * <p>
+     * 부분 취소는 같은 요청이 두 번 처리되면 두 번 환불되므로 5xx 라도 재시도하지 않는다.
+     */
+    public Mono<PaymentRefundDto.Response> cancel(Map<String, String> parameters) {
+        return post("cancel", payProperties.getCancelUrl(), parameters, PaymentRefundDto.Response.class, false);
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    private <T> Mono<T> post(String operation, String url, Map<String, String> parameters, Class<T> responseType,
+                             boolean retryable) {
+        Mono<T> call = webClient.post()
+                .uri(url)
+                .bodyValue(parameters)
+                .retrieve()
+                .bodyToMono(responseType);
+
+        if (retryable) {
+            call = call.retryWhen(retrySpec(operation));
+        }
+
+        // 서킷 브레이커는 재시도를 모두 마친 결과를 한 번의 호출로 센다.
+        return call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .switchIfEmpty(Mono.error(() -> new RestApiException(ErrorCode.NULL_RESPONSE_FROM_PAYMENT_GATEWAY)))
+                .onErrorMap(CallNotPermittedException.class,
+                        e -> new RestApiException(ErrorCode.PAY_GATEWAY_UNAVAILABLE))
+                .onErrorMap(WebClientException.class, e -> {
+                    log.error("kakao pay {} failed :: {}", operation, e.getMessage());
+                    return new RestApiException(ErrorCode.PAY_ERROR);
+                });
+    }
+
+    private Retry retrySpec(String operation) {
+        PayProperties.Client client = payProperties.getClient();
+        Counter retries = meterRegistry.counter(RETRY, "operation", operation);
+
+        return Retry.backoff(client.getRetryMaxAttempts(), client.getRetryMinBackoff())
+                .maxBackoff(client.getRetryMaxBackoff())
+                .jitter(client.getRetryJitter())
+                .filter(KakaoPayClient::isServerError)
+                .doBeforeRetry(signal -> retries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private static boolean isServerError(Throwable e) {
+        return e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+
+    // 4xx 는 요청 자체의 문제이므로 카카오페이 장애로 세지 않는다.
+    private static boolean isGatewayFailure(Throwable e) {
+        return isServerError(e) || e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+}
@@ -1,59 +1,66 @@
 package com.linked.classbridge.service;
 
-import static com.linked.classbridge.type.ErrorCode.LESSON_NOT_FOUND;
-import static com.linked.classbridge.type.ErrorCode.MAX_PARTICIPANTS_EXCEEDED;
+import static com.linked.classbridge.type.ErrorCode.MISMATCH_USER_RESERVATION;
 import static com.linked.classbridge.type.ErrorCode.RESERVATION_NOT_FOUND;
 
 import com.linked.classbridge.config.PayProperties;
-import com.linked.classbridge.domain.Lesson;
 import com.linked.classbridge.domain.Payment;
 import com.linked.classbridge.domain.Reservation;
+import com.linked.classbridge.domain.SeatHold;
 import com.linked.classbridge.dto.payment.CreatePaymentResponse;
 import com.linked.classbridge.dto.payment.PaymentApproveDto;
+import com.linked.classbridge.dto.payment.PaymentOrderDto;
 import com.linked.classbridge.dto.payment.PaymentPrepareDto;
 import com.linked.classbridge.dto.payment.PaymentPrepareDto.Request;
-import com.linked.classbridge.dto.payment.PaymentPrepareDto.Response;
-import com.linked.classbridge.dto.reservation.ReservationStatus;
 import com.linked.classbridge.exception.RestApiException;
-import com.linked.classbridge.repository.LessonRepository;
 import com.linked.classbridge.repository.PaymentRepository;
 import com.linked.classbridge.repository.ReservationRepository;
-import com.linked.classbridge.type.ErrorCode;
 import java.util.HashMap;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * 결제 요청 생성 결제 승인 결제 취소 결제 상태 조회
  */
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class KakaoPaymentService {
 
     private final PayProperties payProperties;
-    private final WebClient.Builder webClient;
+    private final KakaoPayClient kakaoPayClient;
     private final PaymentRepository paymentRepository;
     private final ReservationRepository reservationRepository;
-    private final LessonRepository lessonRepository;
-    private final LessonService lessonService;
+    private final SeatAdmission seatAdmission;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    public KakaoPaymentService(PayProperties payProperties, KakaoPayClient kakaoPayClient,
+                               PaymentRepository paymentRepository, ReservationRepository reservationRepository,
+                               SeatAdmission seatAdmission, SeatInventoryService seatInventoryService,
+                               PlatformTransactionManager transactionManager) {
+        this.payProperties = payProperties;
+        this.kakaoPayClient = kakaoPayClient;
+        this.paymentRepository = paymentRepository;
+        this.reservationRepository = reservationRepository;
+        this.seatAdmission = seatAdmission;
+        this.seatInventoryService = seatInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * 카카오페이 결제 요청 로직
+     * <p>
+     * 좌석은 카카오페이 요청 전에 별도 트랜잭션으로 잡는다. 트랜잭션을 카카오페이 응답까지 열어 두면 레슨 행 잠금이 HTTP 왕복
+     * 동안 유지되어 같은 레슨의 구매자가 모두 그 뒤에 줄을 선다. 카카오페이 요청이 실패하면 잡은 좌석을 직접 돌려준다.
      */
 //    @Override
-    @Transactional
     public PaymentPrepareDto.Response initiatePayment(Request request) {
 
         Long reservationId = request.getReservationId();
@@ -61,141 +68,138 @@ public class KakaoPaymentService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new RestApiException(RESERVATION_NOT_FOUND));
 
-        Long lessonId = reservation.getLesson().getLessonId();
-        // 수용 인원 제한 확인
-        validateLessonCapacity(lessonId, request.getQuantity());
-
-        // 수용 인원 사전 예약
-        preReserveSeats(lessonId, request.getQuantity());
-
         // 카카오페이 요청 형식
-        Map<String, String> parameters = getInitiateParameters(request);
+        Map<String, String> parameters = getInitiateParameters(request,
+                SecurityContextHolder.getContext().getAuthentication().getName());
+
+        // 수용 인원 사전 예약 (남은 좌석이 부족하면 실패)
+        seatAdmission.admit(reservationId, reservation.getLesson().getLessonId(), request.getQuantity());
 
         try {
-            return webClient.build().post()
-                    .uri(payProperties.getReadyUrl())
-                    .headers(headers -> {
-                        headers.setAll(getHeaders().toSingleValueMap());
-                    })
-                    .bodyValue(parameters)
-                    .retrieve()
-                    .bodyToMono(Response.class)
-                    .block();// 동기식 처리
-
-        } catch (WebClientResponseException e) {
-            throw new RestApiException(ErrorCode.PAY_ERROR);
+            PaymentPrepareDto.Response response = kakaoPayClient.ready(parameters).block();
+            seatInventoryService.attachPayment(reservationId, response.getTid(), request.getPartnerOrderId());
+            return response;
+        } catch (RuntimeException e) {
+            seatInventoryService.releaseHold(reservationId);
+            throw e;
         }
     }
 
+    /**
+     * 카카오페이 결제 요청 (논블로킹)
+     * <p>
+     * 예약 조회와 좌석 확보는 JPA 를 쓰므로 boundedElastic 스레드에서 처리하고, 카카오페이 호출은 응답을 기다리며 스레드를
+     * 잡아 두지 않는다. 요청 스레드의 SecurityContext 는 다른 스레드로 넘어가지 않으므로 사용자 이메일을 직접 받는다.
+     */
+    public Mono<PaymentPrepareDto.Response> initiatePaymentReactive(Request request, String userEmail) {
+
+        Long reservationId = request.getReservationId();
+
+        return Mono.fromCallable(() -> {
+                    Reservation reservation = reservationRepository.findById(reservationId)
+                            .orElseThrow(() -> new RestApiException(RESERVATION_NOT_FOUND));
+
+                    Map<String, String> parameters = getInitiateParameters(request, userEmail);
+
+                    seatAdmission.admit(reservationId, reservation.getLesson().getLessonId(), request.getQuantity());
+                    return parameters;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(parameters -> kakaoPayClient.ready(parameters)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(response -> seatInventoryService.attachPayment(
+                                reservationId, response.getTid(), request.getPartnerOrderId()))
+                        .onErrorResume(e -> Mono.<PaymentPrepareDto.Response>fromRunnable(
+                                        () -> seatInventoryService.releaseHold(reservationId))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .then(Mono.error(e))));
+    }
+
     /**
      * 카카오페이 결제 승인 로직
+     * <p>
+     * 승인 redirect 에는 pg_token 과 결제 요청 때 approval_url 에 붙여 둔 예약 ID 만 온다. 예약 ID 는 누구나 바꿔 보낼 수
+     * 있으므로 로그인 유저의 예약일 때만 승인하고, tid 와 주문 번호는 결제 요청 때 hold 에 남겨 둔 값을 쓴다.
+     * 승인 결과는 같은 서버의 API 를 HTTP 로 다시 호출하지 않고 바로 저장한다. 카카오페이 오류 응답
+     * (WebClientResponseException)은 KakaoPayClient 가 PAY_ERROR 로 바꿔 던진다.
      */
-    public ResponseEntity<String> approvePayment(PaymentPrepareDto.Response response, String header) {
-        try {
-            // 카카오 요청
-            Map<String, String> parameters = new HashMap<>();
-            parameters.put("cid", payProperties.getCid());
-            parameters.put("tid", response.getTid());
-            parameters.put("partner_order_id", response.getPartnerOrderId());
-            parameters.put("partner_user_id", response.getPartnerUserId());
-            parameters.put("pg_token", response.getPgToken());
-            parameters.put("item_name", response.getItemName());
-            parameters.put("quantity", String.valueOf(response.getQuantity()));
-
-//            response.setCid(payProperties.getCid());
-
-            log.info("kakao payment tid :: {}", response.getTid());
-            log.info("kakao payment pg token :: {}", response.getPgToken());
-
-            WebClient webClient = WebClient.builder()
-                    .baseUrl(payProperties.getApproveUrl())
-                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "SECRET_KEY " + payProperties.getDevKey())
-                    .build();
-
-            PaymentApproveDto.Response kakaoResponse = webClient.post()
-                    .uri(uriBuilder -> uriBuilder.path("/").build())
-                    .bodyValue(parameters)
-                    .retrieve()
-                    .bodyToMono(PaymentApproveDto.Response.class)
-                    .block();
-
-            kakaoResponse.setReservationId(response.getReservationId());
-
-            // POST 요청 생성
-            HttpHeaders headers = new HttpHeaders();
-//            headers.set("Authorization", "SECRET_KEY " + payProperties.getDevKey());
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            WebClient localWebClient = WebClient.builder()
-                    .baseUrl("http://localhost:8080")
-                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-//                    .defaultHeader(HttpHeaders.AUTHORIZATION, "SECRET_KEY " + payProperties.getDevKey())
-                    .build();
-
-            // 에러 확인을 위한 로깅 추가
-            log.info("Sending request to /api/payments/complete with body: {}", kakaoResponse);
-
-            Mono<ResponseEntity<String>> entity = localWebClient.post()
-                    .uri("/api/payments/complete")
-                    .bodyValue(kakaoResponse)
-                    .retrieve()
-                    .toEntity(String.class);
-
-            return entity.block();
-
-        } catch (WebClientResponseException e) {
-            log.error(e.getMessage());
-            throw new RestApiException(ErrorCode.PAY_ERROR);
-        }
+    public CreatePaymentResponse approvePayment(Long reservationId, String pgToken, String userEmail) {
+        validateReservationOwner(reservationId, userEmail);
+        SeatHold hold = seatInventoryService.getPendingPaymentOfReservation(reservationId);
+
+        log.info("kakao payment tid :: {}", hold.getTid());
+        log.info("kakao payment pg token :: {}", pgToken);
+
+        PaymentApproveDto.Response kakaoResponse = approve(getApproveParameters(hold.getTid(),
+                hold.getPartnerOrderId(), userEmail, pgToken)).block();
+        kakaoResponse.setReservationId(hold.getReservationId());
+
+        return savePayment(kakaoResponse);
+    }
+
+    /**
+     * 카카오페이 결제 승인 (논블로킹)
+     * <p>
+     * 클라이언트가 보낸 값은 tid 와 pg_token 만 사용한다. 주문 번호와 예약은 결제 요청 때 hold 에 남겨 둔 값으로 찾고,
+     * 로그인 유저의 예약일 때만 승인한다. 조회와 저장은 JPA 를 쓰므로 boundedElastic 스레드에서 처리한다.
+     */
+    public Mono<CreatePaymentResponse> approvePaymentReactive(PaymentPrepareDto.Response response, String userEmail) {
+        return Mono.fromCallable(() -> getPendingPayment(response.getTid(), userEmail))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(hold -> approve(getApproveParameters(hold.getTid(), hold.getPartnerOrderId(), userEmail,
+                        response.getPgToken()))
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(kakaoResponse -> {
+                            kakaoResponse.setReservationId(hold.getReservationId());
+                            return savePayment(kakaoResponse);
+                        }));
     }
 
     /**
      * 카카오페이 승인 결과 저장
+     * <p>
+     * 결제 저장, 예약 확정, 좌석 정리를 한 트랜잭션으로 처리한다. 카카오페이는 이미 승인했으므로 저장에 실패하면 승인을
+     * 취소해 결제만 되고 예약은 없는 상태가 남지 않게 한다.
      */
     public CreatePaymentResponse savePayment(PaymentApproveDto.Response response) {
-
         try {
-            Payment payment = Payment.convertToPaymentEntity(response);
-            Payment saved = paymentRepository.save(payment);
+            return transactionTemplate.execute(status -> {
+                Payment payment = paymentRepository.save(Payment.convertToPaymentEntity(response));
 
-            // 예약도 확정
-            Reservation reservation = confirmReservation(response.getReservationId(), payment);
+                // 예약도 확정 (좌석은 결제 요청 시 이미 잡아 두었으므로 참여 인원은 그대로)
+                seatInventoryService.confirm(response.getReservationId(), payment);
 
-            // Lesson 테이블 참여인원 업데이트
-            updateLessonParticipantCount(reservation.getLesson().getLessonId(),
-                    -response.getQuantity());
-
-            return toCreatePaymentResponse(saved);
-
-        } catch (OptimisticLockingFailureException e) {
-            handleOptimisticLockingFailure(response.getReservationId(), response.getQuantity());
-            throw new RestApiException(MAX_PARTICIPANTS_EXCEEDED);
+                return toCreatePaymentResponse(payment);
+            });
+        } catch (RuntimeException e) {
+            cancelApproval(response);
+            throw e;
         }
     }
 
-    // 예약 확정
-    private Reservation confirmReservation(Long reservationId, Payment payment) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new RestApiException(ErrorCode.RESERVATION_NOT_FOUND));
-        reservation.setStatus(ReservationStatus.CONFIRMED);
-        reservation.setPayment(payment);
-        return reservationRepository.save(reservation);
+    /**
+     * 결제 진행 중 취소, 실패 시 잡아 둔 좌석 반환
+     * <p>
+     * 취소/실패 redirect url 의 예약 ID 는 누구나 바꿔 보낼 수 있으므로 로그인 유저의 예약일 때만 좌석을 돌려준다.
+     */
+    public void releasePayment(Long reservationId, String userEmail) {
+        validateReservationOwner(reservationId, userEmail);
+        seatInventoryService.releaseHold(reservationId);
     }
 
-    // 참여자 수 업데이트
-    private void updateLessonParticipantCount(Long lessonId, int quantityChange) {
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new RestApiException(ErrorCode.LESSON_NOT_FOUND));
-        lessonService.updateParticipantCount(lesson, quantityChange);
+    private SeatHold getPendingPayment(String tid, String userEmail) {
+        SeatHold hold = seatInventoryService.getPendingPayment(tid);
+        validateReservationOwner(hold.getReservationId(), userEmail);
+        return hold;
     }
 
-    // 실패 시 예약 좌석 취소
-    private void handleOptimisticLockingFailure(Long reservationId, int quantity) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new RestApiException(ErrorCode.RESERVATION_NOT_FOUND));
-        Long lessonId = reservation.getLesson().getLessonId();
-        releaseSeats(lessonId, quantity);
+    private void validateReservationOwner(Long reservationId, String userEmail) {
+        if (!reservationRepository.existsById(reservationId)) {
+            throw new RestApiException(RESERVATION_NOT_FOUND);
+        }
+        if (!reservationRepository.existsByReservationIdAndUserEmail(reservationId, userEmail)) {
+            throw new RestApiException(MISMATCH_USER_RESERVATION);
+        }
     }
 
     public CreatePaymentResponse toCreatePaymentResponse(Payment payment) {
@@ -205,9 +209,8 @@ public class KakaoPaymentService {
     /**
      * 카카오페이 결제 요청 시 필요한 파라미터
      */
-    private Map<String, String> getInitiateParameters(Request request) {
+    private Map<String, String> getInitiateParameters(Request request, String userEmail) {
 
-        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
         request.setPartnerUserId(userEmail);
         request.setPartnerOrderId(OrderNumberGenerator.generateOrderNumber(userEmail));
 
@@ -219,47 +222,110 @@ public class KakaoPaymentService {
         parameters.put("quantity", Integer.toString(request.getQuantity()));
         parameters.put("total_amount", Integer.toString(request.getTotalAmount()));
         parameters.put("tax_free_amount", Integer.toString(request.getTexFreeAmount()));
-        parameters.put("approval_url", "http://localhost:8080/api/payments/complete"); // 성공 시 redirect url
-        parameters.put("cancel_url", "http://localhost:8080/api/payments/cancel"); // 취소 시 redirect url
-        parameters.put("fail_url", "http://localhost:8080/api/payments/fail"); // 실패 시 redirect url
+        // 성공/취소/실패 시 redirect url. 어느 예약의 결제인지 알 수 있도록 예약 ID 를 붙인다.
+        parameters.put("approval_url", getRedirectUrl("/api/payments/complete", request.getReservationId()));
+        parameters.put("cancel_url", getRedirectUrl("/api/payments/cancel", request.getReservationId()));
+        parameters.put("fail_url", getRedirectUrl("/api/payments/fail", request.getReservationId()));
 
         return parameters;
     }
 
     /**
-     * 카카오페이 결제 시 필요한 헤더
+     * 카카오페이 승인 요청
+     * <p>
+     * 승인은 재시도하지 않는다. 승인이 실패로 돌아와도 응답을 받지 못했을 뿐 카카오페이는 승인했을 수 있으므로, 실패로
+     * 끝내기 전에 결제 상태를 조회해 이미 승인된 결제면 조회 결과로 승인을 이어 간다.
      */
-    private HttpHeaders getHeaders() {
-        HttpHeaders httpHeaders = new HttpHeaders();
-        String auth = "SECRET_KEY " + payProperties.getDevKey();
+    private Mono<PaymentApproveDto.Response> approve(Map<String, String> parameters) {
+        String tid = parameters.get("tid");
+        return kakaoPayClient.approve(parameters)
+                .onErrorResume(e -> {
+                    if (tid == null) {
+                        return Mono.error(e);
+                    }
+                    return findOrder(tid)
+                            .filter(PaymentOrderDto.Response::isApproved)
+                            .doOnNext(order -> log.warn("kakao payment approved despite approve failure :: {}", tid))
+                            .map(this::toApproveResponse)
+                            .switchIfEmpty(Mono.error(e));
+                });
+    }
 
-        httpHeaders.set("Authorization", auth);
-        httpHeaders.set("Content-type", "application/json");
+    // 상태 조회마저 실패하면 승인 여부를 알 수 없으므로 빈 결과로 돌려 호출한 쪽의 원래 처리를 따른다.
+    private Mono<PaymentOrderDto.Response> findOrder(String tid) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("cid", payProperties.getCid());
+        parameters.put("tid", tid);
 
-        return httpHeaders;
+        return kakaoPayClient.order(parameters)
+                .onErrorResume(e -> {
+                    log.error("kakao payment order lookup failed :: {}", tid, e);
+                    return Mono.empty();
+                });
     }
 
-    // 가능 인원 확인
-    private void validateLessonCapacity(Long lessonId, int requestedQuantity) {
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new RestApiException(LESSON_NOT_FOUND));
-        if (lesson.getAvailableSeats() < requestedQuantity) {
-            throw new RestApiException(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
-        }
+    private PaymentApproveDto.Response toApproveResponse(PaymentOrderDto.Response order) {
+        PaymentApproveDto.Response response = new PaymentApproveDto.Response();
+        response.setTid(order.getTid());
+        response.setCid(order.getCid());
+        response.setPartner_order_id(order.getPartner_order_id());
+        response.setPartner_user_id(order.getPartner_user_id());
+        response.setPayment_method_type(order.getPayment_method_type());
+        response.setAmount(order.getAmount());
+        response.setItem_name(order.getItem_name());
+        response.setQuantity(order.getQuantity());
+        response.setApproved_at(order.getApproved_at());
+        return response;
     }
 
-    // 인원 사전 예약
-    private void preReserveSeats(Long lessonId, int quantity) {
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new RestApiException(LESSON_NOT_FOUND));
-        lesson.setParticipantNumber(lesson.getParticipantNumber() + quantity);
-        lessonRepository.save(lesson);
+    /**
+     * 결제 후 카카오페이가 사용자를 돌려보낼 url (배포 환경마다 다른 서버 주소는 pay.redirect-base-url 로 설정)
+     */
+    private String getRedirectUrl(String path, Long reservationId) {
+        return UriComponentsBuilder.fromUriString(payProperties.getRedirectBaseUrl())
+                .path(path)
+                .queryParam("reservation_id", reservationId)
+                .toUriString();
     }
 
-    private void releaseSeats(Long lessonId, int quantity) {
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new RestApiException(LESSON_NOT_FOUND));
-        lesson.setParticipantNumber(lesson.getParticipantNumber() - quantity);
-        lessonRepository.save(lesson);
+    /**
+     * 저장하지 못한 승인 건 취소 (실패해도 원래 예외를 그대로 던지도록 로그만 남긴다.)
+     * <p>
+     * 취소 전에 결제 상태를 조회해 이미 취소된 결제면 다시 취소하지 않는다. 조회에 실패하면 승인된 결제가 남지 않도록 취소를
+     * 시도한다.
+     */
+    private void cancelApproval(PaymentApproveDto.Response response) {
+        try {
+            PaymentOrderDto.Response order = findOrder(response.getTid()).block();
+            if (order != null && !order.isApproved()) {
+                log.warn("kakao payment approval already {} :: {}", order.getStatus(), response.getTid());
+                return;
+            }
+
+            Map<String, String> parameters = new HashMap<>();
+            parameters.put("cid", payProperties.getCid());
+            parameters.put("tid", response.getTid());
+            parameters.put("cancel_amount", String.valueOf(response.getAmount().getTotal()));
+            parameters.put("cancel_tax_free_amount", String.valueOf(response.getAmount().getTax_free()));
+
+            kakaoPayClient.cancel(parameters).block();
+            log.warn("kakao payment approval canceled :: {}", response.getTid());
+        } catch (RuntimeException e) {
+            log.error("kakao payment approval cancel failed :: {}", response.getTid(), e);
+        }
+    }
+
+    /**
+     * 카카오페이 결제 승인 시 필요한 파라미터
+     */
+    private Map<String, String> getApproveParameters(String tid, String partnerOrderId, String partnerUserId,
+                                                     String pgToken) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("cid", payProperties.getCid());
+        parameters.put("tid", tid);
+        parameters.put("partner_order_id", partnerOrderId);
+        parameters.put("partner_user_id", partnerUserId);
+        parameters.put("pg_token", pgToken);
+        return parameters;
     }
-}
\ No newline at end of file
+}
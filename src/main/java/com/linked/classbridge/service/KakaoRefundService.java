@@ -18,25 +18,40 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class KakaoRefundService {
     private final PayProperties payProperties;
+    private final KakaoPayClient kakaoPayClient;
     private final PaymentRepository paymentRepository;
     private final RefundRepository refundRepository;
-    private final LessonService lessonService;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public KakaoRefundService(PayProperties payProperties, KakaoPayClient kakaoPayClient,
+                              PaymentRepository paymentRepository, RefundRepository refundRepository,
+                              SeatInventoryService seatInventoryService,
+                              PlatformTransactionManager transactionManager) {
+        this.payProperties = payProperties;
+        this.kakaoPayClient = kakaoPayClient;
+        this.paymentRepository = paymentRepository;
+        this.refundRepository = refundRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     /**
      * 결제 환불
@@ -45,52 +60,58 @@ public class KakaoRefundService {
     public PaymentRefundDto.Response refundPayment(PaymentRefundDto.Requset request,
                                                    Authentication authentication) {
 
+        // 카카오 결제 취소에 필요한 파라미터
+        Map<String, String> parameters = prepareRefund(request);
+
+        // 결제 취소 요청
+        PaymentRefundDto.Response response = kakaoPayClient.cancel(parameters).block();
+
+        return applyRefund(request, response);
+    }
+
+    /**
+     * 결제 환불 (논블로킹)
+     * <p>
+     * 카카오페이 응답을 기다리는 동안 트랜잭션과 스레드를 잡아 두지 않도록 환불 검증, 카카오페이 취소 요청, 환불 반영을
+     * 나눠서 처리한다. JPA 를 쓰는 앞뒤 단계만 boundedElastic 스레드에서 각각의 트랜잭션으로 실행한다.
+     */
+    public Mono<PaymentRefundDto.Response> refundPaymentReactive(PaymentRefundDto.Requset request) {
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> prepareRefund(request)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(kakaoPayClient::cancel)
+                .publishOn(Schedulers.boundedElastic())
+                .map(response -> transactionTemplate.execute(status -> applyRefund(request, response)));
+    }
+
+    /**
+     * 환불 가능 여부를 확인하고 카카오 결제 취소 파라미터를 만든다.
+     */
+    private Map<String, String> prepareRefund(PaymentRefundDto.Requset request) {
+
         // 취소할 결제
-        Payment payment = paymentRepository.findById(request.getPaymentId())
-                .orElseThrow(() -> new RestApiException(ErrorCode.INVALID_PAYMENT_ID));
+        Payment payment = getPayment(request);
 
         // 연관된 예약
         Reservation reservation = payment.getReservation();
-        if (reservation == null) {
-            throw new RestApiException(ErrorCode.INVALID_RESERVATION_ID);
-        }
 
         // 환불 비율 계산
         double refundRate = RefundPolicy.calculateRefundRate(reservation.getLesson().getLessonDate(),
                 reservation.getLesson().getStartTime(),
                 LocalDateTime.now());
 
-        // 카카오 결제 취소에 필요한 파라미터
-        Map<String, String> parameters = getRefundParameters(request, refundRate, payment);
-
-        // 결제 취소 요청 준비(헤더 세팅)
-        WebClient webClient = WebClient.builder()
-                .baseUrl(payProperties.getCancelUrl())
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "SECRET_KEY " + payProperties.getDevKey())
-                .build();
+        return getRefundParameters(request, refundRate, payment);
+    }
 
-        // 결제 취소 요청
-        Optional<Response> refundResponseData = Optional.ofNullable(webClient.post()
-                .uri(uriBuilder -> uriBuilder.path("/").build())
-                .bodyValue(parameters)
-//                .retrieve()
-                .exchangeToMono(clientResponse -> {
-                    if (clientResponse.statusCode().is5xxServerError()) {
-                        return Mono.error(new RestApiException(ErrorCode.PAY_ERROR));
-                    } else {
-                        return clientResponse.bodyToMono(Response.class);
-                    }
-                })
-//                .bodyToMono(Response.class)
-                .block());
-
-        // 취소 응답
-        PaymentRefundDto.Response response = refundResponseData.orElseThrow(
-                () -> new RestApiException(ErrorCode.PAY_ERROR));
+    /**
+     * 카카오 결제 취소 결과를 결제, 예약, 좌석에 반영한다.
+     */
+    private PaymentRefundDto.Response applyRefund(PaymentRefundDto.Requset request,
+                                                  PaymentRefundDto.Response response) {
 
         log.info("response refund status :: {}", response.getStatus());
 
+        Payment payment = getPayment(request);
+        Reservation reservation = payment.getReservation();
 
         // 예약 status 조회
 
@@ -126,13 +147,23 @@ public class KakaoRefundService {
             reservation.setStatus(ReservationStatus.CANCELED_BY_CUSTOMER);
         }
 
-        // 클래스 lesson 참여 인원 수정
-        lessonService.updateParticipantCount(reservation.getLesson(), refundQuantity);
+        // 환불한 수량만큼 좌석 반환
+        seatInventoryService.release(reservation.getLesson().getLessonId(), refundQuantity);
 
         return response;
 
     }
 
+    private Payment getPayment(PaymentRefundDto.Requset request) {
+        Payment payment = paymentRepository.findById(request.getPaymentId())
+                .orElseThrow(() -> new RestApiException(ErrorCode.INVALID_PAYMENT_ID));
+
+        if (payment.getReservation() == null) {
+            throw new RestApiException(ErrorCode.INVALID_RESERVATION_ID);
+        }
+        return payment;
+    }
+
     @NotNull
     private static Refund getRefund(Requset request, Payment payment, Response response) {
         Refund refund = new Refund();
@@ -1,10 +1,21 @@
 package com.linked.classbridge.service;
 
 import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.LessonRule;
+import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.dto.oneDayClass.LessonDto;
+import com.linked.classbridge.dto.oneDayClass.LessonSlot;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
 import com.linked.classbridge.type.ErrorCode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +27,8 @@ public class LessonService {
 
     private final LessonRepository lessonRepository;
 
+    private final OneDayClassRepository classRepository;
+
     public Lesson findLessonById(Long lessonId) {
         return lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new RestApiException(ErrorCode.LESSON_NOT_FOUND));
@@ -27,15 +40,82 @@ public class LessonService {
         return new LessonDto(lesson, lesson.getOneDayClass().getPersonal());
     }
 
+    /**
+     * from ~ to 기간의 레슨 목록.
+     * 반복 규칙으로 펼친 슬롯과 저장된 레슨을 합치며, 아직 저장되지 않은 슬롯은 lessonId 가 null 이다.
+     */
+    public List<LessonDto> getLessons(OneDayClass oneDayClass, LocalDate from, LocalDate to) {
+        Map<String, LessonSlot> storedSlots = new HashMap<>();
+        for (LessonSlot slot : lessonRepository.findSlots(oneDayClass.getClassId(), from, to)) {
+            storedSlots.put(slotKey(slot.lessonDate(), slot.startTime()), slot);
+        }
+
+        List<LessonDto> lessons = new ArrayList<>();
+        storedSlots.values().stream()
+                .filter(slot -> !slot.deleted())
+                .forEach(slot -> lessons.add(new LessonDto(slot.lessonId(), slot.lessonDate(), slot.startTime(),
+                        slot.endTime(), slot.participantNumber(), oneDayClass.getPersonal())));
+
+        List<LessonRule> rules = oneDayClass.getLessonRuleList();
+        if (rules != null && !rules.isEmpty()) {
+            LocalDate date = from.isBefore(oneDayClass.getStartDate()) ? oneDayClass.getStartDate() : from;
+            LocalDate end = to.isAfter(oneDayClass.getEndDate()) ? oneDayClass.getEndDate() : to;
+
+            for (; !date.isAfter(end); date = date.plusDays(1)) {
+                for (LessonRule rule : rules) {
+                    if (rule.getDayOfWeek() != date.getDayOfWeek()
+                            || storedSlots.containsKey(slotKey(date, rule.getStartTime()))) {
+                        continue;
+                    }
+                    lessons.add(new LessonDto(null, date, rule.getStartTime(),
+                            rule.getStartTime().plusMinutes(oneDayClass.getDuration()), 0,
+                            oneDayClass.getPersonal()));
+                }
+            }
+        }
+
+        lessons.sort(Comparator.comparing(LessonDto::getLessonDate).thenComparing(LessonDto::getStartTime));
+        return lessons;
+    }
+
+    /**
+     * 반복 규칙으로 생성되는 슬롯을 처음 예약할 때 Lesson 으로 저장한다. 이미 저장된 경우 기존 레슨을 반환한다.
+     */
     @Transactional
-    public void updateParticipantCount(Lesson lesson, int quantityChange) {
-        int maxParticipants = lesson.getOneDayClass().getPersonal();
-        int nowParticipants = lesson.getParticipantNumber() + quantityChange;
+    public Lesson getOrCreateLesson(Long classId, LocalDate lessonDate, LocalTime startTime) {
+        LessonSlot slot = lessonRepository.findSlot(classId, lessonDate, startTime).orElse(null);
 
-        if (nowParticipants > maxParticipants) {
-            throw new RestApiException(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        if (slot == null) {
+            OneDayClass oneDayClass = classRepository.findById(classId)
+                    .orElseThrow(() -> new RestApiException(ErrorCode.CLASS_NOT_FOUND));
+
+            if (!oneDayClass.hasLessonSlot(lessonDate, startTime)) {
+                throw new RestApiException(ErrorCode.LESSON_NOT_FOUND);
+            }
+
+            lessonRepository.insertSlotIfAbsent(classId, lessonDate, startTime,
+                    startTime.plusMinutes(oneDayClass.getDuration()));
+            // 다른 요청이 먼저 저장해 INSERT IGNORE 가 무시되었다면, 그 행은 첫 조회 이후에 커밋되어
+            // REPEATABLE READ 스냅샷으로는 보이지 않는다. 잠금 읽기로 최신 행을 읽는다.
+            slot = lessonRepository.findSlotForUpdate(classId, lessonDate, startTime)
+                    .orElseThrow(() -> new RestApiException(ErrorCode.LESSON_NOT_FOUND));
         }
-        lesson.setParticipantNumber(nowParticipants);
-        lessonRepository.save(lesson);
+
+        if (slot.deleted()) {
+            throw new RestApiException(ErrorCode.LESSON_NOT_FOUND);
+        }
+
+        return findLessonById(slot.lessonId());
+    }
+
+    // 저장된 레슨이 있거나, 삭제되지 않은 반복 규칙 슬롯인 경우 true
+    public boolean isLessonSlotTaken(OneDayClass oneDayClass, LocalDate lessonDate, LocalTime startTime) {
+        return lessonRepository.findSlot(oneDayClass.getClassId(), lessonDate, startTime)
+                .map(slot -> !slot.deleted())
+                .orElseGet(() -> oneDayClass.hasLessonSlot(lessonDate, startTime));
+    }
+
+    private String slotKey(LocalDate lessonDate, LocalTime startTime) {
+        return lessonDate + "T" + startTime;
     }
 }
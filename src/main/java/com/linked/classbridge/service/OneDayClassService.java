@@ -13,8 +13,10 @@ import static com.linked.classbridge.type.ErrorCode.EXISTS_RESERVED_PERSON;
 import static com.linked.classbridge.type.ErrorCode.INVALIDATE_CLASS_INTRODUCTION;
 import static com.linked.classbridge.type.ErrorCode.INVALIDATE_CLASS_NAME;
 import static com.linked.classbridge.type.ErrorCode.INVALIDATE_CLASS_PERSONAL;
+import static com.linked.classbridge.type.ErrorCode.INVALID_LESSON_PERIOD;
 import static com.linked.classbridge.type.ErrorCode.LESSON_DATE_MUST_BE_AFTER_NOW;
 import static com.linked.classbridge.type.ErrorCode.LESSON_NOT_FOUND;
+import static com.linked.classbridge.type.ErrorCode.LESSON_RULE_REQUIRED;
 import static com.linked.classbridge.type.ErrorCode.MISMATCH_CLASS_FAQ;
 import static com.linked.classbridge.type.ErrorCode.MISMATCH_CLASS_LESSON;
 import static com.linked.classbridge.type.ErrorCode.MISMATCH_CLASS_TAG;
@@ -29,17 +31,17 @@ import com.linked.classbridge.domain.ClassFAQ;
 import com.linked.classbridge.domain.ClassImage;
 import com.linked.classbridge.domain.ClassTag;
 import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.LessonRule;
 import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.domain.User;
-import com.linked.classbridge.domain.document.OneDayClassDocument;
 import com.linked.classbridge.dto.oneDayClass.ClassDto;
 import com.linked.classbridge.dto.oneDayClass.ClassDto.ClassRequest;
 import com.linked.classbridge.dto.oneDayClass.ClassFAQDto;
 import com.linked.classbridge.dto.oneDayClass.ClassTagDto;
 import com.linked.classbridge.dto.oneDayClass.ClassUpdateDto;
-import com.linked.classbridge.dto.oneDayClass.DayOfWeekListCreator;
 import com.linked.classbridge.dto.oneDayClass.LessonDto;
 import com.linked.classbridge.dto.oneDayClass.LessonDto.Request;
+import com.linked.classbridge.dto.oneDayClass.LessonSlot;
 import com.linked.classbridge.dto.oneDayClass.RepeatClassDto;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.CategoryRepository;
@@ -47,24 +49,23 @@ import com.linked.classbridge.repository.ClassFAQRepository;
 import com.linked.classbridge.repository.ClassImageRepository;
 import com.linked.classbridge.repository.ClassTagRepository;
 import com.linked.classbridge.repository.LessonRepository;
-import com.linked.classbridge.repository.OneDayClassDocumentRepository;
 import com.linked.classbridge.repository.OneDayClassRepository;
 import com.linked.classbridge.repository.UserRepository;
 import com.linked.classbridge.type.ErrorCode;
 import jakarta.transaction.Transactional;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -82,9 +83,9 @@ public class OneDayClassService {
     private final CategoryRepository categoryRepository;
     private final S3Service s3Service;
     private final LessonRepository lessonRepository;
+    private final LessonService lessonService;
     private final ClassImageRepository classImageRepository;
-    private final ElasticsearchOperations operations;
-    private final OneDayClassDocumentRepository oneDayClassDocumentRepository;
+    private final ClassIndexOutboxService classIndexOutboxService;
 
     @Transactional
     public ClassDto.ClassResponse registerClass(String email, ClassRequest request,List<MultipartFile> files)
@@ -106,6 +107,9 @@ public class OneDayClassService {
 
         kakaoMapService.extracted(oneDayClass);
 
+        // 레슨은 미리 만들지 않고 반복 규칙만 저장한다.
+        oneDayClass.setLessonRuleList(RepeatClassDto.toLessonRules(request.lesson()));
+
         oneDayClass = classRepository.save(oneDayClass);
 
         for(ClassFAQ faq : request.faqList()) {
@@ -118,7 +122,6 @@ public class OneDayClassService {
 
         oneDayClass.setImageList(imageRepository.saveAll(saveImages(oneDayClass, files)));
 
-        oneDayClass.setLessonList(lessonRepository.saveAll(createRepeatLesson(request, oneDayClass)));
 
         oneDayClass.setFaqList(faqRepository.saveAll(request.faqList()));
 
@@ -126,9 +129,10 @@ public class OneDayClassService {
 
         oneDayClass.setImageList(imageRepository.saveAll(saveImages(oneDayClass, files)));
 
-        operations.save(new OneDayClassDocument(oneDayClass));
+        classIndexOutboxService.upsert(oneDayClass.getClassId());
 
-        return ClassDto.ClassResponse.fromEntity(oneDayClass);
+        return ClassDto.ClassResponse.fromEntity(oneDayClass,
+                lessonService.getLessons(oneDayClass, oneDayClass.getStartDate(), oneDayClass.getEndDate()));
     }
 
     private void validateClassName(String className) {
@@ -158,32 +162,6 @@ public class OneDayClassService {
         return !images.isEmpty() ? classImageRepository.saveAll(images) : new ArrayList<>();
     }
 
-    private List<Lesson> createRepeatLesson(ClassRequest request, OneDayClass oneDayClass) {
-        Map<DayOfWeek, List<LocalDate>> dayOfWeekListMap = DayOfWeekListCreator.createDayOfWeekLists(oneDayClass.getStartDate(), oneDayClass.getEndDate());
-
-        List<Lesson> lessonList = new ArrayList<>();
-        for(RepeatClassDto repeatClassDto : request.lesson()) {
-            addLesson(dayOfWeekListMap, lessonList, repeatClassDto, oneDayClass);
-        }
-
-        return lessonList;
-    }
-
-    private void addLesson(Map<DayOfWeek, List<LocalDate>> dayOfWeekListMap, List<Lesson> lessonList,
-                           RepeatClassDto repeatClassDto, OneDayClass oneDayClass) {
-        for(LocalDate date : dayOfWeekListMap.get(repeatClassDto.getDayOfWeek())) {
-            for (LocalTime time : repeatClassDto.getTimes()) {
-                Lesson lesson = new Lesson();
-                lesson.setLessonDate(date);
-                lesson.setStartTime(time);
-                lesson.setEndTime(time.plusMinutes(oneDayClass.getDuration()));
-                lesson.setOneDayClass(oneDayClass);
-                lesson.setParticipantNumber(0);
-                lessonList.add(lesson);
-            }
-        }
-    }
-
     public Page<ClassDto> getOneDayClassList(String email, Pageable pageable) {
         User tutor = getUser(email);
         Page<OneDayClass> classList = classRepository.findAllByTutorUserId(tutor.getUserId(), pageable);
@@ -210,9 +188,6 @@ public class OneDayClassService {
 
         OneDayClass changeClass = ClassUpdateDto.ClassRequest.toEntity(request);
         changeClass.setClassId(classId);
-        changeClass.setTotalReviews(oneDayClass.getTotalReviews());
-        changeClass.setTotalStarRate(oneDayClass.getTotalStarRate());
-        changeClass.setTutor(oneDayClass.getTutor());
 
         changeClass.setCategory(categoryRepository.findByName(request.categoryType()));
 
@@ -260,38 +235,31 @@ public class OneDayClassService {
             }
         }
 
-        // 주소를 수정한 경우
-        if(!changeClass.getAddress1().equals(oneDayClass.getAddress1())
+        boolean addressChanged = !changeClass.getAddress1().equals(oneDayClass.getAddress1())
                 || !changeClass.getAddress2().equals(oneDayClass.getAddress2())
-                || !changeClass.getAddress3().equals(oneDayClass.getAddress3())) {
-            kakaoMapService.extracted(oneDayClass);
-        } else {
-            changeClass.setLatitude(oneDayClass.getLatitude());
-            changeClass.setLongitude(oneDayClass.getLongitude());
-        }
+                || !changeClass.getAddress3().equals(oneDayClass.getAddress3());
 
-        changeClass = classRepository.save(changeClass);
+        // update 후에는 엔티티에 새 소요시간이 들어가므로 변경 여부는 미리 구해 둔다.
+        boolean durationChanged = oneDayClass.getDuration() != changeClass.getDuration();
 
-        // 소요시간이 변경 된 경우 현재 날짜 이후의 모든 레슨의 종료 시간 변경
-        if(oneDayClass.getDuration() != changeClass.getDuration()) {
-            List<Lesson> lessonList = lessonRepository.findAllByOneDayClassClassIdAndLessonDateIsAfter(classId,
-                    LocalDate.now().minusDays(1));
+        // 새 엔티티를 merge 하면 요청에 없는 반복 규칙(@ElementCollection)이 null 로 덮여 모두 삭제되므로 조회한 엔티티를 고친다.
+        oneDayClass.update(changeClass);
 
-            for (Lesson lesson : lessonList) {
-                lesson.setEndTime(lesson.getEndTime()
-                        .plusMinutes((long) (oneDayClass.getDuration() - changeClass.getDuration())));
-            }
-            lessonRepository.saveAll(lessonList);
+        // 주소를 수정한 경우 바뀐 주소로 좌표를 다시 구한다.
+        if(addressChanged) {
+            kakaoMapService.extracted(oneDayClass);
         }
 
-        OneDayClassDocument beforeDocument = oneDayClassDocumentRepository.findById(classId).orElseThrow(() -> new RestApiException(CLASS_NOT_FOUND));
+        oneDayClass = classRepository.save(oneDayClass);
 
-        OneDayClassDocument afterDocument = new OneDayClassDocument(changeClass);
-        afterDocument.setImageUrl(beforeDocument.getImageUrl());
+        // 소요시간이 변경 된 경우 오늘 이후의 모든 레슨의 종료 시간 변경
+        if(durationChanged) {
+            lessonRepository.updateEndTimeOfLessonsFrom(classId, LocalDate.now(), changeClass.getDuration());
+        }
 
-        operations.save(afterDocument);
+        classIndexOutboxService.upsert(classId);
 
-        return ClassUpdateDto.ClassResponse.fromEntity(changeClass);
+        return ClassUpdateDto.ClassResponse.fromEntity(oneDayClass);
     }
 
     @Transactional
@@ -319,7 +287,7 @@ public class OneDayClassService {
 
         classRepository.deleteById(classId);
 
-        oneDayClassDocumentRepository.deleteById(classId);
+        classIndexOutboxService.delete(classId);
 
         return true;
     }
@@ -329,12 +297,20 @@ public class OneDayClassService {
         User tutor = getUser(email);
         validateOneDayClassMatchTutor(tutor, oneDayClass);
 
-        oneDayClass.setLessonList(lessonRepository.findAllByOneDayClassClassId(classId));
         oneDayClass.setTagList(tagRepository.findAllByOneDayClassClassId(classId));
         oneDayClass.setFaqList(faqRepository.findAllByOneDayClassClassId(classId));
         oneDayClass.setImageList(imageRepository.findAllByOneDayClassClassId(classId));
 
-        return ClassDto.ClassResponse.fromEntity(oneDayClass);
+        return ClassDto.ClassResponse.fromEntity(oneDayClass,
+                lessonService.getLessons(oneDayClass, oneDayClass.getStartDate(), oneDayClass.getEndDate()));
+    }
+
+    public List<LessonDto> getLessons(long classId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RestApiException(INVALID_LESSON_PERIOD);
+        }
+
+        return lessonService.getLessons(getClass(classId), from, to);
     }
 
     public OneDayClass findClassById(Long classId) {
@@ -342,6 +318,7 @@ public class OneDayClassService {
                 .orElseThrow(() -> new RestApiException(ErrorCode.CLASS_NOT_FOUND));
     }
 
+    @Transactional
     public ClassTagDto registerTag(String email, ClassTagDto request, long classId) {
         User tutor = getUser(email);
         OneDayClass oneDayClass = getClass(classId);
@@ -360,36 +337,27 @@ public class OneDayClassService {
                 .build();
         ClassTagDto classTagDto = new ClassTagDto(tagRepository.save(classTag));
 
-        OneDayClassDocument oneDayClassDocument = oneDayClassDocumentRepository.findById(classId).orElseThrow(() -> new RestApiException(CLASS_NOT_FOUND));
-        List<String> tagList = new ArrayList<>(oneDayClassDocument.getTagList());
-        tagList.add(classTag.getName());
-        oneDayClassDocument.setTagList(tagList);
-        operations.save(oneDayClassDocument);
+        classIndexOutboxService.updateTags(classId);
 
         return classTagDto;
     }
 
+    @Transactional
     public ClassTagDto updateTag(String email, ClassTagDto request, long classId, long tagId) {
         User tutor = getUser(email);
         ClassTag classTag = getTag(tagId);
         validateTagMatchTutorAndClassId(tutor, classId, classTag);
 
-        String beforeTagName = classTag.getName();
-
         classTag.setName(request.getName());
 
         ClassTagDto classTagDto = new ClassTagDto(tagRepository.save(classTag));
 
-        OneDayClassDocument oneDayClassDocument = oneDayClassDocumentRepository.findById(classId).orElseThrow(() -> new RestApiException(CLASS_NOT_FOUND));
-        List<String> tagList = new ArrayList<>(oneDayClassDocument.getTagList());
-        tagList.remove(beforeTagName);
-        tagList.add(request.getName());
-        oneDayClassDocument.setTagList(tagList);
-        operations.save(oneDayClassDocument);
+        classIndexOutboxService.updateTags(classId);
 
         return classTagDto;
     }
 
+    @Transactional
     public Boolean deleteTag(String email, long classId, long tagId) {
         User tutor = getUser(email);
         ClassTag classTag = getTag(tagId);
@@ -397,10 +365,7 @@ public class OneDayClassService {
 
         tagRepository.delete(classTag);
 
-        OneDayClassDocument oneDayClassDocument = oneDayClassDocumentRepository.findById(classId).orElseThrow(() -> new RestApiException(CLASS_NOT_FOUND));
-        List<String> tagList = new ArrayList<>(oneDayClassDocument.getTagList());
-        tagList.remove(classTag.getName());
-        oneDayClassDocument.setTagList(tagList);
+        classIndexOutboxService.updateTags(classId);
 
         return true;
     }
@@ -477,20 +442,30 @@ public class OneDayClassService {
         }
     }
 
+    @Transactional
     public LessonDto registerLesson(String email, LessonDto.Request request, Long classId) {
-        if(lessonRepository.existsByOneDayClassClassIdAndLessonDateAndStartTime(classId, request.lessonDate(), request.startTime())) {
-            throw new RestApiException(EXISTS_LESSON_DATE_START_TIME);
-        }
-
         if(request.lessonDate().isEqual(LocalDate.now()) || request.lessonDate().isBefore(LocalDate.now())) {
             throw new RestApiException(LESSON_DATE_MUST_BE_AFTER_NOW);
         }
 
         OneDayClass oneDayClass = getClass(classId);
+
+        if(lessonService.isLessonSlotTaken(oneDayClass, request.lessonDate(), request.startTime())) {
+            throw new RestApiException(EXISTS_LESSON_DATE_START_TIME);
+        }
+
         User tutor = getUser(email);
 
         validateOneDayClassMatchTutor(tutor, oneDayClass);
 
+        // 삭제된 슬롯이 남아 있으면 유니크 키가 겹치므로 새로 만들지 않고 되살린다.
+        Optional<LessonSlot> deletedSlot = lessonRepository.findSlot(classId, request.lessonDate(), request.startTime());
+        if (deletedSlot.isPresent()) {
+            lessonRepository.restoreSlot(deletedSlot.get().lessonId(),
+                    request.startTime().plusMinutes(oneDayClass.getDuration()));
+            return new LessonDto(getLesson(deletedSlot.get().lessonId()), oneDayClass.getPersonal());
+        }
+
         return new LessonDto(lessonRepository.save(request.toEntity(oneDayClass)), oneDayClass.getPersonal());
     }
 
@@ -500,29 +475,89 @@ public class OneDayClassService {
 
         validateLesson(tutor, classId, lesson);
 
+        // soft delete 된 행이 남아 반복 규칙으로 같은 슬롯이 다시 생성되지 않는다.
         lessonRepository.delete(lesson);
 
         return true;
     }
 
+    // 아직 저장되지 않은 반복 규칙 슬롯 삭제
+    @Transactional
+    public Boolean deleteLessonSlot(String email, Long classId, LocalDate lessonDate, LocalTime startTime) {
+        validateOneDayClassMatchTutor(getUser(email), getClass(classId));
+
+        Lesson lesson = lessonService.getOrCreateLesson(classId, lessonDate, startTime);
+
+        return deleteLesson(email, classId, lesson.getLessonId());
+    }
+
+    @Transactional
     public LessonDto updateLesson(String email, Request request, Long classId, Long lessonId) {
         if(request.lessonDate().isEqual(LocalDate.now()) || request.lessonDate().isBefore(LocalDate.now())) {
             throw new RestApiException(LESSON_DATE_MUST_BE_AFTER_NOW);
         }
 
-        if(lessonRepository.existsByOneDayClassClassIdAndLessonDateAndStartTime(classId, request.lessonDate(), request.startTime())) {
-            throw new RestApiException(EXISTS_LESSON_DATE_START_TIME);
-        }
         User tutor = getUser(email);
         Lesson lesson = getLesson(lessonId);
 
         validateLesson(tutor, classId, lesson);
+
+        OneDayClass oneDayClass = lesson.getOneDayClass();
+        if(lessonService.isLessonSlotTaken(oneDayClass, request.lessonDate(), request.startTime())) {
+            throw new RestApiException(EXISTS_LESSON_DATE_START_TIME);
+        }
+
+        // 옮길 자리에 남아 있는 삭제된 슬롯은 유니크 키가 겹치므로 먼저 지운다.
+        lessonRepository.findSlot(classId, request.lessonDate(), request.startTime())
+                .ifPresent(slot -> lessonRepository.purgeDeletedSlot(slot.lessonId()));
+
+        LocalDate beforeDate = lesson.getLessonDate();
+        LocalTime beforeStartTime = lesson.getStartTime();
+
         lesson.setLessonDate(request.lessonDate());
         lesson.setStartTime(request.startTime());
-        lesson.setEndTime(request.startTime().plusMinutes(lesson.getOneDayClass().getDuration()));
+        lesson.setEndTime(request.startTime().plusMinutes(oneDayClass.getDuration()));
+        Lesson savedLesson = lessonRepository.saveAndFlush(lesson);
 
-        return new LessonDto(lessonRepository.save(lesson), lesson.getOneDayClass().getPersonal());
+        // 반복 규칙 슬롯에서 옮겨 간 경우 원래 자리가 다시 생성되지 않도록 삭제 표시를 남긴다.
+        if (oneDayClass.hasLessonSlot(beforeDate, beforeStartTime)) {
+            leaveDeletedSlot(oneDayClass, beforeDate, beforeStartTime);
+        }
+
+        return new LessonDto(savedLesson, oneDayClass.getPersonal());
+    }
+
+    /**
+     * 반복 규칙 수정. 아직 저장되지 않은 슬롯만 새 규칙으로 펼쳐지고,
+     * 이미 저장된 레슨(예약되었거나 직접 추가한 레슨, 삭제 표시)은 그대로 남는다.
+     */
+    @Transactional
+    public List<LessonDto> updateLessonRules(String email, List<RepeatClassDto> request, long classId) {
+        OneDayClass oneDayClass = getClass(classId);
+        User tutor = getUser(email);
+        validateOneDayClassMatchTutor(tutor, oneDayClass);
 
+        List<LessonRule> lessonRules = request == null ? List.of() : RepeatClassDto.toLessonRules(request);
+        if(lessonRules.isEmpty()) {
+            throw new RestApiException(LESSON_RULE_REQUIRED);
+        }
+
+        oneDayClass.setLessonRuleList(new ArrayList<>(lessonRules));
+        oneDayClass = classRepository.save(oneDayClass);
+
+        return lessonService.getLessons(oneDayClass, LocalDate.now(), LocalDate.now().plusMonths(1));
+    }
+
+    private void leaveDeletedSlot(OneDayClass oneDayClass, LocalDate lessonDate, LocalTime startTime) {
+        Lesson deletedSlot = Lesson.builder()
+                .lessonDate(lessonDate)
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(oneDayClass.getDuration()))
+                .participantNumber(0)
+                .oneDayClass(oneDayClass)
+                .build();
+        deletedSlot.setDeletedAt(LocalDateTime.now());
+        lessonRepository.save(deletedSlot);
     }
 
     private ClassTag getTag(Long tagId) {
@@ -0,0 +1,338 @@
+package com.linked.classbridge.service;
+
+import static com.linked.classbridge.type.ErrorCode.INVALID_RESERVATION_ID;
+import static com.linked.classbridge.type.ErrorCode.INVALID_SEAT_QUANTITY;
+import static com.linked.classbridge.type.ErrorCode.LESSON_NOT_FOUND;
+import static com.linked.classbridge.type.ErrorCode.MAX_PARTICIPANTS_EXCEEDED;
+import static com.linked.classbridge.type.ErrorCode.SEAT_ADMISSION_TIMEOUT;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 레슨의 좌석 요청을 레슨별 단일 작성자 큐로 모아 처리한다.
+ * <p>
+ * 같은 레슨의 요청은 항상 같은 스트라이프에서 순서대로 처리된다. 스트라이프는 남은 좌석 수를 메모리에 들고 배치 단위로
+ * 좌석을 나눠 준 뒤, 배치에서 허용된 요청을 레슨마다 UPDATE 한 번과 hold 배치 INSERT 로 저장한다. 매진된 레슨은 잠시 기억해
+ * 큐와 DB 를 거치지 않고 바로 거절한다.
+ * <p>
+ * 메모리의 남은 좌석 수는 state-ttl 동안만 믿는다. 다른 서버의 예약이나 좌석 반환으로 DB 와 어긋나면 저장이 실패하므로,
+ * 그 레슨의 상태를 버리고 한 건씩 SeatInventoryService 로 다시 처리한다. 반대로 반환된 좌석은 state-ttl 이 지나야 보인다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seat.admission.enabled", havingValue = "true")
+public class QueuedSeatAdmission implements SeatAdmission {
+
+    public static final String REJECTED = "seat.admission.rejected";
+
+    public static final String BATCH_SIZE = "seat.admission.batch.size";
+
+    public static final String QUEUE_DEPTH = "seat.admission.queue.depth";
+
+    // 스트라이프마다 기억하는 레슨 수 상한. 넘으면 비우고 다시 조회한다.
+    private static final int MAX_TRACKED_LESSONS = 10_000;
+
+    private final LessonRepository lessonRepository;
+
+    private final SeatInventoryService seatInventoryService;
+
+    private final Stripe[] stripes;
+
+    private final ExecutorService executor;
+
+    private final int batchSize;
+
+    private final long stateTtlNanos;
+
+    private final long timeoutMs;
+
+    // 매진된 레슨 -> 매진 판단을 믿을 수 있는 마지막 시각(System.nanoTime)
+    private final Map<Long, Long> soldOutUntil = new ConcurrentHashMap<>();
+
+    private final Counter fastRejections;
+
+    private final Counter queuedRejections;
+
+    private final DistributionSummary batchSizes;
+
+    public QueuedSeatAdmission(LessonRepository lessonRepository,
+                               SeatInventoryService seatInventoryService,
+                               MeterRegistry meterRegistry,
+                               @Value("${seat.admission.stripes:8}") int stripeCount,
+                               @Value("${seat.admission.batch-size:200}") int batchSize,
+                               @Value("${seat.admission.state-ttl:1s}") Duration stateTtl,
+                               @Value("${seat.admission.timeout-ms:3000}") long timeoutMs) {
+        this.lessonRepository = lessonRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.batchSize = batchSize;
+        this.stateTtlNanos = stateTtl.toNanos();
+        this.timeoutMs = timeoutMs;
+
+        // 스트라이프 수만큼 스레드를 두어 한 스트라이프의 DB 대기가 다른 스트라이프를 막지 않게 한다.
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(stripeCount, runnable -> {
+            Thread thread = new Thread(runnable, "seat-admission-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        this.fastRejections = Counter.builder(REJECTED)
+                .description("Seat requests rejected because the lesson was sold out")
+                .tag("stage", "fast")
+                .register(meterRegistry);
+        this.queuedRejections = Counter.builder(REJECTED)
+                .description("Seat requests rejected because the lesson was sold out")
+                .tag("stage", "queue")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE)
+                .description("Seat requests persisted together for one lesson")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH, this, QueuedSeatAdmission::getQueueDepth)
+                .description("Seat requests waiting for their stripe")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void admit(Long reservationId, Long lessonId, int quantity) {
+        if (quantity <= 0) {
+            throw new RestApiException(INVALID_SEAT_QUANTITY);
+        }
+        Long until = soldOutUntil.get(lessonId);
+        if (until != null) {
+            if (System.nanoTime() - until < 0) {
+                fastRejections.increment();
+                throw new RestApiException(MAX_PARTICIPANTS_EXCEEDED);
+            }
+            soldOutUntil.remove(lessonId, until);
+        }
+
+        SeatRequest request = new SeatRequest(reservationId, lessonId, quantity, new CompletableFuture<>());
+        stripes[Math.floorMod(lessonId.hashCode(), stripes.length)].submit(request);
+        await(request);
+    }
+
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Stripe stripe : stripes) {
+            depth += stripe.pending.get();
+        }
+        return depth;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void await(SeatRequest request) {
+        try {
+            request.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 취소에 성공하면 스트라이프가 이 요청을 건너뛰거나, 이미 잡은 좌석을 돌려준다.
+            if (request.result().cancel(false)) {
+                throw new RestApiException(SEAT_ADMISSION_TIMEOUT);
+            }
+            await(request);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.result().cancel(false);
+            throw new RestApiException(SEAT_ADMISSION_TIMEOUT);
+        }
+    }
+
+    private void process(List<SeatRequest> batch, Map<Long, LessonSeats> seats) {
+        Map<Long, List<SeatRequest>> byLesson = new LinkedHashMap<>();
+        for (SeatRequest request : batch) {
+            if (!request.result().isDone()) {
+                byLesson.computeIfAbsent(request.lessonId(), lessonId -> new ArrayList<>()).add(request);
+            }
+        }
+        if (seats.size() > MAX_TRACKED_LESSONS) {
+            seats.clear();
+        }
+        byLesson.forEach((lessonId, requests) -> admitLesson(lessonId, requests, seats));
+    }
+
+    private void admitLesson(Long lessonId, List<SeatRequest> requests, Map<Long, LessonSeats> seats) {
+        LessonSeats state = seats.get(lessonId);
+        if (state == null || System.nanoTime() - state.loadedAt() > stateTtlNanos) {
+            Optional<Lesson> lesson = lessonRepository.findById(lessonId);
+            if (lesson.isEmpty()) {
+                requests.forEach(request -> request.result().completeExceptionally(
+                        new RestApiException(LESSON_NOT_FOUND)));
+                return;
+            }
+            state = new LessonSeats(lesson.get().getAvailableSeats(), System.nanoTime());
+            seats.put(lessonId, state);
+        }
+
+        // 메모리에서 좌석을 나눠 준다. 남은 좌석보다 많이 요청한 구매자는 DB 에 가지 않고 거절한다.
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        List<SeatRequest> admitted = new ArrayList<>();
+        for (SeatRequest request : requests) {
+            if (quantities.containsKey(request.reservationId())) {
+                request.result().completeExceptionally(new RestApiException(INVALID_RESERVATION_ID));
+            } else if (request.quantity() <= state.remaining) {
+                state.remaining -= request.quantity();
+                quantities.put(request.reservationId(), request.quantity());
+                admitted.add(request);
+            } else {
+                queuedRejections.increment();
+                request.result().completeExceptionally(new RestApiException(MAX_PARTICIPANTS_EXCEEDED));
+            }
+        }
+        if (state.remaining <= 0) {
+            soldOutUntil.put(lessonId, state.loadedAt() + stateTtlNanos);
+        }
+        if (admitted.isEmpty()) {
+            return;
+        }
+
+        try {
+            seatInventoryService.holdAll(lessonId, quantities);
+            batchSizes.record(admitted.size());
+            admitted.forEach(this::complete);
+        } catch (RestApiException e) {
+            // 메모리의 남은 좌석 수가 DB 와 어긋났다. 상태를 버리고 한 건씩 처리한다.
+            log.debug("Seat state of lesson {} was stale, holding {} requests one by one", lessonId, admitted.size());
+            seats.remove(lessonId);
+            soldOutUntil.remove(lessonId);
+            admitted.forEach(this::holdOne);
+        } catch (RuntimeException e) {
+            log.warn("Failed to hold seats of lesson {} for {} requests", lessonId, admitted.size(), e);
+            seats.remove(lessonId);
+            admitted.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+
+    private void holdOne(SeatRequest request) {
+        try {
+            seatInventoryService.hold(request.reservationId(), request.lessonId(), request.quantity());
+            complete(request);
+        } catch (RuntimeException e) {
+            request.result().completeExceptionally(e);
+        }
+    }
+
+    private void complete(SeatRequest request) {
+        if (!request.result().complete(null)) {
+            // 기다리던 요청이 시간 초과로 떠났으면 잡은 좌석을 바로 돌려준다.
+            seatInventoryService.releaseHold(request.reservationId());
+        }
+    }
+
+    private record SeatRequest(Long reservationId, Long lessonId, int quantity, CompletableFuture<Void> result) {
+    }
+
+    private static final class LessonSeats {
+
+        private int remaining;
+
+        private final long loadedAt;
+
+        private LessonSeats(int remaining, long loadedAt) {
+            this.remaining = remaining;
+            this.loadedAt = loadedAt;
+        }
+
+        private long loadedAt() {
+            return loadedAt;
+        }
+    }
+
+    /**
+     * 한 번에 하나의 스레드만 큐를 비우는 스트라이프. 레슨별 좌석 상태는 큐를 비우는 스레드만 읽고 쓴다.
+     */
+    private final class Stripe {
+
+        private final Queue<SeatRequest> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private final Map<Long, LessonSeats> seats = new HashMap<>();
+
+        private void submit(SeatRequest request) {
+            queue.add(request);
+            pending.incrementAndGet();
+            scheduleNext();
+        }
+
+        private void scheduleNext() {
+            if (!queue.isEmpty() && running.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    running.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                List<SeatRequest> batch = new ArrayList<>(batchSize);
+                while (true) {
+                    SeatRequest request;
+                    while (batch.size() < batchSize && (request = queue.poll()) != null) {
+                        pending.decrementAndGet();
+                        batch.add(request);
+                    }
+                    if (batch.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        process(batch, seats);
+                    } catch (RuntimeException e) {
+                        log.error("Seat admission batch failed", e);
+                        batch.forEach(failed -> failed.result().completeExceptionally(e));
+                    }
+                    batch.clear();
+                }
+            } finally {
+                running.set(false);
+                // drain 종료와 새 요청 추가 사이의 경합으로 남은 요청이 있으면 다시 예약한다.
+                scheduleNext();
+            }
+        }
+    }
+}
@@ -26,11 +26,15 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final AttendanceRepository attendanceRepository;
     private final UserService userService;
+    private final LessonService lessonService;
 
     public Reservation createReservation(ReservationDto.Request request) {
 
-        Lesson lesson = lessonRepository.findById(request.getLessonId())
-                .orElseThrow(() -> new RestApiException(LESSON_NOT_FOUND));
+        Lesson lesson = request.getLessonId() != null
+                ? lessonRepository.findById(request.getLessonId())
+                        .orElseThrow(() -> new RestApiException(LESSON_NOT_FOUND))
+                : lessonService.getOrCreateLesson(
+                        request.getClassId(), request.getLessonDate(), request.getStartTime());
 
         String userEmail = userService.getCurrentUserEmail();
 
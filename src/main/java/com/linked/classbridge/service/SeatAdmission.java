@@ -0,0 +1,7 @@
+package com.linked.classbridge.service;
+
+// 결제 요청 시 좌석을 잡는 방식. 잡지 못하면 RestApiException(MAX_PARTICIPANTS_EXCEEDED 등)으로 실패한다.
+public interface SeatAdmission {
+
+    void admit(Long reservationId, Long lessonId, int quantity);
+}
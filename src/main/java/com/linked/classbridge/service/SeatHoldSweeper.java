@@ -0,0 +1,90 @@
+package com.linked.classbridge.service;
+
+import com.linked.classbridge.domain.SeatHold;
+import com.linked.classbridge.repository.SeatHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제를 끝내지 않아 만료된 좌석 hold 를 주기적으로 정리한다.
+ * hold 마다 별도 트랜잭션으로 좌석을 돌려주므로 한 건이 실패해도 나머지는 처리되고, 실패한 hold 는 다음 주기에 다시 시도한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seat.hold.sweeper-enabled", havingValue = "true", matchIfMissing = true)
+public class SeatHoldSweeper {
+
+    public static final String ACTIVE = "seat.hold.active";
+
+    public static final String EXPIRED = "seat.hold.expired";
+
+    private final SeatHoldRepository seatHoldRepository;
+
+    private final SeatInventoryService seatInventoryService;
+
+    private final int batchSize;
+
+    private final AtomicLong activeHolds = new AtomicLong();
+
+    private final Counter expiredHolds;
+
+    public SeatHoldSweeper(SeatHoldRepository seatHoldRepository,
+                           SeatInventoryService seatInventoryService,
+                           MeterRegistry meterRegistry,
+                           @Value("${seat.hold.sweep-batch-size:100}") int batchSize) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.batchSize = batchSize;
+
+        // 주기마다 센 값을 보여 준다. 스크레이프할 때마다 seat_hold 를 세지 않기 위함이다.
+        Gauge.builder(ACTIVE, activeHolds, AtomicLong::get)
+                .description("Seat holds waiting for payment, as of the last sweep")
+                .register(meterRegistry);
+        this.expiredHolds = Counter.builder(EXPIRED)
+                .description("Seat holds released because checkout was not completed in time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${seat.hold.sweep-interval-ms:10000}")
+    public void sweep() {
+        try {
+            // 만료된 hold 가 밀려 있으면 비워질 때까지 이어서 처리한다.
+            while (sweepBatch() == batchSize) {
+                log.debug("More expired seat holds pending, sweeping next batch");
+            }
+            activeHolds.set(seatHoldRepository.count());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while sweeping expired seat holds", e);
+        }
+    }
+
+    // 정리된 hold 수를 반환한다. 실패가 있으면 batchSize 보다 작아지므로 같은 hold 를 계속 다시 시도하지 않는다.
+    int sweepBatch() {
+        List<SeatHold> expired = seatHoldRepository.findByExpiresAtLessThanEqualOrderByHoldIdAsc(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        int swept = 0;
+        for (SeatHold hold : expired) {
+            try {
+                // false 면 그 사이 확정이나 취소로 이미 지워진 hold 다.
+                if (seatInventoryService.expire(hold)) {
+                    expiredHolds.increment();
+                }
+                swept++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire seat hold {} of reservation {}", hold.getHoldId(),
+                        hold.getReservationId(), e);
+            }
+        }
+        return swept;
+    }
+}
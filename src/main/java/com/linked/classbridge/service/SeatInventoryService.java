@@ -0,0 +1,192 @@
+package com.linked.classbridge.service;
+
+import static com.linked.classbridge.type.ErrorCode.INVALID_PAYMENT_ID;
+import static com.linked.classbridge.type.ErrorCode.INVALID_SEAT_QUANTITY;
+import static com.linked.classbridge.type.ErrorCode.LESSON_NOT_FOUND;
+import static com.linked.classbridge.type.ErrorCode.MAX_PARTICIPANTS_EXCEEDED;
+import static com.linked.classbridge.type.ErrorCode.RESERVATION_NOT_FOUND;
+
+import com.linked.classbridge.domain.Payment;
+import com.linked.classbridge.domain.Reservation;
+import com.linked.classbridge.domain.SeatHold;
+import com.linked.classbridge.dto.reservation.ReservationStatus;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.ReservationRepository;
+import com.linked.classbridge.repository.SeatHoldRepository;
+import java.time.Duration;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 레슨 좌석 재고.
+ * <p>
+ * 결제 요청 시 좌석을 잡아 두고(hold), 결제가 승인되면 예약을 확정(confirm)하며, 결제 취소나 환불 시 좌석을 돌려준다(release).
+ * 참여 인원은 Lesson 엔티티를 읽고 고쳐 저장하지 않고 조건부 UPDATE 한 문장으로만 바꾸므로, 같은 레슨에 구매자가 몰려도
+ * 정원을 넘지 않고 낙관적 락 충돌로 실패하는 요청도 생기지 않는다.
+ * <p>
+ * 잡아 둔 좌석은 seat_hold 에 만료 시각과 함께 기록한다. 사용자가 결제를 끝내지 않고 떠나면 SeatHoldSweeper 가
+ * 만료된 hold 의 좌석을 돌려주고 예약을 EXPIRED 로 바꾼다.
+ */
+@Slf4j
+@Service
+public class SeatInventoryService {
+
+    private final LessonRepository lessonRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final Duration holdTtl;
+
+    public SeatInventoryService(LessonRepository lessonRepository,
+                                ReservationRepository reservationRepository,
+                                SeatHoldRepository seatHoldRepository,
+                                @Value("${seat.hold.ttl:15m}") Duration holdTtl) {
+        this.lessonRepository = lessonRepository;
+        this.reservationRepository = reservationRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.holdTtl = holdTtl;
+    }
+
+    /**
+     * 남은 좌석이 quantity 이상이면 참여 인원에 더해 예약의 좌석을 잡는다. 같은 예약으로 다시 결제를 요청하면 이전 hold 를 대신한다.
+     */
+    @Transactional
+    public SeatHold hold(Long reservationId, Long lessonId, int quantity) {
+        validateQuantity(quantity);
+        seatHoldRepository.findByReservationId(reservationId).ifPresent(this::removeHold);
+
+        if (lessonRepository.increaseParticipantNumber(lessonId, quantity) == 0) {
+            // 실패한 경우에만 원인을 구분하기 위해 조회한다.
+            if (!lessonRepository.existsById(lessonId)) {
+                throw new RestApiException(LESSON_NOT_FOUND);
+            }
+            throw new RestApiException(MAX_PARTICIPANTS_EXCEEDED);
+        }
+        return seatHoldRepository.save(SeatHold.of(reservationId, lessonId, quantity, holdTtl));
+    }
+
+    /**
+     * 같은 레슨의 여러 예약(예약 ID -> 인원)에 대해 한 번의 UPDATE 로 좌석을 잡고 hold 를 배치 INSERT 한다.
+     * 모두 잡을 좌석이 없으면 아무것도 잡지 않고 MAX_PARTICIPANTS_EXCEEDED 로 실패한다.
+     */
+    @Transactional
+    public void holdAll(Long lessonId, Map<Long, Integer> quantities) {
+        quantities.values().forEach(this::validateQuantity);
+        seatHoldRepository.findAllByReservationIdIn(quantities.keySet()).forEach(this::removeHold);
+
+        int total = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        if (lessonRepository.increaseParticipantNumber(lessonId, total) == 0) {
+            throw new RestApiException(MAX_PARTICIPANTS_EXCEEDED);
+        }
+        seatHoldRepository.bulkInsert(quantities.entrySet().stream()
+                .map(entry -> SeatHold.of(entry.getKey(), lessonId, entry.getValue(), holdTtl))
+                .toList());
+    }
+
+    /**
+     * 카카오페이 결제 준비 결과를 hold 에 남긴다. 그 사이 hold 가 만료되었으면 남기지 않고, 승인 요청은 결제를 찾지 못해 실패한다.
+     */
+    @Transactional
+    public void attachPayment(Long reservationId, String tid, String partnerOrderId) {
+        if (seatHoldRepository.updatePayment(reservationId, tid, partnerOrderId) == 0) {
+            log.warn("Skipped attaching payment {} to reservation {}: no seat hold", tid, reservationId);
+        }
+    }
+
+    /**
+     * 결제 고유 번호로 승인 대기 중인 hold 를 찾는다.
+     */
+    @Transactional(readOnly = true)
+    public SeatHold getPendingPayment(String tid) {
+        if (tid == null) {
+            throw new RestApiException(INVALID_PAYMENT_ID);
+        }
+        return seatHoldRepository.findByTid(tid)
+                .orElseThrow(() -> new RestApiException(INVALID_PAYMENT_ID));
+    }
+
+    /**
+     * 예약의 승인 대기 중인 hold 를 찾는다. 결제 요청 전이거나 hold 가 이미 정리된 경우 실패한다.
+     */
+    @Transactional(readOnly = true)
+    public SeatHold getPendingPaymentOfReservation(Long reservationId) {
+        return seatHoldRepository.findByReservationId(reservationId)
+                .filter(hold -> hold.getTid() != null)
+                .orElseThrow(() -> new RestApiException(INVALID_PAYMENT_ID));
+    }
+
+    /**
+     * 잡아 둔 좌석을 결제와 연결하고 예약을 확정한다. 좌석은 hold 에서 이미 더했으므로 참여 인원은 바뀌지 않는다.
+     * 결제 중에 hold 가 만료되거나 취소되어 좌석을 돌려준 뒤라면 좌석을 다시 잡고, 그 사이 매진되었으면 실패한다.
+     */
+    @Transactional
+    public Reservation confirm(Long reservationId, Payment payment) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RestApiException(RESERVATION_NOT_FOUND));
+
+        // hold 는 지우기만 하고 좌석은 그대로 둔다.
+        boolean held = seatHoldRepository.findByReservationId(reservationId)
+                .map(hold -> seatHoldRepository.deleteByHoldId(hold.getHoldId()) == 1)
+                .orElse(false);
+        if (!held && reservation.getStatus() != ReservationStatus.CONFIRMED
+                && lessonRepository.increaseParticipantNumber(
+                reservation.getLesson().getLessonId(), reservation.getQuantity()) == 0) {
+            throw new RestApiException(MAX_PARTICIPANTS_EXCEEDED);
+        }
+
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setPayment(payment);
+        return reservationRepository.save(reservation);
+    }
+
+    /**
+     * 결제를 끝내지 않은 예약의 hold 를 지우고 좌석을 돌려준다. hold 가 없으면(이미 확정, 취소, 만료) 아무것도 하지 않는다.
+     */
+    @Transactional
+    public void releaseHold(Long reservationId) {
+        seatHoldRepository.findByReservationId(reservationId).ifPresent(this::removeHold);
+    }
+
+    /**
+     * 만료된 hold 의 좌석을 돌려주고 결제되지 않은 예약을 EXPIRED 로 바꾼다. 그 사이 확정이나 취소된 hold 면 false.
+     */
+    @Transactional
+    public boolean expire(SeatHold hold) {
+        if (!removeHold(hold)) {
+            return false;
+        }
+        reservationRepository.findById(hold.getReservationId())
+                .filter(reservation -> reservation.getStatus() == ReservationStatus.PENDING)
+                .ifPresent(reservation -> reservation.setStatus(ReservationStatus.EXPIRED));
+        return true;
+    }
+
+    /**
+     * 확정된 좌석을 돌려준다. 참여 인원보다 많이 돌려주려 하면 아무것도 바꾸지 않는다.
+     */
+    @Transactional
+    public void release(Long lessonId, int quantity) {
+        validateQuantity(quantity);
+        if (lessonRepository.decreaseParticipantNumber(lessonId, quantity) == 0) {
+            log.warn("Skipped releasing {} seats of lesson {}: fewer participants than released", quantity, lessonId);
+        }
+    }
+
+    // hold 삭제에 성공한 경우에만 좌석을 돌려준다. 동시에 처리된 hold 는 한쪽만 삭제에 성공한다.
+    private boolean removeHold(SeatHold hold) {
+        if (seatHoldRepository.deleteByHoldId(hold.getHoldId()) == 0) {
+            return false;
+        }
+        release(hold.getLessonId(), hold.getQuantity());
+        return true;
+    }
+
+    private void validateQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new RestApiException(INVALID_SEAT_QUANTITY);
+        }
+    }
+}
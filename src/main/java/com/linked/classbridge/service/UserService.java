@@ -19,7 +19,6 @@ import com.linked.classbridge.domain.ClassImage;
 import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.domain.User;
 import com.linked.classbridge.domain.Wish;
-import com.linked.classbridge.domain.document.OneDayClassDocument;
 import com.linked.classbridge.dto.user.AdditionalInfoDto;
 import com.linked.classbridge.dto.user.AuthDto;
 import com.linked.classbridge.dto.user.CustomOAuth2User;
@@ -29,7 +28,6 @@ import com.linked.classbridge.dto.user.WishDto;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.CategoryRepository;
 import com.linked.classbridge.repository.ClassImageRepository;
-import com.linked.classbridge.repository.OneDayClassDocumentRepository;
 import com.linked.classbridge.repository.OneDayClassRepository;
 import com.linked.classbridge.repository.UserRepository;
 import com.linked.classbridge.repository.WishRepository;
@@ -49,7 +47,6 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -58,6 +55,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -79,13 +77,13 @@ public class UserService {
     private final OneDayClassRepository oneDayClassRepository;
     private final WishRepository wishRepository;
     private final ClassImageRepository classImageRepository;
-    private final OneDayClassDocumentRepository oneDayClassDocumentRepository;
-    private final ElasticsearchOperations operations;
+    private final ClassIndexOutboxService classIndexOutboxService;
+    private final UserSummaryCache userSummaryCache;
 
     public UserService(UserRepository userRepository, CategoryRepository categoryRepository, PasswordEncoder passwordEncoder,
                        JWTService jwtService, S3Service s3Service, OneDayClassRepository oneDayClassRepository,
                        WishRepository wishRepository, ClassImageRepository classImageRepository,
-                       OneDayClassDocumentRepository oneDayClassDocumentRepository, ElasticsearchOperations operations) {
+                       ClassIndexOutboxService classIndexOutboxService, UserSummaryCache userSummaryCache) {
 
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
@@ -95,8 +93,8 @@ public class UserService {
         this.oneDayClassRepository = oneDayClassRepository;
         this.wishRepository = wishRepository;
         this.classImageRepository = classImageRepository;
-        this.oneDayClassDocumentRepository = oneDayClassDocumentRepository;
-        this.operations = operations;
+        this.classIndexOutboxService = classIndexOutboxService;
+        this.userSummaryCache = userSummaryCache;
     }
 
     public String checkNickname(String nickname) {
@@ -230,8 +228,8 @@ public class UserService {
         userRepository.save(user);
         log.info("User '{}' added successfully", user.getUsername());
 
-        String access = jwtService.createJwt(TokenType.ACCESS.getValue(), user.getEmail(), userDto.getRoles(), TokenType.ACCESS.getExpiryTime());
-        String refresh = jwtService.createJwt(TokenType.REFRESH.getValue(), user.getEmail(), userDto.getRoles(), TokenType.REFRESH.getExpiryTime());
+        String access = jwtService.createJwt(TokenType.ACCESS.getValue(), user.getEmail(), user.getUserId(), userDto.getRoles(), TokenType.ACCESS.getExpiryTime());
+        String refresh = jwtService.createJwt(TokenType.REFRESH.getValue(), user.getEmail(), user.getUserId(), userDto.getRoles(), TokenType.REFRESH.getExpiryTime());
         // JWT 토큰을 클라이언트로 전송
         HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getResponse();
         if (response != null) {
@@ -260,8 +258,8 @@ public class UserService {
                 .map(Enum::name)
                 .collect(Collectors.toList());
 
-        String access = jwtService.createJwt(TokenType.ACCESS.getValue(), user.getEmail(), roles, TokenType.ACCESS.getExpiryTime());
-        String refresh = jwtService.createJwt(TokenType.REFRESH.getValue(), user.getEmail(), roles, TokenType.REFRESH.getExpiryTime());
+        String access = jwtService.createJwt(TokenType.ACCESS.getValue(), user.getEmail(), user.getUserId(), roles, TokenType.ACCESS.getExpiryTime());
+        String refresh = jwtService.createJwt(TokenType.REFRESH.getValue(), user.getEmail(), user.getUserId(), roles, TokenType.REFRESH.getExpiryTime());
         // JWT 토큰을 클라이언트로 전송
         HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getResponse();
         if (response != null) {
@@ -315,6 +313,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userSummaryCache.invalidate(email);
     }
 
     public String getCurrentUserEmail() {
@@ -332,6 +331,42 @@ public class UserService {
         }
     }
 
+    public Long getCurrentUserId() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RestApiException(NOT_AUTHENTICATED_USER);
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof CustomUserDetails userDetails) {
+            // userId 클레임이 있으면 DB 조회 없이 사용한다.
+            return userDetails.getUserId() != null
+                    ? userDetails.getUserId()
+                    : getUserIdByEmail(userDetails.getUsername());
+        } else {
+            throw new RestApiException(UNEXPECTED_PRINCIPAL_TYPE);
+        }
+    }
+
+    // 현재 사용자의 지연 로딩 참조. id 외의 필드에 접근할 때에만 조회된다.
+    // 탈퇴한 사용자도 참조가 만들어지므로 사용자를 저장하는 쓰기 경로에서는 getCurrentUser 를 사용한다.
+    public User getCurrentUserReference() {
+
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
+    public User getCurrentUser() {
+
+        return userRepository.findById(getCurrentUserId())
+                .orElseThrow(() -> new RestApiException(USER_NOT_FOUND));
+    }
+
+    public Long getUserIdByEmail(String email) {
+
+        return userSummaryCache.getByEmail(email).userId();
+    }
+
     public Page<WishDto> getWishList(String email, Pageable pageable) {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new RestApiException(USER_NOT_FOUND));
 
@@ -362,6 +397,7 @@ public class UserService {
         return wishDtoPage;
     }
 
+    @Transactional
     public Boolean addWish(String email, Long classId) {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new RestApiException(USER_NOT_FOUND));
         OneDayClass oneDayClass = oneDayClassRepository.findById(classId).orElseThrow(() -> new RestApiException(CLASS_NOT_FOUND));
@@ -386,6 +422,7 @@ public class UserService {
         return true;
     }
 
+    @Transactional
     public Boolean deleteWish(String email, Long wishId) {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new RestApiException(USER_NOT_FOUND));
         Wish wish = wishRepository.findById(wishId).orElseThrow(() -> new RestApiException(WISH_NOT_FOUND));
@@ -406,9 +443,7 @@ public class UserService {
     }
 
     private void updateOneDayClassDocumentTotalWish(OneDayClass oneDayClass) {
-        OneDayClassDocument oneDayClassDocument = oneDayClassDocumentRepository.findById(oneDayClass.getClassId()).orElseThrow(() -> new RestApiException(CLASS_NOT_FOUND));
-        oneDayClassDocument.setTotalWish(oneDayClass.getTotalWish());
-        operations.save(oneDayClassDocument);
+        classIndexOutboxService.updateCounters(oneDayClass.getClassId());
     }
 
     public User getUserByEmail(String userEmail) {
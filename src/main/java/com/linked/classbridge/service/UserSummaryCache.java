@@ -0,0 +1,49 @@
+package com.linked.classbridge.service;
+
+import static com.linked.classbridge.type.ErrorCode.USER_NOT_FOUND;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linked.classbridge.dto.user.UserSummary;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.UserRepository;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 이메일 -> 사용자 요약 정보 캐시. 사용자 정보가 변경되면 invalidate 로 제거한다.
+@Slf4j
+@Component
+public class UserSummaryCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserSummary> cache;
+
+    public UserSummaryCache(UserRepository userRepository,
+                            @Value("${user.summary-cache.max-size:10000}") long maxSize,
+                            @Value("${user.summary-cache.ttl:10m}") Duration ttl) {
+
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserSummary getByEmail(String email) {
+
+        return cache.get(email, key -> userRepository.findByEmail(key)
+                .map(UserSummary::from)
+                .orElseThrow(() -> {
+                    log.warn("User with email '{}' not found", key);
+                    return new RestApiException(USER_NOT_FOUND);
+                }));
+    }
+
+    public void invalidate(String email) {
+
+        cache.invalidate(email);
+    }
+}
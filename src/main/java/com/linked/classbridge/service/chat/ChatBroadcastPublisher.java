@@ -0,0 +1,7 @@
+package com.linked.classbridge.service.chat;
+
+// 구독자에게 메시지를 전달한다. 브로커 모드에 따라 현재 서버 또는 클러스터 전체로 전달된다.
+public interface ChatBroadcastPublisher {
+
+    void publish(String destination, Object payload);
+}
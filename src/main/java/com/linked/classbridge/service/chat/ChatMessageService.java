@@ -4,8 +4,18 @@ import com.linked.classbridge.domain.ChatMessage;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.ChatMessageRepository;
 import com.linked.classbridge.type.ErrorCode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,12 +28,28 @@ public class ChatMessageService {
         return chatMessageRepository.save(chatMessage);
     }
 
-    public List<ChatMessage> findLatestChatMessagesByChatRoom(Long chatRoomId) {
-        return chatMessageRepository.findByChatRoomIdOrderBySendTimeAsc(chatRoomId);
-    }
+    // beforeMessageId 이전의 메시지를 size 개 조회한다. 결과는 오래된 순으로 정렬된다.
+    public Slice<ChatMessage> findChatMessagesBefore(Long chatRoomId, String beforeMessageId, int size) {
+        LocalDateTime cursorSendTime = null;
+        if (beforeMessageId != null) {
+            ChatMessage cursor = findChatMessageById(beforeMessageId);
+            if (!cursor.getChatRoomId().equals(chatRoomId)) {
+                throw new RestApiException(ErrorCode.CHAT_MESSAGE_NOT_FOUND);
+            }
+            cursorSendTime = cursor.getSendTime();
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(
+                chatMessageRepository.findByChatRoomIdBeforeCursor(chatRoomId, cursorSendTime, beforeMessageId,
+                        size + 1));
+
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages.remove(size);
+        }
+        Collections.reverse(messages);
 
-    public List<ChatMessage> findMessagesUserNotRead(Long chatRoomId, Long userId) {
-        return chatMessageRepository.findByChatRoomIdAndSenderIdNotAndIsReadFalse(chatRoomId, userId);
+        return new SliceImpl<>(messages, PageRequest.of(0, size), hasNext);
     }
 
     public ChatMessage findChatMessageById(String messageId) {
@@ -31,23 +57,14 @@ public class ChatMessageService {
                 .orElseThrow(() -> new RestApiException(ErrorCode.CHAT_MESSAGE_NOT_FOUND));
     }
 
-    public ChatMessage findAllMessageByChatRoomIdOrderBySendTimeDesc(Long chatRoomId) {
-        return chatMessageRepository.findByChatRoomIdOrderBySendTimeDesc(chatRoomId)
+    public Map<Long, ChatMessage> findLatestMessagesByChatRoomIds(Collection<Long> chatRoomIds) {
+        return chatMessageRepository.findLatestMessagesByChatRoomIds(chatRoomIds)
                 .stream()
-                .findFirst()
-                .orElse(null);
-    }
-
-    public void markAsReadAndSave(ChatMessage chatMessage) {
-        chatMessage.readMessage();
-        saveMessage(chatMessage);
+                .collect(Collectors.toMap(ChatMessage::getChatRoomId, Function.identity()));
     }
 
-    public List<ChatMessage> markSentByOtherChatMessagesAsRead(List<ChatMessage> chatMessages, Long userId) {
-        return chatMessages.stream()
-                .filter(chatMessage -> !chatMessage.isRead() && !chatMessage.getSenderId().equals(userId))
-                .peek(this::markAsReadAndSave)
-                .toList();
+    public long markSentByOtherChatMessagesAsReadUpTo(Long chatRoomId, Long userId, LocalDateTime upTo) {
+        return chatMessageRepository.markAsReadUpTo(chatRoomId, userId, upTo);
     }
 
 }
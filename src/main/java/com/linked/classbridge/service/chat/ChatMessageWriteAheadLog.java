@@ -0,0 +1,242 @@
+package com.linked.classbridge.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.ChatMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 아직 MongoDB 에 저장되지 않은 채팅 메시지를 기록하는 로컬 파일.
+ * 메시지는 segment 파일에 한 줄씩 추가되고 append 가 반환되기 전에 디스크에 강제로 기록(fsync)된다.
+ * fsync 는 group commit 으로 묶는다. 한 스레드가 fsync 하는 동안 기록된 메시지는 다음 fsync 한 번으로 함께 기록된다.
+ * segment 의 모든 메시지가 저장되면 파일을 삭제한다.
+ * 서버가 비정상 종료되면 남아 있는 segment 를 재시작 시 다시 저장한다.
+ */
+@Slf4j
+public class ChatMessageWriteAheadLog {
+
+    private static final String SEGMENT_PREFIX = "chat-wal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+
+    private final ObjectMapper objectMapper;
+
+    private final int segmentSize;
+
+    // segment 번호 -> 아직 저장되지 않은 메시지 수
+    private final Map<Long, Integer> pendingBySegment = new ConcurrentHashMap<>();
+
+    private long currentSegment;
+
+    private int currentSegmentCount;
+
+    private FileChannel channel;
+
+    // 지금까지 기록한 메시지 수
+    private long writtenCount;
+
+    // fsync 로 디스크에 남은 메시지 수. forceLock 으로 보호한다.
+    private long forcedCount;
+
+    private final Object forceLock = new Object();
+
+    public ChatMessageWriteAheadLog(Path directory, ObjectMapper objectMapper, int segmentSize) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.segmentSize = segmentSize;
+    }
+
+    // 이전 실행에서 남은 메시지를 읽는다. 반환된 메시지를 저장한 뒤 deleteRecovered 를 호출해야 한다.
+    public synchronized List<ChatMessage> recover() {
+        List<ChatMessage> messages = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size(); i++) {
+                Path segment = segments.get(i);
+                currentSegment = Math.max(currentSegment, segmentNumber(segment) + 1);
+                List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8).stream()
+                        .filter(line -> !line.isBlank())
+                        .toList();
+                boolean lastSegment = i == segments.size() - 1;
+                for (int j = 0; j < lines.size(); j++) {
+                    recoverLine(segment, lines.get(j), lastSegment && j == lines.size() - 1)
+                            .ifPresent(messages::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return messages;
+    }
+
+    // 기록 도중 서버가 죽으면 마지막 segment 의 마지막 줄이 잘려 있을 수 있다.
+    // 그 줄은 append 가 반환되지 않은(브로드캐스트되지 않은) 메시지이므로 건너뛴다.
+    private Optional<ChatMessage> recoverLine(Path segment, String line, boolean trailing) throws IOException {
+        try {
+            return Optional.of(objectMapper.readValue(line, ChatMessage.class));
+        } catch (JsonProcessingException e) {
+            if (!trailing) {
+                throw e;
+            }
+            log.warn("Skipping partially written record at the end of write-ahead log segment {}", segment, e);
+            return Optional.empty();
+        }
+    }
+
+    public synchronized void deleteRecovered() {
+        try {
+            for (Path segment : listSegments()) {
+                if (segmentNumber(segment) < currentSegment) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 메시지를 기록하고 기록된 segment 번호를 반환한다.
+    public long append(ChatMessage chatMessage) {
+        long segment;
+        long written;
+        synchronized (this) {
+            try {
+                if (channel == null || currentSegmentCount >= segmentSize) {
+                    roll();
+                }
+                ByteBuffer line = ByteBuffer.wrap(
+                        (objectMapper.writeValueAsString(chatMessage) + System.lineSeparator())
+                                .getBytes(StandardCharsets.UTF_8));
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            currentSegmentCount++;
+            pendingBySegment.merge(currentSegment, 1, Integer::sum);
+            segment = currentSegment;
+            written = ++writtenCount;
+        }
+
+        // 브로드캐스트 전에 기록이 디스크에 남아 있어야 서버가 죽어도 재시작 시 복구된다.
+        force(written);
+        return segment;
+    }
+
+    // written 번째 메시지까지 디스크에 남긴다. 앞선 fsync 를 기다리는 동안 다른 스레드가 이미 기록했다면 바로 반환한다.
+    private void force(long written) {
+        synchronized (forceLock) {
+            if (forcedCount >= written) {
+                return;
+            }
+            FileChannel target;
+            long upTo;
+            synchronized (this) {
+                target = channel;
+                upTo = writtenCount;
+            }
+            try {
+                // roll 된 이전 segment 는 닫기 전에 fsync 했으므로 현재 channel 만 기록하면 된다.
+                // 그 사이 channel 이 roll 되거나 close 되었다면 닫기 전에 이미 fsync 되었다.
+                if (target != null && target.isOpen()) {
+                    target.force(false);
+                }
+            } catch (ClosedChannelException e) {
+                log.debug("Write-ahead log segment was closed after being forced");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            forcedCount = upTo;
+        }
+    }
+
+    // segment 의 메시지 count 개가 저장되었음을 기록한다.
+    public synchronized void acknowledge(long segment, int count) {
+        Integer pending = pendingBySegment.merge(segment, -count, Integer::sum);
+        if (pending != null && pending <= 0 && segment != currentSegment) {
+            pendingBySegment.remove(segment);
+            delete(segment);
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Integer pending = pendingBySegment.get(currentSegment);
+        if (pending == null || pending <= 0) {
+            pendingBySegment.remove(currentSegment);
+            delete(currentSegment);
+        }
+    }
+
+    private void roll() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            Integer pending = pendingBySegment.get(currentSegment);
+            if (pending == null || pending <= 0) {
+                pendingBySegment.remove(currentSegment);
+                delete(currentSegment);
+            }
+            currentSegment++;
+        }
+        Files.createDirectories(directory);
+        channel = FileChannel.open(segmentPath(currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSegmentCount = 0;
+    }
+
+    private void delete(long segment) {
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            log.warn("Failed to delete write-ahead log segment {}", segment, e);
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private long segmentNumber(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.linked.classbridge.service.chat;
+
+import com.linked.classbridge.domain.ChatMessage;
+
+// 채팅 메시지 저장 방식. id 가 미리 할당된 메시지를 받는다.
+public interface ChatMessageWriter {
+
+    void write(ChatMessage chatMessage);
+
+    // 지금까지 write 한 메시지가 모두 저장될 때까지 기다린다. 저장된 메시지를 조회, 갱신하기 전에 호출한다.
+    void flush();
+}
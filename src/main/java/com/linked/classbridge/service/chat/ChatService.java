@@ -1,7 +1,6 @@
 package com.linked.classbridge.service.chat;
 
 import static com.linked.classbridge.type.ErrorCode.BAD_REQUEST;
-import static com.linked.classbridge.type.ErrorCode.SENDER_CANNOT_MARK_AS_READ;
 import static com.linked.classbridge.type.ErrorCode.USER_NOT_IN_CHAT_ROOM;
 
 import com.linked.classbridge.domain.ChatMessage;
@@ -9,19 +8,21 @@ import com.linked.classbridge.domain.ChatRoom;
 import com.linked.classbridge.domain.User;
 import com.linked.classbridge.domain.UserChatRoom;
 import com.linked.classbridge.dto.chat.ChatMessageDto;
+import com.linked.classbridge.dto.chat.ChatMessageHistory;
 import com.linked.classbridge.dto.chat.ChatRoomUnreadCountInfoDto;
 import com.linked.classbridge.dto.chat.CreateChatRoom;
 import com.linked.classbridge.dto.chat.GetChatRoomsResponse;
 import com.linked.classbridge.dto.chat.JoinChatRoom;
-import com.linked.classbridge.dto.chat.ReadReceipt;
-import com.linked.classbridge.dto.chat.ReadReceiptList;
+import com.linked.classbridge.dto.chat.ReadRangeReceipt;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.service.OneDayClassService;
-import com.linked.classbridge.service.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +31,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ChatService {
 
-    private final UserService userService;
+    public static final int DEFAULT_MESSAGE_PAGE_SIZE = 50;
+
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
 
     private final ChatRoomService chatRoomService;
 
@@ -42,6 +45,12 @@ public class ChatService {
 
     private final OneDayClassService oneDayClassService;
 
+    private final UnreadCountStore unreadCountStore;
+
+    private final PresenceRegistry presenceRegistry;
+
+    private final ChatMessageWriter chatMessageWriter;
+
     // 채팅방 생성
     public CreateChatRoom.Response createChatRoomProcess(User initiatedBy, Long classId) {
         log.info("Create chat room initiated by user: {}", initiatedBy.getUserId());
@@ -57,32 +66,48 @@ public class ChatService {
 
     // 채팅방 입장
     public JoinChatRoom.Response enterChatRoomProcess(User user, Long chatRoomId) {
+        return enterChatRoomProcess(user, chatRoomId, null, DEFAULT_MESSAGE_PAGE_SIZE);
+    }
+
+    public JoinChatRoom.Response enterChatRoomProcess(User user, Long chatRoomId, String before, int size) {
         log.info("User {} is entering chat room {}", user.getUserId(), chatRoomId);
         ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
 
         validateUserInChatRoom(user, chatRoom);
 
-        List<ChatMessage> chatMessages = chatMessageService.findLatestChatMessagesByChatRoom(chatRoomId);
+        // 아직 저장 대기 중인 메시지도 조회, 읽음 처리 대상에 포함한다.
+        chatMessageWriter.flush();
 
-        List<ChatMessage> markedMessages = chatMessageService.markSentByOtherChatMessagesAsRead(chatMessages,
-                user.getUserId());
+        Slice<ChatMessage> chatMessages =
+                chatMessageService.findChatMessagesBefore(chatRoomId, before, normalizePageSize(size));
 
-        ReadReceiptList receiptList = ReadReceiptList.builder()
-                .readReceipts(markedMessages.stream()
-                        .map(chatMessage -> new ReadReceipt(chatMessage.getId(), user.getUserId()))
-                        .toList())
-                .build();
+        LocalDateTime readUpTo = LocalDateTime.now();
+        long readCount = chatMessageService.markSentByOtherChatMessagesAsReadUpTo(chatRoomId, user.getUserId(),
+                readUpTo);
+
+        // 응답에 포함된 메시지에도 읽음 처리 결과를 반영
+        chatMessages.forEach(chatMessage -> {
+            if (!chatMessage.getSenderId().equals(user.getUserId()) && !chatMessage.getSendTime().isAfter(readUpTo)) {
+                chatMessage.readMessage();
+            }
+        });
 
-        messageSendingService.sendReadReceipt(chatRoomId, receiptList);
+        if (readCount > 0) {
+            String lastReadMessageId = before == null && chatMessages.hasContent()
+                    ? chatMessages.getContent().get(chatMessages.getNumberOfElements() - 1).getId()
+                    : null;
+            messageSendingService.sendReadReceipt(chatRoomId,
+                    createReadRangeReceipt(user.getUserId(), lastReadMessageId, readUpTo, readCount));
+        }
 
-        // TODO : 추후 redis로 관리
-        userChatRoomService.setUserToOnline(user, chatRoom.getUserChatRooms());
+        unreadCountStore.reset(chatRoomId, user.getUserId());
 
         log.info("User {} entered chat room {}", user.getUserId(), chatRoomId);
         return createJoinChatRoomResponse(chatRoom, user, chatMessages);
     }
 
-    private JoinChatRoom.Response createJoinChatRoomResponse(ChatRoom chatRoom, User user, List<ChatMessage> messages) {
+    private JoinChatRoom.Response createJoinChatRoomResponse(ChatRoom chatRoom, User user,
+                                                             Slice<ChatMessage> messages) {
         return JoinChatRoom.Response.of(
                 chatRoom.getChatRoomId(),
                 user.getUserId(),
@@ -92,18 +117,60 @@ public class ChatService {
                 chatRoom.getUpdatedAt(),
                 messages.stream()
                         .map(ChatMessageDto::fromEntity)
-                        .toList()
+                        .toList(),
+                messages.hasNext(),
+                nextCursor(messages)
         );
     }
 
+    // 이전 메시지 조회
+    public ChatMessageHistory.Response getChatMessageHistoryProcess(User user, Long chatRoomId, String before,
+                                                                    int size) {
+        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
+
+        validateUserInChatRoom(user, chatRoom);
+
+        Slice<ChatMessage> chatMessages =
+                chatMessageService.findChatMessagesBefore(chatRoomId, before, normalizePageSize(size));
+
+        return ChatMessageHistory.Response.of(
+                chatRoomId,
+                chatMessages.stream()
+                        .map(ChatMessageDto::fromEntity)
+                        .toList(),
+                chatMessages.hasNext(),
+                nextCursor(chatMessages)
+        );
+    }
+
+    private String nextCursor(Slice<ChatMessage> messages) {
+        // 메시지는 오래된 순으로 정렬되어 있으므로 첫 번째 메시지가 다음 페이지의 커서가 된다.
+        return messages.hasNext() && messages.hasContent() ? messages.getContent().get(0).getId() : null;
+    }
+
+    private int normalizePageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_MESSAGE_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_MESSAGE_PAGE_SIZE);
+    }
+
     // 채팅방 목록 조회
     public GetChatRoomsResponse getChatRoomListProcess(User user) {
         List<ChatRoom> chatRooms = chatRoomService.findAllChatRoomsByUser(user);
         GetChatRoomsResponse getChatRoomsResponse = new GetChatRoomsResponse();
         getChatRoomsResponse.setUserId(user.getUserId());
 
+        List<Long> chatRoomIds = chatRooms.stream()
+                .map(ChatRoom::getChatRoomId)
+                .toList();
+        Map<Long, ChatMessage> latestMessages = chatMessageService.findLatestMessagesByChatRoomIds(chatRoomIds);
+        Map<Long, Integer> unreadMessageCounts = unreadCountStore.getCounts(user.getUserId(), chatRoomIds);
+
         chatRooms.forEach(chatRoom -> {
-            ChatRoomUnreadCountInfoDto unreadCountInfo = createChatRoomUnreadCountInfoDto(chatRoom, user);
+            ChatRoomUnreadCountInfoDto unreadCountInfo = createChatRoomUnreadCountInfoDto(chatRoom.getChatRoomId(),
+                    latestMessages.get(chatRoom.getChatRoomId()),
+                    unreadMessageCounts.getOrDefault(chatRoom.getChatRoomId(), 0));
             User chatPartner = chatRoom.getInitiatedBy().getUserId().equals(user.getUserId())
                     ? chatRoom.getInitiatedTo()
                     : chatRoom.getInitiatedBy();
@@ -113,11 +180,8 @@ public class ChatService {
         return getChatRoomsResponse;
     }
 
-    private ChatRoomUnreadCountInfoDto createChatRoomUnreadCountInfoDto(ChatRoom chatRoom, User user) {
-        Long chatRoomId = chatRoom.getChatRoomId();
-        ChatMessage latestMessage = chatMessageService.findAllMessageByChatRoomIdOrderBySendTimeDesc(chatRoomId);
-        int unreadMessageCount = chatMessageService.findMessagesUserNotRead(chatRoomId, user.getUserId()).size();
-
+    private ChatRoomUnreadCountInfoDto createChatRoomUnreadCountInfoDto(Long chatRoomId, ChatMessage latestMessage,
+                                                                       int unreadMessageCount) {
         return ChatRoomUnreadCountInfoDto.builder()
                 .chatRoomId(chatRoomId)
                 .unreadMessageCount(unreadMessageCount)
@@ -132,7 +196,7 @@ public class ChatService {
         ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
 
         log.info("Chat room {} is closed", chatRoom.getChatRoomId());
-        userChatRoomService.setUserToOffline(user, chatRoom.getUserChatRooms());
+        presenceRegistry.leave(chatRoom.getChatRoomId(), user.getUserId());
     }
 
     // 채팅방 퇴장
@@ -147,7 +211,7 @@ public class ChatService {
                 .findFirst()
                 .orElseThrow(() -> new RestApiException(USER_NOT_IN_CHAT_ROOM));
 
-        userChatRoomService.setUserToOffline(user, userChatRooms);
+        presenceRegistry.leave(chatRoom.getChatRoomId(), user.getUserId());
 
         UserChatRoom deletedChatRoom = userChatRoomService.deleteUserChatRoom(userChatRoom);
 
@@ -163,33 +227,36 @@ public class ChatService {
 
     // 메시지 전송
     @Transactional
-    public void sendMessageProcess(String senderEmail, Long chatRoomId, String message) {
-        log.info("User {} is sending message to chat room {}", senderEmail, chatRoomId);
-        User sender = userService.getUserByEmail(senderEmail);
+    public void sendMessageProcess(Long senderId, Long chatRoomId, String message) {
+        log.info("User {} is sending message to chat room {}", senderId, chatRoomId);
         ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
 
-        ChatMessage savedChatMessage = saveChatMessage(sender, chatRoom, message);
+        ChatMessage savedChatMessage = createChatMessage(senderId, chatRoom, message);
+
+        // 저장(write-behind 모드에서는 write-ahead log 기록)이 끝난 메시지만 전송해, 받은 메시지가 유실되지 않게 한다.
+        chatMessageWriter.write(savedChatMessage);
 
         chatRoom.updateLastMessageAt(savedChatMessage.getSendTime());
 
-        log.info("Message {} saved to chat room {}", savedChatMessage.getChatRoomId(), chatRoom.getChatRoomId());
+        log.info("Message {} saved to chat room {}", savedChatMessage.getId(), chatRoom.getChatRoomId());
 
-        ChatRoomUnreadCountInfoDto unreadCountInfo = createUnreadCountInfo(chatRoom, savedChatMessage);
+        messageSendingService.broadcastNewMessage(chatRoom.getChatRoomId(), savedChatMessage);
+        log.info("Message sent to chat room {}", chatRoom.getChatRoomId());
 
-        updateUnreadCounts(chatRoom, sender.getUserId(), unreadCountInfo);
+        ChatRoomUnreadCountInfoDto unreadCountInfo = createUnreadCountInfo(chatRoom, savedChatMessage);
 
-        log.info("Message sent to chat room {}", chatRoom.getChatRoomId());
-        messageSendingService.broadcastNewMessage(chatRoom.getChatRoomId(), savedChatMessage);
+        updateUnreadCounts(chatRoom, senderId, unreadCountInfo);
     }
 
-    public ChatMessage saveChatMessage(User sender, ChatRoom chatRoom, String message) {
-        return chatMessageService.saveMessage(ChatMessage.builder()
-                .senderId(sender.getUserId())
+    public ChatMessage createChatMessage(Long senderId, ChatRoom chatRoom, String message) {
+        return ChatMessage.builder()
+                .id(new ObjectId().toHexString())
+                .senderId(senderId)
                 .chatRoomId(chatRoom.getChatRoomId())
                 .message(message)
                 .sendTime(LocalDateTime.now())
                 .isRead(false)
-                .build());
+                .build();
     }
 
     public ChatRoomUnreadCountInfoDto createUnreadCountInfo(ChatRoom chatRoom, ChatMessage savedChatMessage) {
@@ -220,6 +287,10 @@ public class ChatService {
             userChatRoom.restoreUserChatRoom();
         }
 
+        if (!senderUserId.equals(receiverUserId)) {
+            unreadCountStore.increment(chatRoom.getChatRoomId(), receiverUserId);
+        }
+
         int unreadMessageCount = calculateUnreadMessageCount(userChatRoom, chatRoom, senderUserId, receiverUserId);
 
         unreadCountInfo.setUnreadMessageCount(unreadMessageCount);
@@ -230,35 +301,46 @@ public class ChatService {
 
     public int calculateUnreadMessageCount(UserChatRoom userChatRoom, ChatRoom chatRoom, Long senderUserId,
                                            Long receiverUserId) {
-        if (userChatRoom.isOnline() || senderUserId.equals(receiverUserId)) {
+        if (senderUserId.equals(receiverUserId)
+                || presenceRegistry.isOnline(chatRoom.getChatRoomId(), receiverUserId)) {
             return 0;
         } else {
-            return chatMessageService.findMessagesUserNotRead(chatRoom.getChatRoomId(), receiverUserId).size();
+            return unreadCountStore.getCount(chatRoom.getChatRoomId(), receiverUserId);
         }
     }
 
-    // 메시지 읽음 처리
-    public void markMessageAsReadAndSendReceipt(String userEmail, String messageId) {
-        User user = userService.getUserByEmail(userEmail);
+    // messageId 까지의 메시지 일괄 읽음 처리
+    public void markMessagesAsReadUpToAndSendReceipt(Long userId, String messageId) {
+        chatMessageWriter.flush();
+
         ChatMessage chatMessage = chatMessageService.findChatMessageById(messageId);
 
         ChatRoom chatRoom = chatRoomService.findChatRoomById(chatMessage.getChatRoomId());
 
-        if (user.getUserId().equals(chatMessage.getSenderId())) {
-            throw new RestApiException(SENDER_CANNOT_MARK_AS_READ);
-        }
+        validateUserInChatRoom(userId, chatRoom);
 
-        validateUserInChatRoom(user, chatRoom);
+        long readCount = chatMessageService.markSentByOtherChatMessagesAsReadUpTo(chatRoom.getChatRoomId(),
+                userId, chatMessage.getSendTime());
 
-        chatMessageService.markAsReadAndSave(chatMessage);
+        if (readCount == 0) {
+            return;
+        }
 
-        ReadReceiptList readReceiptList = new ReadReceiptList(
-                List.of(new ReadReceipt(chatMessage.getId(), user.getUserId()))
-        );
+        unreadCountStore.decrement(chatRoom.getChatRoomId(), userId, readCount);
 
-        messageSendingService.sendReadReceipt(chatRoom.getChatRoomId(), readReceiptList);
+        messageSendingService.sendReadReceipt(chatRoom.getChatRoomId(),
+                createReadRangeReceipt(userId, chatMessage.getId(), chatMessage.getSendTime(), readCount));
     }
 
+    private ReadRangeReceipt createReadRangeReceipt(Long userId, String lastReadMessageId, LocalDateTime readUpTo,
+                                                    long readCount) {
+        return ReadRangeReceipt.builder()
+                .userId(userId)
+                .lastReadMessageId(lastReadMessageId)
+                .readUpTo(readUpTo)
+                .readCount(readCount)
+                .build();
+    }
 
     private void validateChatRoomInitiation(User initiatedBy, User initiatedTo) {
         if (initiatedBy.getUserId().equals(initiatedTo.getUserId())) {
@@ -267,8 +349,12 @@ public class ChatService {
     }
 
     private void validateUserInChatRoom(User user, ChatRoom chatRoom) {
-        if (!chatRoom.getInitiatedBy().getUserId().equals(user.getUserId())
-                && !chatRoom.getInitiatedTo().getUserId().equals(user.getUserId())) {
+        validateUserInChatRoom(user.getUserId(), chatRoom);
+    }
+
+    private void validateUserInChatRoom(Long userId, ChatRoom chatRoom) {
+        if (!chatRoom.getInitiatedBy().getUserId().equals(userId)
+                && !chatRoom.getInitiatedTo().getUserId().equals(userId)) {
             throw new RestApiException(USER_NOT_IN_CHAT_ROOM);
         }
     }
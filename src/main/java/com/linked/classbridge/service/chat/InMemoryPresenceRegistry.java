@@ -0,0 +1,82 @@
+package com.linked.classbridge.service.chat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPresenceRegistry implements PresenceRegistry {
+
+    // (채팅방, 사용자) -> 구독 목록 ("{sessionId}:{subscriptionId}")
+    private final Map<Key, Set<String>> subscriptionsByKey = new ConcurrentHashMap<>();
+
+    // sessionId -> subscriptionId -> (채팅방, 사용자)
+    private final Map<String, Map<String, Key>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    @Override
+    public void subscribe(String sessionId, String subscriptionId, Long chatRoomId, Long userId) {
+        Key key = new Key(chatRoomId, userId);
+        subscriptionsBySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, key);
+        subscriptionsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                .add(token(sessionId, subscriptionId));
+    }
+
+    @Override
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Key> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        Key key = subscriptions.remove(subscriptionId);
+        if (key != null) {
+            removeToken(key, token(sessionId, subscriptionId));
+        }
+    }
+
+    @Override
+    public void disconnect(String sessionId) {
+        Map<String, Key> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        subscriptions.forEach((subscriptionId, key) -> removeToken(key, token(sessionId, subscriptionId)));
+    }
+
+    @Override
+    public void leave(Long chatRoomId, Long userId) {
+        Set<String> tokens = subscriptionsByKey.remove(new Key(chatRoomId, userId));
+        if (tokens == null) {
+            return;
+        }
+
+        for (String token : tokens) {
+            int separator = token.lastIndexOf(':');
+            Map<String, Key> subscriptions = subscriptionsBySession.get(token.substring(0, separator));
+            if (subscriptions != null) {
+                subscriptions.remove(token.substring(separator + 1));
+            }
+        }
+    }
+
+    @Override
+    public boolean isOnline(Long chatRoomId, Long userId) {
+        Set<String> tokens = subscriptionsByKey.get(new Key(chatRoomId, userId));
+        return tokens != null && !tokens.isEmpty();
+    }
+
+    private void removeToken(Key key, String token) {
+        subscriptionsByKey.computeIfPresent(key, (k, tokens) -> {
+            tokens.remove(token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private String token(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+}
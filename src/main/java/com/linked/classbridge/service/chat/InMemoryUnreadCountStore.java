@@ -0,0 +1,97 @@
+package com.linked.classbridge.service.chat;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "chat.unread-count.store", havingValue = "memory")
+public class InMemoryUnreadCountStore implements UnreadCountStore {
+
+    private static final Comparator<Key> KEY_ORDER =
+            Comparator.comparing(Key::chatRoomId).thenComparing(Key::userId);
+
+    private final ConcurrentMap<Key, Counter> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public void increment(Long chatRoomId, Long userId) {
+        counts.compute(new Key(chatRoomId, userId), (key, counter) -> counter == null
+                ? new Counter(key, 1, 1)
+                : new Counter(key, counter.count() + 1, counter.version() + 1));
+    }
+
+    @Override
+    public void decrement(Long chatRoomId, Long userId) {
+        decrement(chatRoomId, userId, 1);
+    }
+
+    @Override
+    public void decrement(Long chatRoomId, Long userId, long amount) {
+        counts.computeIfPresent(new Key(chatRoomId, userId), (key, counter) ->
+                new Counter(key, (int) Math.max(0, counter.count() - amount), counter.version() + 1));
+    }
+
+    @Override
+    public void reset(Long chatRoomId, Long userId) {
+        counts.computeIfPresent(new Key(chatRoomId, userId), (key, counter) ->
+                new Counter(key, 0, counter.version() + 1));
+    }
+
+    @Override
+    public int getCount(Long chatRoomId, Long userId) {
+        Counter counter = counts.get(new Key(chatRoomId, userId));
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Override
+    public Map<Long, Integer> getCounts(Long userId, Collection<Long> chatRoomIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        for (Long chatRoomId : chatRoomIds) {
+            result.put(chatRoomId, getCount(chatRoomId, userId));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Counter> findCounters(Key after, int limit) {
+        return counts.values().stream()
+                .filter(counter -> after == null || KEY_ORDER.compare(counter.key(), after) > 0)
+                .sorted(Comparator.comparing(Counter::key, KEY_ORDER))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public int correctIfUnchanged(Map<Counter, Integer> corrections) {
+        int corrected = 0;
+        for (Map.Entry<Counter, Integer> correction : corrections.entrySet()) {
+            Counter counter = correction.getKey();
+            // Counter 는 record 이므로 값과 버전이 모두 같을 때만 교체된다.
+            boolean applied = correction.getValue() == 0
+                    ? counts.remove(counter.key(), counter)
+                    : counts.replace(counter.key(), counter,
+                            new Counter(counter.key(), correction.getValue(), counter.version() + 1));
+            if (applied) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    @Override
+    public int createIfAbsent(Map<Key, Integer> newCounts) {
+        int created = 0;
+        for (Map.Entry<Key, Integer> entry : newCounts.entrySet()) {
+            if (counts.putIfAbsent(entry.getKey(), new Counter(entry.getKey(), entry.getValue(), 0)) == null) {
+                created++;
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,80 @@
+package com.linked.classbridge.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.config.ChatBrokerProperties;
+import com.linked.classbridge.dto.chat.ChatBroadcastEnvelope;
+import com.linked.classbridge.exception.WebsocketException;
+import com.linked.classbridge.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// kafka 모드 : 모든 서버가 구독하는 토픽으로 발행하고, 각 서버의 KafkaChatBroadcastSubscriber 가 로컬 구독자에게 전달한다.
+// 발행에 실패하면 실패 수를 기록하고, 적어도 이 서버의 구독자에게는 전달되도록 로컬 브로커로 보낸다.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "kafka")
+public class KafkaChatBroadcastPublisher implements ChatBroadcastPublisher {
+
+    static final String PUBLISH_FAILURES = "chat.broadcast.publish.failures";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ChatBrokerProperties chatBrokerProperties;
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    private final Counter publishFailures;
+
+    public KafkaChatBroadcastPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                       ObjectMapper objectMapper,
+                                       ChatBrokerProperties chatBrokerProperties,
+                                       SimpMessagingTemplate simpMessagingTemplate,
+                                       MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.chatBrokerProperties = chatBrokerProperties;
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.publishFailures = Counter.builder(PUBLISH_FAILURES)
+                .description("Chat broadcasts that could not be published to Kafka")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(
+                    new ChatBroadcastEnvelope(destination, objectMapper.valueToTree(payload)));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize broadcast message for {}", destination, e);
+            throw new WebsocketException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        // 같은 destination 의 메시지는 같은 파티션으로 보내 순서를 보장한다.
+        kafkaTemplate.send(chatBrokerProperties.getKafka().getTopic(), destination, message)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        handlePublishFailure(destination, payload, e);
+                    }
+                });
+    }
+
+    private void handlePublishFailure(String destination, Object payload, Throwable e) {
+        publishFailures.increment();
+        log.error("Failed to publish broadcast message for {} to kafka, delivering to local subscribers only",
+                destination, e);
+        try {
+            simpMessagingTemplate.convertAndSend(destination, payload);
+        } catch (RuntimeException localFailure) {
+            log.error("Failed to deliver broadcast message for {} to local subscribers", destination, localFailure);
+        }
+    }
+}
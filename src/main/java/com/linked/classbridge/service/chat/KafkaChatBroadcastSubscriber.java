@@ -0,0 +1,51 @@
+package com.linked.classbridge.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.config.ChatBrokerProperties;
+import com.linked.classbridge.dto.chat.ChatBroadcastEnvelope;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 브로드캐스트 토픽을 구독해 현재 서버에 연결된 구독자에게 전달한다.
+ * 서버마다 고유한 groupId 를 사용하므로 모든 서버가 같은 메시지를 받는다.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "kafka")
+public class KafkaChatBroadcastSubscriber {
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private final String groupId;
+
+    public KafkaChatBroadcastSubscriber(SimpMessagingTemplate simpMessagingTemplate, ObjectMapper objectMapper,
+                                        ChatBrokerProperties chatBrokerProperties) {
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.objectMapper = objectMapper;
+        this.groupId = chatBrokerProperties.getKafka().getGroupIdPrefix() + "-" + UUID.randomUUID();
+    }
+
+    @KafkaListener(
+            topics = "${chat.broker.kafka.topic:chat-broadcast}",
+            groupId = "#{__listener.groupId}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onMessage(String message) {
+        try {
+            ChatBroadcastEnvelope envelope = objectMapper.readValue(message, ChatBroadcastEnvelope.class);
+            simpMessagingTemplate.convertAndSend(envelope.destination(), envelope.payload());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize broadcast message: {}", message, e);
+        }
+    }
+}
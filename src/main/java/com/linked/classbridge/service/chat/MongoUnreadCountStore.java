@@ -0,0 +1,147 @@
+package com.linked.classbridge.service.chat;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.linked.classbridge.domain.ChatUnreadCount;
+import com.mongodb.bulk.BulkWriteResult;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.unread-count.store", havingValue = "mongo", matchIfMissing = true)
+public class MongoUnreadCountStore implements UnreadCountStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(Long chatRoomId, Long userId) {
+        mongoTemplate.upsert(
+                query(where("_id").is(ChatUnreadCount.idOf(chatRoomId, userId))),
+                new Update()
+                        .inc("count", 1)
+                        .inc("version", 1)
+                        .setOnInsert("chatRoomId", chatRoomId)
+                        .setOnInsert("userId", userId),
+                ChatUnreadCount.class);
+    }
+
+    @Override
+    public void decrement(Long chatRoomId, Long userId) {
+        decrement(chatRoomId, userId, 1);
+    }
+
+    @Override
+    public void decrement(Long chatRoomId, Long userId, long amount) {
+        // 빼기와 0 하한 처리를 한 번의 파이프라인 업데이트로 원자적으로 수행한다.
+        AggregationExpression decremented = context -> new Document("$max",
+                List.of(0, new Document("$subtract", List.of("$count", amount))));
+        AggregationExpression nextVersion = context -> new Document("$add",
+                List.of(new Document("$ifNull", Arrays.asList("$version", 0L)), 1L));
+
+        mongoTemplate.updateFirst(
+                query(where("_id").is(ChatUnreadCount.idOf(chatRoomId, userId))),
+                AggregationUpdate.update()
+                        .set("count").toValue(decremented)
+                        .set("version").toValue(nextVersion),
+                ChatUnreadCount.class);
+    }
+
+    @Override
+    public void reset(Long chatRoomId, Long userId) {
+        mongoTemplate.updateFirst(
+                query(where("_id").is(ChatUnreadCount.idOf(chatRoomId, userId))),
+                new Update().set("count", 0).inc("version", 1),
+                ChatUnreadCount.class);
+    }
+
+    @Override
+    public int getCount(Long chatRoomId, Long userId) {
+        ChatUnreadCount unreadCount =
+                mongoTemplate.findById(ChatUnreadCount.idOf(chatRoomId, userId), ChatUnreadCount.class);
+        return unreadCount == null ? 0 : unreadCount.getCount();
+    }
+
+    @Override
+    public Map<Long, Integer> getCounts(Long userId, Collection<Long> chatRoomIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        chatRoomIds.forEach(chatRoomId -> result.put(chatRoomId, 0));
+
+        mongoTemplate.find(query(where("userId").is(userId).and("chatRoomId").in(chatRoomIds)),
+                        ChatUnreadCount.class)
+                .forEach(unreadCount -> result.put(unreadCount.getChatRoomId(), unreadCount.getCount()));
+
+        return result;
+    }
+
+    @Override
+    public List<Counter> findCounters(Key after, int limit) {
+        Query query = after == null
+                ? new Query()
+                : query(where("_id").gt(ChatUnreadCount.idOf(after.chatRoomId(), after.userId())));
+        query.with(Sort.by("_id")).limit(limit);
+
+        return mongoTemplate.find(query, ChatUnreadCount.class).stream()
+                .map(unreadCount -> new Counter(new Key(unreadCount.getChatRoomId(), unreadCount.getUserId()),
+                        unreadCount.getCount(), unreadCount.getVersion()))
+                .toList();
+    }
+
+    @Override
+    public int correctIfUnchanged(Map<Counter, Integer> corrections) {
+        if (corrections.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChatUnreadCount.class);
+        corrections.forEach((counter, count) -> {
+            Query unchanged = query(where("_id").is(ChatUnreadCount.idOf(counter.key().chatRoomId(),
+                    counter.key().userId())).and("version").in(versionValues(counter.version())));
+            if (count == 0) {
+                bulkOperations.remove(unchanged);
+            } else {
+                bulkOperations.updateOne(unchanged, new Update().set("count", count).inc("version", 1));
+            }
+        });
+        BulkWriteResult result = bulkOperations.execute();
+        return result.getModifiedCount() + result.getDeletedCount();
+    }
+
+    @Override
+    public int createIfAbsent(Map<Key, Integer> counts) {
+        if (counts.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChatUnreadCount.class);
+        counts.forEach((key, count) -> bulkOperations.upsert(
+                query(where("_id").is(ChatUnreadCount.idOf(key.chatRoomId(), key.userId()))),
+                new Update()
+                        .setOnInsert("count", count)
+                        .setOnInsert("version", 0L)
+                        .setOnInsert("chatRoomId", key.chatRoomId())
+                        .setOnInsert("userId", key.userId())));
+        return bulkOperations.execute().getUpserts().size();
+    }
+
+    // version 필드가 생기기 전에 만들어진 카운터는 0 으로 읽히므로 필드가 없는 경우도 같은 버전으로 본다.
+    private List<Object> versionValues(long version) {
+        return version == 0 ? Arrays.asList(0L, null) : List.of(version);
+    }
+}
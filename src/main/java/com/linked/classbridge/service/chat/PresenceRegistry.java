@@ -0,0 +1,23 @@
+package com.linked.classbridge.service.chat;
+
+/**
+ * 채팅방 접속 상태 저장소.
+ * STOMP SUBSCRIBE / UNSUBSCRIBE / DISCONNECT 이벤트로 갱신되며, 사용자가 채팅방을 구독 중이면 온라인으로 본다.
+ */
+public interface PresenceRegistry {
+
+    void subscribe(String sessionId, String subscriptionId, Long chatRoomId, Long userId);
+
+    void unsubscribe(String sessionId, String subscriptionId);
+
+    // 세션이 구독 중이던 모든 채팅방에서 오프라인 처리한다.
+    void disconnect(String sessionId);
+
+    // 사용자가 채팅방을 닫거나 나간 경우 해당 채팅방의 모든 구독을 오프라인 처리한다.
+    void leave(Long chatRoomId, Long userId);
+
+    boolean isOnline(Long chatRoomId, Long userId);
+
+    record Key(Long chatRoomId, Long userId) {
+    }
+}
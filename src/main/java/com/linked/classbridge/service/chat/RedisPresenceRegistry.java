@@ -0,0 +1,139 @@
+package com.linked.classbridge.service.chat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 서버가 공유하는 Redis 기반 접속 상태 저장소.
+ * (채팅방, 사용자) 마다 구독을 만료 시각 점수의 sorted set 으로 저장하고, 각 서버는 자신이 가진 세션을 주기적으로 갱신한다.
+ * 서버가 비정상 종료되면 갱신이 멈추므로 ttl 이후 자동으로 오프라인이 된다.
+ * 같은 사용자가 다른 세션으로 계속 접속해 있으면 키의 ttl 도 계속 연장되므로, 쓸 때마다 만료된 구독을 sorted set 에서 지운다.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "redis")
+public class RedisPresenceRegistry implements PresenceRegistry {
+
+    private static final String PRESENCE_KEY_PREFIX = "chat:presence:";
+
+    private static final String SESSION_KEY_PREFIX = "chat:presence:session:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Duration ttl;
+
+    // 이 서버에 연결된 세션 목록 (heartbeat 대상)
+    private final Set<String> localSessions = ConcurrentHashMap.newKeySet();
+
+    public RedisPresenceRegistry(StringRedisTemplate redisTemplate,
+                                 @Value("${chat.presence.ttl:30s}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void subscribe(String sessionId, String subscriptionId, Long chatRoomId, Long userId) {
+        localSessions.add(sessionId);
+
+        refresh(presenceKey(chatRoomId, userId), token(sessionId, subscriptionId), expireAt());
+
+        String sessionKey = sessionKey(sessionId);
+        redisTemplate.opsForHash().put(sessionKey, subscriptionId, chatRoomId + ":" + userId);
+        redisTemplate.expire(sessionKey, ttl);
+    }
+
+    @Override
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        String sessionKey = sessionKey(sessionId);
+        Object value = redisTemplate.opsForHash().get(sessionKey, subscriptionId);
+        if (value == null) {
+            return;
+        }
+
+        redisTemplate.opsForZSet().remove(presenceKey(value.toString()), token(sessionId, subscriptionId));
+        redisTemplate.opsForHash().delete(sessionKey, subscriptionId);
+    }
+
+    @Override
+    public void disconnect(String sessionId) {
+        localSessions.remove(sessionId);
+
+        String sessionKey = sessionKey(sessionId);
+        Map<Object, Object> subscriptions = redisTemplate.opsForHash().entries(sessionKey);
+        subscriptions.forEach((subscriptionId, value) -> redisTemplate.opsForZSet()
+                .remove(presenceKey(value.toString()), token(sessionId, subscriptionId.toString())));
+        redisTemplate.delete(sessionKey);
+    }
+
+    @Override
+    public void leave(Long chatRoomId, Long userId) {
+        String presenceKey = presenceKey(chatRoomId, userId);
+        Set<String> tokens = redisTemplate.opsForZSet().range(presenceKey, 0, -1);
+        if (tokens != null) {
+            for (String token : tokens) {
+                int separator = token.lastIndexOf(':');
+                redisTemplate.opsForHash()
+                        .delete(sessionKey(token.substring(0, separator)), token.substring(separator + 1));
+            }
+        }
+        redisTemplate.delete(presenceKey);
+    }
+
+    @Override
+    public boolean isOnline(Long chatRoomId, Long userId) {
+        Long count = redisTemplate.opsForZSet()
+                .count(presenceKey(chatRoomId, userId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return count != null && count > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-interval:10000}")
+    public void heartbeat() {
+        double expireAt = expireAt();
+        for (String sessionId : localSessions) {
+            String sessionKey = sessionKey(sessionId);
+            Map<Object, Object> subscriptions = redisTemplate.opsForHash().entries(sessionKey);
+            if (subscriptions.isEmpty()) {
+                continue;
+            }
+
+            subscriptions.forEach((subscriptionId, value) ->
+                    refresh(presenceKey(value.toString()), token(sessionId, subscriptionId.toString()), expireAt));
+            redisTemplate.expire(sessionKey, ttl);
+        }
+        log.debug("Refreshed presence for {} sessions", localSessions.size());
+    }
+
+    private void refresh(String presenceKey, String token, double expireAt) {
+        redisTemplate.opsForZSet().add(presenceKey, token, expireAt);
+        redisTemplate.opsForZSet().removeRangeByScore(presenceKey, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+        redisTemplate.expire(presenceKey, ttl);
+    }
+
+    private double expireAt() {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    private String presenceKey(Long chatRoomId, Long userId) {
+        return presenceKey(chatRoomId + ":" + userId);
+    }
+
+    private String presenceKey(String chatRoomAndUser) {
+        return PRESENCE_KEY_PREFIX + chatRoomAndUser;
+    }
+
+    private String sessionKey(String sessionId) {
+        return SESSION_KEY_PREFIX + sessionId;
+    }
+
+    private String token(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+}
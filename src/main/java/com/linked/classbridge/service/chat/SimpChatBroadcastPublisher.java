@@ -0,0 +1,20 @@
+package com.linked.classbridge.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// simple, relay 모드 : 설정된 브로커로 바로 전달한다.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${chat.broker.mode:simple}'.toLowerCase() != 'kafka'")
+public class SimpChatBroadcastPublisher implements ChatBroadcastPublisher {
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    @Override
+    public void publish(String destination, Object payload) {
+        simpMessagingTemplate.convertAndSend(destination, payload);
+    }
+}
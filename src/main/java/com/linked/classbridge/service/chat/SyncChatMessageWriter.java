@@ -0,0 +1,25 @@
+package com.linked.classbridge.service.chat;
+
+import com.linked.classbridge.domain.ChatMessage;
+import com.linked.classbridge.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.write-behind.enabled", havingValue = "false", matchIfMissing = true)
+public class SyncChatMessageWriter implements ChatMessageWriter {
+
+    private final ChatMessageRepository chatMessageRepository;
+
+    @Override
+    public void write(ChatMessage chatMessage) {
+        chatMessageRepository.save(chatMessage);
+    }
+
+    @Override
+    public void flush() {
+        // write 가 반환될 때 이미 저장되어 있다.
+    }
+}
@@ -0,0 +1,39 @@
+package com.linked.classbridge.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 안 읽은 메시지 카운터 백필 명령.
+ * <p>
+ * --backfill-unread-counts 옵션으로 실행하면 chat_message 를 채팅방별로 집계해 카운터가 없는 채팅방의 카운터를 만든 뒤 종료한다.
+ * <pre>
+ * java -jar classbridge.jar --spring.main.web-application-type=none --backfill-unread-counts
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadCountBackfillRunner implements ApplicationRunner {
+
+    static final String BACKFILL_OPTION = "backfill-unread-counts";
+
+    private final UnreadCountReconciler unreadCountReconciler;
+
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(BACKFILL_OPTION)) {
+            return;
+        }
+        int created = unreadCountReconciler.backfill();
+        log.info("Chat unread count backfill finished: {} counters created", created);
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
@@ -0,0 +1,163 @@
+package com.linked.classbridge.service.chat;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.linked.classbridge.domain.ChatMessage;
+import com.linked.classbridge.domain.ChatRoom;
+import com.linked.classbridge.repository.ChatRoomRepository;
+import com.linked.classbridge.service.chat.UnreadCountStore.Counter;
+import com.linked.classbridge.service.chat.UnreadCountStore.Key;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * chat_message 컬렉션을 집계해 안 읽은 메시지 카운터를 바로잡는다.
+ * <p>
+ * 카운터를 batchSize 개씩 읽고, 그 카운터의 채팅방에 대해서만 안 읽은 메시지를 집계해 다른 값만 고친다. 카운터를 집계보다
+ * 먼저 읽고 읽은 시점의 version 이 그대로일 때만 고치므로, 재집계 도중 들어온 증가/감소는 덮어쓰지 않고 다음 재집계로 넘긴다.
+ * 카운터가 아직 없는 채팅방은 {@link #backfill()} 로 한 번 채운다.
+ */
+@Component
+@Slf4j
+public class UnreadCountReconciler {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ChatRoomRepository chatRoomRepository;
+
+    private final UnreadCountStore unreadCountStore;
+
+    private final int batchSize;
+
+    public UnreadCountReconciler(MongoTemplate mongoTemplate,
+                                 ChatRoomRepository chatRoomRepository,
+                                 UnreadCountStore unreadCountStore,
+                                 @Value("${chat.unread-count.reconcile-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.chatRoomRepository = chatRoomRepository;
+        this.unreadCountStore = unreadCountStore;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${chat.unread-count.reconcile-cron:0 0 4 * * *}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        log.info("Start to reconcile chat unread counts");
+
+        int scanned = 0;
+        int corrected = 0;
+        Key after = null;
+        List<Counter> counters;
+        do {
+            counters = unreadCountStore.findCounters(after, batchSize);
+            if (counters.isEmpty()) {
+                break;
+            }
+
+            Set<Long> chatRoomIds = counters.stream()
+                    .map(counter -> counter.key().chatRoomId())
+                    .collect(Collectors.toSet());
+            Map<Key, Integer> actualCounts = countUnreadMessages(chatRoomRepository.findAllById(chatRoomIds));
+
+            // 채팅방이 삭제되었거나 안 읽은 메시지가 없으면 0 으로 고쳐 카운터를 제거한다.
+            Map<Counter, Integer> corrections = new LinkedHashMap<>();
+            for (Counter counter : counters) {
+                int actual = actualCounts.getOrDefault(counter.key(), 0);
+                if (actual != counter.count() || actual == 0) {
+                    corrections.put(counter, actual);
+                }
+            }
+            corrected += unreadCountStore.correctIfUnchanged(corrections);
+
+            scanned += counters.size();
+            after = counters.get(counters.size() - 1).key();
+        } while (counters.size() == batchSize);
+
+        log.info("Reconciled chat unread counters: {} scanned, {} corrected", scanned, corrected);
+    }
+
+    /**
+     * 카운터 저장소를 처음 도입하거나 비운 뒤 한 번 실행한다. 채팅방을 batchSize 개씩 돌며 안 읽은 메시지가 있는데 카운터가 없는
+     * 경우에만 카운터를 만든다. 이미 있는 카운터는 건드리지 않으므로 서비스 중에 실행해도 된다.
+     */
+    @Transactional(readOnly = true)
+    public int backfill() {
+        log.info("Start to backfill chat unread counts");
+
+        int created = 0;
+        long lastChatRoomId = 0L;
+        Slice<ChatRoom> chatRooms;
+        do {
+            chatRooms = chatRoomRepository.findByChatRoomIdGreaterThanOrderByChatRoomIdAsc(lastChatRoomId,
+                    PageRequest.of(0, batchSize));
+            if (!chatRooms.hasContent()) {
+                break;
+            }
+
+            created += unreadCountStore.createIfAbsent(countUnreadMessages(chatRooms.getContent()));
+
+            lastChatRoomId = chatRooms.getContent().get(chatRooms.getNumberOfElements() - 1).getChatRoomId();
+        } while (chatRooms.hasNext());
+
+        log.info("Backfilled {} chat unread counters", created);
+        return created;
+    }
+
+    // 채팅방, 받는 사람별 안 읽은 메시지 수
+    private Map<Key, Integer> countUnreadMessages(Collection<ChatRoom> chatRooms) {
+        Map<Long, ChatRoom> chatRoomsById = chatRooms.stream()
+                .collect(Collectors.toMap(ChatRoom::getChatRoomId, Function.identity()));
+        if (chatRoomsById.isEmpty()) {
+            return Map.of();
+        }
+
+        Aggregation aggregation = newAggregation(
+                match(where("chatRoomId").in(chatRoomsById.keySet()).and("isRead").is(false)),
+                group("chatRoomId", "senderId").count().as("count")
+        );
+        List<Document> results = mongoTemplate.aggregate(aggregation, ChatMessage.class, Document.class)
+                .getMappedResults();
+
+        Map<Key, Integer> counts = new HashMap<>();
+        for (Document result : results) {
+            Document id = (Document) result.get("_id");
+            ChatRoom chatRoom = chatRoomsById.get(toLong(id.get("chatRoomId")));
+
+            // 1:1 채팅방이므로 보낸 사람이 아닌 참여자가 받는 사람이다.
+            Long senderId = toLong(id.get("senderId"));
+            Long receiverId = chatRoom.getInitiatedBy().getUserId().equals(senderId)
+                    ? chatRoom.getInitiatedTo().getUserId()
+                    : chatRoom.getInitiatedBy().getUserId();
+
+            counts.merge(new Key(chatRoom.getChatRoomId(), receiverId), toInt(result.get("count")), Integer::sum);
+        }
+        return counts;
+    }
+
+    private Long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,40 @@
+package com.linked.classbridge.service.chat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방별, 사용자별 안 읽은 메시지 수 저장소.
+ * 메시지 목록을 조회하지 않고 카운터만으로 안 읽은 메시지 수를 제공한다.
+ */
+public interface UnreadCountStore {
+
+    void increment(Long chatRoomId, Long userId);
+
+    void decrement(Long chatRoomId, Long userId);
+
+    void decrement(Long chatRoomId, Long userId, long amount);
+
+    void reset(Long chatRoomId, Long userId);
+
+    int getCount(Long chatRoomId, Long userId);
+
+    Map<Long, Integer> getCounts(Long userId, Collection<Long> chatRoomIds);
+
+    // 재집계용. after 다음 카운터를 키 순서대로 최대 limit 개 읽는다. after 가 null 이면 처음부터 읽는다.
+    List<Counter> findCounters(Key after, int limit);
+
+    // 읽은 뒤 바뀌지 않은 카운터만 새 값으로 고치고 0 이 되는 카운터는 제거한다. 반영된 카운터 수를 반환한다.
+    int correctIfUnchanged(Map<Counter, Integer> corrections);
+
+    // 카운터가 없을 때만 만든다. 이미 있는 카운터는 건드리지 않는다. 새로 만든 카운터 수를 반환한다.
+    int createIfAbsent(Map<Key, Integer> counts);
+
+    record Key(Long chatRoomId, Long userId) {
+    }
+
+    // version 은 카운터가 바뀔 때마다 증가한다.
+    record Counter(Key key, int count, long version) {
+    }
+}
@@ -1,7 +1,6 @@
 package com.linked.classbridge.service.chat;
 
 import com.linked.classbridge.domain.ChatRoom;
-import com.linked.classbridge.domain.User;
 import com.linked.classbridge.domain.UserChatRoom;
 import com.linked.classbridge.repository.UserChatRoomRepository;
 import jakarta.persistence.EntityManager;
@@ -30,11 +29,6 @@ public class UserChatRoomService {
         return userChatRoom;
     }
 
-    public void leaveAllChatRoomsByEmail(User user) {
-        log.info("Disconnecting all chat rooms for user: {}", user.getEmail());
-        userChatRoomRepository.updateIsOnlineByUser_Email(user.getEmail(), false);
-    }
-
     protected List<UserChatRoom> findAllUserChatRoomsByChatRoomIncludingDeleted(ChatRoom chatRoom) {
         Session session = entityManager.unwrap(Session.class);
         session.disableFilter("deletedChatRoomFilter");
@@ -43,25 +37,4 @@ public class UserChatRoomService {
         session.enableFilter("deletedChatRoomFilter");
         return userChatRooms;
     }
-
-    protected void setUserToOnline(User user, List<UserChatRoom> userChatRooms) {
-        userChatRooms.stream()
-                .filter(userChatRoom -> userChatRoom.getUser().getUserId().equals(user.getUserId()))
-                .findFirst()
-                .ifPresent(userChatRoom -> {
-                    userChatRoom.setOnline();
-                    saveUserChatRoom(userChatRoom);
-                });
-    }
-
-
-    public void setUserToOffline(User user, List<UserChatRoom> userChatRooms) {
-        userChatRooms.stream()
-                .filter(userChatRoom -> userChatRoom.getUser().getUserId().equals(user.getUserId()))
-                .findFirst()
-                .ifPresent(userChatRoom -> {
-                    userChatRoom.setOffline();
-                    saveUserChatRoom(userChatRoom);
-                });
-    }
 }
@@ -0,0 +1,246 @@
+package com.linked.classbridge.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.ChatMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지를 write-behind 방식으로 저장한다.
+ * 메시지는 로컬 write-ahead log 에 기록된 뒤 bounded queue 에 들어가고, 별도 스레드가 micro-batch 로 insertMany 한다.
+ * 큐가 가득 차면 호출 스레드가 직접 저장해 backpressure 를 건다.
+ * 읽음 처리처럼 저장된 메시지를 다루기 전에는 {@link #flush()} 로 그때까지 write 한 메시지가 저장되기를 기다린다.
+ * 저장에 실패한 메시지는 write-ahead log 에 남아 재시작 시 다시 저장되므로 최소 한 번 저장이 보장된다.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "chat.write-behind.enabled", havingValue = "true")
+public class WriteBehindChatMessageWriter implements ChatMessageWriter {
+
+    private static final int MAX_RETRY = 3;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ChatMessageWriteAheadLog writeAheadLog;
+
+    private final BlockingQueue<PendingMessage> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalMs;
+
+    private final long offerTimeoutMs;
+
+    private final long flushTimeoutMs;
+
+    private final Thread worker;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // write 되었지만 아직 저장되지 않은 메시지의 순번
+    private final NavigableSet<Long> unpersisted = new ConcurrentSkipListSet<>();
+
+    private final Object persistedMonitor = new Object();
+
+    private volatile boolean running;
+
+    public WriteBehindChatMessageWriter(
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            @Value("${chat.write-behind.wal-directory:./data/chat-wal}") String walDirectory,
+            @Value("${chat.write-behind.wal-segment-size:10000}") int walSegmentSize,
+            @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${chat.write-behind.batch-size:500}") int batchSize,
+            @Value("${chat.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+            @Value("${chat.write-behind.offer-timeout-ms:100}") long offerTimeoutMs,
+            @Value("${chat.write-behind.flush-timeout-ms:1000}") long flushTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.writeAheadLog = new ChatMessageWriteAheadLog(Path.of(walDirectory), objectMapper, walSegmentSize);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.flushTimeoutMs = flushTimeoutMs;
+        this.worker = new Thread(this::runWorker, "chat-write-behind");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        List<ChatMessage> recovered = writeAheadLog.recover();
+        if (!recovered.isEmpty()) {
+            log.info("Recovering {} chat messages from write-ahead log", recovered.size());
+            recovered.forEach(mongoTemplate::save);
+        }
+        writeAheadLog.deleteRecovered();
+
+        running = true;
+        worker.start();
+    }
+
+    @Override
+    public void write(ChatMessage chatMessage) {
+        long segment = writeAheadLog.append(chatMessage);
+        long order = sequence.incrementAndGet();
+        unpersisted.add(order);
+        PendingMessage pendingMessage = new PendingMessage(chatMessage, segment, order);
+
+        try {
+            if (queue.offer(pendingMessage, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 큐가 가득 찬 경우 호출 스레드에서 직접 저장한다.
+        log.warn("Chat write-behind queue is full, persisting message {} synchronously", chatMessage.getId());
+        persist(List.of(pendingMessage));
+    }
+
+    @Override
+    public void flush() {
+        long target = sequence.get();
+
+        // 큐에 남은 메시지는 호출 스레드에서 바로 저장하고, worker 가 저장 중인 batch 는 끝나기를 기다린다.
+        List<PendingMessage> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        if (!queued.isEmpty()) {
+            persist(queued);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushTimeoutMs);
+        synchronized (persistedMonitor) {
+            while (hasUnpersistedUpTo(target)) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    log.warn("Timed out waiting for chat messages up to #{} to be persisted", target);
+                    return;
+                }
+                try {
+                    persistedMonitor.wait(remainingMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean hasUnpersistedUpTo(long target) {
+        return !unpersisted.isEmpty() && unpersisted.first() <= target;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<PendingMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            persist(remaining);
+        }
+        writeAheadLog.close();
+    }
+
+    private void runWorker() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in chat write-behind worker", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<PendingMessage> batch) {
+        List<ChatMessage> messages = batch.stream()
+                .map(PendingMessage::chatMessage)
+                .toList();
+
+        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+            try {
+                insertAll(messages);
+                acknowledge(batch);
+                release(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to persist {} chat messages (attempt {}/{})", messages.size(), attempt, MAX_RETRY,
+                        e);
+                sleepBeforeRetry(attempt);
+            }
+        }
+
+        // write-ahead log 에 남겨 두고 재시작 시 복구한다.
+        log.error("Giving up persisting {} chat messages, they remain in the write-ahead log", messages.size());
+        release(batch);
+    }
+
+    private void insertAll(List<ChatMessage> messages) {
+        try {
+            mongoTemplate.insert(messages, ChatMessage.class);
+        } catch (DataIntegrityViolationException e) {
+            // 재시도 중 일부가 이미 저장된 경우 id 기준으로 덮어쓴다.
+            messages.forEach(mongoTemplate::save);
+        }
+    }
+
+    private void acknowledge(List<PendingMessage> batch) {
+        Map<Long, Integer> countBySegment = new HashMap<>();
+        batch.forEach(pendingMessage -> countBySegment.merge(pendingMessage.segment(), 1, Integer::sum));
+        countBySegment.forEach(writeAheadLog::acknowledge);
+    }
+
+    // flush 대기를 깨운다. 저장을 포기한 메시지도 write-ahead log 로 넘기고 더 기다리지 않는다.
+    private void release(List<PendingMessage> batch) {
+        batch.forEach(pendingMessage -> unpersisted.remove(pendingMessage.order()));
+        synchronized (persistedMonitor) {
+            persistedMonitor.notifyAll();
+        }
+    }
+
+    private void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(100L * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingMessage(ChatMessage chatMessage, long segment, long order) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.linked.classbridge.type;
+
+public enum BrokerMode {
+    SIMPLE, // 인메모리 브로커, 단일 서버
+    RELAY,  // 외부 STOMP 브로커(ActiveMQ, RabbitMQ 등) 릴레이
+    KAFKA   // 인메모리 브로커 + Kafka 로 모든 서버에 브로드캐스트
+}
@@ -0,0 +1,9 @@
+package com.linked.classbridge.type;
+
+public enum ClassSearchSort {
+    RELEVANCE, // 검색어 점수 순
+    DISTANCE,  // 가까운 순 (lat, lng 필요)
+    PRICE,     // 낮은 가격 순
+    STAR_RATE, // 별점 높은 순
+    WISH       // 찜 많은 순
+}
@@ -65,6 +65,10 @@ public enum ErrorCode {
     MISMATCH_USER_CLASS(HttpStatus.BAD_REQUEST, "해당 유저와 클래스 생성자가 다릅니다."),
     EXISTS_LESSON_DATE_START_TIME(HttpStatus.BAD_REQUEST, "이미 존재하는 레슨날짜와 시간입니다."),
     LESSON_DATE_MUST_BE_AFTER_NOW(HttpStatus.BAD_REQUEST, "레슨 날짜는 현재 날짜 이후로만 만들 수 있습니다."),
+    INVALID_LESSON_PERIOD(HttpStatus.BAD_REQUEST, "조회 종료일은 시작일 이후여야 합니다."),
+    LESSON_RULE_REQUIRED(HttpStatus.BAD_REQUEST, "반복 요일과 시간을 하나 이상 입력해야 합니다."),
+    INVALID_SEARCH_CURSOR(HttpStatus.BAD_REQUEST, "유효하지 않은 검색 커서입니다."),
+    SEARCH_LOCATION_REQUIRED(HttpStatus.BAD_REQUEST, "거리순 검색에는 위도와 경도가 필요합니다."),
     MISMATCH_CLASS_LESSON(HttpStatus.BAD_REQUEST, "클래스와 해당 레슨의 클래스가 일치하지 않습니다."),
     MISMATCH_USER_LESSON(HttpStatus.BAD_REQUEST, "레슨 생성자와 로그인 유저가 일치하지 않습니다."),
     EXISTS_RESERVED_PERSON(HttpStatus.BAD_REQUEST, "해당 레슨에 예약자가 존재합니다."),
@@ -73,10 +77,14 @@ public enum ErrorCode {
     INVALIDATE_CLASS_INTRODUCTION(HttpStatus.BAD_REQUEST, "클래스 설명은 20자 이상 500자 이하로 작성해주세요."),
     INVALIDATE_CLASS_PERSONAL(HttpStatus.BAD_REQUEST, "최대 인원을 변경할 수 없습니다."),
     MAX_PARTICIPANTS_EXCEEDED(HttpStatus.BAD_REQUEST, "최대 인원을 초과했습니다."),
+    INVALID_SEAT_QUANTITY(HttpStatus.BAD_REQUEST, "예약 인원은 1명 이상이어야 합니다."),
+    SEAT_ADMISSION_TIMEOUT(HttpStatus.INTERNAL_SERVER_ERROR, "좌석 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
 
     RESERVATION_NOT_FOUND(HttpStatus.BAD_REQUEST, "존재하지 않는 예약입니다."),
+    MISMATCH_USER_RESERVATION(HttpStatus.BAD_REQUEST, "예약한 유저와 로그인 유저가 일치하지 않습니다."),
     PAY_ERROR(HttpStatus.BAD_REQUEST, "결제 요청에 실패했습니다."),
     PAY_CANCEL(HttpStatus.BAD_REQUEST, "결제 요청을 취소합니다."),
+    PAY_GATEWAY_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "결제 서비스가 원활하지 않습니다. 잠시 후 다시 시도해주세요."),
     INVALID_TOKEN(HttpStatus.BAD_REQUEST, "유효하지 않은 토큰입니다."),
     INVALID_PAYMENT_ID(HttpStatus.BAD_REQUEST, "유효하지 않은 결제 정보입니다."),
     NULL_RESPONSE_FROM_PAYMENT_GATEWAY(HttpStatus.BAD_REQUEST, "결제 게이트웨이 응답이 없습니다."),
@@ -93,7 +101,6 @@ public enum ErrorCode {
 
     CHAT_ROOM_NOT_FOUND(HttpStatus.BAD_REQUEST, "채팅방을 찾을 수 없습니다."),
     CHAT_MESSAGE_NOT_FOUND(HttpStatus.BAD_REQUEST, "채팅 메시지를 찾을 수 없습니다."),
-    SENDER_CANNOT_MARK_AS_READ(HttpStatus.BAD_REQUEST, "메시지를 보낸 사람은 읽음 처리를 할 수 없습니다."),
     USER_NOT_IN_CHAT_ROOM(HttpStatus.BAD_REQUEST, "채팅방에 참여하지 않은 사용자입니다."),
 
     NOT_TODAY_LESSON(HttpStatus.BAD_REQUEST, "레슨 당일에만 출석체크가 가능합니다."),
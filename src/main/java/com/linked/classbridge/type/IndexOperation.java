@@ -0,0 +1,8 @@
+package com.linked.classbridge.type;
+
+public enum IndexOperation {
+    UPSERT,   // DB 의 클래스 정보로 문서 전체를 다시 색인
+    DELETE,   // 문서 삭제
+    COUNTERS, // 별점, 찜 수만 부분 갱신
+    TAGS      // 태그 목록만 부분 갱신
+}
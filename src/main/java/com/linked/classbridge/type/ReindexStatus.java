@@ -0,0 +1,7 @@
+package com.linked.classbridge.type;
+
+public enum ReindexStatus {
+    RUNNING,   // 색인 중. 서버가 재시작되면 이 상태로 남아 있어 다음 실행에서 이어서 색인한다.
+    FAILED,    // 색인 실패. 다음 실행에서 lastClassId 이후부터 이어서 색인한다.
+    COMPLETED  // alias 전환까지 완료
+}
@@ -29,15 +29,20 @@ public enum ResponseMessage {
     CLASS_TAG_REGISTER_SUCCESS("클래스 Tag 추가 성공"),
     CLASS_TAG_UPDATE_SUCCESS("클래스 Tag 수정 성공"),
     CLASS_TAG_DELETE_SUCCESS("클래스 Tag 삭제 성공"),
+    CLASS_LESSON_GET_SUCCESS("클래스 레슨 조회 성공"),
+    CLASS_SEARCH_SUCCESS("클래스 검색 성공"),
+    CLASS_SUGGEST_SUCCESS("클래스 자동완성 조회 성공"),
     CLASS_LESSON_REGISTER_SUCCESS("클래스 레슨 추가 성공"),
     CLASS_LESSON_UPDATE_SUCCESS("클래스 레슨 수정 성공"),
     CLASS_LESSON_DELETE_SUCCESS("클래스 레슨 삭제 성공"),
+    CLASS_LESSON_RULE_UPDATE_SUCCESS("클래스 반복 규칙 수정 성공"),
 
     WISH_GET_SUCCESS("Wish 리스트 조회 성공"),
     WISH_ADD_SUCCESS("Wish 추가 성공"),
     WISH_DELETE_SUCCESS("Wish 삭제 성공"),
 
     PAYMENT_SUCCESS("결제 승인"),
+    PAYMENT_PREPARE_SUCCESS("결제 요청 성공"),
     ACCESS_TOKEN_ISSUED("Access 토큰 발급 성공"),
     USER_UPDATE_SUCCESS("사용자 정보 수정 성공"),
     VALIDATE_BUSINESS_REGISTRATION_NUMBER_SUCCESS("유효한 사업자등록번호"),
@@ -52,6 +57,7 @@ public enum ResponseMessage {
     CHAT_ROOM_JOIN_SUCCESS("채팅방 참여 성공"),
     CHAT_ROOM_LEAVE_SUCCESS("채팅방 퇴장하기 성공"),
     CHAT_ROOM_CLOSE_SUCCESS("채팅방 닫기 성공"),
+    CHAT_MESSAGE_GET_SUCCESS("채팅 메시지 조회 성공"),
 
     ATTENDANCE_CHECK_SUCCESS("출석 체크 성공"),
     GET_USER_BADGES_SUCCESS("사용자 뱃지 조회 성공"),
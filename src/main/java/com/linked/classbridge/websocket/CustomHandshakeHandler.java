@@ -1,5 +1,6 @@
 package com.linked.classbridge.websocket;
 
+import com.linked.classbridge.dto.user.UserDto;
 import com.linked.classbridge.security.CustomUserDetails;
 import java.security.Principal;
 import java.util.Map;
@@ -17,7 +18,8 @@ public class CustomHandshakeHandler extends DefaultHandshakeHandler {
         Authentication authentication = (Authentication) attributes.get("user");
         if (authentication != null && authentication.isAuthenticated()) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            return new StompPrincipal(userDetails.getUserDto().getEmail(), userDetails.getUserDto().getRoles());
+            UserDto userDto = userDetails.getUserDto();
+            return new StompPrincipal(userDto.getEmail(), userDto.getUserId(), userDto.getRoles());
         }
         return null;
     }
@@ -1,5 +1,6 @@
 package com.linked.classbridge.websocket;
 
+import com.linked.classbridge.dto.user.JwtClaims;
 import com.linked.classbridge.dto.user.UserDto;
 import com.linked.classbridge.exception.WebsocketException;
 import com.linked.classbridge.security.CustomUserDetails;
@@ -26,11 +27,13 @@ public class HttpHandshakeInterceptor implements HandshakeInterceptor {
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
                                    Map<String, Object> attributes) throws Exception {
         String token = parseTokenFromUri(request.getURI());
-        if (token != null && !jwtService.isExpired(token)) {
+        JwtClaims claims = token != null ? jwtService.parse(token) : null;
+        if (claims != null && !claims.isExpired()) {
             if (attributes.get("user") == null) {
                 UserDto user = new UserDto();
-                user.setEmail(jwtService.getEmail(token));
-                user.setRoles(jwtService.getRoles(token));
+                user.setUserId(claims.getUserId());
+                user.setEmail(claims.getEmail());
+                user.setRoles(claims.getRoles());
 
                 CustomUserDetails userDetails = new CustomUserDetails(user);
                 Authentication authentication =
@@ -0,0 +1,79 @@
+package com.linked.classbridge.websocket;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 위임 Executor 위에서 제출 순서대로 한 번에 하나씩 작업을 실행한다.
+ * 대기 중인 작업이 capacity 개이면 새 작업은 {@link RejectedExecutionException} 으로 거절한다.
+ */
+@Slf4j
+public class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Executor delegate;
+
+    private final int capacity;
+
+    public SerialExecutor(Executor delegate) {
+        this(delegate, Integer.MAX_VALUE);
+    }
+
+    public SerialExecutor(Executor delegate, int capacity) {
+        this.delegate = delegate;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Serial executor queue is full (capacity " + capacity + ")");
+        }
+        tasks.add(task);
+        scheduleNext();
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    private void scheduleNext() {
+        if (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+            try {
+                delegate.execute(this::drain);
+            } catch (RuntimeException e) {
+                running.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                pending.decrementAndGet();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Serial task failed", e);
+                }
+            }
+        } finally {
+            running.set(false);
+            // drain 종료와 새 작업 추가 사이의 경합으로 남은 작업이 있으면 다시 예약한다.
+            scheduleNext();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.linked.classbridge.websocket;
 
-import com.linked.classbridge.domain.User;
-import com.linked.classbridge.service.JWTService;
 import com.linked.classbridge.service.UserService;
-import com.linked.classbridge.service.chat.UserChatRoomService;
+import com.linked.classbridge.service.chat.PresenceRegistry;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -11,6 +13,7 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 @RequiredArgsConstructor
@@ -18,29 +21,92 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class StompHandler implements ChannelInterceptor {
 
-    private final JWTService jwtService;
+    private static final String CHAT_ROOM_DESTINATION_PREFIX = "/chatRoom/";
 
     private final UserService userService;
 
-    private final UserChatRoomService userChatRoomService;
+    private final PresenceRegistry presenceRegistry;
+
+    // 이 노드에 연결된 세션의 채팅방 구독(sessionId -> subscriptionId -> chatRoomId). 채널 스트라이프 라우팅에만 사용한다.
+    private final Map<String, Map<String, Long>> chatRoomsBySession = new ConcurrentHashMap<>();
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
-        if (accessor.getCommand() == StompCommand.DISCONNECT) {
-            String token = accessor.getFirstNativeHeader("access");
-            log.info("DISCONNECT command received for token: {}", token);
-
-            if (token != null && !jwtService.isExpired(token)) {
-                String email = jwtService.getEmail(token);
-                User user = userService.getUserByEmail(email);
+        StompCommand command = accessor.getCommand();
 
-                log.info("User {} is leaving all chat rooms", user.getUserId());
-                userChatRoomService.leaveAllChatRoomsByEmail(user);
-                return message;
-            }
+        if (command == StompCommand.SUBSCRIBE) {
+            return handleSubscribe(message, accessor);
+        } else if (command == StompCommand.UNSUBSCRIBE) {
+            presenceRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+            return handleUnsubscribe(message, accessor);
+        } else if (command == StompCommand.DISCONNECT) {
+            log.info("DISCONNECT command received for session: {}", accessor.getSessionId());
+            presenceRegistry.disconnect(accessor.getSessionId());
+            return handleDisconnect(message, accessor);
         }
 
         return message;
     }
+
+    private Message<?> handleSubscribe(Message<?> message, StompHeaderAccessor accessor) {
+        Long chatRoomId = parseChatRoomId(accessor.getDestination());
+        if (chatRoomId == null) {
+            return message;
+        }
+
+        Principal principal = accessor.getUser();
+        if (principal != null) {
+            Long userId = principal instanceof StompPrincipal stompPrincipal && stompPrincipal.getUserId() != null
+                    ? stompPrincipal.getUserId()
+                    : userService.getUserIdByEmail(principal.getName());
+
+            log.info("User {} subscribed chat room {}", userId, chatRoomId);
+            presenceRegistry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), chatRoomId, userId);
+        }
+
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            chatRoomsBySession.computeIfAbsent(accessor.getSessionId(), sessionId -> new ConcurrentHashMap<>())
+                    .put(accessor.getSubscriptionId(), chatRoomId);
+        }
+        return withHeader(message, accessor, StripedChannelExecutor.CHAT_ROOM_ID_HEADER, chatRoomId);
+    }
+
+    // 구독 해제는 구독과 같은 채팅방 스트라이프에서 처리해야 순서가 바뀌지 않는다.
+    private Message<?> handleUnsubscribe(Message<?> message, StompHeaderAccessor accessor) {
+        Map<String, Long> subscriptions = accessor.getSessionId() == null
+                ? null : chatRoomsBySession.get(accessor.getSessionId());
+        Long chatRoomId = subscriptions == null || accessor.getSubscriptionId() == null
+                ? null : subscriptions.remove(accessor.getSubscriptionId());
+        if (chatRoomId == null) {
+            return message;
+        }
+        return withHeader(message, accessor, StripedChannelExecutor.CHAT_ROOM_ID_HEADER, chatRoomId);
+    }
+
+    private Message<?> handleDisconnect(Message<?> message, StompHeaderAccessor accessor) {
+        Map<String, Long> subscriptions = accessor.getSessionId() == null
+                ? null : chatRoomsBySession.remove(accessor.getSessionId());
+        if (subscriptions == null || subscriptions.isEmpty()) {
+            return message;
+        }
+        List<Long> chatRoomIds = subscriptions.values().stream().distinct().toList();
+        return withHeader(message, accessor, StripedChannelExecutor.SESSION_CHAT_ROOM_IDS_HEADER, chatRoomIds);
+    }
+
+    private Message<?> withHeader(Message<?> message, StompHeaderAccessor accessor, String name, Object value) {
+        accessor.setHeader(name, value);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private Long parseChatRoomId(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_ROOM_DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(CHAT_ROOM_DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
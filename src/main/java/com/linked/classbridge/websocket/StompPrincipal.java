@@ -11,5 +11,7 @@ public class StompPrincipal implements Principal {
 
     private final String name;
 
+    private final Long userId;
+
     private final List<String> roles;
 }
@@ -0,0 +1,214 @@
+package com.linked.classbridge.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * STOMP 채널 작업을 키별 {@link SerialExecutor} 로 분배하는 Executor.
+ * <p>
+ * 같은 채팅방으로 보내는 메시지와 채팅방 구독, 구독 해제는 항상 같은 스트라이프에서 순서대로 처리되고, 채팅방을 알 수 없는
+ * 메시지는 세션 단위로 순서를 보장한다. 서로 다른 스트라이프는 스레드 풀(또는 가상 스레드) 위에서 병렬로 실행된다.
+ * <p>
+ * 세션의 DISCONNECT 는 그 세션이 구독한 채팅방 스트라이프에 먼저 들어간 작업이 끝난 뒤에 처리한다. 그렇지 않으면 대기 중이던
+ * SUBSCRIBE 가 세션 정리 뒤에 등록되어 브로커에 끊긴 세션의 구독이 남는다.
+ * 읽음 처리(/app/read, /app/readUpTo)는 목적지에 채팅방이 없어 세션 단위로 처리한다. 읽음 처리는 대상 메시지의 전송 시각까지를
+ * 읽음으로 바꾸는 멱등 작업이고 그 전에 write-behind 저장을 flush 하므로, 같은 채팅방의 전송과 순서가 바뀌어도 결과가 같다.
+ * <p>
+ * 동시에 실행되는 스트라이프는 maxPoolSize 개로 제한된다. 스레드 풀은 대기 큐 없이 maxPoolSize 까지 스레드를 늘리고, 모두 사용
+ * 중이면 제출한 스레드가 직접 실행해 backpressure 를 건다. 가상 스레드는 세마포어로 동시 실행 수를 제한한다.
+ * queueCapacity 는 스트라이프 수로 나누어 스트라이프별 대기 작업 수의 상한이 되며, 가득 찬 스트라이프에 들어오는 작업은
+ * {@link TaskRejectedException} 으로 거절한다.
+ */
+public class StripedChannelExecutor extends ThreadPoolTaskExecutor {
+
+    public static final String QUEUE_DEPTH = "chat.channel.queue.depth";
+
+    public static final String QUEUE_LATENCY = "chat.channel.task.queue.latency";
+
+    public static final String TASK_DURATION = "chat.channel.task.duration";
+
+    public static final String REJECTED = "chat.channel.task.rejected";
+
+    // StompHandler 가 채팅방 SUBSCRIBE, UNSUBSCRIBE 에 붙이는 채팅방 ID
+    public static final String CHAT_ROOM_ID_HEADER = "chatRoomId";
+
+    // StompHandler 가 DISCONNECT 에 붙이는, 세션이 구독 중이던 채팅방 ID 목록
+    public static final String SESSION_CHAT_ROOM_IDS_HEADER = "sessionChatRoomIds";
+
+    private static final Pattern CHAT_ROOM_DESTINATION = Pattern.compile("^/app/send/(\\d+)$");
+
+    private final SerialExecutor[] stripes;
+
+    private final Timer queueLatency;
+
+    private final Timer taskDuration;
+
+    private final Counter rejected;
+
+    public StripedChannelExecutor(String channelName, int stripeCount, boolean virtualThreads, int maxPoolSize,
+                                  int queueCapacity, MeterRegistry meterRegistry) {
+        setThreadNamePrefix(channelName + "-");
+        setMaxPoolSize(maxPoolSize);
+        // 스트라이프가 순서와 대기를 담당하므로 풀에는 대기 큐를 두지 않는다.
+        setQueueCapacity(0);
+        setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        Executor delegate = virtualThreads
+                ? limitConcurrency(new VirtualThreadTaskExecutor(channelName + "-virtual-"), maxPoolSize)
+                : super::execute;
+
+        int stripeCapacity = Math.max(1, (queueCapacity + stripeCount - 1) / stripeCount);
+        this.stripes = new SerialExecutor[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new SerialExecutor(delegate, stripeCapacity);
+        }
+
+        this.queueLatency = Timer.builder(QUEUE_LATENCY)
+                .description("Time a STOMP channel task waits before it starts")
+                .tag("channel", channelName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.taskDuration = Timer.builder(TASK_DURATION)
+                .description("Time a STOMP channel task takes to run")
+                .tag("channel", channelName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH, this, StripedChannelExecutor::getQueueDepth)
+                .description("STOMP channel tasks waiting for their stripe")
+                .tag("channel", channelName)
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED)
+                .description("STOMP channel tasks rejected because their stripe queue was full")
+                .tag("channel", channelName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        int stripe = stripeOf(task);
+        Set<Integer> barrier = barrierStripesOf(task, stripe);
+        if (barrier.isEmpty()) {
+            submit(stripe, task, enqueuedAt);
+            return;
+        }
+
+        // 채팅방 스트라이프마다 표시 작업을 넣고, 모두 실행되면(앞선 작업이 끝나면) 세션 스트라이프로 넘긴다.
+        AtomicInteger remaining = new AtomicInteger(barrier.size());
+        Runnable release = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                submitAfterBarrier(stripe, task, enqueuedAt);
+            }
+        };
+        for (int roomStripe : barrier) {
+            try {
+                stripes[roomStripe].execute(release);
+            } catch (RejectedExecutionException e) {
+                // 채팅방 스트라이프가 가득 찬 경우 기다리지 않는다.
+                release.run();
+            }
+        }
+    }
+
+    private void submit(int stripe, Runnable task, long enqueuedAt) {
+        try {
+            stripes[stripe].execute(() -> {
+                queueLatency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                taskDuration.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TaskRejectedException("STOMP channel stripe is full", e);
+        }
+    }
+
+    // 기다린 뒤의 DISCONNECT 는 거절하면 세션 정리가 빠지므로 세션 스트라이프가 가득 찬 경우 바로 실행한다.
+    private void submitAfterBarrier(int stripe, Runnable task, long enqueuedAt) {
+        try {
+            submit(stripe, task, enqueuedAt);
+        } catch (TaskRejectedException e) {
+            taskDuration.record(task);
+        }
+    }
+
+    private Set<Integer> barrierStripesOf(Runnable task, int stripe) {
+        if (!(task instanceof MessageHandlingRunnable runnable)
+                || !(runnable.getMessage().getHeaders().get(SESSION_CHAT_ROOM_IDS_HEADER)
+                instanceof Collection<?> chatRoomIds)) {
+            return Set.of();
+        }
+        Set<Integer> barrier = new HashSet<>();
+        for (Object chatRoomId : chatRoomIds) {
+            int roomStripe = stripeOfKey(chatRoomId);
+            // 같은 스트라이프라면 이미 앞선 작업 뒤에 줄을 선다.
+            if (roomStripe != stripe) {
+                barrier.add(roomStripe);
+            }
+        }
+        return barrier;
+    }
+
+    public int getQueueDepth() {
+        int depth = 0;
+        for (SerialExecutor stripe : stripes) {
+            depth += stripe.getPendingCount();
+        }
+        return depth;
+    }
+
+    int stripeOf(Runnable task) {
+        return stripeOfKey(keyOf(task));
+    }
+
+    private int stripeOfKey(Object key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), stripes.length);
+    }
+
+    private static Executor limitConcurrency(Executor executor, int maxConcurrency) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        return task -> executor.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    static Object keyOf(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable runnable)) {
+            return null;
+        }
+        Message<?> message = runnable.getMessage();
+        if (message.getHeaders().get(CHAT_ROOM_ID_HEADER) instanceof Long chatRoomId) {
+            return chatRoomId;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null) {
+            Matcher matcher = CHAT_ROOM_DESTINATION.matcher(destination);
+            if (matcher.matches()) {
+                return Long.valueOf(matcher.group(1));
+            }
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+}
@@ -0,0 +1,55 @@
+-- lesson (class_id, lesson_date, start_time) 유니크 키 추가.
+--
+-- getOrCreateLesson 의 INSERT IGNORE 는 uk_lesson_slot 이 있어야 중복 슬롯을 막는다. 이미 중복 행이 있는 DB 에는
+-- ddl-auto: update 가 유니크 키를 만들지 못하므로, 배포 전에 이 스크립트를 한 번 실행해 중복을 합친 뒤 키를 추가한다.
+-- 슬롯마다 삭제되지 않은 행 중 lesson_id 가 가장 작은 행(없으면 가장 작은 행)을 남기고, 나머지를 참조하던
+-- 예약/출석/리뷰/좌석 hold 를 남길 행으로 옮긴 다음 삭제한다. 참여 인원은 삭제되지 않은 행의 합으로 맞춘다.
+-- 예약 처리를 멈춘 상태에서 실행한다.
+
+START TRANSACTION;
+
+CREATE TEMPORARY TABLE lesson_slot_duplicate (
+    lesson_id          BIGINT NOT NULL PRIMARY KEY,
+    keep_lesson_id     BIGINT NOT NULL,
+    participant_number INT    NOT NULL
+);
+
+INSERT INTO lesson_slot_duplicate (lesson_id, keep_lesson_id, participant_number)
+SELECT l.lesson_id, k.keep_lesson_id, CASE WHEN l.deleted_at IS NULL THEN l.participant_number ELSE 0 END
+FROM lesson l
+         JOIN (SELECT class_id, lesson_date, start_time,
+                      COALESCE(MIN(CASE WHEN deleted_at IS NULL THEN lesson_id END), MIN(lesson_id)) AS keep_lesson_id
+               FROM lesson
+               GROUP BY class_id, lesson_date, start_time
+               HAVING COUNT(*) > 1) k
+              ON l.class_id = k.class_id AND l.lesson_date = k.lesson_date AND l.start_time = k.start_time
+WHERE l.lesson_id <> k.keep_lesson_id;
+
+UPDATE lesson k
+    JOIN (SELECT keep_lesson_id, SUM(participant_number) AS participant_number
+          FROM lesson_slot_duplicate
+          GROUP BY keep_lesson_id) merged ON merged.keep_lesson_id = k.lesson_id
+SET k.participant_number = k.participant_number + merged.participant_number,
+    k.version            = k.version + 1,
+    k.updated_at         = NOW();
+
+UPDATE reservation r JOIN lesson_slot_duplicate d ON r.lesson_id = d.lesson_id
+SET r.lesson_id = d.keep_lesson_id;
+
+UPDATE attendance a JOIN lesson_slot_duplicate d ON a.lesson_id = d.lesson_id
+SET a.lesson_id = d.keep_lesson_id;
+
+UPDATE review v JOIN lesson_slot_duplicate d ON v.lesson_id = d.lesson_id
+SET v.lesson_id = d.keep_lesson_id;
+
+UPDATE seat_hold h JOIN lesson_slot_duplicate d ON h.lesson_id = d.lesson_id
+SET h.lesson_id = d.keep_lesson_id;
+
+DELETE l FROM lesson l JOIN lesson_slot_duplicate d ON l.lesson_id = d.lesson_id;
+
+DROP TEMPORARY TABLE lesson_slot_duplicate;
+
+COMMIT;
+
+-- DDL 은 암묵적으로 커밋되므로 트랜잭션 밖에서 실행한다. ddl-auto 가 이미 만들었다면 건너뛴다.
+ALTER TABLE lesson ADD CONSTRAINT uk_lesson_slot UNIQUE (class_id, lesson_date, start_time);
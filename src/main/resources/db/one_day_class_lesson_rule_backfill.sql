@@ -0,0 +1,22 @@
+-- 반복 규칙(one_day_class_lesson_rule) backfill.
+--
+-- 반복 규칙을 저장하기 전에 등록된 클래스는 등록 시점에 요일/시간마다 lesson 행을 미리 만들었고 규칙은 없다.
+-- 규칙이 없는 클래스는 저장된 레슨 외의 슬롯이 열리지 않으므로, 배포 후 이 스크립트를 한 번 실행해
+-- 기존 lesson 의 (요일, 시작 시간) 조합을 규칙으로 옮긴다. 규칙이 이미 있는 클래스는 건드리지 않으므로
+-- 여러 번 실행해도 된다. 이후 규칙 변경은 PUT /api/tutors/class/{classId}/lesson-rules 로 한다.
+-- 삭제 표시된 lesson 은 강사가 지운 슬롯이므로 규칙에서 제외하되 행은 그대로 남아 해당 날짜를 계속 막는다.
+
+START TRANSACTION;
+
+INSERT INTO one_day_class_lesson_rule (class_id, day_of_week, start_time)
+SELECT DISTINCT l.class_id,
+                ELT(WEEKDAY(l.lesson_date) + 1,
+                    'MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'),
+                l.start_time
+FROM lesson l
+WHERE l.deleted_at IS NULL
+  AND NOT EXISTS (SELECT 1
+                  FROM one_day_class_lesson_rule r
+                  WHERE r.class_id = l.class_id);
+
+COMMIT;
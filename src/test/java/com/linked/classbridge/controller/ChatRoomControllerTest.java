@@ -1,9 +1,13 @@
 package com.linked.classbridge.controller;
 
 import static com.linked.classbridge.type.ErrorCode.BAD_REQUEST;
+import static com.linked.classbridge.type.ErrorCode.USER_NOT_FOUND;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -26,7 +30,6 @@ import com.linked.classbridge.service.chat.ChatService;
 import com.linked.classbridge.type.ErrorCode;
 import com.linked.classbridge.type.ResponseMessage;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -79,8 +82,8 @@ class ChatRoomControllerTest {
 
         createChatRoomRequest = new Request(1L);
 
-        given(userService.findByEmail(userService.getCurrentUserEmail()))
-                .willReturn(Optional.of(mockUser));
+        given(userService.getCurrentUserReference()).willReturn(mockUser);
+        given(userService.getCurrentUser()).willReturn(mockUser);
     }
 
     @Test
@@ -127,6 +130,25 @@ class ChatRoomControllerTest {
         ;
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("채팅방 생성 실패 - 탈퇴한 사용자일 경우")
+    void createChatRoom_fail_user_not_found() throws Exception {
+        // given
+        given(userService.getCurrentUser()).willThrow(new RestApiException(USER_NOT_FOUND));
+
+        // when & then
+        mockMvc.perform(post("/api/chatRooms")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .with(csrf())
+                        .content(objectMapper.writeValueAsString(createChatRoomRequest))
+                )
+                .andDo(print())
+                .andExpect(status().isNotFound())
+        ;
+        verify(chatService, never()).createChatRoomProcess(any(), any());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("채팅방 참여 성공")
@@ -135,9 +157,9 @@ class ChatRoomControllerTest {
         ChatMessageDto chatMessageDto = new ChatMessageDto("messageId", mockUser.getUserId(), "message", false, null);
         JoinChatRoom.Response response = new JoinChatRoom.Response(1L,
                 mockUser.getUserId(), mockUser.getUserId(), mockTutor.getUserId(),
-                null, null, List.of(chatMessageDto));
+                null, null, List.of(chatMessageDto), false, null);
 
-        given(chatService.enterChatRoomProcess(mockUser, 1L))
+        given(chatService.enterChatRoomProcess(mockUser, 1L, null, 50))
                 .willReturn(response);
 
         // when & then
@@ -160,7 +182,7 @@ class ChatRoomControllerTest {
     @DisplayName("채팅방 참여 실패 - 채팅방이 없는 경우")
     void joinChatRoom_fail_chat_room_not_exist() throws Exception {
         // given
-        given(chatService.enterChatRoomProcess(mockUser, 1L))
+        given(chatService.enterChatRoomProcess(mockUser, 1L, null, 50))
                 .willThrow(new RestApiException(ErrorCode.CHAT_ROOM_NOT_FOUND));
 
         // when & then
@@ -209,7 +231,7 @@ class ChatRoomControllerTest {
                 .userId(user.getUserId())
                 .build();
         getChatRoomsResponse.addChatRoomInfo(chatRoom1, partner, chatRoomUnreadCountInfoDto);
-        given(userService.findByEmail(userService.getCurrentUserEmail())).willReturn(Optional.of(user));
+        given(userService.getCurrentUserReference()).willReturn(user);
         given(chatService.getChatRoomListProcess(user)).willReturn(getChatRoomsResponse);
 
         // when & then
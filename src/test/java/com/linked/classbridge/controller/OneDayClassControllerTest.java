@@ -1,7 +1,10 @@
 package com.linked.classbridge.controller;
 
 import static com.linked.classbridge.type.ErrorCode.CLASS_NOT_FOUND;
+import static com.linked.classbridge.type.ResponseMessage.CLASS_SEARCH_SUCCESS;
+import static com.linked.classbridge.type.ResponseMessage.CLASS_SUGGEST_SUCCESS;
 import static com.linked.classbridge.type.ResponseMessage.REVIEW_GET_SUCCESS;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,12 +13,20 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.linked.classbridge.dto.review.GetReviewResponse;
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.dto.search.ClassSearchDto.ClassSummary;
 import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.service.ClassSearchService;
+import com.linked.classbridge.service.ClassSuggestService;
+import com.linked.classbridge.service.OneDayClassService;
 import com.linked.classbridge.service.ReviewService;
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.ClassSearchSort;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,6 +49,15 @@ class OneDayClassControllerTest {
     @MockBean
     private ReviewService reviewService;
 
+    @MockBean
+    private OneDayClassService oneDayClassService;
+
+    @MockBean
+    private ClassSearchService classSearchService;
+
+    @MockBean
+    private ClassSuggestService classSuggestService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -121,5 +141,64 @@ class OneDayClassControllerTest {
         ;
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("클래스 검색 성공")
+    void searchClasses() throws Exception {
+        // given
+        ClassSummary summary = ClassSummary.builder()
+                .classId(1L)
+                .className("도자기 클래스")
+                .price(30000)
+                .category(CategoryType.COOKING)
+                .distance(1.2)
+                .build();
+        given(classSearchService.search(argThat(request ->
+                request.getSort() == ClassSearchSort.DISTANCE && request.getLat() == 37.5 && request.getSize() == 10)))
+                .willReturn(ClassSearchDto.Response.builder()
+                        .classes(List.of(summary))
+                        .categoryFacets(Map.of("COOKING", 1L))
+                        .tagFacets(Map.of())
+                        .hasNext(true)
+                        .nextCursor("cursor")
+                        .build());
 
-}
\ No newline at end of file
+        // when & then
+        mockMvc.perform(get("/api/class/search")
+                        .with(csrf())
+                        .param("lat", "37.5")
+                        .param("lng", "127.0")
+                        .param("sort", "DISTANCE")
+                        .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(CLASS_SEARCH_SUCCESS.getMessage()))
+                .andExpect(jsonPath("$.data.classes[0].classId").value(1L))
+                .andExpect(jsonPath("$.data.categoryFacets.COOKING").value(1))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("cursor"))
+        ;
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("클래스 자동완성 성공")
+    void suggestClasses() throws Exception {
+        // given
+        given(classSuggestService.suggest("도자", 5)).willReturn(List.of("도자기 클래스", "도자기"));
+
+        // when & then
+        mockMvc.perform(get("/api/class/suggest")
+                        .with(csrf())
+                        .param("prefix", "도자")
+                        .param("size", "5")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(CLASS_SUGGEST_SUCCESS.getMessage()))
+                .andExpect(jsonPath("$.data[0]").value("도자기 클래스"))
+                .andExpect(jsonPath("$.data[1]").value("도자기"))
+        ;
+    }
+}
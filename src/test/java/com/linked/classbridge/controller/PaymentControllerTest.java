@@ -0,0 +1,158 @@
+package com.linked.classbridge.controller;
+
+import static com.linked.classbridge.type.ErrorCode.MISMATCH_USER_RESERVATION;
+import static com.linked.classbridge.type.ErrorCode.PAY_CANCEL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.linked.classbridge.config.PayProperties;
+import com.linked.classbridge.domain.Payment;
+import com.linked.classbridge.domain.SeatHold;
+import com.linked.classbridge.dto.payment.Amount;
+import com.linked.classbridge.dto.payment.PaymentApproveDto;
+import com.linked.classbridge.repository.PaymentRepository;
+import com.linked.classbridge.repository.ReservationRepository;
+import com.linked.classbridge.service.KakaoPayClient;
+import com.linked.classbridge.service.KakaoPaymentService;
+import com.linked.classbridge.service.SeatAdmission;
+import com.linked.classbridge.service.SeatInventoryService;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(PaymentController.class)
+@Import(KakaoPaymentService.class)
+@TestPropertySource(properties = "spring.config.location=classpath:application-test.yml")
+class PaymentControllerTest {
+
+    @MockBean
+    private PayProperties payProperties;
+
+    @MockBean
+    private KakaoPayClient kakaoPayClient;
+
+    @MockBean
+    private PaymentRepository paymentRepository;
+
+    @MockBean
+    private ReservationRepository reservationRepository;
+
+    @MockBean
+    private SeatAdmission seatAdmission;
+
+    @MockBean
+    private SeatInventoryService seatInventoryService;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // 10번 예약은 user-a@mail.com 의 예약
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "user-a@mail.com")).willReturn(true);
+    }
+
+    @Test
+    @DisplayName("결제 승인은 hold 에 남긴 tid 로 요청하고 예약을 확정한다")
+    @WithMockUser(username = "user-a@mail.com")
+    void complete_approves_with_pending_payment() throws Exception {
+        given(seatInventoryService.getPendingPaymentOfReservation(10L)).willReturn(SeatHold.builder()
+                .reservationId(10L)
+                .tid("test_tid")
+                .partnerOrderId("order_10")
+                .build());
+        given(kakaoPayClient.approve(any())).willAnswer(invocation -> {
+            PaymentApproveDto.Response response = new PaymentApproveDto.Response();
+            response.setTid(invocation.<Map<String, String>>getArgument(0).get("tid"));
+            response.setAmount(new Amount());
+            return Mono.just(response);
+        });
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setPaymentId(7L);
+            return payment;
+        });
+
+        mockMvc.perform(get("/api/payments/complete").param("reservation_id", "10").param("pg_token", "pg_token"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.paymentId").value(7));
+
+        verify(kakaoPayClient).approve(argThat(parameters -> "test_tid".equals(parameters.get("tid"))
+                && "order_10".equals(parameters.get("partner_order_id"))
+                && "user-a@mail.com".equals(parameters.get("partner_user_id"))));
+        verify(seatInventoryService).confirm(eq(10L), any(Payment.class));
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 예약은 결제 승인하지 않는다")
+    @WithMockUser(username = "user-b@mail.com")
+    void complete_fail_other_users_reservation() throws Exception {
+        mockMvc.perform(get("/api/payments/complete").param("reservation_id", "10").param("pg_token", "pg_token"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(MISMATCH_USER_RESERVATION.name()));
+
+        verify(kakaoPayClient, never()).approve(any());
+        verify(seatInventoryService, never()).confirm(any(), any());
+    }
+
+    @Test
+    @DisplayName("결제 취소 시 본인 예약의 좌석을 돌려준다")
+    @WithMockUser(username = "user-a@mail.com")
+    void cancel_releases_own_hold() throws Exception {
+        mockMvc.perform(get("/api/payments/cancel").param("reservation_id", "10"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(PAY_CANCEL.name()));
+
+        verify(seatInventoryService).releaseHold(10L);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 결제 취소로는 좌석을 돌려주지 않는다")
+    @WithMockUser(username = "user-b@mail.com")
+    void cancel_fail_other_users_reservation() throws Exception {
+        mockMvc.perform(get("/api/payments/cancel").param("reservation_id", "10"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(MISMATCH_USER_RESERVATION.name()));
+
+        verify(seatInventoryService, never()).releaseHold(anyLong());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 결제 실패 요청으로는 좌석을 돌려주지 않는다")
+    @WithMockUser(username = "user-b@mail.com")
+    void fail_fail_other_users_reservation() throws Exception {
+        mockMvc.perform(get("/api/payments/fail").param("reservation_id", "10"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(MISMATCH_USER_RESERVATION.name()));
+
+        verify(seatInventoryService, never()).releaseHold(anyLong());
+    }
+}
@@ -0,0 +1,149 @@
+package com.linked.classbridge.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.linked.classbridge.config.SecurityConfig;
+import com.linked.classbridge.dto.payment.CreatePaymentResponse;
+import com.linked.classbridge.dto.payment.PaymentPrepareDto;
+import com.linked.classbridge.dto.refund.PaymentRefundDto;
+import com.linked.classbridge.dto.user.JwtClaims;
+import com.linked.classbridge.oauth2.CustomSuccessHandler;
+import com.linked.classbridge.service.CustomOAuth2UserService;
+import com.linked.classbridge.service.JWTService;
+import com.linked.classbridge.service.KakaoPaymentService;
+import com.linked.classbridge.service.KakaoRefundService;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mono 응답은 ASYNC 디스패치로 한 번 더 필터 체인을 지난다. JWTFilter 는 ASYNC 디스패치에서 돌지 않으므로 실제
+ * SecurityConfig 로 access 토큰 요청을 보내 응답이 인가 실패 없이 쓰이는지 확인한다.
+ */
+@WebMvcTest(ReactivePaymentController.class)
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = "spring.config.location=classpath:application-test.yml")
+class ReactivePaymentControllerTest {
+
+    private static final String ACCESS_TOKEN = "access-token";
+
+    @MockBean
+    private KakaoPaymentService paymentService;
+
+    @MockBean
+    private KakaoRefundService refundService;
+
+    @MockBean
+    private JWTService jwtService;
+
+    @MockBean
+    private CustomOAuth2UserService customOAuth2UserService;
+
+    @MockBean
+    private CustomSuccessHandler customSuccessHandler;
+
+    @MockBean
+    private ClientRegistrationRepository clientRegistrationRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        given(jwtService.parse(ACCESS_TOKEN)).willReturn(new JwtClaims("access", "user@mail.com", 1L,
+                List.of("ROLE_USER"), new Date(System.currentTimeMillis() + 60_000)));
+    }
+
+    @Test
+    @DisplayName("결제 요청 응답을 ASYNC 디스패치에서 쓴다")
+    void initiatePayment_async_dispatch() throws Exception {
+        PaymentPrepareDto.Response response = new PaymentPrepareDto.Response();
+        response.setTid("test_tid");
+        given(paymentService.initiatePaymentReactive(any(PaymentPrepareDto.Request.class), eq("user@mail.com")))
+                .willReturn(Mono.just(response));
+
+        MvcResult result = mockMvc.perform(post("/api/reactive/payments/prepare")
+                        .header("access", ACCESS_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reservation_id\":10,\"item_name\":\"도자기 클래스\",\"quantity\":1,"
+                                + "\"total_amount\":1000}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.tid").value("test_tid"))
+                .andExpect(jsonPath("$.data.reservationId").value(10));
+    }
+
+    @Test
+    @DisplayName("결제 승인 응답을 ASYNC 디스패치에서 쓴다")
+    void approvePayment_async_dispatch() throws Exception {
+        given(paymentService.approvePaymentReactive(any(PaymentPrepareDto.Response.class), eq("user@mail.com")))
+                .willReturn(Mono.just(new CreatePaymentResponse(7L)));
+
+        MvcResult result = mockMvc.perform(post("/api/reactive/payments/approve")
+                        .header("access", ACCESS_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tid\":\"test_tid\",\"pgToken\":\"pg_token\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.paymentId").value(7));
+    }
+
+    @Test
+    @DisplayName("환불 응답을 ASYNC 디스패치에서 쓴다")
+    void processRefund_async_dispatch() throws Exception {
+        PaymentRefundDto.Response response = new PaymentRefundDto.Response();
+        response.setTid("test_tid");
+        given(refundService.refundPaymentReactive(any(PaymentRefundDto.Requset.class)))
+                .willReturn(Mono.just(response));
+
+        MvcResult result = mockMvc.perform(post("/api/reactive/refunds")
+                        .header("access", ACCESS_TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"paymentId\":7,\"reservationId\":10,\"cancelAmount\":1000}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.tid").value("test_tid"));
+    }
+
+    @Test
+    @DisplayName("access 토큰 없는 요청은 비동기 처리를 시작하지 않는다")
+    void approvePayment_fail_without_token() throws Exception {
+        mockMvc.perform(post("/api/reactive/payments/approve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tid\":\"test_tid\",\"pgToken\":\"pg_token\"}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnauthorized());
+    }
+}
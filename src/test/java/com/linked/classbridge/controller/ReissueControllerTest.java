@@ -4,9 +4,11 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.linked.classbridge.dto.user.JwtClaims;
 import com.linked.classbridge.service.JWTService;
 import jakarta.servlet.http.Cookie;
 import java.util.Arrays;
+import java.util.Date;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -29,12 +31,11 @@ public class ReissueControllerTest {
     @Test
     public void reissue_success() throws Exception {
 
-        when(jwtService.isExpired("validRefreshToken")).thenReturn(false);
-        when(jwtService.getTokenType("validRefreshToken")).thenReturn("refresh");
-        when(jwtService.getEmail("validRefreshToken")).thenReturn("test@example.com");
-        when(jwtService.getRoles("validRefreshToken")).thenReturn(Arrays.asList("ROLE_USER"));
-        when(jwtService.createJwt("access", "test@example.com", Arrays.asList("ROLE_USER"), 600000L)).thenReturn("newAccessToken");
-        when(jwtService.createJwt("refresh", "test@example.com", Arrays.asList("ROLE_USER"), 86400000L)).thenReturn("newRefreshToken");
+        when(jwtService.parse("validRefreshToken")).thenReturn(new JwtClaims(
+                "refresh", "test@example.com", 1L, Arrays.asList("ROLE_USER"),
+                new Date(System.currentTimeMillis() + 60000L)));
+        when(jwtService.createJwt("access", "test@example.com", 1L, Arrays.asList("ROLE_USER"), 600000L)).thenReturn("newAccessToken");
+        when(jwtService.createJwt("refresh", "test@example.com", 1L, Arrays.asList("ROLE_USER"), 86400000L)).thenReturn("newRefreshToken");
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/users/auth/reissue")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -57,7 +58,9 @@ public class ReissueControllerTest {
     @Test
     public void reissue_fail_expired_refresh_token() throws Exception {
         // refresh 토큰이 만료된 경우
-        when(jwtService.isExpired("expiredRefreshToken")).thenReturn(true);
+        when(jwtService.parse("expiredRefreshToken")).thenReturn(new JwtClaims(
+                "refresh", "test@example.com", 1L, Arrays.asList("ROLE_USER"),
+                new Date(System.currentTimeMillis() - 60000L)));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/users/auth/reissue")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -69,9 +72,10 @@ public class ReissueControllerTest {
     @Test
     public void reissue_fail_invalid_refresh_token() throws Exception {
 
-        when(jwtService.isExpired("invalidRefreshToken")).thenReturn(false);
         // refresh 토큰이 아닌 access 토큰이 있는 경우
-        when(jwtService.getTokenType("invalidRefreshToken")).thenReturn("access");
+        when(jwtService.parse("invalidRefreshToken")).thenReturn(new JwtClaims(
+                "access", "test@example.com", 1L, Arrays.asList("ROLE_USER"),
+                new Date(System.currentTimeMillis() + 60000L)));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/users/auth/reissue")
                         .contentType(MediaType.APPLICATION_JSON)
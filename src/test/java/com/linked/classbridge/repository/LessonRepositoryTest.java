@@ -0,0 +1,99 @@
+package com.linked.classbridge.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.OneDayClass;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lesson;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LessonRepositoryTest {
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private OneDayClass oneDayClass;
+
+    @BeforeEach
+    void setUp() {
+        oneDayClass = entityManager.persist(OneDayClass.builder()
+                .className("도자기 클래스")
+                .address1("서울특별시")
+                .address2("마포구")
+                .address3("와우산로 1")
+                .duration(60)
+                .price(30000)
+                .personal(5)
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .introduction("도자기를 직접 빚어보는 클래스입니다.")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .build());
+    }
+
+    @Test
+    void updateEndTimeOfLessonsFrom() {
+        // given
+        Lesson past = persistLesson(LocalDate.now().minusDays(1));
+        Lesson future = persistLesson(LocalDate.now().plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        int updated = lessonRepository.updateEndTimeOfLessonsFrom(oneDayClass.getClassId(), LocalDate.now(), 90);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        Lesson updatedFuture = lessonRepository.findById(future.getLessonId()).orElseThrow();
+        assertThat(updatedFuture.getEndTime()).isEqualTo(LocalTime.of(11, 30));
+        assertThat(updatedFuture.getVersion()).isEqualTo(future.getVersion() + 1);
+
+        Lesson untouchedPast = lessonRepository.findById(past.getLessonId()).orElseThrow();
+        assertThat(untouchedPast.getEndTime()).isEqualTo(LocalTime.of(11, 0));
+        assertThat(untouchedPast.getVersion()).isEqualTo(past.getVersion());
+    }
+
+    @Test
+    void updateEndTimeOfLessonsFrom_conflicts_with_concurrent_reservation() {
+        // given: 예약 요청이 레슨을 먼저 읽어 둔 상태
+        Lesson lesson = persistLesson(LocalDate.now().plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+        Lesson reserving = lessonRepository.findById(lesson.getLessonId()).orElseThrow();
+
+        // when: 그 사이 소요 시간 변경으로 벌크 UPDATE 가 실행됨
+        lessonRepository.updateEndTimeOfLessonsFrom(oneDayClass.getClassId(), LocalDate.now(), 90);
+        reserving.setParticipantNumber(reserving.getParticipantNumber() + 1);
+
+        // then: 예약 쪽 저장이 낙관적 락 충돌로 감지된다.
+        assertThrows(OptimisticLockingFailureException.class, () -> lessonRepository.saveAndFlush(reserving));
+    }
+
+    private Lesson persistLesson(LocalDate lessonDate) {
+        return entityManager.persist(Lesson.builder()
+                .lessonDate(lessonDate)
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .participantNumber(0)
+                .oneDayClass(oneDayClass)
+                .build());
+    }
+}
@@ -0,0 +1,83 @@
+package com.linked.classbridge.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.domain.document.OneDayClassDocumentPatch;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+
+@ExtendWith(MockitoExtension.class)
+class OneDayClassDocumentRepositoryImplTest {
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @InjectMocks
+    private OneDayClassDocumentRepositoryImpl documentRepository;
+
+    @Test
+    void toUpdateQuery_sets_only_given_fields() {
+        // given
+        OneDayClassDocumentPatch patch = new OneDayClassDocumentPatch(1L, null, 3, null, null);
+
+        // when
+        UpdateQuery query = documentRepository.toUpdateQuery(patch);
+
+        // then
+        assertThat(query.getId()).isEqualTo("1");
+        assertThat(query.getLang()).isEqualTo("painless");
+        assertThat(query.getScript()).isEqualTo("ctx._source.totalWish = params.totalWish;"
+                + "if (ctx._source.suggest != null) { ctx._source.suggest.weight = params.totalWish; }");
+        assertThat(query.getParams()).containsOnlyKeys("totalWish").containsEntry("totalWish", 3);
+    }
+
+    @Test
+    void toUpdateQuery_with_counters_and_tags() {
+        // given
+        OneDayClassDocumentPatch patch = new OneDayClassDocumentPatch(1L, 4.5, 7, List.of("도자기"),
+                List.of("도자기 클래스", "도자기"));
+
+        // when
+        UpdateQuery query = documentRepository.toUpdateQuery(patch);
+
+        // then
+        assertThat(query.getScript()).contains("ctx._source.starRate = params.starRate;",
+                "ctx._source.totalWish = params.totalWish;", "ctx._source.tagList = params.tagList;",
+                "ctx._source.suggest = ['input': params.suggestInput, 'weight': ctx._source.totalWish];");
+        assertThat(query.getParams()).containsEntry("starRate", 4.5)
+                .containsEntry("tagList", List.of("도자기"))
+                .containsEntry("suggestInput", List.of("도자기 클래스", "도자기"));
+    }
+
+    @Test
+    void bulkPatch_sends_one_bulk_request() {
+        // given
+        List<OneDayClassDocumentPatch> patches = List.of(
+                new OneDayClassDocumentPatch(1L, null, 3, null, null),
+                new OneDayClassDocumentPatch(2L, 4.0, null, null, null));
+
+        // when
+        documentRepository.bulkPatch(patches);
+
+        // then
+        verify(operations).bulkUpdate(anyList(), eq(OneDayClassDocument.class));
+    }
+
+    @Test
+    void bulkPatch_empty() {
+        documentRepository.bulkPatch(List.of());
+
+        verify(operations, never()).bulkUpdate(anyList(), eq(OneDayClassDocument.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.dto.search.ClassReindexStatus;
+import com.linked.classbridge.type.ReindexStatus;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+class ClassIndexMigrationRunnerTest {
+
+    @Mock
+    private ClassReindexService classReindexService;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @InjectMocks
+    private ClassIndexMigrationRunner migrationRunner;
+
+    @Test
+    void migrate_skips_up_to_date_mapping() {
+        // given
+        given(classReindexService.isMappingUpToDate()).willReturn(true);
+
+        // when
+        int exitCode = migrationRunner.migrate(false);
+
+        // then
+        assertThat(exitCode).isZero();
+        verify(classReindexService, never()).runNow();
+    }
+
+    @Test
+    void migrate_reindexes_outdated_mapping() {
+        // given
+        given(classReindexService.isMappingUpToDate()).willReturn(false);
+        given(classReindexService.runNow()).willReturn(status(ReindexStatus.COMPLETED));
+
+        // when
+        int exitCode = migrationRunner.migrate(false);
+
+        // then
+        assertThat(exitCode).isZero();
+    }
+
+    @Test
+    void migrate_force_fails_when_reindex_fails() {
+        // given
+        given(classReindexService.runNow()).willReturn(status(ReindexStatus.FAILED));
+
+        // when
+        int exitCode = migrationRunner.migrate(true);
+
+        // then
+        assertThat(exitCode).isEqualTo(1);
+        verify(classReindexService, never()).isMappingUpToDate();
+    }
+
+    private ClassReindexStatus status(ReindexStatus status) {
+        return new ClassReindexStatus(1L, "onedayclass_20240701000000", status, 10L, 10, 0,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+}
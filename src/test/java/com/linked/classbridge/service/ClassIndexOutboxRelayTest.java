@@ -0,0 +1,296 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.Category;
+import com.linked.classbridge.domain.ClassIndexOutbox;
+import com.linked.classbridge.domain.ClassTag;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.domain.document.OneDayClassDocumentPatch;
+import com.linked.classbridge.repository.ClassImageRepository;
+import com.linked.classbridge.repository.ClassIndexOutboxRepository;
+import com.linked.classbridge.repository.ClassTagRepository;
+import com.linked.classbridge.repository.OneDayClassDocumentRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.service.ClassSearchCache.ClassChange;
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.IndexOperation;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClassIndexOutboxRelayTest {
+
+    @Mock
+    private ClassIndexOutboxRepository outboxRepository;
+
+    @Mock
+    private OneDayClassRepository classRepository;
+
+    @Mock
+    private ClassTagRepository classTagRepository;
+
+    @Mock
+    private ClassImageRepository classImageRepository;
+
+    @Mock
+    private OneDayClassDocumentRepository documentRepository;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private ElasticsearchConverter converter;
+
+    @Mock
+    private RestHighLevelClient client;
+
+    @Mock
+    private ClassSearchCache classSearchCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ClassIndexOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ClassIndexOutboxRelay(outboxRepository, classRepository,
+                new ClassDocumentLoader(classTagRepository, classImageRepository), documentRepository, operations,
+                client, classSearchCache, transactionManager,
+                500, 1000, 60000, 60000);
+    }
+
+    @Test
+    void relayBatch_coalesces_requests_per_class() throws IOException {
+        // given
+        List<ClassIndexOutbox> batch = List.of(
+                outbox(1L, 1L, IndexOperation.UPSERT),
+                outbox(2L, 2L, IndexOperation.UPSERT),
+                outbox(3L, 1L, IndexOperation.UPSERT),
+                outbox(4L, 2L, IndexOperation.DELETE));
+        given(outboxRepository.findDueForUpdateSkipLocked(any(LocalDateTime.class), eq(500)))
+                .willReturn(batch);
+        given(classRepository.findAllById(List.of(1L))).willReturn(List.of(oneDayClass(1L)));
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class)).willReturn(IndexCoordinates.of("onedayclass"));
+        given(operations.getElasticsearchConverter()).willReturn(converter);
+        given(converter.mapObject(any())).willReturn(Document.create());
+
+        BulkResponse response = mock(BulkResponse.class);
+        given(response.getItems()).willReturn(new BulkItemResponse[0]);
+        given(client.bulk(any(BulkRequest.class), any(RequestOptions.class))).willReturn(response);
+
+        // when
+        int relayed = relay.relayBatch();
+
+        // then
+        assertThat(relayed).isEqualTo(4);
+
+        ArgumentCaptor<BulkRequest> captor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(captor.capture(), any(RequestOptions.class));
+        List<DocWriteRequest<?>> requests = captor.getValue().requests();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0)).isInstanceOf(IndexRequest.class);
+        assertThat(requests.get(0).id()).isEqualTo("1");
+        assertThat(requests.get(1)).isInstanceOf(DeleteRequest.class);
+        assertThat(requests.get(1).id()).isEqualTo("2");
+
+        verify(outboxRepository).deleteAllInBatch(batch);
+        verify(outboxRepository, never()).saveAll(anyList());
+        verify(classSearchCache).invalidate(List.of(
+                ClassChange.upserted(1L, CategoryType.COOKING),
+                ClassChange.removed(2L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_sends_partial_update_for_counters_and_tags() throws IOException {
+        // given
+        List<ClassIndexOutbox> batch = List.of(
+                outbox(1L, 1L, IndexOperation.COUNTERS),
+                outbox(2L, 1L, IndexOperation.TAGS),
+                outbox(3L, 1L, IndexOperation.COUNTERS));
+        given(outboxRepository.findDueForUpdateSkipLocked(any(LocalDateTime.class), eq(500)))
+                .willReturn(batch);
+        OneDayClass oneDayClass = oneDayClass(1L);
+        oneDayClass.setTotalWish(7);
+        oneDayClass.setTotalStarRate(9.0);
+        oneDayClass.setTotalReviews(2);
+        given(classRepository.findAllById(List.of(1L))).willReturn(List.of(oneDayClass));
+        given(classTagRepository.findAllByOneDayClassClassIdIn(List.of(1L)))
+                .willReturn(List.of(ClassTag.builder().name("도자기").oneDayClass(oneDayClass).build()));
+
+        // when
+        relay.relayBatch();
+
+        // then
+        ArgumentCaptor<List<OneDayClassDocumentPatch>> captor = ArgumentCaptor.forClass(List.class);
+        verify(documentRepository).bulkPatch(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                new OneDayClassDocumentPatch(1L, 4.5, 7, List.of("도자기"), List.of("클래스", "도자기")));
+        verify(client, never()).bulk(any(BulkRequest.class), any(RequestOptions.class));
+        verify(outboxRepository).deleteAllInBatch(batch);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_backs_off_when_bulk_request_fails() throws IOException {
+        // given
+        List<ClassIndexOutbox> batch = List.of(outbox(1L, 2L, IndexOperation.DELETE));
+        given(outboxRepository.findDueForUpdateSkipLocked(any(LocalDateTime.class), eq(500)))
+                .willReturn(batch);
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class)).willReturn(IndexCoordinates.of("onedayclass"));
+        given(client.bulk(any(BulkRequest.class), any(RequestOptions.class))).willThrow(new IOException("timeout"));
+        LocalDateTime before = LocalDateTime.now();
+
+        // when
+        relay.relayBatch();
+
+        // then
+        ArgumentCaptor<List<ClassIndexOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        ClassIndexOutbox retried = captor.getValue().get(0);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+        verify(outboxRepository, never()).deleteAllInBatch(anyList());
+        verify(classSearchCache).invalidate(List.of());
+    }
+
+    @Test
+    void relayBatch_leases_claimed_requests_while_relaying() throws IOException {
+        // given
+        ClassIndexOutbox outbox = outbox(1L, 2L, IndexOperation.DELETE);
+        given(outboxRepository.findDueForUpdateSkipLocked(any(LocalDateTime.class), eq(500)))
+                .willReturn(List.of(outbox));
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class)).willReturn(IndexCoordinates.of("onedayclass"));
+        LocalDateTime before = LocalDateTime.now();
+        List<LocalDateTime> nextAttemptAtWhileSending = new ArrayList<>();
+        willAnswer(invocation -> {
+            nextAttemptAtWhileSending.add(outbox.getNextAttemptAt());
+            BulkResponse response = mock(BulkResponse.class);
+            given(response.getItems()).willReturn(new BulkItemResponse[0]);
+            return response;
+        }).given(client).bulk(any(BulkRequest.class), any(RequestOptions.class));
+
+        // when
+        relay.relayBatch();
+
+        // then: 보내는 동안에는 lease 만큼 미뤄져 있어 다른 서버가 가져가지 않는다.
+        assertThat(nextAttemptAtWhileSending.get(0)).isAfterOrEqualTo(before.plusSeconds(60));
+        verify(outboxRepository).deleteAllInBatch(List.of(outbox));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_backs_off_only_class_whose_document_fails() throws IOException {
+        // given: 2번 클래스는 카테고리가 없어 문서를 만들 수 없다.
+        ClassIndexOutbox first = outbox(1L, 1L, IndexOperation.UPSERT);
+        ClassIndexOutbox second = outbox(2L, 2L, IndexOperation.UPSERT);
+        given(outboxRepository.findDueForUpdateSkipLocked(any(LocalDateTime.class), eq(500)))
+                .willReturn(List.of(first, second));
+        OneDayClass broken = oneDayClass(2L);
+        broken.setCategory(null);
+        given(classRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(oneDayClass(1L), broken));
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class)).willReturn(IndexCoordinates.of("onedayclass"));
+        given(operations.getElasticsearchConverter()).willReturn(converter);
+        given(converter.mapObject(any())).willReturn(Document.create());
+        BulkResponse response = mock(BulkResponse.class);
+        given(response.getItems()).willReturn(new BulkItemResponse[0]);
+        given(client.bulk(any(BulkRequest.class), any(RequestOptions.class))).willReturn(response);
+
+        // when
+        relay.relayBatch();
+
+        // then
+        ArgumentCaptor<BulkRequest> bulkCaptor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client).bulk(bulkCaptor.capture(), any(RequestOptions.class));
+        assertThat(bulkCaptor.getValue().requests()).extracting(DocWriteRequest::id).containsExactly("1");
+        verify(outboxRepository).deleteAllInBatch(List.of(first));
+        ArgumentCaptor<List<ClassIndexOutbox>> retryCaptor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(retryCaptor.capture());
+        assertThat(retryCaptor.getValue()).containsExactly(second);
+        assertThat(second.getAttempts()).isEqualTo(1);
+        verify(classSearchCache).invalidate(List.of(ClassChange.upserted(1L, CategoryType.COOKING)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_backs_off_all_when_classes_cannot_be_loaded() throws IOException {
+        // given
+        List<ClassIndexOutbox> batch = List.of(outbox(1L, 1L, IndexOperation.UPSERT),
+                outbox(2L, 2L, IndexOperation.COUNTERS));
+        given(outboxRepository.findDueForUpdateSkipLocked(any(LocalDateTime.class), eq(500))).willReturn(batch);
+        given(classRepository.findAllById(anyList())).willThrow(new IllegalStateException("db unavailable"));
+
+        // when
+        int relayed = relay.relayBatch();
+
+        // then: 예외로 멈추지 않고 모든 요청을 미룬다.
+        assertThat(relayed).isEqualTo(2);
+        verify(client, never()).bulk(any(BulkRequest.class), any(RequestOptions.class));
+        ArgumentCaptor<List<ClassIndexOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactlyElementsOf(batch);
+        assertThat(batch).allMatch(outbox -> outbox.getAttempts() == 1);
+    }
+
+    @Test
+    void backoffMs_doubles_until_max() {
+        assertThat(relay.backoffMs(1)).isEqualTo(1000);
+        assertThat(relay.backoffMs(2)).isEqualTo(2000);
+        assertThat(relay.backoffMs(4)).isEqualTo(8000);
+        assertThat(relay.backoffMs(10)).isEqualTo(60000);
+    }
+
+    private ClassIndexOutbox outbox(Long outboxId, Long classId, IndexOperation operation) {
+        ClassIndexOutbox outbox = ClassIndexOutbox.of(classId, operation);
+        outbox.setOutboxId(outboxId);
+        return outbox;
+    }
+
+    private OneDayClass oneDayClass(Long classId) {
+        return OneDayClass.builder()
+                .classId(classId)
+                .className("클래스")
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .category(Category.builder().name(CategoryType.COOKING).build())
+                .tagList(new ArrayList<>())
+                .imageList(new ArrayList<>())
+                .build();
+    }
+}
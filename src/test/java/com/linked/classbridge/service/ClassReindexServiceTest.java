@@ -0,0 +1,229 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.Category;
+import com.linked.classbridge.domain.ClassImage;
+import com.linked.classbridge.domain.ClassReindexJob;
+import com.linked.classbridge.domain.ClassTag;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.repository.ClassImageRepository;
+import com.linked.classbridge.repository.ClassReindexJobRepository;
+import com.linked.classbridge.repository.ClassTagRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.ReindexStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClassReindexServiceTest {
+
+    @Mock
+    private OneDayClassRepository classRepository;
+
+    @Mock
+    private ClassTagRepository classTagRepository;
+
+    @Mock
+    private ClassImageRepository classImageRepository;
+
+    @Mock
+    private ClassReindexJobRepository jobRepository;
+
+    @Mock
+    private ClassIndexOutboxService classIndexOutboxService;
+
+    @Mock
+    private ClassSearchCache classSearchCache;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ClassReindexService classReindexService;
+
+    private ClassReindexJob job;
+
+    @BeforeEach
+    void setUp() {
+        classReindexService = new ClassReindexService(classRepository, classTagRepository,
+                new ClassDocumentLoader(classTagRepository, classImageRepository), jobRepository, classIndexOutboxService, classSearchCache, operations, transactionManager,
+                new SimpleMeterRegistry(), 2, 1);
+        job = ClassReindexJob.start("onedayclass_20240701000000");
+        job.setJobId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        classReindexService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_bulk_loads_pages_and_swaps_alias() {
+        // given
+        OneDayClass first = oneDayClass(1L);
+        given(classRepository.findAllByClassIdGreaterThanOrderByClassIdAsc(0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(first, oneDayClass(2L)));
+        given(classRepository.findAllByClassIdGreaterThanOrderByClassIdAsc(2L, PageRequest.of(0, 2)))
+                .willReturn(List.of(oneDayClass(3L)));
+        given(classRepository.findAllByClassIdGreaterThanOrderByClassIdAsc(3L, PageRequest.of(0, 2)))
+                .willReturn(List.of());
+        given(classTagRepository.findAllByOneDayClassClassIdIn(anyList()))
+                .willReturn(List.of(ClassTag.builder().name("도자기").oneDayClass(first).build()))
+                .willReturn(List.of());
+        given(classImageRepository.findAllByOneDayClassClassIdInAndSequence(anyList(), eq(1)))
+                .willReturn(List.of(ClassImage.builder().url("image-1").sequence(1).oneDayClass(first).build()))
+                .willReturn(List.of());
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class))
+                .willReturn(IndexCoordinates.of("onedayclass"));
+        given(operations.indexOps(any(IndexCoordinates.class))).willReturn(indexOperations);
+        given(indexOperations.exists()).willReturn(true);
+        given(indexOperations.getAliasesForIndex("onedayclass")).willReturn(Map.of("onedayclass", Set.of()));
+        given(classRepository.findClassIdsChangedSince(any(LocalDateTime.class))).willReturn(List.of(2L));
+        given(classTagRepository.findClassIdsChangedSince(any(LocalDateTime.class))).willReturn(List.of());
+
+        // when
+        classReindexService.run(job);
+
+        // then
+        ArgumentCaptor<List<IndexQuery>> queries = ArgumentCaptor.forClass(List.class);
+        verify(operations, times(2)).bulkIndex(queries.capture(), any(IndexCoordinates.class));
+        assertThat(queries.getAllValues().get(0)).hasSize(2);
+        OneDayClassDocument document = (OneDayClassDocument) queries.getAllValues().get(0).get(0).getObject();
+        assertThat(document.getTagList()).containsExactly("도자기");
+        assertThat(document.getImageUrl()).isEqualTo("image-1");
+
+        assertThat(job.getStatus()).isEqualTo(ReindexStatus.COMPLETED);
+        assertThat(job.getLastClassId()).isEqualTo(3L);
+        assertThat(job.getIndexedCount()).isEqualTo(3);
+
+        // alias 없이 만들어진 기존 onedayclass 색인은 alias 전환과 같은 요청에서 삭제된다.
+        ArgumentCaptor<AliasActions> aliasActions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(indexOperations).alias(aliasActions.capture());
+        AliasAction[] actions = aliasActions.getValue().getActions();
+        assertThat(actions).hasSize(2);
+        assertThat(actions[0]).isInstanceOf(AliasAction.RemoveIndex.class);
+        assertThat(actions[1]).isInstanceOf(AliasAction.Add.class);
+        assertThat(actions[1].getParameters().getIndices()).containsExactly("onedayclass_20240701000000");
+        assertThat(actions[1].getParameters().getAliases()).containsExactly("onedayclass");
+
+        verify(classSearchCache).invalidateAll();
+        verify(classIndexOutboxService).upsertAll(Set.of(2L));
+    }
+
+    @Test
+    void run_keeps_last_checkpoint_when_bulk_fails() {
+        // given
+        given(classRepository.findAllByClassIdGreaterThanOrderByClassIdAsc(0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(oneDayClass(1L), oneDayClass(2L)));
+        given(classRepository.findAllByClassIdGreaterThanOrderByClassIdAsc(2L, PageRequest.of(0, 2)))
+                .willReturn(List.of(oneDayClass(3L)));
+        given(operations.bulkIndex(anyList(), any(IndexCoordinates.class)))
+                .willReturn(List.of())
+                .willThrow(new DataAccessResourceFailureException("timeout"));
+
+        // when
+        classReindexService.run(job);
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(ReindexStatus.FAILED);
+        assertThat(job.getLastClassId()).isEqualTo(2L);
+        assertThat(job.getIndexedCount()).isEqualTo(2);
+        verify(indexOperations, never()).alias(any(AliasActions.class));
+        verify(classIndexOutboxService, never()).upsertAll(any());
+    }
+
+    @Test
+    void swapAlias_moves_alias_from_previous_version() {
+        // given
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class))
+                .willReturn(IndexCoordinates.of("onedayclass"));
+        given(operations.indexOps(any(IndexCoordinates.class))).willReturn(indexOperations);
+        given(indexOperations.exists()).willReturn(true);
+        given(indexOperations.getAliasesForIndex("onedayclass"))
+                .willReturn(Map.of("onedayclass_20240601000000", Set.of()));
+
+        // when
+        classReindexService.swapAlias(IndexCoordinates.of("onedayclass_20240701000000"));
+
+        // then
+        ArgumentCaptor<AliasActions> aliasActions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(indexOperations).alias(aliasActions.capture());
+        AliasAction[] actions = aliasActions.getValue().getActions();
+        assertThat(actions).hasSize(2);
+        assertThat(actions[0]).isInstanceOf(AliasAction.Remove.class);
+        assertThat(actions[0].getParameters().getIndices()).containsExactly("onedayclass_20240601000000");
+        assertThat(actions[1]).isInstanceOf(AliasAction.Add.class);
+    }
+
+    @Test
+    void isMappingUpToDate_compares_mapping_meta_version() {
+        // given
+        IndexOperations documentOps = mock(IndexOperations.class);
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class))
+                .willReturn(IndexCoordinates.of("onedayclass"));
+        given(operations.indexOps(OneDayClassDocument.class)).willReturn(documentOps);
+        given(documentOps.createMapping()).willReturn(Document.from(Map.of("_meta", Map.of("version", 2))));
+        given(operations.indexOps(any(IndexCoordinates.class))).willReturn(indexOperations);
+        given(indexOperations.exists()).willReturn(true);
+        given(indexOperations.getAliasesForIndex("onedayclass"))
+                .willReturn(Map.of("onedayclass_20240601000000", Set.of()));
+        given(indexOperations.getMapping())
+                .willReturn(Map.of("_meta", Map.of("version", 1)))
+                .willReturn(Map.of("_meta", Map.of("version", 2)));
+
+        // when & then
+        assertThat(classReindexService.isMappingUpToDate()).isFalse();
+        assertThat(classReindexService.isMappingUpToDate()).isTrue();
+    }
+
+    private OneDayClass oneDayClass(Long classId) {
+        return OneDayClass.builder()
+                .classId(classId)
+                .className("클래스" + classId)
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .category(Category.builder().name(CategoryType.COOKING).build())
+                .build();
+    }
+}
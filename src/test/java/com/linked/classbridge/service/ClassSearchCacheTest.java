@@ -0,0 +1,114 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.dto.search.ClassSearchDto.ClassSummary;
+import com.linked.classbridge.dto.search.ClassSearchKey;
+import com.linked.classbridge.service.ClassSearchCache.ClassChange;
+import com.linked.classbridge.type.CategoryType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClassSearchCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ClassSearchCache classSearchCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        classSearchCache = new ClassSearchCache(meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_loads_once_for_normalized_request() {
+        // given
+        ClassSearchKey first = key(ClassSearchDto.Request.builder()
+                .query("  도자기   클래스 ")
+                .lat(37.56651)
+                .lng(126.97801)
+                .tags(List.of("초보", "주말", "초보"))
+                .build());
+        ClassSearchKey second = key(ClassSearchDto.Request.builder()
+                .query("도자기 클래스")
+                .lat(37.5665)
+                .lng(126.978)
+                .tags(List.of("주말", "초보"))
+                .build());
+
+        // when
+        classSearchCache.get(first, this::load);
+        ClassSearchDto.Response response = classSearchCache.get(second, this::load);
+
+        // then
+        assertThat(first).isEqualTo(second);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(response.getClasses()).hasSize(1);
+        assertThat(meterRegistry.get(ClassSearchCache.HIT_RATIO).gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void invalidate_removes_results_containing_changed_class() {
+        // given
+        ClassSearchKey key = key(ClassSearchDto.Request.builder().category(CategoryType.COOKING).build());
+        classSearchCache.get(key, this::load);
+
+        // when
+        classSearchCache.invalidate(List.of(ClassChange.removed(2L)));
+        classSearchCache.get(key, this::load);
+        classSearchCache.invalidate(List.of(new ClassChange(1L, null, null)));
+        classSearchCache.get(key, this::load);
+
+        // then: 결과에 없는 클래스 변경은 무시하고, 결과에 있는 클래스가 바뀌면 다시 검색한다.
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get(ClassSearchCache.INVALIDATIONS).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_upsert_removes_searches_the_class_may_enter() {
+        // given
+        ClassSearchKey cooking = key(ClassSearchDto.Request.builder().category(CategoryType.COOKING).build());
+        ClassSearchKey all = key(ClassSearchDto.Request.builder().build());
+        ClassSearchKey tagged = key(ClassSearchDto.Request.builder()
+                .category(CategoryType.FITNESS)
+                .tags(List.of("초보"))
+                .build());
+        classSearchCache.get(cooking, this::load);
+        classSearchCache.get(all, this::load);
+        classSearchCache.get(tagged, this::load);
+
+        // when
+        classSearchCache.invalidate(List.of(ClassChange.upserted(9L, CategoryType.COOKING)));
+
+        // then
+        classSearchCache.get(cooking, this::load);
+        classSearchCache.get(all, this::load);
+        classSearchCache.get(tagged, this::load);
+        assertThat(loads.get()).isEqualTo(5);
+
+        // 태그가 추가된 클래스는 그 태그로 검색한 결과에 새로 들어올 수 있다.
+        classSearchCache.invalidate(List.of(new ClassChange(9L, null, List.of("초보"))));
+        classSearchCache.get(tagged, this::load);
+        assertThat(loads.get()).isEqualTo(6);
+    }
+
+    private ClassSearchKey key(ClassSearchDto.Request request) {
+        return ClassSearchKey.of(request, 20);
+    }
+
+    private ClassSearchDto.Response load(ClassSearchKey key) {
+        loads.incrementAndGet();
+        return ClassSearchDto.Response.builder()
+                .classes(List.of(ClassSummary.builder().classId(1L).build()))
+                .hasNext(false)
+                .build();
+    }
+}
@@ -0,0 +1,307 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.ClassSearchSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.opensearch.client.RestClient;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.geo.GeoDistance;
+import org.opensearch.common.unit.DistanceUnit;
+import org.opensearch.data.client.orhlc.OpenSearchRestTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+
+/**
+ * 필터 검색, 위치 검색, search_after 페이지 이동을 여러 스레드로 실행해 지연 시간(p50/p95/p99)과 처리량을 기록한다.
+ * 결과가 조건과 정렬 순서를 지키는지도 함께 확인한다.
+ * <p>
+ * 검색은 OpenSearch 가 실제로 실행해야 의미가 있으므로 SEARCH_LOAD_TEST_URL(예: http://localhost:9200) 이 있을 때만
+ * 실행한다. 인증 없는 analysis-nori 플러그인 설치 클러스터를 사용하고, 테스트용 색인을 만들어 문서를 채운 뒤 끝나면 삭제한다.
+ * 문서 수는 SEARCH_LOAD_TEST_DOCS 로 바꿀 수 있다.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "SEARCH_LOAD_TEST_URL", matches = ".+")
+class ClassSearchLoadTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ITERATIONS = 50;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int DEEP_PAGES = 50;
+
+    // 서울 시청 주변에 문서를 흩어 둔다.
+    private static final double CENTER_LAT = 37.5665;
+
+    private static final double CENTER_LNG = 126.9780;
+
+    private static final List<String> TAGS = List.of("초보", "주말", "커플", "원데이", "소수정예", "야외", "키즈", "재료포함");
+
+    private RestHighLevelClient client;
+
+    private OpenSearchRestTemplate operations;
+
+    private ClassSearchService classSearchService;
+
+    private IndexCoordinates index;
+
+    private int documentCount;
+
+    @BeforeAll
+    void setUp() {
+        client = new RestHighLevelClient(RestClient.builder(HttpHost.create(System.getenv("SEARCH_LOAD_TEST_URL"))));
+        operations = new OpenSearchRestTemplate(client);
+        // 테스트용 색인은 현재 mapping.json 으로 만든다.
+        ClassReindexService classReindexService = mock(ClassReindexService.class);
+        given(classReindexService.isMappingUpToDate()).willReturn(true);
+        classSearchService = new ClassSearchService(operations, new ObjectMapper().findAndRegisterModules(),
+                new ClassSearchCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(1)), classReindexService);
+        classSearchService.refreshMappingVersion();
+        documentCount = Integer.parseInt(System.getenv().getOrDefault("SEARCH_LOAD_TEST_DOCS", "20000"));
+
+        // setting.json, mapping.json 을 그대로 사용한다.
+        index = IndexCoordinates.of("onedayclass_load_" + System.currentTimeMillis());
+        IndexOperations documentOps = operations.indexOps(OneDayClassDocument.class);
+        IndexOperations indexOps = operations.indexOps(index);
+        indexOps.create(documentOps.createSettings(), documentOps.createMapping());
+
+        Random random = new Random(42);
+        List<IndexQuery> queries = new ArrayList<>();
+        for (long classId = 1; classId <= documentCount; classId++) {
+            OneDayClassDocument document = document(classId, random);
+            queries.add(new IndexQueryBuilder().withId(document.getClassId().toString()).withObject(document).build());
+            if (queries.size() == 1000) {
+                operations.bulkIndex(queries, index);
+                queries.clear();
+            }
+        }
+        if (!queries.isEmpty()) {
+            operations.bulkIndex(queries, index);
+        }
+        indexOps.refresh();
+        log.info("Indexed {} class documents into {}", documentCount, index.getIndexName());
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        if (operations != null) {
+            operations.indexOps(index).delete();
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void filtered_search() throws Exception {
+        // given: 가격, 카테고리, 주차, 날짜 조건과 별점순 정렬. 첫 페이지이므로 facet 집계도 함께 계산된다.
+        ClassSearchDto.Request sample = filteredRequest(ThreadLocalRandom.current());
+        for (SearchHit<OneDayClassDocument> hit : search(sample).getSearchHits()) {
+            OneDayClassDocument document = hit.getContent();
+            assertThat(document.getPrice()).isBetween(sample.getMinPrice(), sample.getMaxPrice());
+            assertThat(document.getCategory()).isEqualTo(sample.getCategory());
+            assertThat(document.isHasParking()).isTrue();
+            assertThat(document.getStartDate()).isBeforeOrEqualTo(sample.getDate());
+            assertThat(document.getEndDate()).isAfterOrEqualTo(sample.getDate());
+        }
+
+        // when & then
+        measure("filtered search", () -> search(filteredRequest(ThreadLocalRandom.current())));
+    }
+
+    @Test
+    void geo_distance_search() throws Exception {
+        // given: 반경 5km, 가까운 순 정렬
+        ClassSearchDto.Request sample = geoRequest(ThreadLocalRandom.current());
+        double previous = 0;
+        for (SearchHit<OneDayClassDocument> hit : search(sample).getSearchHits()) {
+            GeoPoint location = hit.getContent().getLocation();
+            double distance = GeoDistance.ARC.calculate(sample.getLat(), sample.getLng(),
+                    location.getLat(), location.getLon(), DistanceUnit.KILOMETERS);
+            assertThat(distance).isLessThanOrEqualTo(sample.getDistance() + 0.01);
+            assertThat(distance).isGreaterThanOrEqualTo(previous - 0.01);
+            previous = distance;
+        }
+
+        // when & then
+        measure("geo distance search", () -> search(geoRequest(ThreadLocalRandom.current())));
+    }
+
+    @Test
+    void search_after_paging() throws Exception {
+        // given: 가격순으로 DEEP_PAGES 페이지를 이어서 읽으면 중복 없이 정렬 순서대로 나온다.
+        Set<Long> seen = new HashSet<>();
+        int previousPrice = Integer.MIN_VALUE;
+        ClassSearchDto.Request request = pagingRequest();
+        for (int page = 0; page < DEEP_PAGES; page++) {
+            List<SearchHit<OneDayClassDocument>> hits = search(request).getSearchHits();
+            for (SearchHit<OneDayClassDocument> hit : hits.subList(0, Math.min(PAGE_SIZE, hits.size()))) {
+                assertThat(seen.add(hit.getContent().getClassId())).isTrue();
+                assertThat(hit.getContent().getPrice()).isGreaterThanOrEqualTo(previousPrice);
+                previousPrice = hit.getContent().getPrice();
+            }
+            if (hits.size() <= PAGE_SIZE) {
+                break;
+            }
+            request.setCursor(classSearchService.encodeCursor(hits.get(PAGE_SIZE - 1).getSortValues()));
+        }
+        assertThat(seen).hasSize(Math.min(documentCount, PAGE_SIZE * DEEP_PAGES));
+
+        // when & then: 첫 페이지와 DEEP_PAGES 페이지 뒤의 지연 시간을 비교할 수 있도록 따로 기록한다.
+        String deepCursor = request.getCursor();
+        measure("search_after first page", () -> search(pagingRequest()));
+        measure("search_after after " + DEEP_PAGES + " pages", () -> {
+            ClassSearchDto.Request deep = pagingRequest();
+            deep.setCursor(deepCursor);
+            return search(deep);
+        });
+    }
+
+    private SearchHits<OneDayClassDocument> search(ClassSearchDto.Request request) {
+        return operations.search(classSearchService.buildQuery(request, PAGE_SIZE), OneDayClassDocument.class, index);
+    }
+
+    private void measure(String scenario, Callable<?> query) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] latencies = new long[ITERATIONS];
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        long startedAt = System.nanoTime();
+                        query.call();
+                        latencies[j] = System.nanoTime() - startedAt;
+                    }
+                    return latencies;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            long[] latencies = new long[THREADS * ITERATIONS];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] threadLatencies = future.get(120, TimeUnit.SECONDS);
+                System.arraycopy(threadLatencies, 0, latencies, offset, threadLatencies.length);
+                offset += threadLatencies.length;
+            }
+            logLatency(scenario, latencies, System.nanoTime() - startedAt);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void logLatency(String scenario, long[] latencies, long elapsedNanos) {
+        Arrays.sort(latencies);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("{} over {} documents: {} queries from {} threads, p50 {} ms, p95 {} ms, p99 {} ms ({} ops/s)",
+                scenario, documentCount, latencies.length, THREADS,
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.95)),
+                millis(percentile(latencies, 0.99)), Math.round(latencies.length / seconds));
+    }
+
+    private long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private ClassSearchDto.Request filteredRequest(Random random) {
+        int minPrice = 10000 + random.nextInt(5) * 10000;
+        return ClassSearchDto.Request.builder()
+                .minPrice(minPrice)
+                .maxPrice(minPrice + 30000)
+                .category(CategoryType.values()[random.nextInt(CategoryType.values().length)])
+                .hasParking(true)
+                .date(LocalDate.now().plusDays(random.nextInt(60)))
+                .sort(ClassSearchSort.STAR_RATE)
+                .size(PAGE_SIZE)
+                .build();
+    }
+
+    private ClassSearchDto.Request geoRequest(Random random) {
+        return ClassSearchDto.Request.builder()
+                .lat(CENTER_LAT + (random.nextDouble() - 0.5) * 0.2)
+                .lng(CENTER_LNG + (random.nextDouble() - 0.5) * 0.2)
+                .distance(5)
+                .sort(ClassSearchSort.DISTANCE)
+                .size(PAGE_SIZE)
+                .build();
+    }
+
+    private ClassSearchDto.Request pagingRequest() {
+        return ClassSearchDto.Request.builder()
+                .sort(ClassSearchSort.PRICE)
+                .size(PAGE_SIZE)
+                .build();
+    }
+
+    private OneDayClassDocument document(long classId, Random random) {
+        LocalDate startDate = LocalDate.now().minusDays(random.nextInt(90));
+        List<String> tagList = new ArrayList<>(TAGS);
+        Collections.shuffle(tagList, random);
+        tagList = List.copyOf(tagList.subList(0, 1 + random.nextInt(3)));
+        int totalReviews = random.nextInt(50);
+        return OneDayClassDocument.builder()
+                .classId(classId)
+                .className("원데이 클래스 " + classId)
+                .address1("서울특별시")
+                .address2("구" + random.nextInt(25))
+                .address3("테스트로 " + classId)
+                .location(new GeoPoint(CENTER_LAT + (random.nextDouble() - 0.5) * 0.4,
+                        CENTER_LNG + (random.nextDouble() - 0.5) * 0.4))
+                .duration(60 + random.nextInt(4) * 30)
+                .price(10000 + random.nextInt(90) * 1000)
+                .personal(5 + random.nextInt(10))
+                .starRate(totalReviews == 0 ? 0.0 : 1 + random.nextDouble() * 4)
+                .totalWish(random.nextInt(500))
+                .tagList(tagList)
+                .hasParking(random.nextBoolean())
+                .startDate(startDate)
+                .endDate(startDate.plusDays(30 + random.nextInt(120)))
+                .category(CategoryType.values()[random.nextInt(CategoryType.values().length)])
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import com.linked.classbridge.dto.search.ClassSearchDto;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.type.CategoryType;
+import com.linked.classbridge.type.ClassSearchSort;
+import com.linked.classbridge.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+class ClassSearchServiceTest {
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private ClassReindexService classReindexService;
+
+    private ClassSearchService classSearchService;
+
+    @BeforeEach
+    void setUp() {
+        classSearchService = new ClassSearchService(operations, new ObjectMapper(),
+                new ClassSearchCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)), classReindexService);
+        given(classReindexService.isMappingUpToDate()).willReturn(true);
+        classSearchService.refreshMappingVersion();
+    }
+
+    @Test
+    void buildQuery_filters_and_facets_on_first_page() {
+        // given
+        ClassSearchDto.Request request = ClassSearchDto.Request.builder()
+                .query("도자기")
+                .lat(37.5)
+                .lng(127.0)
+                .minPrice(10000)
+                .date(LocalDate.of(2024, 7, 1))
+                .hasParking(true)
+                .address1("서울특별시")
+                .category(CategoryType.COOKING)
+                .tags(List.of("초보"))
+                .sort(ClassSearchSort.DISTANCE)
+                .build();
+
+        // when
+        NativeSearchQuery query = classSearchService.buildQuery(request, 20);
+
+        // then
+        String source = query.getQuery().toString();
+        assertThat(source).contains("geo_distance", "\"price\"", "\"startDate\"", "\"endDate\"",
+                "\"hasParking\"", "address1.keyword", "\"category\"", "\"tagList\"", "도자기");
+        assertThat(query.getPageable().getPageSize()).isEqualTo(21);
+        assertThat(query.getAggregations()).hasSize(3);
+        assertThat(query.getSearchAfter()).isNull();
+    }
+
+    @Test
+    void buildQuery_uses_legacy_fields_until_index_is_migrated() {
+        // given: alias 가 아직 이전 매핑 색인을 가리킴
+        given(classReindexService.isMappingUpToDate()).willReturn(false);
+        classSearchService.refreshMappingVersion();
+        ClassSearchDto.Request request = ClassSearchDto.Request.builder()
+                .address1("서울특별시")
+                .address2("마포구")
+                .category(CategoryType.COOKING)
+                .build();
+
+        // when
+        NativeSearchQuery query = classSearchService.buildQuery(request, 20);
+
+        // then: keyword 필드 대신 예전 필드를 쓰고, 지역 facet 은 계산하지 않는다.
+        String source = query.getQuery().toString();
+        assertThat(source).contains("match_phrase", "category.keyword").doesNotContain("address1.keyword",
+                "address2.keyword");
+        assertThat(query.getAggregations()).hasSize(2);
+        assertThat(query.getAggregations().toString()).contains("category.keyword").doesNotContain("address");
+    }
+
+    @Test
+    void buildQuery_uses_search_after_without_facets() {
+        // given
+        String cursor = classSearchService.encodeCursor(List.of(1.5, "10"));
+        ClassSearchDto.Request request = ClassSearchDto.Request.builder()
+                .cursor(cursor)
+                .sort(ClassSearchSort.PRICE)
+                .build();
+
+        // when
+        NativeSearchQuery query = classSearchService.buildQuery(request, 20);
+
+        // then
+        assertThat(query.getSearchAfter()).containsExactly(1.5, "10");
+        assertThat(query.getAggregations()).isNullOrEmpty();
+    }
+
+    @Test
+    void buildQuery_fail_distance_sort_without_location() {
+        ClassSearchDto.Request request = ClassSearchDto.Request.builder()
+                .sort(ClassSearchSort.DISTANCE)
+                .build();
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> classSearchService.buildQuery(request, 20));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.SEARCH_LOCATION_REQUIRED);
+    }
+
+    @Test
+    void decodeCursor_fail_invalid_cursor() {
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> classSearchService.decodeCursor("not a cursor"));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_SEARCH_CURSOR);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_returns_next_cursor_from_last_hit() {
+        // given
+        SearchHits<OneDayClassDocument> searchHits = mock(SearchHits.class);
+        SearchHit<OneDayClassDocument> first = hit(1L);
+        SearchHit<OneDayClassDocument> last = hit(2L);
+        given(last.getSortValues()).willReturn(List.of(40000, "2"));
+        List<SearchHit<OneDayClassDocument>> hits = List.of(first, last, mock(SearchHit.class));
+        given(searchHits.getSearchHits()).willReturn(hits);
+        given(operations.search(any(Query.class), eq(OneDayClassDocument.class))).willReturn(searchHits);
+
+        ClassSearchDto.Request request = ClassSearchDto.Request.builder()
+                .lat(37.5)
+                .lng(127.0)
+                .sort(ClassSearchSort.PRICE)
+                .size(2)
+                .build();
+
+        // when
+        ClassSearchDto.Response response = classSearchService.search(request);
+
+        // then
+        assertThat(response.getClasses()).extracting(ClassSearchDto.ClassSummary::getClassId)
+                .containsExactly(1L, 2L);
+        assertThat(response.getClasses().get(0).getDistance()).isCloseTo(0.0, offset(0.01));
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(classSearchService.decodeCursor(response.getNextCursor())).containsExactly(40000, "2");
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchHit<OneDayClassDocument> hit(Long classId) {
+        OneDayClassDocument document = OneDayClassDocument.builder()
+                .classId(classId)
+                .className("클래스" + classId)
+                .location(new GeoPoint(37.5, 127.0))
+                .build();
+        SearchHit<OneDayClassDocument> hit = mock(SearchHit.class);
+        given(hit.getContent()).willReturn(document);
+        return hit;
+    }
+}
@@ -0,0 +1,134 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.linked.classbridge.domain.document.OneDayClassDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.search.suggest.Suggest;
+import org.opensearch.search.suggest.completion.CompletionSuggestion;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+@ExtendWith(MockitoExtension.class)
+class ClassSuggestServiceTest {
+
+    @Mock
+    private RestHighLevelClient client;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private ClassReindexService classReindexService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ClassSuggestService classSuggestService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        classSuggestService = new ClassSuggestService(client, operations, classReindexService, meterRegistry, 100,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void suggest_caches_normalized_prefix() throws IOException {
+        // given
+        givenMappingUpToDate(true);
+        SearchResponse response = suggestResponse("도자기 클래스", "도자기", "도자기 공방");
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class))
+                .willReturn(IndexCoordinates.of("onedayclass"));
+        given(client.search(any(SearchRequest.class), any(RequestOptions.class))).willReturn(response);
+
+        // when
+        List<String> first = classSuggestService.suggest(" 도자 ", 10);
+        List<String> second = classSuggestService.suggest("도자", 2);
+
+        // then
+        assertThat(first).containsExactly("도자기 클래스", "도자기", "도자기 공방");
+        assertThat(second).containsExactly("도자기 클래스", "도자기");
+        verify(client, times(1)).search(any(SearchRequest.class), any(RequestOptions.class));
+        assertThat(meterRegistry.get(ClassSuggestService.LATENCY).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void suggest_returns_empty_without_caching_failure() throws IOException {
+        // given
+        givenMappingUpToDate(true);
+        given(operations.getIndexCoordinatesFor(OneDayClassDocument.class))
+                .willReturn(IndexCoordinates.of("onedayclass"));
+        given(client.search(any(SearchRequest.class), any(RequestOptions.class)))
+                .willThrow(new IOException("timeout"));
+
+        // when
+        List<String> first = classSuggestService.suggest("요가", 10);
+        List<String> second = classSuggestService.suggest("요가", 10);
+
+        // then: 실패한 접두어는 캐시하지 않고 다음 입력에서 다시 조회한다.
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(client, times(2)).search(any(SearchRequest.class), any(RequestOptions.class));
+    }
+
+    @Test
+    void suggest_skips_blank_prefix() {
+        assertThat(classSuggestService.suggest("   ", 10)).isEmpty();
+        assertThat(classSuggestService.suggest(null, 10)).isEmpty();
+
+        verifyNoInteractions(client, operations);
+    }
+
+    @Test
+    void suggest_skips_until_index_is_migrated() {
+        // given: suggest 필드가 없는 예전 매핑의 색인
+        givenMappingUpToDate(false);
+
+        // when & then: 입력마다 실패하는 조회를 보내지 않는다.
+        assertThat(classSuggestService.suggest("도자", 10)).isEmpty();
+        verifyNoInteractions(client, operations);
+    }
+
+    private void givenMappingUpToDate(boolean upToDate) {
+        given(classReindexService.isMappingUpToDate()).willReturn(upToDate);
+        classSuggestService.refreshMappingVersion();
+    }
+
+    private SearchResponse suggestResponse(String... texts) {
+        List<CompletionSuggestion.Entry.Option> options = Arrays.stream(texts)
+                .map(text -> {
+                    CompletionSuggestion.Entry.Option option =
+                            mock(CompletionSuggestion.Entry.Option.class, RETURNS_DEEP_STUBS);
+                    given(option.getText().string()).willReturn(text);
+                    return option;
+                })
+                .toList();
+        CompletionSuggestion suggestion = mock(CompletionSuggestion.class);
+        given(suggestion.getOptions()).willReturn(options);
+        Suggest suggest = mock(Suggest.class);
+        given(suggest.<CompletionSuggestion>getSuggestion("class")).willReturn(suggestion);
+        SearchResponse response = mock(SearchResponse.class);
+        given(response.getSuggest()).willReturn(suggest);
+        return response;
+    }
+}
@@ -0,0 +1,94 @@
+package com.linked.classbridge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.linked.classbridge.dto.user.JwtClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JWTServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-service-must-be-long-enough";
+
+    private JWTService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JWTService(SECRET, 2);
+    }
+
+    @Test
+    void parse_returnsClaims() {
+        String token = jwtService.createJwt("access", "test@example.com", 1L, List.of("ROLE_USER"), 60000L);
+
+        JwtClaims claims = jwtService.parse(token);
+
+        assertEquals("access", claims.getTokenType());
+        assertEquals("test@example.com", claims.getEmail());
+        assertEquals(1L, claims.getUserId());
+        assertEquals(List.of("ROLE_USER"), claims.getRoles());
+        assertTrue(claims.isTokenType("access"));
+    }
+
+    @Test
+    void parse_reusesCachedClaims() {
+        String token = jwtService.createJwt("access", "test@example.com", 1L, List.of("ROLE_USER"), 60000L);
+
+        JwtClaims first = jwtService.parse(token);
+        JwtClaims second = jwtService.parse(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void parse_boundsCacheSize() {
+        String token1 = jwtService.createJwt("access", "a@example.com", 1L, List.of("ROLE_USER"), 60000L);
+        String token2 = jwtService.createJwt("access", "b@example.com", 1L, List.of("ROLE_USER"), 60000L);
+        String token3 = jwtService.createJwt("access", "c@example.com", 1L, List.of("ROLE_USER"), 60000L);
+
+        jwtService.parse(token1);
+        jwtService.parse(token2);
+        jwtService.parse(token3);
+
+        // 가득 차도 전체를 비우지 않고 최대 크기만큼 유지한다.
+        assertEquals(2, jwtService.cachedSize());
+    }
+
+    @Test
+    void invalidate_evictsOnlyThatToken() {
+        String token1 = jwtService.createJwt("refresh", "a@example.com", 1L, List.of("ROLE_USER"), 60000L);
+        String token2 = jwtService.createJwt("refresh", "b@example.com", 2L, List.of("ROLE_USER"), 60000L);
+        JwtClaims first = jwtService.parse(token1);
+        JwtClaims second = jwtService.parse(token2);
+
+        jwtService.invalidate(token1);
+
+        // 제거한 토큰은 다시 파싱하고, 다른 토큰은 캐시를 그대로 쓴다.
+        JwtClaims reparsed = jwtService.parse(token1);
+        assertNotSame(first, reparsed);
+        assertEquals(first.getEmail(), reparsed.getEmail());
+        assertSame(second, jwtService.parse(token2));
+    }
+
+    @Test
+    void parse_fail_expiredToken() {
+        String token = jwtService.createJwt("access", "test@example.com", 1L, List.of("ROLE_USER"), -1000L);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parse(token));
+    }
+
+    @Test
+    void parse_fail_otherSecret() {
+        JWTService otherService = new JWTService("another-secret-key-for-jwt-service-must-be-long-enough");
+        String token = otherService.createJwt("access", "test@example.com", 1L, List.of("ROLE_USER"), 60000L);
+
+        assertThrows(SignatureException.class, () -> jwtService.parse(token));
+    }
+}
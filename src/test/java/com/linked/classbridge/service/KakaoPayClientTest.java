@@ -0,0 +1,173 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.linked.classbridge.config.PayProperties;
+import com.linked.classbridge.dto.payment.PaymentOrderDto;
+import com.linked.classbridge.dto.payment.PaymentPrepareDto;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.type.ErrorCode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class KakaoPayClientTest {
+
+    private MockWebServer mockWebServer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private KakaoPayClient kakaoPayClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+
+        PayProperties payProperties = new PayProperties();
+        payProperties.setDevKey("devKey");
+        payProperties.setReadyUrl(mockWebServer.url("/ready").toString());
+        payProperties.setApproveUrl(mockWebServer.url("/approve").toString());
+        payProperties.setOrderUrl(mockWebServer.url("/order").toString());
+        payProperties.setCancelUrl(mockWebServer.url("/cancel").toString());
+        payProperties.getClient().setResponseTimeout(Duration.ofMillis(300));
+        payProperties.getClient().setRetryMinBackoff(Duration.ofMillis(10));
+        payProperties.getClient().setRetryMaxBackoff(Duration.ofMillis(50));
+        payProperties.getClient().setCircuitWindowSize(4);
+        payProperties.getClient().setCircuitMinimumCalls(4);
+        payProperties.getClient().setCircuitOpenDuration(Duration.ofMinutes(1));
+
+        kakaoPayClient = new KakaoPayClient(payProperties, WebClient.builder(), meterRegistry);
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        kakaoPayClient.shutdown();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void ready_success() throws InterruptedException {
+        // given
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"next_redirect_pc_url\":\"https://kakao/pay\"}"));
+
+        // when
+        PaymentPrepareDto.Response response = kakaoPayClient.ready(Map.of("cid", "test_cid")).block();
+
+        // then
+        assertThat(response.getTid()).isEqualTo("test_tid");
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/ready");
+        assertThat(request.getHeader("Authorization")).isEqualTo("SECRET_KEY devKey");
+        assertThat(request.getBody().readUtf8()).contains("\"cid\":\"test_cid\"");
+    }
+
+    @Test
+    void approve_does_not_retry_server_error() {
+        // 승인 여부를 알 수 없는 응답이므로 다시 승인하지 않는다.
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPayClient.approve(Map.of("tid", "test_tid")).block());
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void order_retries_server_error() throws InterruptedException {
+        // given
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"status\":\"SUCCESS_PAYMENT\"}"));
+
+        // when
+        PaymentOrderDto.Response response = kakaoPayClient.order(Map.of("tid", "test_tid")).block();
+
+        // then
+        assertThat(response.isApproved()).isTrue();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/order");
+        assertThat(meterRegistry.get(KakaoPayClient.RETRY).tag("operation", "order").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void approve_does_not_retry_client_error() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPayClient.approve(Map.of("tid", "test_tid")).block());
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel_does_not_retry_server_error() {
+        // 부분 취소가 두 번 처리되지 않도록 취소는 재시도하지 않는다.
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPayClient.cancel(Map.of("tid", "test_tid")).block());
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel_fails_on_response_timeout() {
+        mockWebServer.enqueue(json("{\"status\":\"CANCEL_PAYMENT\"}").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPayClient.cancel(Map.of("tid", "test_tid")).block(Duration.ofSeconds(5)));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+    }
+
+    @Test
+    void circuit_opens_after_gateway_failures() {
+        // given: 창 크기 4 만큼 연속 5xx
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+            assertThrows(RestApiException.class, () -> kakaoPayClient.cancel(Map.of("tid", "test_tid")).block());
+        }
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPayClient.ready(Map.of("cid", "test_cid")).block());
+
+        // then: 카카오페이를 호출하지 않고 바로 실패
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_GATEWAY_UNAVAILABLE);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+        assertThat(kakaoPayClient.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get(KakaoPayClient.CIRCUIT_STATE).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void client_error_does_not_open_circuit() {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+            assertThrows(RestApiException.class, () -> kakaoPayClient.approve(Map.of("tid", "test_tid")).block());
+        }
+
+        assertThat(kakaoPayClient.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private MockResponse json(String body) {
+        return new MockResponse()
+                .setBody(body)
+                .addHeader("Content-Type", "application/json");
+    }
+}
@@ -2,33 +2,43 @@ package com.linked.classbridge.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.linked.classbridge.config.PayProperties;
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.Payment;
+import com.linked.classbridge.domain.Reservation;
+import com.linked.classbridge.domain.SeatHold;
+import com.linked.classbridge.dto.payment.CreatePaymentResponse;
 import com.linked.classbridge.dto.payment.PaymentPrepareDto;
 import com.linked.classbridge.exception.RestApiException;
-import com.linked.classbridge.repository.LessonRepository;
 import com.linked.classbridge.repository.PaymentRepository;
 import com.linked.classbridge.repository.ReservationRepository;
+import com.linked.classbridge.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
-import java.util.Map;
+import java.util.Optional;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @ExtendWith(MockitoExtension.class)
 class KakaoPaymentServiceTest {
 
-    @Mock
-    private PayProperties payProperties;
-
     @Mock
     private PaymentRepository paymentRepository;
 
@@ -36,12 +46,16 @@ class KakaoPaymentServiceTest {
     private ReservationRepository reservationRepository;
 
     @Mock
-    private LessonRepository lessonRepository;
+    private SeatAdmission seatAdmission;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
 
     @Mock
-    private LessonService lessonService;
+    private PlatformTransactionManager transactionManager;
+
+    private KakaoPayClient kakaoPayClient;
 
-    @InjectMocks
     private KakaoPaymentService kakaoPaymentService;
 
     private MockWebServer mockWebServer;
@@ -50,79 +64,383 @@ class KakaoPaymentServiceTest {
     void setUp() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
-        WebClient webClient = WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build();
-        kakaoPaymentService = new KakaoPaymentService(payProperties, WebClient.builder(), paymentRepository,
-                reservationRepository, lessonRepository, lessonService);
+
+        PayProperties payProperties = new PayProperties();
+        payProperties.setCid("test_cid");
+        payProperties.setDevKey("devKey");
+        payProperties.setReadyUrl(mockWebServer.url("/ready").toString());
+        payProperties.setApproveUrl(mockWebServer.url("/approve").toString());
+        payProperties.setOrderUrl(mockWebServer.url("/order").toString());
+        payProperties.setCancelUrl(mockWebServer.url("/cancel").toString());
+        payProperties.setRedirectBaseUrl("https://classbridge.example.com");
+
+        kakaoPayClient = new KakaoPayClient(payProperties, WebClient.builder(), new SimpleMeterRegistry());
+        kakaoPaymentService = new KakaoPaymentService(payProperties, kakaoPayClient, paymentRepository,
+                reservationRepository, seatAdmission, seatInventoryService, transactionManager);
     }
 
     @AfterEach
     void shutdown() throws IOException {
+        SecurityContextHolder.clearContext();
+        kakaoPayClient.shutdown();
         mockWebServer.shutdown();
     }
 
     @Test
-    void testInitiatePayment_Success() {
+    void testInitiatePayment_Success() throws InterruptedException {
         // given
-        PaymentPrepareDto.Request request = new PaymentPrepareDto.Request();
-        request.setItemName("Test Item");
-        request.setQuantity(1);
-        request.setTotalAmount(1000);
-        request.setTexFreeAmount(0);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("user@test.com", null));
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation()));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\"}"));
+
+        // when
+        PaymentPrepareDto.Response result = kakaoPaymentService.initiatePayment(prepareRequest());
+
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.getTid()).isEqualTo("test_tid");
+        verify(seatAdmission).admit(10L, 1L, 1);
+        verify(seatInventoryService).attachPayment(eq(10L), eq("test_tid"), any());
+        // redirect url 은 설정한 서버 주소로 만들고, 승인/취소/실패 redirect 에서 어느 예약의 결제인지 알 수 있다.
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8())
+                .contains(
+                        "\"approval_url\":\"https://classbridge.example.com/api/payments/complete?reservation_id=10\"",
+                        "\"cancel_url\":\"https://classbridge.example.com/api/payments/cancel?reservation_id=10\"",
+                        "\"fail_url\":\"https://classbridge.example.com/api/payments/fail?reservation_id=10\"")
+                .doesNotContain("localhost");
+    }
+
+    @Test
+    void testInitiatePayment_Failure() {
+        // given
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("user@test.com", null));
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation()));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.initiatePayment(prepareRequest()));
+
+        // then: 잡아 둔 좌석은 바로 돌려준다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        verify(seatInventoryService).releaseHold(10L);
+    }
+
+    @Test
+    void testApprovePayment_Failure() {
+        // given: 승인과 상태 조회 모두 4xx
+        givenPendingPayment();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com"));
+
+        // then: 카카오페이 오류 응답(WebClientResponseException)은 PAY_ERROR 로 바뀐다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void testApprovePayment_Fail_ServerErrorAndOrderLookupFails() {
+        // given: 승인도 상태 조회도 5xx (조회는 재시도 후에도 실패)
+        givenPendingPayment();
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com"));
+
+        // then: 승인 여부를 확인하지 못했으므로 승인 실패(PAY_ERROR)로 끝난다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void testApprovePayment_Success() throws InterruptedException {
+        // given
+        givenPendingPayment();
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"quantity\":1,\"amount\":{\"total\":1000}}"));
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setPaymentId(7L);
+            return payment;
+        });
+
+        // when
+        CreatePaymentResponse result = kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com");
 
-        Map<String, String> parameters = Map.of(
-                "cid", "test_cid",
-                "partner_order_id", "payservice1",
-                "partner_user_id", "payservice1",
-                "item_name", "Test Item",
-                "quantity", "1",
-                "total_amount", "1000",
-                "tax_free_amount", "0",
-                "approval_url", "http://localhost:8080/api/payments/complete",
-                "cancel_url", "http://localhost:8080/api/payments/cancel",
-                "fail_url", "http://localhost:8080/api/payments/fail"
-        );
+        // then: 카카오페이 승인 한 번만 호출하고 같은 서버 API 는 다시 호출하지 않는다.
+        // tid 와 주문 번호는 hold 에 남겨 둔 값을 쓴다.
+        assertThat(result.paymentId()).isEqualTo(7L);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        RecordedRequest approve = mockWebServer.takeRequest();
+        assertThat(approve.getPath()).isEqualTo("/approve");
+        assertThat(approve.getBody().readUtf8()).contains("\"tid\":\"test_tid\"",
+                "\"partner_order_id\":\"order_10\"", "\"partner_user_id\":\"user@test.com\"",
+                "\"pg_token\":\"pg_token\"");
+        verify(seatInventoryService).confirm(eq(10L), any(Payment.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testApprovePayment_CancelsApprovalWhenConfirmFails() throws InterruptedException {
+        // given: 승인 사이 hold 가 만료되고 좌석이 매진됨
+        givenPendingPayment();
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"quantity\":1,\"amount\":{\"total\":1000}}"));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"status\":\"SUCCESS_PAYMENT\"}"));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"status\":\"CANCEL_PAYMENT\"}"));
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(seatInventoryService.confirm(eq(10L), any(Payment.class)))
+                .willThrow(new RestApiException(ErrorCode.MAX_PARTICIPANTS_EXCEEDED));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com"));
+
+        // then: 저장은 롤백하고 카카오페이 승인도 취소한다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        verify(transactionManager).rollback(any());
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/order");
+        RecordedRequest cancel = mockWebServer.takeRequest();
+        assertThat(cancel.getPath()).isEqualTo("/cancel");
+        assertThat(cancel.getBody().readUtf8()).contains("\"cancel_amount\":\"1000\"");
+    }
+
+    @Test
+    void testApprovePayment_Fail_OtherUsersReservation() {
+        // given: 10번 예약은 user@test.com 의 예약
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "other@test.com")).willReturn(false);
 
-        PaymentPrepareDto.Response response = new PaymentPrepareDto.Response();
-        response.setTid("test_tid");
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePayment(10L, "pg_token", "other@test.com"));
 
-        given(payProperties.getCid()).willReturn("test_cid");
-        given(payProperties.getReadyUrl()).willReturn(mockWebServer.url("/api/payments/prepare").toString());
+        // then: hold 를 조회하지 않고 카카오페이 승인도 요청하지 않는다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MISMATCH_USER_RESERVATION);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+        verify(seatInventoryService, never()).getPendingPaymentOfReservation(any());
+        verify(seatInventoryService, never()).confirm(any(), any());
+    }
 
-        mockWebServer.enqueue(new MockResponse()
-                .setBody("{\"tid\":\"test_tid\"}")
-                .addHeader("Content-Type", "application/json"));
+    @Test
+    void testApprovePayment_Fail_WithoutPendingPayment() {
+        // given: 결제 요청 전이거나 hold 가 이미 정리된 예약
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "user@test.com")).willReturn(true);
+        given(seatInventoryService.getPendingPaymentOfReservation(10L))
+                .willThrow(new RestApiException(ErrorCode.INVALID_PAYMENT_ID));
 
         // when
-        PaymentPrepareDto.Response result = kakaoPaymentService.initiatePayment(request);
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com"));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_PAYMENT_ID);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void testInitiatePaymentReactive_Success() {
+        // given: SecurityContext 없이 사용자 이메일을 직접 넘긴다.
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation()));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"next_redirect_pc_url\":\"https://kakao/pay\"}"));
+        PaymentPrepareDto.Request request = prepareRequest();
+
+        // when
+        PaymentPrepareDto.Response result = kakaoPaymentService.initiatePaymentReactive(request, "user@test.com")
+                .block();
 
         // then
-        assertThat(result).isNotNull();
         assertThat(result.getTid()).isEqualTo("test_tid");
+        assertThat(request.getPartnerUserId()).isEqualTo("user@test.com");
+        verify(seatAdmission).admit(10L, 1L, 1);
+        verify(seatInventoryService).attachPayment(10L, "test_tid", request.getPartnerOrderId());
     }
 
     @Test
-    void testInitiatePayment_Failure() {
+    void testInitiatePaymentReactive_Failure() {
         // given
-        PaymentPrepareDto.Request request = new PaymentPrepareDto.Request();
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation()));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.initiatePaymentReactive(prepareRequest(), "user@test.com").block());
 
-        given(payProperties.getReadyUrl()).willReturn(mockWebServer.url("/api/payments/prepare").toString());
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        verify(seatInventoryService).releaseHold(10L);
+    }
 
-        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+    @Test
+    void testApprovePayment_RecoversApprovedOrderOnServerError() throws InterruptedException {
+        // given: 승인 응답은 5xx 지만 카카오페이는 승인을 처리함
+        givenPendingPayment();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"status\":\"SUCCESS_PAYMENT\",\"quantity\":1,"
+                + "\"amount\":{\"total\":1000}}"));
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setPaymentId(7L);
+            return payment;
+        });
+
+        // when
+        CreatePaymentResponse result = kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com");
 
-        // when & then
-        assertThrows(RestApiException.class, () -> kakaoPaymentService.initiatePayment(request));
+        // then: 승인은 다시 보내지 않고 상태 조회 결과로 저장한다.
+        assertThat(result.paymentId()).isEqualTo(7L);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/approve");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/order");
+        verify(seatInventoryService).confirm(eq(10L), any(Payment.class));
     }
 
     @Test
-    void testApprovePayment_Failure() {
+    void testApprovePayment_FailsWhenOrderNotApproved() {
         // given
+        givenPendingPayment();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"status\":\"FAIL_PAYMENT\"}"));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePayment(10L, "pg_token", "user@test.com"));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PAY_ERROR);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void testApprovePaymentReactive_Success() throws InterruptedException {
+        // given: 클라이언트가 다른 예약 ID 를 보내도 hold 에 남긴 예약으로 확정한다.
+        given(seatInventoryService.getPendingPayment("test_tid")).willReturn(pendingPayment());
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "user@test.com")).willReturn(true);
+        mockWebServer.enqueue(json("{\"tid\":\"test_tid\",\"quantity\":1,\"amount\":{\"total\":1000}}"));
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setPaymentId(7L);
+            return payment;
+        });
+        PaymentPrepareDto.Response request = approveRequest();
+        request.setReservationId(99L);
+        request.setPartnerOrderId("other_order");
+
+        // when
+        CreatePaymentResponse result = kakaoPaymentService.approvePaymentReactive(request, "user@test.com").block();
+
+        // then
+        assertThat(result.paymentId()).isEqualTo(7L);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8())
+                .contains("\"partner_order_id\":\"order_10\"", "\"partner_user_id\":\"user@test.com\"");
+        verify(seatInventoryService).confirm(eq(10L), any(Payment.class));
+    }
+
+    @Test
+    void testApprovePaymentReactive_Fail_OtherUsersReservation() {
+        // given: 10번 예약은 user@test.com 의 예약
+        given(seatInventoryService.getPendingPayment("test_tid")).willReturn(pendingPayment());
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "other@test.com")).willReturn(false);
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.approvePaymentReactive(approveRequest(), "other@test.com").block());
+
+        // then: 카카오페이 승인을 요청하지 않는다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MISMATCH_USER_RESERVATION);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+        verify(seatInventoryService, never()).confirm(any(), any());
+    }
+
+    @Test
+    void testReleasePayment_Success() {
+        // given
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "user@test.com")).willReturn(true);
+
+        // when
+        kakaoPaymentService.releasePayment(10L, "user@test.com");
+
+        // then
+        verify(seatInventoryService).releaseHold(10L);
+    }
+
+    @Test
+    void testReleasePayment_Fail_OtherUsersReservation() {
+        // given: 10번 예약은 user@test.com 의 예약
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "other@test.com")).willReturn(false);
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> kakaoPaymentService.releasePayment(10L, "other@test.com"));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MISMATCH_USER_RESERVATION);
+        verify(seatInventoryService, never()).releaseHold(10L);
+    }
+
+    private PaymentPrepareDto.Request prepareRequest() {
+        PaymentPrepareDto.Request request = new PaymentPrepareDto.Request();
+        request.setReservationId(10L);
+        request.setItemName("Test Item");
+        request.setQuantity(1);
+        request.setTotalAmount(1000);
+        request.setTexFreeAmount(0);
+        return request;
+    }
+
+    // 10번 예약은 user@test.com 의 예약이고 결제 요청 때 hold 에 tid 를 남겨 두었다.
+    private void givenPendingPayment() {
+        given(reservationRepository.existsById(10L)).willReturn(true);
+        given(reservationRepository.existsByReservationIdAndUserEmail(10L, "user@test.com")).willReturn(true);
+        given(seatInventoryService.getPendingPaymentOfReservation(10L)).willReturn(pendingPayment());
+    }
+
+    private PaymentPrepareDto.Response approveRequest() {
         PaymentPrepareDto.Response paymentResponse = new PaymentPrepareDto.Response();
+        paymentResponse.setTid("test_tid");
+        paymentResponse.setPgToken("pg_token");
+        paymentResponse.setReservationId(10L);
+        return paymentResponse;
+    }
 
-        given(payProperties.getApproveUrl()).willReturn(mockWebServer.url("/approve").toString());
+    private SeatHold pendingPayment() {
+        return SeatHold.builder()
+                .holdId(1L)
+                .reservationId(10L)
+                .lessonId(1L)
+                .quantity(1)
+                .tid("test_tid")
+                .partnerOrderId("order_10")
+                .build();
+    }
 
-        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+    private Reservation reservation() {
+        Lesson lesson = new Lesson();
+        lesson.setLessonId(1L);
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(10L);
+        reservation.setLesson(lesson);
+        return reservation;
+    }
 
-        // when & then
-        assertThrows(RestApiException.class, () -> kakaoPaymentService.approvePayment(paymentResponse, "header"));
+    private MockResponse json(String body) {
+        return new MockResponse()
+                .setBody(body)
+                .addHeader("Content-Type", "application/json");
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,6 @@ package com.linked.classbridge.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,6 +20,7 @@ import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.PaymentRepository;
 import com.linked.classbridge.repository.RefundRepository;
 import com.linked.classbridge.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -32,17 +32,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @ExtendWith(MockitoExtension.class)
 public class KakaoRefundServiceTest {
 
-    @Mock
-    private PayProperties payProperties;
-
     @Mock
     private PaymentRepository paymentRepository;
 
@@ -50,9 +47,13 @@ public class KakaoRefundServiceTest {
     private RefundRepository refundRepository;
 
     @Mock
-    private LessonService lessonService;
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private KakaoPayClient kakaoPayClient;
 
-    @InjectMocks
     private KakaoRefundService kakaoRefundService;
 
     private PaymentRefundDto.Requset request;
@@ -90,21 +91,19 @@ public class KakaoRefundServiceTest {
         payment.setTotalAmount(10000);
         payment.setQuantity(1); // 수량 설정
 
-        lenient().when(payProperties.getCancelUrl()).thenReturn(baseUrl);
-        lenient().when(payProperties.getDevKey()).thenReturn("devKey");
-        lenient().when(payProperties.getCid()).thenReturn("test_cid");
-
-        WebClient webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .defaultHeader("Content-Type", "application/json")
-                .defaultHeader("Authorization", "SECRET_KEY " + payProperties.getDevKey())
-                .build();
+        PayProperties payProperties = new PayProperties();
+        payProperties.setCancelUrl(baseUrl);
+        payProperties.setDevKey("devKey");
+        payProperties.setCid("test_cid");
 
-        kakaoRefundService = new KakaoRefundService(payProperties, paymentRepository, refundRepository, lessonService);
+        kakaoPayClient = new KakaoPayClient(payProperties, WebClient.builder(), new SimpleMeterRegistry());
+        kakaoRefundService = new KakaoRefundService(payProperties, kakaoPayClient, paymentRepository,
+                refundRepository, seatInventoryService, transactionManager);
     }
 
     @AfterEach
     void shutdown() throws IOException {
+        kakaoPayClient.shutdown();
         mockWebServer.shutdown();
     }
 
@@ -126,7 +125,7 @@ public class KakaoRefundServiceTest {
         assertNotNull(result);
         assertEquals(KakaoStatusType.CANCEL_PAYMENT, result.getStatus());
         verify(paymentRepository).findById(request.getPaymentId());
-        verify(lessonService).updateParticipantCount(reservation.getLesson(), request.getQuantity());
+        verify(seatInventoryService).release(lesson.getLessonId(), request.getQuantity());
     }
 
     @Test
@@ -140,7 +139,7 @@ public class KakaoRefundServiceTest {
 
         assertEquals(ErrorCode.INVALID_PAYMENT_ID, exception.getErrorCode());
         verify(paymentRepository).findById(request.getPaymentId());
-        verify(lessonService, never()).updateParticipantCount(lesson, 1);
+        verify(seatInventoryService, never()).release(lesson.getLessonId(), 1);
     }
 
     @Test
@@ -155,7 +154,7 @@ public class KakaoRefundServiceTest {
 
         assertEquals(ErrorCode.INVALID_RESERVATION_ID, exception.getErrorCode());
         verify(paymentRepository).findById(request.getPaymentId());
-        verify(lessonService, never()).updateParticipantCount(lesson, 1);
+        verify(seatInventoryService, never()).release(lesson.getLessonId(), 1);
     }
 
     @Test
@@ -172,7 +171,41 @@ public class KakaoRefundServiceTest {
 
         assertEquals(ErrorCode.PAY_ERROR, exception.getErrorCode());
         verify(paymentRepository).findById(request.getPaymentId());
-        verify(lessonService, never()).updateParticipantCount(lesson, 1);
+        verify(seatInventoryService, never()).release(lesson.getLessonId(), 1);
+    }
+
+    @Test
+    @DisplayName("환불 성공_논블로킹")
+    void refundPaymentReactive_Success() throws InterruptedException {
+        when(paymentRepository.findById(request.getPaymentId())).thenReturn(Optional.of(payment));
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"status\":\"CANCEL_PAYMENT\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        PaymentRefundDto.Response result = kakaoRefundService.refundPaymentReactive(request).block();
+
+        assertEquals(KakaoStatusType.CANCEL_PAYMENT, result.getStatus());
+        assertEquals(PaymentStatusType.REFUNDED, payment.getStatus());
+        assertEquals(ReservationStatus.CANCELED_BY_CUSTOMER, reservation.getStatus());
+        assertEquals("SECRET_KEY devKey", mockWebServer.takeRequest().getHeader("Authorization"));
+        verify(seatInventoryService).release(lesson.getLessonId(), reservation.getQuantity());
+    }
+
+    @Test
+    @DisplayName("환불 실패_논블로킹")
+    void refundPaymentReactive_Failure() {
+        when(paymentRepository.findById(request.getPaymentId())).thenReturn(Optional.of(payment));
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        RestApiException exception = assertThrows(RestApiException.class, () -> {
+            kakaoRefundService.refundPaymentReactive(request).block();
+        });
+
+        assertEquals(ErrorCode.PAY_ERROR, exception.getErrorCode());
+        assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+        verify(seatInventoryService, never()).release(lesson.getLessonId(), 1);
     }
 
 }
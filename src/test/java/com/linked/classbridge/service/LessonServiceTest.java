@@ -0,0 +1,125 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.LessonRule;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.dto.oneDayClass.LessonDto;
+import com.linked.classbridge.dto.oneDayClass.LessonSlot;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.type.ErrorCode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LessonServiceTest {
+
+    @InjectMocks
+    private LessonService lessonService;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private OneDayClassRepository classRepository;
+
+    // 2024-07-01 은 월요일
+    private final LocalDate monday = LocalDate.of(2024, 7, 1);
+    private final LocalTime tenAm = LocalTime.of(10, 0);
+
+    private OneDayClass oneDayClass;
+
+    @BeforeEach
+    void setUp() {
+        oneDayClass = OneDayClass.builder()
+                .classId(1L)
+                .duration(60)
+                .personal(5)
+                .startDate(monday)
+                .endDate(monday.plusWeeks(4))
+                .lessonRuleList(List.of(new LessonRule(DayOfWeek.MONDAY, tenAm)))
+                .build();
+    }
+
+    @Test
+    void getLessons_expands_rules_within_period() {
+        // given
+        given(lessonRepository.findSlots(1L, monday, monday.plusDays(13))).willReturn(List.of());
+
+        // when
+        List<LessonDto> lessons = lessonService.getLessons(oneDayClass, monday, monday.plusDays(13));
+
+        // then
+        assertThat(lessons).extracting(LessonDto::getLessonDate)
+                .containsExactly(monday, monday.plusWeeks(1));
+        assertThat(lessons).allMatch(lesson -> lesson.getLessonId() == null);
+        assertThat(lessons.get(0).getEndTime()).isEqualTo(tenAm.plusMinutes(60));
+    }
+
+    @Test
+    void getLessons_merges_stored_slots_and_skips_deleted() {
+        // given
+        given(lessonRepository.findSlots(1L, monday, monday.plusDays(13))).willReturn(List.of(
+                new LessonSlot(10L, monday, tenAm, tenAm.plusMinutes(60), 3, false),
+                new LessonSlot(11L, monday.plusWeeks(1), tenAm, tenAm.plusMinutes(60), 0, true)
+        ));
+
+        // when
+        List<LessonDto> lessons = lessonService.getLessons(oneDayClass, monday, monday.plusDays(13));
+
+        // then
+        assertThat(lessons).hasSize(1);
+        assertThat(lessons.get(0).getLessonId()).isEqualTo(10L);
+        assertThat(lessons.get(0).getParticipantNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void getOrCreateLesson_materializes_rule_slot() {
+        // given
+        Lesson lesson = Lesson.builder().lessonId(20L).build();
+        given(lessonRepository.findSlot(1L, monday, tenAm)).willReturn(Optional.empty());
+        given(lessonRepository.findSlotForUpdate(1L, monday, tenAm))
+                .willReturn(Optional.of(new LessonSlot(20L, monday, tenAm, tenAm.plusMinutes(60), 0, false)));
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+        given(lessonRepository.findById(20L)).willReturn(Optional.of(lesson));
+
+        // when
+        Lesson result = lessonService.getOrCreateLesson(1L, monday, tenAm);
+
+        // then
+        assertThat(result.getLessonId()).isEqualTo(20L);
+        verify(lessonRepository).insertSlotIfAbsent(1L, monday, tenAm, tenAm.plusMinutes(60));
+    }
+
+    @Test
+    void getOrCreateLesson_fail_not_rule_slot() {
+        // given
+        given(lessonRepository.findSlot(1L, monday.plusDays(1), tenAm)).willReturn(Optional.empty());
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> lessonService.getOrCreateLesson(1L, monday.plusDays(1), tenAm));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.LESSON_NOT_FOUND);
+        verify(lessonRepository, never()).insertSlotIfAbsent(any(), any(), any(), any());
+    }
+}
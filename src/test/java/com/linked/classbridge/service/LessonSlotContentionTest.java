@@ -0,0 +1,100 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.LessonRule;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 아직 저장되지 않은 반복 규칙 슬롯을 두 요청이 동시에 처음 예약하는 상황을 재현한다.
+ * 각 호출이 자신의 트랜잭션에서 커밋되어야 서로의 INSERT 가 부딪히므로 테스트 트랜잭션으로 감싸지 않는다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lesson-slot;MODE=MySQL;NON_KEYWORDS=USER;LOCK_TIMEOUT=10000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LessonService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LessonSlotContentionTest {
+
+    private static final LocalTime TEN_AM = LocalTime.of(10, 0);
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private OneDayClassRepository oneDayClassRepository;
+
+    @Test
+    void getOrCreateLesson_returns_same_lesson_to_concurrent_first_reservations() throws Exception {
+        // given: 내일 10시 반복 규칙 슬롯이 아직 저장되지 않음
+        LocalDate lessonDate = LocalDate.now().plusDays(1);
+        OneDayClass oneDayClass = saveClass(lessonDate);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when: 두 요청이 동시에 같은 슬롯을 예약
+        List<Long> lessonIds = new ArrayList<>();
+        try {
+            List<Future<Lesson>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return lessonService.getOrCreateLesson(oneDayClass.getClassId(), lessonDate, TEN_AM);
+                }));
+            }
+            start.countDown();
+            for (Future<Lesson> future : futures) {
+                lessonIds.add(future.get(30, TimeUnit.SECONDS).getLessonId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then: 둘 다 실패 없이 같은 레슨을 받고, 레슨은 한 행만 저장된다.
+        assertThat(lessonIds.get(0)).isNotNull().isEqualTo(lessonIds.get(1));
+        assertThat(lessonRepository.findSlots(oneDayClass.getClassId(), lessonDate, lessonDate)).hasSize(1);
+    }
+
+    private OneDayClass saveClass(LocalDate lessonDate) {
+        return oneDayClassRepository.save(OneDayClass.builder()
+                .className("도자기 클래스")
+                .address1("서울특별시")
+                .address2("마포구")
+                .address3("와우산로 1")
+                .duration(60)
+                .price(30000)
+                .personal(5)
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .introduction("도자기를 직접 빚어보는 클래스입니다.")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .lessonRuleList(new ArrayList<>(List.of(new LessonRule(lessonDate.getDayOfWeek(), TEN_AM))))
+                .build());
+    }
+}
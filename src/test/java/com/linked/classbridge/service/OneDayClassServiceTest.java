@@ -3,31 +3,40 @@ package com.linked.classbridge.service;
 import static com.linked.classbridge.type.ErrorCode.CLASS_HAVE_MAX_TAG;
 import static com.linked.classbridge.type.ErrorCode.EXISTS_RESERVED_PERSON;
 import static com.linked.classbridge.type.ErrorCode.LESSON_DATE_MUST_BE_AFTER_NOW;
+import static com.linked.classbridge.type.ErrorCode.LESSON_RULE_REQUIRED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import com.linked.classbridge.domain.Category;
 import com.linked.classbridge.domain.ClassFAQ;
 import com.linked.classbridge.domain.ClassTag;
 import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.LessonRule;
 import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.domain.User;
-import com.linked.classbridge.domain.document.OneDayClassDocument;
 import com.linked.classbridge.dto.oneDayClass.ClassFAQDto;
 import com.linked.classbridge.dto.oneDayClass.ClassTagDto;
+import com.linked.classbridge.dto.oneDayClass.ClassUpdateDto;
 import com.linked.classbridge.dto.oneDayClass.LessonDto;
 import com.linked.classbridge.dto.oneDayClass.LessonDto.Request;
+import com.linked.classbridge.dto.oneDayClass.RepeatClassDto;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.CategoryRepository;
 import com.linked.classbridge.repository.ClassFAQRepository;
 import com.linked.classbridge.repository.ClassImageRepository;
 import com.linked.classbridge.repository.ClassTagRepository;
 import com.linked.classbridge.repository.LessonRepository;
-import com.linked.classbridge.repository.OneDayClassDocumentRepository;
 import com.linked.classbridge.repository.OneDayClassRepository;
 import com.linked.classbridge.repository.UserRepository;
+import com.linked.classbridge.type.CategoryType;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -40,7 +49,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.client.RestTemplate;
 
@@ -76,16 +84,16 @@ class OneDayClassServiceTest {
     private LessonRepository lessonRepository;
 
     @Mock
-    private ClassFAQRepository faqRepository;
+    private LessonService lessonService;
 
     @Mock
-    private ClassTagRepository tagRepository;
+    private ClassFAQRepository faqRepository;
 
     @Mock
-    private OneDayClassDocumentRepository oneDayClassDocumentRepository;
+    private ClassTagRepository tagRepository;
 
     @Mock
-    private ElasticsearchOperations operations;
+    private ClassIndexOutboxService classIndexOutboxService;
 
     @Test
     void registerFAQ() {
@@ -174,7 +182,8 @@ class OneDayClassServiceTest {
 
         given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
         given(classRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClass));
-        given(lessonRepository.existsByOneDayClassClassIdAndLessonDateAndStartTime(oneDayClass.getClassId(), request.lessonDate(), request.startTime())).willReturn(false);
+        given(lessonService.isLessonSlotTaken(oneDayClass, request.lessonDate(), request.startTime())).willReturn(false);
+        given(lessonRepository.findSlot(oneDayClass.getClassId(), request.lessonDate(), request.startTime())).willReturn(Optional.empty());
 
         Lesson lesson = Lesson.builder()
                         .lessonId(1L)
@@ -229,7 +238,8 @@ class OneDayClassServiceTest {
 
         given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
         given(lessonRepository.findById(1L)).willReturn(Optional.of(beforeLesson));
-        given(lessonRepository.existsByOneDayClassClassIdAndLessonDateAndStartTime(oneDayClass.getClassId(), request.lessonDate(), request.startTime())).willReturn(false);
+        given(lessonService.isLessonSlotTaken(oneDayClass, request.lessonDate(), request.startTime())).willReturn(false);
+        given(lessonRepository.findSlot(oneDayClass.getClassId(), request.lessonDate(), request.startTime())).willReturn(Optional.empty());
 
         Lesson afterLesson = Lesson.builder()
                 .lessonId(1L)
@@ -240,7 +250,7 @@ class OneDayClassServiceTest {
                 .participantNumber(0)
                 .build();
 
-        given(lessonRepository.save(any(Lesson.class))).willReturn(afterLesson);
+        given(lessonRepository.saveAndFlush(any(Lesson.class))).willReturn(afterLesson);
 
         // When
         LessonDto response = oneDayClassService.updateLesson(tutor.getEmail(), request, 1L, 1L);
@@ -282,7 +292,6 @@ class OneDayClassServiceTest {
 
         given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
         given(lessonRepository.findById(1L)).willReturn(Optional.of(beforeLesson));
-        given(lessonRepository.existsByOneDayClassClassIdAndLessonDateAndStartTime(oneDayClass.getClassId(), request.lessonDate(), request.startTime())).willReturn(false);
 
         // When
         RestApiException response = assertThrows(RestApiException.class,
@@ -330,14 +339,10 @@ class OneDayClassServiceTest {
                 .oneDayClass(oneDayClass)
                 .build();
 
-        OneDayClassDocument oneDayClassDocument = OneDayClassDocument.builder().classId(1L).tagList(new ArrayList<>()).build();
-
         // When
         given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
         given(classRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClass));
         given(tagRepository.save(any(ClassTag.class))).willReturn(responseTag);
-        given(oneDayClassDocumentRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClassDocument));
-        given(operations.save(oneDayClassDocument)).willReturn(oneDayClassDocument);
 
         // Execute the service method
         ClassTagDto response = oneDayClassService.registerTag(tutor.getEmail(), request, 1L);
@@ -396,14 +401,10 @@ class OneDayClassServiceTest {
                 .oneDayClass(oneDayClass)
                 .build();
 
-        OneDayClassDocument oneDayClassDocument = OneDayClassDocument.builder().classId(1L).tagList(List.of("tag")).build();
-
         // When
         given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
         given(tagRepository.findById(1L)).willReturn(Optional.of(originTag));
         given(tagRepository.save(any(ClassTag.class))).willReturn(responseTag);
-        given(oneDayClassDocumentRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClassDocument));
-        given(operations.save(oneDayClassDocument)).willReturn(oneDayClassDocument);
 
         // Execute the service method
         ClassTagDto response = oneDayClassService.updateTag(tutor.getEmail(), request, 1L, 1L);
@@ -419,17 +420,159 @@ class OneDayClassServiceTest {
         User tutor = User.builder().userId(1L).email("example@example.com").build();
         OneDayClass oneDayClass = OneDayClass.builder().classId(1L).tutor(tutor).build();
 
-        OneDayClassDocument oneDayClassDocument = OneDayClassDocument.builder().classId(1L).tagList(List.of("tag입니다.")).build();
-
         // When
         given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
         given(tagRepository.findById(1L)).willReturn(Optional.of(ClassTag.builder().tagId(1L).name("tag입니다.").oneDayClass(oneDayClass).build()));
-        given(oneDayClassDocumentRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClassDocument));
 
         // Execute the service method
         boolean response = oneDayClassService.deleteTag(tutor.getEmail(), 1L, 1L);
 
         // Then
         assertThat(response).isEqualTo(true);
+        verify(classIndexOutboxService).updateTags(1L);
+    }
+
+    @Test
+    void updateClass_keeps_lesson_rules() {
+        // Given: 월요일 10시 반복 규칙이 있는 클래스
+        User tutor = User.builder().userId(1L).email("example@example.com").build();
+        LessonRule rule = new LessonRule(DayOfWeek.MONDAY, LocalTime.of(10, 0));
+        OneDayClass oneDayClass = classForUpdate(tutor, 60, new ArrayList<>(List.of(rule)));
+
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+        given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
+        given(categoryRepository.findByName(CategoryType.FITNESS))
+                .willReturn(Category.builder().name(CategoryType.FITNESS).build());
+        given(classRepository.save(oneDayClass)).willReturn(oneDayClass);
+
+        // When: 반복 규칙이 없는 수정 요청으로 가격만 변경
+        ClassUpdateDto.ClassResponse response = oneDayClassService.updateClass(tutor.getEmail(),
+                updateRequest(oneDayClass, 60, 40000), 1L);
+
+        // Then: 조회한 엔티티를 고쳐 저장하므로 반복 규칙이 남는다.
+        assertThat(response.price()).isEqualTo(40000);
+        assertThat(oneDayClass.getLessonRuleList()).containsExactly(rule);
+        assertThat(oneDayClass.getTotalWish()).isEqualTo(3);
+        verify(classRepository).save(oneDayClass);
+    }
+
+    @Test
+    void updateClass_updates_lesson_end_times_when_duration_changes() {
+        // Given: 소요시간 60분 클래스
+        User tutor = User.builder().userId(1L).email("example@example.com").build();
+        OneDayClass oneDayClass = classForUpdate(tutor, 60, new ArrayList<>());
+
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+        given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
+        given(categoryRepository.findByName(CategoryType.FITNESS))
+                .willReturn(Category.builder().name(CategoryType.FITNESS).build());
+        given(classRepository.save(oneDayClass)).willReturn(oneDayClass);
+
+        // When: 소요시간을 90분으로 변경
+        oneDayClassService.updateClass(tutor.getEmail(), updateRequest(oneDayClass, 90, 30000), 1L);
+
+        // Then: 오늘 이후 레슨의 종료 시간을 새 소요시간으로 변경한다.
+        verify(lessonRepository).updateEndTimeOfLessonsFrom(1L, LocalDate.now(), 90);
+    }
+
+    @Test
+    void updateClass_keeps_lesson_end_times_when_duration_unchanged() {
+        // Given
+        User tutor = User.builder().userId(1L).email("example@example.com").build();
+        OneDayClass oneDayClass = classForUpdate(tutor, 60, new ArrayList<>());
+
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+        given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
+        given(categoryRepository.findByName(CategoryType.FITNESS))
+                .willReturn(Category.builder().name(CategoryType.FITNESS).build());
+        given(classRepository.save(oneDayClass)).willReturn(oneDayClass);
+
+        // When
+        oneDayClassService.updateClass(tutor.getEmail(), updateRequest(oneDayClass, 60, 40000), 1L);
+
+        // Then
+        verify(lessonRepository, never()).updateEndTimeOfLessonsFrom(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void updateLessonRules_replaces_rules() {
+        // Given: 월요일 10시 반복 규칙이 있는 클래스
+        User tutor = User.builder().userId(1L).email("example@example.com").build();
+        OneDayClass oneDayClass = classForUpdate(tutor, 60,
+                new ArrayList<>(List.of(new LessonRule(DayOfWeek.MONDAY, LocalTime.of(10, 0)))));
+
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+        given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
+        given(classRepository.save(oneDayClass)).willReturn(oneDayClass);
+
+        // When: 화요일 14시, 18시로 변경
+        oneDayClassService.updateLessonRules(tutor.getEmail(), List.of(RepeatClassDto.builder()
+                .dayOfWeek(DayOfWeek.TUESDAY)
+                .times(List.of(LocalTime.of(14, 0), LocalTime.of(18, 0)))
+                .build()), 1L);
+
+        // Then
+        assertThat(oneDayClass.getLessonRuleList()).containsExactly(
+                new LessonRule(DayOfWeek.TUESDAY, LocalTime.of(14, 0)),
+                new LessonRule(DayOfWeek.TUESDAY, LocalTime.of(18, 0)));
+        verify(classRepository).save(oneDayClass);
+        verify(lessonService).getLessons(oneDayClass, LocalDate.now(), LocalDate.now().plusMonths(1));
+    }
+
+    @Test
+    void updateLessonRules_fail_empty_rules() {
+        // Given
+        User tutor = User.builder().userId(1L).email("example@example.com").build();
+        OneDayClass oneDayClass = classForUpdate(tutor, 60,
+                new ArrayList<>(List.of(new LessonRule(DayOfWeek.MONDAY, LocalTime.of(10, 0)))));
+
+        given(classRepository.findById(1L)).willReturn(Optional.of(oneDayClass));
+        given(userRepository.findByEmail(tutor.getEmail())).willReturn(Optional.of(tutor));
+
+        // When
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> oneDayClassService.updateLessonRules(tutor.getEmail(), List.of(), 1L));
+
+        // Then: 반복 규칙을 비우면 레슨이 열리지 않으므로 거부하고 기존 규칙을 유지한다.
+        assertEquals(LESSON_RULE_REQUIRED, exception.getErrorCode());
+        assertThat(oneDayClass.getLessonRuleList()).hasSize(1);
+        verify(classRepository, never()).save(any());
+    }
+
+    private OneDayClass classForUpdate(User tutor, int duration, List<LessonRule> lessonRules) {
+        return OneDayClass.builder()
+                .classId(1L)
+                .tutor(tutor)
+                .className("도자기 클래스")
+                .address1("서울특별시")
+                .address2("마포구")
+                .address3("와우산로 1")
+                .duration(duration)
+                .price(30000)
+                .personal(5)
+                .totalStarRate(4.5)
+                .totalReviews(2)
+                .totalWish(3)
+                .introduction("도자기를 직접 빚어보는 클래스입니다.")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusMonths(1))
+                .lessonRuleList(lessonRules)
+                .build();
+    }
+
+    private ClassUpdateDto.ClassRequest updateRequest(OneDayClass oneDayClass, int duration, int price) {
+        return ClassUpdateDto.ClassRequest.builder()
+                .className(oneDayClass.getClassName())
+                .address1(oneDayClass.getAddress1())
+                .address2(oneDayClass.getAddress2())
+                .address3(oneDayClass.getAddress3())
+                .duration(duration)
+                .price(price)
+                .personal(oneDayClass.getPersonal())
+                .introduction(oneDayClass.getIntroduction())
+                .startDate(oneDayClass.getStartDate())
+                .endDate(oneDayClass.getEndDate())
+                .categoryType(CategoryType.FITNESS)
+                .build();
     }
-}
\ No newline at end of file
+}
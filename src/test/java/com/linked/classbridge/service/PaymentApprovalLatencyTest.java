@@ -0,0 +1,281 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.config.PayProperties;
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.domain.Reservation;
+import com.linked.classbridge.domain.User;
+import com.linked.classbridge.dto.payment.CreatePaymentResponse;
+import com.linked.classbridge.dto.payment.PaymentApproveDto;
+import com.linked.classbridge.dto.reservation.ReservationStatus;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.repository.PaymentRepository;
+import com.linked.classbridge.repository.ReservationRepository;
+import com.linked.classbridge.repository.SeatHoldRepository;
+import com.linked.classbridge.repository.UserRepository;
+import com.linked.classbridge.type.AuthType;
+import com.linked.classbridge.type.UserRole;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 결제 승인 후 같은 서버의 /api/payments/complete 를 HTTP 로 다시 호출하던 방식과 바로 저장하는 방식의 지연 시간을 비교한다.
+ * 카카오페이는 MockWebServer 로 대신하고, 예전 루프백 호출은 JDK HttpServer 가 받아 savePayment 를 호출하도록 재현한다.
+ * 두 방식 모두 결제 저장, 예약 확정, hold 정리가 같은 결과를 내는지도 확인한다.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:approval;MODE=MySQL;NON_KEYWORDS=USER;LOCK_TIMEOUT=10000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SeatInventoryService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentApprovalLatencyTest {
+
+    private static final int WARMUP = 20;
+
+    private static final int ROUNDS = 200;
+
+    private static final String USER_EMAIL = "user@test.com";
+
+    private static final String APPROVE_BODY = "{\"tid\":\"T1234\",\"cid\":\"TC0ONETIME\",\"quantity\":1,"
+            + "\"payment_method_type\":\"MONEY\",\"item_name\":\"도자기 클래스\",\"amount\":{\"total\":30000}}";
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private OneDayClassRepository oneDayClassRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockWebServer kakaoServer;
+
+    private HttpServer loopbackServer;
+
+    private KakaoPayClient kakaoPayClient;
+
+    private KakaoPaymentService kakaoPaymentService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        kakaoServer = new MockWebServer();
+        kakaoServer.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return new MockResponse()
+                        .setBody(APPROVE_BODY)
+                        .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            }
+        });
+        kakaoServer.start();
+
+        PayProperties payProperties = new PayProperties();
+        payProperties.setCid("TC0ONETIME");
+        payProperties.setDevKey("devKey");
+        payProperties.setApproveUrl(kakaoServer.url("/approve").toString());
+
+        kakaoPayClient = new KakaoPayClient(payProperties, WebClient.builder(), new SimpleMeterRegistry());
+        kakaoPaymentService = new KakaoPaymentService(payProperties, kakaoPayClient, paymentRepository,
+                reservationRepository, null, seatInventoryService, transactionManager);
+
+        // 예전 POST /api/payments/complete 와 같이 승인 결과를 JSON 으로 받아 savePayment 를 호출
+        loopbackServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        loopbackServer.createContext("/api/payments/complete", exchange -> {
+            PaymentApproveDto.Response approved = objectMapper.readValue(exchange.getRequestBody(),
+                    PaymentApproveDto.Response.class);
+            byte[] body = objectMapper.writeValueAsBytes(kakaoPaymentService.savePayment(approved));
+
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        loopbackServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        loopbackServer.stop(0);
+        kakaoPayClient.shutdown();
+        kakaoServer.shutdown();
+    }
+
+    @Test
+    void in_process_approval_skips_loopback_hop() {
+        // given: 두 방식 모두 결제 대기 중인 예약과 hold 를 같은 수만큼 준비
+        int perVariant = WARMUP + ROUNDS;
+        Long lessonId = saveLesson(perVariant * 2);
+        User user = saveUser();
+        List<Long> loopbackReservations = holdReservations(lessonId, user, perVariant);
+        List<Long> inProcessReservations = holdReservations(lessonId, user, perVariant);
+        int loopbackPort = loopbackServer.getAddress().getPort();
+        AtomicInteger loopbackCalls = new AtomicInteger();
+
+        // when
+        long[] loopback = measure(loopbackReservations, reservationId -> {
+            PaymentApproveDto.Response approved = kakaoPayClient
+                    .approve(Map.of("tid", "T1234", "pg_token", "pg_token")).block();
+            approved.setReservationId(reservationId);
+
+            // 예전과 같이 호출마다 WebClient 를 만들어 같은 서버로 다시 요청
+            WebClient.builder()
+                    .baseUrl("http://localhost:" + loopbackPort)
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .build()
+                    .post()
+                    .uri("/api/payments/complete")
+                    .bodyValue(approved)
+                    .retrieve()
+                    .bodyToMono(CreatePaymentResponse.class)
+                    .block();
+            loopbackCalls.incrementAndGet();
+        });
+        long[] inProcess = measure(inProcessReservations,
+                reservationId -> kakaoPaymentService.approvePayment(reservationId, "pg_token", USER_EMAIL));
+
+        // then: 결과는 같고 카카오페이는 결제마다 한 번씩만 호출
+        assertThat(loopbackCalls.get()).isEqualTo(perVariant);
+        assertThat(kakaoServer.getRequestCount()).isEqualTo(perVariant * 2);
+        assertThat(paymentRepository.count()).isEqualTo(perVariant * 2L);
+        assertThat(seatHoldRepository.count()).isZero();
+        assertThat(lessonRepository.findById(lessonId).orElseThrow().getParticipantNumber())
+                .isEqualTo(perVariant * 2);
+        for (Reservation reservation : reservationRepository.findAll()) {
+            assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        }
+
+        log.info("approve {} payments :: loopback p50 {} us, p99 {} us / in-process p50 {} us, p99 {} us",
+                ROUNDS, percentile(loopback, 50), percentile(loopback, 99),
+                percentile(inProcess, 50), percentile(inProcess, 99));
+    }
+
+    // 앞의 WARMUP 건은 JIT, 커넥션 준비 구간이므로 기록하지 않는다.
+    private long[] measure(List<Long> reservationIds, LongConsumer approve) {
+        long[] latencies = new long[ROUNDS];
+        for (int i = 0; i < reservationIds.size(); i++) {
+            long startedAt = System.nanoTime();
+            approve.accept(reservationIds.get(i));
+            long elapsedMicros = (System.nanoTime() - startedAt) / 1_000;
+            if (i >= WARMUP) {
+                latencies[i - WARMUP] = elapsedMicros;
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    // 결제 요청까지 마친 상태와 같이 좌석을 잡고 hold 에 tid 를 남긴다.
+    private List<Long> holdReservations(Long lessonId, User user, int count) {
+        Lesson lesson = lessonRepository.findById(lessonId).orElseThrow();
+        List<Long> reservationIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Reservation reservation = reservationRepository.save(Reservation.builder()
+                    .lesson(lesson)
+                    .user(user)
+                    .quantity(1)
+                    .status(ReservationStatus.PENDING)
+                    .build());
+            seatInventoryService.hold(reservation.getReservationId(), lessonId, 1);
+            seatInventoryService.attachPayment(reservation.getReservationId(),
+                    "T" + reservation.getReservationId(), "order_" + reservation.getReservationId());
+            reservationIds.add(reservation.getReservationId());
+        }
+        return reservationIds;
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .email(USER_EMAIL)
+                .authType(AuthType.EMAIL)
+                .username("사용자")
+                .nickname("사용자")
+                .phone("010-1234-5678")
+                .roles(List.of(UserRole.ROLE_USER))
+                .build());
+    }
+
+    private Long saveLesson(int personal) {
+        OneDayClass oneDayClass = oneDayClassRepository.save(OneDayClass.builder()
+                .className("도자기 클래스")
+                .address1("서울특별시")
+                .address2("마포구")
+                .address3("와우산로 1")
+                .duration(60)
+                .price(30000)
+                .personal(personal)
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .introduction("도자기를 직접 빚어보는 클래스입니다.")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .build());
+        return lessonRepository.save(Lesson.builder()
+                .lessonDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .participantNumber(0)
+                .oneDayClass(oneDayClass)
+                .build()).getLessonId();
+    }
+}
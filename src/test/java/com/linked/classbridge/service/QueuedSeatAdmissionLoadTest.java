@@ -0,0 +1,163 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.repository.SeatHoldRepository;
+import com.linked.classbridge.type.ErrorCode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 인기 레슨 3개에 구매자 10,000명이 동시에 몰리는 상황을 재현한다.
+ * 정원만큼만 좌석이 잡히는지 확인하고, 처리량과 DB 에 저장한 배치 수를 기록한다.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admission;MODE=MySQL;NON_KEYWORDS=USER;LOCK_TIMEOUT=10000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "seat.admission.enabled=true",
+        "seat.admission.timeout-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SeatInventoryService.class, QueuedSeatAdmission.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueuedSeatAdmissionLoadTest {
+
+    private static final int BUYERS = 10_000;
+
+    private static final int THREADS = 200;
+
+    private static final int PERSONAL = 100;
+
+    @Autowired
+    private SeatAdmission seatAdmission;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private OneDayClassRepository oneDayClassRepository;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void admits_exactly_capacity_for_ten_thousand_buyers() throws Exception {
+        // given
+        List<Long> lessonIds = List.of(saveLesson(), saveLesson(), saveLesson());
+        ConcurrentHashMap<Long, AtomicInteger> admitted = new ConcurrentHashMap<>();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger buyerIds = new AtomicInteger();
+
+        // when: 구매자마다 예약 ID 가 다르고, 레슨은 돌아가며 고른다.
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsedNanos;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int buyer;
+                    while ((buyer = buyerIds.incrementAndGet()) <= BUYERS) {
+                        Long lessonId = lessonIds.get(buyer % lessonIds.size());
+                        try {
+                            seatAdmission.admit((long) buyer, lessonId, 1);
+                            admitted.computeIfAbsent(lessonId, id -> new AtomicInteger()).incrementAndGet();
+                        } catch (RestApiException e) {
+                            assertThat(e.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+                            soldOut.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+            elapsedNanos = System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then: 레슨마다 정원만큼만 잡히고 DB 와 hold 도 일치한다.
+        for (Long lessonId : lessonIds) {
+            assertThat(admitted.get(lessonId).get()).isEqualTo(PERSONAL);
+            assertThat(lessonRepository.findById(lessonId).orElseThrow().getParticipantNumber()).isEqualTo(PERSONAL);
+        }
+        assertThat(soldOut.get()).isEqualTo(BUYERS - PERSONAL * lessonIds.size());
+        assertThat(seatHoldRepository.count()).isEqualTo(PERSONAL * lessonIds.size());
+
+        DistributionSummary batches = meterRegistry.get(QueuedSeatAdmission.BATCH_SIZE).summary();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("{} buyers from {} threads in {} ms ({} req/s), {} seats persisted in {} batches (max {})",
+                BUYERS, THREADS, Math.round(seconds * 1000), Math.round(BUYERS / seconds),
+                Math.round(batches.totalAmount()), batches.count(), Math.round(batches.max()));
+    }
+
+    private Long saveLesson() {
+        OneDayClass oneDayClass = oneDayClassRepository.save(OneDayClass.builder()
+                .className("도자기 클래스")
+                .address1("서울특별시")
+                .address2("마포구")
+                .address3("와우산로 1")
+                .duration(60)
+                .price(30000)
+                .personal(PERSONAL)
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .introduction("도자기를 직접 빚어보는 클래스입니다.")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .build());
+        return lessonRepository.save(Lesson.builder()
+                .lessonDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .participantNumber(0)
+                .oneDayClass(oneDayClass)
+                .build()).getLessonId();
+    }
+
+    @TestConfiguration
+    static class MeterRegistryConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
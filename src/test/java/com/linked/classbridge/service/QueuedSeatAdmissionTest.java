@@ -0,0 +1,111 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueuedSeatAdmissionTest {
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QueuedSeatAdmission seatAdmission;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        seatAdmission = new QueuedSeatAdmission(lessonRepository, seatInventoryService, meterRegistry,
+                2, 100, Duration.ofMinutes(1), 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatAdmission.shutdown();
+    }
+
+    @Test
+    void admit_rejects_sold_out_lesson_without_queue() {
+        // given: 남은 좌석 2석
+        given(lessonRepository.findById(1L)).willReturn(Optional.of(lesson(5, 3)));
+
+        // when
+        seatAdmission.admit(10L, 1L, 1);
+        RestApiException queued = assertThrows(RestApiException.class, () -> seatAdmission.admit(11L, 1L, 2));
+        seatAdmission.admit(12L, 1L, 1);
+        RestApiException fast = assertThrows(RestApiException.class, () -> seatAdmission.admit(13L, 1L, 1));
+
+        // then: 레슨은 한 번만 조회하고, 매진 후 요청은 큐를 거치지 않는다.
+        assertThat(queued.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        assertThat(fast.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        verify(lessonRepository, times(1)).findById(1L);
+        verify(seatInventoryService).holdAll(1L, Map.of(10L, 1));
+        verify(seatInventoryService).holdAll(1L, Map.of(12L, 1));
+        assertThat(meterRegistry.get(QueuedSeatAdmission.REJECTED).tag("stage", "queue").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(QueuedSeatAdmission.REJECTED).tag("stage", "fast").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void admit_falls_back_to_single_hold_when_state_is_stale() {
+        // given: 메모리에는 좌석이 있지만 DB 에서는 다른 서버가 먼저 잡음
+        given(lessonRepository.findById(1L)).willReturn(Optional.of(lesson(5, 0)));
+        willThrow(new RestApiException(ErrorCode.MAX_PARTICIPANTS_EXCEEDED))
+                .given(seatInventoryService).holdAll(anyLong(), anyMap());
+        willThrow(new RestApiException(ErrorCode.MAX_PARTICIPANTS_EXCEEDED))
+                .given(seatInventoryService).hold(10L, 1L, 2);
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class, () -> seatAdmission.admit(10L, 1L, 2));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        verify(seatInventoryService).hold(10L, 1L, 2);
+        verify(seatInventoryService, never()).releaseHold(anyLong());
+    }
+
+    @Test
+    void admit_fail_lesson_not_found() {
+        given(lessonRepository.findById(1L)).willReturn(Optional.empty());
+
+        RestApiException exception = assertThrows(RestApiException.class, () -> seatAdmission.admit(10L, 1L, 1));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.LESSON_NOT_FOUND);
+    }
+
+    private Lesson lesson(int personal, int participantNumber) {
+        Lesson lesson = new Lesson();
+        lesson.setLessonId(1L);
+        lesson.setParticipantNumber(participantNumber);
+        lesson.setOneDayClass(OneDayClass.builder().personal(personal).build());
+        return lesson;
+    }
+}
@@ -0,0 +1,95 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.SeatHold;
+import com.linked.classbridge.repository.SeatHoldRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldSweeperTest {
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SeatHoldSweeper seatHoldSweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        seatHoldSweeper = new SeatHoldSweeper(seatHoldRepository, seatInventoryService, meterRegistry, 2);
+    }
+
+    @Test
+    void sweep_expires_holds_in_batches() {
+        // given
+        SeatHold first = hold(1L);
+        SeatHold second = hold(2L);
+        SeatHold third = hold(3L);
+        given(seatHoldRepository.findByExpiresAtLessThanEqualOrderByHoldIdAsc(any(LocalDateTime.class),
+                any(Pageable.class)))
+                .willReturn(List.of(first, second), List.of(third));
+        given(seatInventoryService.expire(first)).willReturn(true);
+        // 그 사이 결제가 확정된 hold
+        given(seatInventoryService.expire(second)).willReturn(false);
+        given(seatInventoryService.expire(third)).willReturn(true);
+        given(seatHoldRepository.count()).willReturn(7L);
+
+        // when
+        seatHoldSweeper.sweep();
+
+        // then
+        verify(seatHoldRepository, times(2)).findByExpiresAtLessThanEqualOrderByHoldIdAsc(any(LocalDateTime.class),
+                any(Pageable.class));
+        assertThat(meterRegistry.get(SeatHoldSweeper.EXPIRED).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(SeatHoldSweeper.ACTIVE).gauge().value()).isEqualTo(7);
+    }
+
+    @Test
+    void sweep_stops_batch_loop_when_hold_fails() {
+        // given
+        SeatHold first = hold(1L);
+        SeatHold second = hold(2L);
+        given(seatHoldRepository.findByExpiresAtLessThanEqualOrderByHoldIdAsc(any(LocalDateTime.class),
+                any(Pageable.class)))
+                .willReturn(List.of(first, second));
+        given(seatInventoryService.expire(first)).willThrow(new IllegalStateException("lock timeout"));
+        given(seatInventoryService.expire(second)).willReturn(true);
+
+        // when
+        seatHoldSweeper.sweep();
+
+        // then: 실패한 hold 는 다음 주기에 다시 시도한다.
+        verify(seatHoldRepository, times(1)).findByExpiresAtLessThanEqualOrderByHoldIdAsc(any(LocalDateTime.class),
+                any(Pageable.class));
+        assertThat(meterRegistry.get(SeatHoldSweeper.EXPIRED).counter().count()).isEqualTo(1);
+    }
+
+    private SeatHold hold(Long holdId) {
+        return SeatHold.builder()
+                .holdId(holdId)
+                .reservationId(holdId + 100)
+                .lessonId(1L)
+                .quantity(1)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .createdAt(LocalDateTime.now().minusMinutes(16))
+                .build();
+    }
+}
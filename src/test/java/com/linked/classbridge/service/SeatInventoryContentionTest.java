@@ -0,0 +1,168 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.OneDayClass;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.OneDayClassRepository;
+import com.linked.classbridge.type.ErrorCode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 한 레슨에 구매자가 몰리는 상황을 스레드로 재현해 초과 판매가 없는지 확인하고 처리량을 기록한다.
+ * 테스트 트랜잭션으로 감싸면 다른 스레드가 데이터를 볼 수 없으므로 각 호출이 자신의 트랜잭션에서 커밋되도록 한다.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seat;MODE=MySQL;NON_KEYWORDS=USER;LOCK_TIMEOUT=10000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SeatInventoryService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatInventoryContentionTest {
+
+    private static final int THREADS = 32;
+
+    // seat_hold 는 예약 ID 를 FK 없이 저장하므로 요청마다 다른 ID 를 쓰면 된다. 테스트 간에도 겹치지 않아야 한다.
+    private static final AtomicLong reservationIds = new AtomicLong();
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private OneDayClassRepository oneDayClassRepository;
+
+    @Test
+    void hold_never_oversells_hot_lesson() throws Exception {
+        // given: 정원 50명 레슨에 32명이 100번씩 1석을 요청
+        Lesson lesson = saveLesson(50);
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+
+        // when
+        long elapsedNanos = runConcurrently(100, () -> {
+            try {
+                seatInventoryService.hold(reservationIds.incrementAndGet(), lesson.getLessonId(), 1);
+                held.incrementAndGet();
+            } catch (RestApiException e) {
+                assertThat(e.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+                soldOut.incrementAndGet();
+            }
+        });
+
+        // then
+        assertThat(held.get()).isEqualTo(50);
+        assertThat(soldOut.get()).isEqualTo(THREADS * 100 - 50);
+        assertThat(participantNumber(lesson)).isEqualTo(50);
+        logThroughput("hold", THREADS * 100, elapsedNanos);
+    }
+
+    @Test
+    void hold_and_release_keep_count_within_capacity() throws Exception {
+        // given: 정원 10명 레슨에서 좌석을 잡았다가 결제 실패로 돌려주는 요청이 섞여 들어옴
+        Lesson lesson = saveLesson(10);
+        AtomicInteger held = new AtomicInteger();
+
+        // when
+        long elapsedNanos = runConcurrently(200, () -> {
+            long reservationId = reservationIds.incrementAndGet();
+            try {
+                seatInventoryService.hold(reservationId, lesson.getLessonId(), 1);
+                held.incrementAndGet();
+                seatInventoryService.releaseHold(reservationId);
+            } catch (RestApiException e) {
+                assertThat(e.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+            }
+        });
+
+        // then: 잡은 좌석을 모두 돌려주었으므로 0 이다.
+        assertThat(held.get()).isPositive();
+        assertThat(participantNumber(lesson)).isZero();
+        logThroughput("hold+release", THREADS * 200, elapsedNanos);
+    }
+
+    private long runConcurrently(int iterations, Runnable attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < iterations; j++) {
+                        attempt.run();
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                // 작업 스레드의 assertion 실패도 여기서 드러난다.
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int participantNumber(Lesson lesson) {
+        return lessonRepository.findById(lesson.getLessonId()).orElseThrow().getParticipantNumber();
+    }
+
+    private void logThroughput(String operation, int attempts, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("{} on one lesson: {} attempts from {} threads in {} ms ({} ops/s)",
+                operation, attempts, THREADS, Math.round(seconds * 1000), Math.round(attempts / seconds));
+    }
+
+    private Lesson saveLesson(int personal) {
+        OneDayClass oneDayClass = oneDayClassRepository.save(OneDayClass.builder()
+                .className("도자기 클래스")
+                .address1("서울특별시")
+                .address2("마포구")
+                .address3("와우산로 1")
+                .duration(60)
+                .price(30000)
+                .personal(personal)
+                .totalStarRate(0.0)
+                .totalReviews(0)
+                .totalWish(0)
+                .introduction("도자기를 직접 빚어보는 클래스입니다.")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(1))
+                .build());
+        return lessonRepository.save(Lesson.builder()
+                .lessonDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .participantNumber(0)
+                .oneDayClass(oneDayClass)
+                .build());
+    }
+}
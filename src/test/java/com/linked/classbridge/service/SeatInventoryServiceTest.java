@@ -0,0 +1,247 @@
+package com.linked.classbridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.Lesson;
+import com.linked.classbridge.domain.Payment;
+import com.linked.classbridge.domain.Reservation;
+import com.linked.classbridge.domain.SeatHold;
+import com.linked.classbridge.dto.reservation.ReservationStatus;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.LessonRepository;
+import com.linked.classbridge.repository.ReservationRepository;
+import com.linked.classbridge.repository.SeatHoldRepository;
+import com.linked.classbridge.type.ErrorCode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryServiceTest {
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    private SeatInventoryService seatInventoryService;
+
+    @BeforeEach
+    void setUp() {
+        seatInventoryService = new SeatInventoryService(lessonRepository, reservationRepository, seatHoldRepository,
+                Duration.ofMinutes(15));
+    }
+
+    @Test
+    void hold_success() {
+        // given
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.empty());
+        given(lessonRepository.increaseParticipantNumber(1L, 2)).willReturn(1);
+        given(seatHoldRepository.save(any(SeatHold.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        SeatHold hold = seatInventoryService.hold(10L, 1L, 2);
+
+        // then
+        assertThat(hold.getReservationId()).isEqualTo(10L);
+        assertThat(hold.getQuantity()).isEqualTo(2);
+        assertThat(hold.getExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(14));
+        verify(lessonRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void hold_replaces_previous_hold_of_reservation() {
+        // given
+        SeatHold previous = hold(5L, 10L, 1L, 3);
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.of(previous));
+        given(seatHoldRepository.deleteByHoldId(5L)).willReturn(1);
+        given(lessonRepository.decreaseParticipantNumber(1L, 3)).willReturn(1);
+        given(lessonRepository.increaseParticipantNumber(1L, 2)).willReturn(1);
+
+        // when
+        seatInventoryService.hold(10L, 1L, 2);
+
+        // then
+        verify(lessonRepository).decreaseParticipantNumber(1L, 3);
+        verify(seatHoldRepository).save(any(SeatHold.class));
+    }
+
+    @Test
+    void hold_fail_sold_out() {
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.empty());
+        given(lessonRepository.increaseParticipantNumber(1L, 2)).willReturn(0);
+        given(lessonRepository.existsById(1L)).willReturn(true);
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> seatInventoryService.hold(10L, 1L, 2));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        verify(seatHoldRepository, never()).save(any(SeatHold.class));
+    }
+
+    @Test
+    void hold_fail_lesson_not_found() {
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.empty());
+        given(lessonRepository.increaseParticipantNumber(1L, 2)).willReturn(0);
+        given(lessonRepository.existsById(1L)).willReturn(false);
+
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> seatInventoryService.hold(10L, 1L, 2));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.LESSON_NOT_FOUND);
+    }
+
+    @Test
+    void hold_fail_invalid_quantity() {
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> seatInventoryService.hold(10L, 1L, 0));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_SEAT_QUANTITY);
+        verify(lessonRepository, never()).increaseParticipantNumber(anyLong(), anyInt());
+    }
+
+    @Test
+    void getPendingPayment_success() {
+        // given
+        SeatHold hold = hold(5L, 10L, 1L, 2);
+        given(seatHoldRepository.findByTid("test_tid")).willReturn(Optional.of(hold));
+
+        // when & then
+        assertThat(seatInventoryService.getPendingPayment("test_tid")).isSameAs(hold);
+    }
+
+    @Test
+    void getPendingPayment_fail_without_tid() {
+        // tid 가 없는 hold 를 찾지 않도록 조회하지 않는다.
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> seatInventoryService.getPendingPayment(null));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_PAYMENT_ID);
+        verify(seatHoldRepository, never()).findByTid(any());
+    }
+
+    @Test
+    void getPendingPaymentOfReservation_success() {
+        // given
+        SeatHold hold = SeatHold.builder().holdId(5L).reservationId(10L).lessonId(1L).quantity(2)
+                .tid("test_tid").partnerOrderId("order_10").build();
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.of(hold));
+
+        // when & then
+        assertThat(seatInventoryService.getPendingPaymentOfReservation(10L)).isSameAs(hold);
+    }
+
+    @Test
+    void getPendingPaymentOfReservation_fail_before_payment_request() {
+        // given: 좌석만 잡고 카카오페이 결제 요청은 아직 하지 않은 hold
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.of(hold(5L, 10L, 1L, 2)));
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> seatInventoryService.getPendingPaymentOfReservation(10L));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_PAYMENT_ID);
+    }
+
+    @Test
+    void confirm_removes_hold_without_changing_seats() {
+        // given
+        Reservation reservation = reservation(ReservationStatus.PENDING);
+        Payment payment = new Payment();
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation));
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.of(hold(5L, 10L, 1L, 2)));
+        given(seatHoldRepository.deleteByHoldId(5L)).willReturn(1);
+        given(reservationRepository.save(reservation)).willReturn(reservation);
+
+        // when
+        Reservation confirmed = seatInventoryService.confirm(10L, payment);
+
+        // then
+        assertThat(confirmed.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(confirmed.getPayment()).isSameAs(payment);
+        verify(lessonRepository, never()).increaseParticipantNumber(anyLong(), anyInt());
+        verify(lessonRepository, never()).decreaseParticipantNumber(anyLong(), anyInt());
+    }
+
+    @Test
+    void confirm_reacquires_seats_after_hold_expired() {
+        // given
+        Reservation reservation = reservation(ReservationStatus.EXPIRED);
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation));
+        given(seatHoldRepository.findByReservationId(10L)).willReturn(Optional.empty());
+        given(lessonRepository.increaseParticipantNumber(1L, 2)).willReturn(0);
+
+        // when
+        RestApiException exception = assertThrows(RestApiException.class,
+                () -> seatInventoryService.confirm(10L, new Payment()));
+
+        // then: 만료 후 매진되었으면 확정하지 않는다.
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MAX_PARTICIPANTS_EXCEEDED);
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.EXPIRED);
+    }
+
+    @Test
+    void expire_releases_seats_and_marks_reservation_expired() {
+        // given
+        Reservation reservation = reservation(ReservationStatus.PENDING);
+        given(seatHoldRepository.deleteByHoldId(5L)).willReturn(1);
+        given(lessonRepository.decreaseParticipantNumber(1L, 2)).willReturn(1);
+        given(reservationRepository.findById(10L)).willReturn(Optional.of(reservation));
+
+        // when
+        boolean expired = seatInventoryService.expire(hold(5L, 10L, 1L, 2));
+
+        // then
+        assertThat(expired).isTrue();
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.EXPIRED);
+    }
+
+    @Test
+    void expire_skips_hold_confirmed_meanwhile() {
+        given(seatHoldRepository.deleteByHoldId(5L)).willReturn(0);
+
+        boolean expired = seatInventoryService.expire(hold(5L, 10L, 1L, 2));
+
+        assertThat(expired).isFalse();
+        verify(lessonRepository, never()).decreaseParticipantNumber(anyLong(), anyInt());
+        verify(reservationRepository, never()).findById(anyLong());
+    }
+
+    private Reservation reservation(ReservationStatus status) {
+        Lesson lesson = new Lesson();
+        lesson.setLessonId(1L);
+        Reservation reservation = new Reservation();
+        reservation.setLesson(lesson);
+        reservation.setQuantity(2);
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    private SeatHold hold(Long holdId, Long reservationId, Long lessonId, int quantity) {
+        return SeatHold.builder()
+                .holdId(holdId)
+                .reservationId(reservationId)
+                .lessonId(lessonId)
+                .quantity(quantity)
+                .expiresAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -14,12 +14,10 @@ import com.linked.classbridge.domain.ClassImage;
 import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.domain.User;
 import com.linked.classbridge.domain.Wish;
-import com.linked.classbridge.domain.document.OneDayClassDocument;
 import com.linked.classbridge.dto.user.WishDto;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.CategoryRepository;
 import com.linked.classbridge.repository.ClassImageRepository;
-import com.linked.classbridge.repository.OneDayClassDocumentRepository;
 import com.linked.classbridge.repository.OneDayClassRepository;
 import com.linked.classbridge.repository.UserRepository;
 import com.linked.classbridge.repository.WishRepository;
@@ -36,7 +34,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
@@ -72,10 +69,10 @@ class UserServiceTest {
     private ClassImageRepository classImageRepository;
 
     @Mock
-    private OneDayClassDocumentRepository oneDayClassDocumentRepository;
+    private ClassIndexOutboxService classIndexOutboxService;
 
     @Mock
-    private ElasticsearchOperations operations;
+    private UserSummaryCache userSummaryCache;
 
     @Test
     @WithMockUser
@@ -190,12 +187,9 @@ class UserServiceTest {
                 .category(category)
                 .tutor(tutor).build();
 
-        OneDayClassDocument oneDayClassDocument = OneDayClassDocument.builder().classId(1L).totalWish(0).build();
-
         given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
         given(oneDayClassRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClass));
         given(wishRepository.existsByUserUserIdAndOneDayClassClassId(user.getUserId(), oneDayClass.getClassId())).willReturn(false);
-        given(oneDayClassDocumentRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClassDocument));
 
         boolean response = userService.addWish(user.getEmail(), oneDayClass.getClassId());
 
@@ -289,12 +283,10 @@ class UserServiceTest {
                 .tutor(tutor).build();
 
         Wish wish = Wish.builder().user(user).oneDayClass(oneDayClass).id(1L).build();
-        OneDayClassDocument oneDayClassDocument = OneDayClassDocument.builder().classId(1L).totalWish(0).build();
 
         given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
         given(oneDayClassRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClass));
         given(wishRepository.findById(wish.getId())).willReturn(Optional.of(wish));
-        given(oneDayClassDocumentRepository.findById(oneDayClass.getClassId())).willReturn(Optional.of(oneDayClassDocument));
 
         // when
         boolean response = userService.deleteWish(user.getEmail(), wish.getId());
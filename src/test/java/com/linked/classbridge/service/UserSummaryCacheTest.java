@@ -0,0 +1,80 @@
+package com.linked.classbridge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linked.classbridge.domain.User;
+import com.linked.classbridge.dto.user.UserSummary;
+import com.linked.classbridge.exception.RestApiException;
+import com.linked.classbridge.repository.UserRepository;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummaryCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSummaryCache userSummaryCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userSummaryCache = new UserSummaryCache(userRepository, 100, Duration.ofMinutes(10));
+        user = User.builder()
+                .userId(1L)
+                .email("user@mail.com")
+                .nickname("user")
+                .build();
+    }
+
+    @Test
+    void getByEmail_loadsOnce() {
+        // given
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+
+        // when
+        UserSummary first = userSummaryCache.getByEmail(user.getEmail());
+        UserSummary second = userSummaryCache.getByEmail(user.getEmail());
+
+        // then
+        assertEquals(1L, first.userId());
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void invalidate_reloads() {
+        // given
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+        userSummaryCache.getByEmail(user.getEmail());
+
+        // when
+        user.setNickname("changed");
+        userSummaryCache.invalidate(user.getEmail());
+        UserSummary reloaded = userSummaryCache.getByEmail(user.getEmail());
+
+        // then
+        assertEquals("changed", reloaded.nickname());
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void getByEmail_userNotFound() {
+        // given
+        given(userRepository.findByEmail("none@mail.com")).willReturn(Optional.empty());
+
+        // when & then
+        assertThrows(RestApiException.class, () -> userSummaryCache.getByEmail("none@mail.com"));
+    }
+}
@@ -12,13 +12,17 @@ import static org.mockito.Mockito.when;
 import com.linked.classbridge.domain.ChatMessage;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.repository.ChatMessageRepository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
 
 @ExtendWith(MockitoExtension.class)
 class ChatMessageServiceTest {
@@ -64,31 +68,36 @@ class ChatMessageServiceTest {
     }
 
     @Test
-    void findLatestChatMessagesByChatRoom() {
+    void findChatMessagesBefore_firstPage() {
         // given
-        when(chatMessageRepository.findByChatRoomIdOrderBySendTimeAsc(chatRoomId)).thenReturn(List.of(chatMessage));
+        chatMessage.setSendTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        chatMessage2.setSendTime(LocalDateTime.of(2024, 1, 1, 0, 1));
+        when(chatMessageRepository.findByChatRoomIdBeforeCursor(chatRoomId, null, null, 2))
+                .thenReturn(List.of(chatMessage2, chatMessage));
 
         // when
-        List<ChatMessage> result = chatService.findLatestChatMessagesByChatRoom(chatRoomId);
+        Slice<ChatMessage> result = chatService.findChatMessagesBefore(chatRoomId, null, 1);
 
         // then
-        verify(chatMessageRepository, times(1)).findByChatRoomIdOrderBySendTimeAsc(chatRoomId);
-        assertEquals(1, result.size());
+        assertTrue(result.hasNext());
+        assertEquals(List.of(chatMessage2), result.getContent());
     }
 
     @Test
-    void findUnreadMessages() {
+    void findChatMessagesBefore_cursor() {
         // given
-        when(chatMessageRepository.findByChatRoomIdAndSenderIdNotAndIsReadFalse(chatRoomId, userId))
+        chatMessage.setSendTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        chatMessage2.setSendTime(LocalDateTime.of(2024, 1, 1, 0, 1));
+        when(chatMessageRepository.findById("2")).thenReturn(Optional.of(chatMessage2));
+        when(chatMessageRepository.findByChatRoomIdBeforeCursor(chatRoomId, chatMessage2.getSendTime(), "2", 3))
                 .thenReturn(List.of(chatMessage));
 
         // when
-        List<ChatMessage> result = chatService.findMessagesUserNotRead(chatRoomId, userId);
+        Slice<ChatMessage> result = chatService.findChatMessagesBefore(chatRoomId, "2", 2);
 
         // then
-        verify(chatMessageRepository, times(1))
-                .findByChatRoomIdAndSenderIdNotAndIsReadFalse(chatRoomId, userId);
-        assertEquals(1, result.size());
+        assertFalse(result.hasNext());
+        assertEquals(List.of(chatMessage), result.getContent());
     }
 
     @Test
@@ -119,40 +128,35 @@ class ChatMessageServiceTest {
     }
 
     @Test
-    void findAllMessageByChatRoomIdOrderBySendTimeDesc() {
+    void findLatestMessagesByChatRoomIds() {
         // given
-        when(chatMessageRepository.findByChatRoomIdOrderBySendTimeDesc(chatRoomId)).thenReturn(List.of(chatMessage));
-
-        // when
-        ChatMessage result = chatService.findAllMessageByChatRoomIdOrderBySendTimeDesc(chatRoomId);
-
-        // then
-        verify(chatMessageRepository, times(1)).findByChatRoomIdOrderBySendTimeDesc(chatRoomId);
-        assertEquals(chatMessage.getId(), result.getId());
-    }
+        ChatMessage otherRoomMessage = ChatMessage.builder()
+                .id("3")
+                .chatRoomId(2L)
+                .senderId(userId)
+                .build();
+        when(chatMessageRepository.findLatestMessagesByChatRoomIds(List.of(chatRoomId, 2L)))
+                .thenReturn(List.of(chatMessage2, otherRoomMessage));
 
-    @Test
-    void markAsReadAndSave() {
         // when
-        chatService.markAsReadAndSave(chatMessage);
+        Map<Long, ChatMessage> result = chatService.findLatestMessagesByChatRoomIds(List.of(chatRoomId, 2L));
 
         // then
-        assertTrue(chatMessage.isRead());
-        verify(chatMessageRepository, times(1)).save(chatMessage);
+        assertEquals(chatMessage2, result.get(chatRoomId));
+        assertEquals(otherRoomMessage, result.get(2L));
     }
 
     @Test
-    void markSentByOtherChatMessagesAsRead() {
+    void markSentByOtherChatMessagesAsReadUpTo() {
         // given
-        List<ChatMessage> chatMessages = List.of(chatMessage, chatMessage2);
+        LocalDateTime upTo = LocalDateTime.of(2024, 1, 1, 0, 1);
+        when(chatMessageRepository.markAsReadUpTo(chatRoomId, userId, upTo)).thenReturn(2L);
 
         // when
-        List<ChatMessage> result = chatService.markSentByOtherChatMessagesAsRead(chatMessages, userId);
+        long result = chatService.markSentByOtherChatMessagesAsReadUpTo(chatRoomId, userId, upTo);
 
         // then
-        assertFalse(chatMessage.isRead());
-        assertTrue(chatMessage2.isRead());
-        verify(chatMessageRepository, times(1)).save(chatMessage2);
-        assertEquals(1, result.size());
+        verify(chatMessageRepository, times(1)).markAsReadUpTo(chatRoomId, userId, upTo);
+        assertEquals(2L, result);
     }
 }
\ No newline at end of file
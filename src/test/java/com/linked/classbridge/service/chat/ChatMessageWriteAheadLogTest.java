@@ -0,0 +1,168 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.ChatMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChatMessageWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Test
+    void recoverUnacknowledgedMessages() {
+        // given
+        ChatMessageWriteAheadLog writeAheadLog = new ChatMessageWriteAheadLog(directory, objectMapper, 2);
+        long segment1 = writeAheadLog.append(chatMessage("1"));
+        writeAheadLog.append(chatMessage("2"));
+        writeAheadLog.append(chatMessage("3"));
+        writeAheadLog.acknowledge(segment1, 2);
+
+        // when
+        ChatMessageWriteAheadLog restarted = new ChatMessageWriteAheadLog(directory, objectMapper, 2);
+        List<ChatMessage> recovered = restarted.recover();
+
+        // then
+        assertEquals(1, recovered.size());
+        assertEquals("3", recovered.get(0).getId());
+        assertEquals("message 3", recovered.get(0).getMessage());
+    }
+
+    @Test
+    void deleteSegmentsWhenAllAcknowledged() throws IOException {
+        // given
+        ChatMessageWriteAheadLog writeAheadLog = new ChatMessageWriteAheadLog(directory, objectMapper, 1);
+        long segment1 = writeAheadLog.append(chatMessage("1"));
+        long segment2 = writeAheadLog.append(chatMessage("2"));
+
+        // when
+        writeAheadLog.acknowledge(segment1, 1);
+        writeAheadLog.acknowledge(segment2, 1);
+        writeAheadLog.close();
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.findAny().isEmpty());
+        }
+    }
+
+    @Test
+    void deleteRecovered() throws IOException {
+        // given
+        ChatMessageWriteAheadLog writeAheadLog = new ChatMessageWriteAheadLog(directory, objectMapper, 10);
+        writeAheadLog.append(chatMessage("1"));
+
+        ChatMessageWriteAheadLog restarted = new ChatMessageWriteAheadLog(directory, objectMapper, 10);
+        restarted.recover();
+
+        // when
+        restarted.deleteRecovered();
+
+        // then
+        assertTrue(restarted.recover().isEmpty());
+    }
+
+    @Test
+    void skipPartiallyWrittenTrailingRecord() throws IOException {
+        // given
+        ChatMessageWriteAheadLog writeAheadLog = new ChatMessageWriteAheadLog(directory, objectMapper, 10);
+        writeAheadLog.append(chatMessage("1"));
+        writeAheadLog.append(chatMessage("2"));
+        Path segment = onlySegment();
+        // 세 번째 메시지를 기록하던 중 서버가 죽은 상황
+        String torn = objectMapper.writeValueAsString(chatMessage("3"));
+        Files.writeString(segment, torn.substring(0, torn.length() / 2), StandardOpenOption.APPEND);
+
+        // when
+        ChatMessageWriteAheadLog restarted = new ChatMessageWriteAheadLog(directory, objectMapper, 10);
+        List<ChatMessage> recovered = restarted.recover();
+
+        // then
+        assertEquals(List.of("1", "2"), recovered.stream().map(ChatMessage::getId).toList());
+        restarted.deleteRecovered();
+        assertTrue(restarted.recover().isEmpty());
+    }
+
+    @Test
+    void failOnCorruptedRecordBeforeTheEnd() throws IOException {
+        // given
+        ChatMessageWriteAheadLog writeAheadLog = new ChatMessageWriteAheadLog(directory, objectMapper, 10);
+        writeAheadLog.append(chatMessage("1"));
+        Path segment = onlySegment();
+        Files.writeString(segment, "{\"id\":" + System.lineSeparator(), StandardOpenOption.APPEND);
+        writeAheadLog.append(chatMessage("2"));
+
+        // when
+        ChatMessageWriteAheadLog restarted = new ChatMessageWriteAheadLog(directory, objectMapper, 10);
+
+        // then
+        assertThrows(UncheckedIOException.class, restarted::recover);
+    }
+
+    @Test
+    void recoverConcurrentAppends() throws Exception {
+        // given
+        ChatMessageWriteAheadLog writeAheadLog = new ChatMessageWriteAheadLog(directory, objectMapper, 7);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String id = String.valueOf(i);
+                futures.add(executor.submit(() -> writeAheadLog.append(chatMessage(id))));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // when
+        ChatMessageWriteAheadLog restarted = new ChatMessageWriteAheadLog(directory, objectMapper, 7);
+        List<ChatMessage> recovered = restarted.recover();
+
+        // then
+        assertEquals(100, recovered.stream().map(ChatMessage::getId).distinct().count());
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private ChatMessage chatMessage(String id) {
+        return ChatMessage.builder()
+                .id(id)
+                .chatRoomId(1L)
+                .senderId(1L)
+                .message("message " + id)
+                .sendTime(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+}
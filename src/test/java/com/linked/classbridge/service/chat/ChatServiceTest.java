@@ -3,11 +3,15 @@ package com.linked.classbridge.service.chat;
 import static com.linked.classbridge.type.ErrorCode.USER_NOT_IN_CHAT_ROOM;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,35 +21,35 @@ import com.linked.classbridge.domain.ChatRoom;
 import com.linked.classbridge.domain.OneDayClass;
 import com.linked.classbridge.domain.User;
 import com.linked.classbridge.domain.UserChatRoom;
+import com.linked.classbridge.dto.chat.ChatMessageHistory;
 import com.linked.classbridge.dto.chat.ChatRoomUnreadCountInfoDto;
 import com.linked.classbridge.dto.chat.CreateChatRoom;
 import com.linked.classbridge.dto.chat.GetChatRoomsResponse;
 import com.linked.classbridge.dto.chat.JoinChatRoom;
-import com.linked.classbridge.dto.chat.ReadReceipt;
-import com.linked.classbridge.dto.chat.ReadReceiptList;
+import com.linked.classbridge.dto.chat.ReadRangeReceipt;
 import com.linked.classbridge.exception.RestApiException;
 import com.linked.classbridge.service.OneDayClassService;
-import com.linked.classbridge.service.UserService;
 import com.linked.classbridge.type.ErrorCode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class ChatServiceTest {
     @InjectMocks
     private ChatService chatService;
     @Mock
-    private UserService userService;
-    @Mock
     private ChatRoomService chatRoomService;
     @Mock
     private ChatMessageService chatMessageService;
@@ -55,6 +59,12 @@ class ChatServiceTest {
     private MessageSendingService messageSendingService;
     @Mock
     private OneDayClassService oneDayClassService;
+    @Mock
+    private UnreadCountStore unreadCountStore;
+    @Mock
+    private PresenceRegistry presenceRegistry;
+    @Mock
+    private ChatMessageWriter chatMessageWriter;
 
     private User user;
     private User tutor;
@@ -164,27 +174,47 @@ class ChatServiceTest {
         Long chatRoomId = 1L;
 
         List<ChatMessage> chatMessages = new ArrayList<>(List.of(chatMessage1, chatMessage2));
-        List<ChatMessage> markedMessages = new ArrayList<>(List.of(chatMessage2));
-
-        ReadReceiptList receiptList = ReadReceiptList.builder()
-                .readReceipts(markedMessages.stream()
-                        .map(chatMessage -> new ReadReceipt(chatMessage.getId(), user.getUserId()))
-                        .toList())
-                .build();
 
         given(chatRoomService.findChatRoomById(chatRoomId)).willReturn(chatRoom1);
-        given(chatMessageService.findLatestChatMessagesByChatRoom(chatRoomId)).willReturn(chatMessages);
-        given(chatMessageService.markSentByOtherChatMessagesAsRead(chatMessages, user.getUserId()))
-                .willReturn(markedMessages);
-        doNothing().when(messageSendingService).sendReadReceipt(chatRoomId, receiptList);
+        given(chatMessageService.findChatMessagesBefore(chatRoomId, null, ChatService.DEFAULT_MESSAGE_PAGE_SIZE))
+                .willReturn(new SliceImpl<>(chatMessages));
+        given(chatMessageService.markSentByOtherChatMessagesAsReadUpTo(eq(chatRoomId), eq(user.getUserId()),
+                any(LocalDateTime.class))).willReturn(1L);
 
         // when
         JoinChatRoom.Response response = chatService.enterChatRoomProcess(user, chatRoomId);
 
         // then
+        ArgumentCaptor<ReadRangeReceipt> receiptCaptor = ArgumentCaptor.forClass(ReadRangeReceipt.class);
+        verify(messageSendingService, times(1)).sendReadReceipt(eq(chatRoomId), receiptCaptor.capture());
+        assertEquals(user.getUserId(), receiptCaptor.getValue().getUserId());
+        assertEquals(chatMessage2.getId(), receiptCaptor.getValue().getLastReadMessageId());
+        assertEquals(1L, receiptCaptor.getValue().getReadCount());
+        assertTrue(chatMessage2.isRead());
+        verify(unreadCountStore, times(1)).reset(chatRoomId, user.getUserId());
         assertEquals(chatRoom1.getChatRoomId(), response.chatRoomId());
         assertEquals(user.getUserId(), response.senderId());
         assertEquals(chatRoom1.getInitiatedBy().getUserId(), response.initiatedBy());
+        assertEquals(2, response.messages().size());
+        assertFalse(response.hasNext());
+    }
+
+    @Test
+    void getChatMessageHistoryProcess() {
+        // given
+        Long chatRoomId = 1L;
+
+        given(chatRoomService.findChatRoomById(chatRoomId)).willReturn(chatRoom1);
+        given(chatMessageService.findChatMessagesBefore(chatRoomId, "2", 1))
+                .willReturn(new SliceImpl<>(List.of(chatMessage1), PageRequest.of(0, 1), true));
+
+        // when
+        ChatMessageHistory.Response response = chatService.getChatMessageHistoryProcess(user, chatRoomId, "2", 1);
+
+        // then
+        assertEquals(1, response.messages().size());
+        assertTrue(response.hasNext());
+        assertEquals(chatMessage1.getId(), response.nextCursor());
     }
 
     @Test
@@ -210,15 +240,9 @@ class ChatServiceTest {
 
         given(chatRoomService.findAllChatRoomsByUser(user)).willReturn(chatRooms);
 
-        given(chatMessageService.findAllMessageByChatRoomIdOrderBySendTimeDesc(chatRoom1.getChatRoomId()))
-                .willReturn(chatMessage2);
-        given(chatMessageService.findMessagesUserNotRead(chatRoom1.getChatRoomId(), user.getUserId()))
-                .willReturn(List.of(chatMessage2));
-
-        given(chatMessageService.findAllMessageByChatRoomIdOrderBySendTimeDesc(chatRoom2.getChatRoomId()))
-                .willReturn(chatMessage3);
-        given(chatMessageService.findMessagesUserNotRead(chatRoom2.getChatRoomId(), user.getUserId()))
-                .willReturn(List.of(chatMessage3));
+        given(chatMessageService.findLatestMessagesByChatRoomIds(List.of(1L, 2L)))
+                .willReturn(Map.of(1L, chatMessage2, 2L, chatMessage3));
+        given(unreadCountStore.getCounts(user.getUserId(), List.of(1L, 2L))).willReturn(Map.of(1L, 1, 2L, 1));
 
         // when
         GetChatRoomsResponse result = chatService.getChatRoomListProcess(user);
@@ -229,6 +253,7 @@ class ChatServiceTest {
         assertEquals(chatRoom1.getChatRoomId(), result.getChatRooms().get(0).getChatRoomId());
         assertEquals(tutor.getUserId(), result.getChatRooms().get(0).getChatPartnerId());
         assertEquals(chatMessage2.getMessage(), result.getChatRooms().get(0).getUnreadCountInfo().getLatestMessage());
+        assertEquals(1, result.getChatRooms().get(0).getUnreadCountInfo().getUnreadMessageCount());
         assertEquals(chatRoom2.getChatRoomId(), result.getChatRooms().get(1).getChatRoomId());
         assertEquals(otherUser.getUserId(), result.getChatRooms().get(1).getChatPartnerId());
         assertEquals(chatMessage3.getMessage(), result.getChatRooms().get(1).getUnreadCountInfo().getLatestMessage());
@@ -239,10 +264,10 @@ class ChatServiceTest {
     void closeChatRoomProcess() {
         // given
         given(chatRoomService.findChatRoomById(chatRoom1.getChatRoomId())).willReturn(chatRoom1);
-        doNothing().when(userChatRoomService).setUserToOffline(user, chatRoom1.getUserChatRooms());
 
         // then
         assertDoesNotThrow(() -> chatService.closeChatRoomProcess(user, chatRoom1.getChatRoomId()));
+        verify(presenceRegistry, times(1)).leave(chatRoom1.getChatRoomId(), user.getUserId());
     }
 
     @Test
@@ -252,14 +277,13 @@ class ChatServiceTest {
         UserChatRoom userChatRoomToDelete = userChatRooms.get(0);
 
         when(chatRoomService.findChatRoomById(chatRoom1.getChatRoomId())).thenReturn(chatRoom1);
-        doNothing().when(userChatRoomService).setUserToOffline(user, userChatRooms);
         when(userChatRoomService.deleteUserChatRoom(userChatRoomToDelete)).thenReturn(userChatRoomToDelete);
 
         // when
         chatService.leaveChatRoomProcess(user, chatRoom1.getChatRoomId());
 
         // then
-        verify(userChatRoomService, times(1)).setUserToOffline(user, userChatRooms);
+        verify(presenceRegistry, times(1)).leave(chatRoom1.getChatRoomId(), user.getUserId());
         verify(userChatRoomService, times(1)).deleteUserChatRoom(userChatRoomToDelete);
         verify(chatRoomService, times(0)).deleteChatRoom(chatRoom1);
         assertEquals(1, chatRoom1.getUserChatRooms().size());
@@ -273,7 +297,6 @@ class ChatServiceTest {
         UserChatRoom userChatRoomToDelete = userChatRooms.get(0);
 
         when(chatRoomService.findChatRoomById(chatRoom1.getChatRoomId())).thenReturn(chatRoom1);
-        doNothing().when(userChatRoomService).setUserToOffline(user, userChatRooms);
         when(userChatRoomService.deleteUserChatRoom(userChatRoomToDelete)).thenReturn(userChatRoomToDelete);
 
         // when
@@ -285,22 +308,16 @@ class ChatServiceTest {
     }
 
     @Test
-    public void testSaveChatMessage() {
+    public void testCreateChatMessage() {
         String message = "Hello";
 
-        ChatMessage chatMessage = ChatMessage.builder()
-                .senderId(user.getUserId())
-                .chatRoomId(chatRoom1.getChatRoomId())
-                .message(message)
-                .sendTime(LocalDateTime.now())
-                .isRead(false)
-                .build();
-
-        when(chatMessageService.saveMessage(any(ChatMessage.class))).thenReturn(chatMessage);
-
-        ChatMessage result = chatService.saveChatMessage(user, chatRoom1, message);
+        ChatMessage result = chatService.createChatMessage(user.getUserId(), chatRoom1, message);
 
-        assertEquals(chatMessage, result);
+        assertNotNull(result.getId());
+        assertEquals(user.getUserId(), result.getSenderId());
+        assertEquals(chatRoom1.getChatRoomId(), result.getChatRoomId());
+        assertEquals(message, result.getMessage());
+        assertFalse(result.isRead());
     }
 
     @Test
@@ -321,9 +338,10 @@ class ChatServiceTest {
         userChatRoom2 = UserChatRoom.builder()
                 .user(tutor)
                 .chatRoom(chatRoom1)
-                .isOnline(true)
                 .build();
 
+        when(presenceRegistry.isOnline(chatRoom1.getChatRoomId(), tutor.getUserId())).thenReturn(true);
+
         int unreadCount = chatService.calculateUnreadMessageCount(userChatRoom2, chatRoom1, user.getUserId(),
                 tutor.getUserId());
 
@@ -363,13 +381,13 @@ class ChatServiceTest {
                 .latestMessageTime(LocalDateTime.now())
                 .build();
 
-        when(chatMessageService.findMessagesUserNotRead(chatRoom.getChatRoomId(), receiver.getUserId()))
-                .thenReturn(Collections.emptyList());
+        when(unreadCountStore.getCount(chatRoom.getChatRoomId(), receiver.getUserId())).thenReturn(1);
 
         chatService.handleUserChatRoom(userChatRoom, chatRoom, sender.getUserId(), unreadCountInfo);
 
         assertNull(userChatRoom.getDeletedAt());
-        assertEquals(0, unreadCountInfo.getUnreadMessageCount());
+        assertEquals(1, unreadCountInfo.getUnreadMessageCount());
+        verify(unreadCountStore, times(1)).increment(chatRoom.getChatRoomId(), receiver.getUserId());
         verify(messageSendingService, times(1)).sendUnreadCountInfo(receiver.getUserId(), unreadCountInfo);
     }
 
@@ -381,8 +399,7 @@ class ChatServiceTest {
                 .isOnline(false)
                 .build();
 
-        when(chatMessageService.findMessagesUserNotRead(chatRoom1.getChatRoomId(), tutor.getUserId()))
-                .thenReturn(Arrays.asList(new ChatMessage(), new ChatMessage()));
+        when(unreadCountStore.getCount(chatRoom1.getChatRoomId(), tutor.getUserId())).thenReturn(2);
 
         int unreadCount = chatService.calculateUnreadMessageCount(userChatRoom2, chatRoom1, user.getUserId(),
                 tutor.getUserId());
@@ -392,46 +409,59 @@ class ChatServiceTest {
 
     @Test
     void sendMessageProcess() {
-        when(userService.getUserByEmail(user.getEmail())).thenReturn(user);
         when(chatRoomService.findChatRoomById(chatRoom1.getChatRoomId())).thenReturn(chatRoom1);
-        when(chatMessageService.saveMessage(any(ChatMessage.class))).thenReturn(chatMessage1);
 
-        chatService.sendMessageProcess(user.getEmail(), chatRoom1.getChatRoomId(), chatMessage1.getMessage());
+        chatService.sendMessageProcess(user.getUserId(), chatRoom1.getChatRoomId(), chatMessage1.getMessage());
 
-        verify(chatMessageService, times(1)).saveMessage(any(ChatMessage.class));
+        // 저장한 뒤에 전송한다.
+        InOrder inOrder = inOrder(chatMessageWriter, messageSendingService);
+        inOrder.verify(chatMessageWriter).write(any(ChatMessage.class));
+        inOrder.verify(messageSendingService)
+                .broadcastNewMessage(eq(chatRoom1.getChatRoomId()), any(ChatMessage.class));
     }
 
     @Test
-    void markMessageAsReadAndSendReceipt() {
+    void markMessagesAsReadUpToAndSendReceipt() {
         // given
-        String email = user.getEmail();
-        String messageId = "1";
+        Long userId = user.getUserId();
 
-        chatMessage1 = ChatMessage.builder()
-                .id("1")
-                .senderId(tutor.getUserId())
-                .chatRoomId(chatRoom1.getChatRoomId())
-                .message("Hello")
-                .sendTime(LocalDateTime.of(2024, 1, 1, 0, 0))
-                .isRead(false)
-                .build();
+        when(chatMessageService.findChatMessageById(chatMessage2.getId())).thenReturn(chatMessage2);
+        when(chatRoomService.findChatRoomById(chatMessage2.getChatRoomId())).thenReturn(chatRoom1);
+        when(chatMessageService.markSentByOtherChatMessagesAsReadUpTo(chatRoom1.getChatRoomId(), user.getUserId(),
+                chatMessage2.getSendTime())).thenReturn(3L);
 
-        ReadReceiptList readReceiptList = ReadReceiptList.builder()
-                .readReceipts(Collections.singletonList(new ReadReceipt(messageId, user.getUserId())))
+        // when
+        chatService.markMessagesAsReadUpToAndSendReceipt(userId, chatMessage2.getId());
+
+        // then: 저장 대기 중인 메시지를 먼저 저장한 뒤 읽음 처리한다.
+        InOrder inOrder = inOrder(chatMessageWriter, chatMessageService);
+        inOrder.verify(chatMessageWriter).flush();
+        inOrder.verify(chatMessageService).markSentByOtherChatMessagesAsReadUpTo(chatRoom1.getChatRoomId(),
+                user.getUserId(), chatMessage2.getSendTime());
+        ReadRangeReceipt expected = ReadRangeReceipt.builder()
+                .userId(user.getUserId())
+                .lastReadMessageId(chatMessage2.getId())
+                .readUpTo(chatMessage2.getSendTime())
+                .readCount(3L)
                 .build();
+        verify(unreadCountStore, times(1)).decrement(chatRoom1.getChatRoomId(), user.getUserId(), 3L);
+        verify(messageSendingService, times(1)).sendReadReceipt(chatRoom1.getChatRoomId(), expected);
+    }
 
-        when(userService.getUserByEmail(email)).thenReturn(user);
-        when(chatMessageService.findChatMessageById(messageId)).thenReturn(chatMessage1);
-        when(chatRoomService.findChatRoomById(chatMessage1.getChatRoomId())).thenReturn(chatRoom1);
-        doNothing().when(chatMessageService).markAsReadAndSave(chatMessage1);
-        doNothing().when(messageSendingService).sendReadReceipt(chatRoom1.getChatRoomId(), readReceiptList);
+    @Test
+    void markMessagesAsReadUpToNothingToRead() {
+        // given
+        Long userId = user.getUserId();
+
+        when(chatMessageService.findChatMessageById(chatMessage2.getId())).thenReturn(chatMessage2);
+        when(chatRoomService.findChatRoomById(chatMessage2.getChatRoomId())).thenReturn(chatRoom1);
+        when(chatMessageService.markSentByOtherChatMessagesAsReadUpTo(chatRoom1.getChatRoomId(), user.getUserId(),
+                chatMessage2.getSendTime())).thenReturn(0L);
 
         // when
-        chatService.markMessageAsReadAndSendReceipt(email, messageId);
+        chatService.markMessagesAsReadUpToAndSendReceipt(userId, chatMessage2.getId());
 
         // then
-        verify(chatMessageService, times(1)).markAsReadAndSave(chatMessage1);
-        verify(messageSendingService, times(1)).sendReadReceipt(chatRoom1.getChatRoomId(), readReceiptList);
-
+        verify(messageSendingService, times(0)).sendReadReceipt(any(Long.class), any(ReadRangeReceipt.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryPresenceRegistryTest {
+
+    private InMemoryPresenceRegistry presenceRegistry;
+
+    @BeforeEach
+    void setUp() {
+        presenceRegistry = new InMemoryPresenceRegistry();
+    }
+
+    @Test
+    void subscribe() {
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+
+        assertTrue(presenceRegistry.isOnline(1L, 2L));
+        assertFalse(presenceRegistry.isOnline(1L, 3L));
+        assertFalse(presenceRegistry.isOnline(2L, 2L));
+    }
+
+    @Test
+    void unsubscribe() {
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+
+        presenceRegistry.unsubscribe("session1", "sub1");
+
+        assertFalse(presenceRegistry.isOnline(1L, 2L));
+    }
+
+    @Test
+    void stayOnlineWhileOtherSessionSubscribed() {
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+        presenceRegistry.subscribe("session2", "sub1", 1L, 2L);
+
+        presenceRegistry.disconnect("session1");
+
+        assertTrue(presenceRegistry.isOnline(1L, 2L));
+    }
+
+    @Test
+    void disconnect() {
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+        presenceRegistry.subscribe("session1", "sub2", 3L, 2L);
+
+        presenceRegistry.disconnect("session1");
+
+        assertFalse(presenceRegistry.isOnline(1L, 2L));
+        assertFalse(presenceRegistry.isOnline(3L, 2L));
+    }
+
+    @Test
+    void leave() {
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+        presenceRegistry.subscribe("session2", "sub1", 1L, 2L);
+
+        presenceRegistry.leave(1L, 2L);
+        presenceRegistry.unsubscribe("session1", "sub1");
+
+        assertFalse(presenceRegistry.isOnline(1L, 2L));
+    }
+}
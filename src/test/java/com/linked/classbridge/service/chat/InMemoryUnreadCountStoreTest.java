@@ -0,0 +1,109 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.linked.classbridge.service.chat.UnreadCountStore.Counter;
+import com.linked.classbridge.service.chat.UnreadCountStore.Key;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryUnreadCountStoreTest {
+
+    private InMemoryUnreadCountStore unreadCountStore;
+
+    @BeforeEach
+    void setUp() {
+        unreadCountStore = new InMemoryUnreadCountStore();
+    }
+
+    @Test
+    void incrementAndGetCount() {
+        unreadCountStore.increment(1L, 2L);
+        unreadCountStore.increment(1L, 2L);
+
+        assertEquals(2, unreadCountStore.getCount(1L, 2L));
+        assertEquals(0, unreadCountStore.getCount(1L, 3L));
+    }
+
+    @Test
+    void decrementDoesNotGoBelowZero() {
+        unreadCountStore.increment(1L, 2L);
+
+        unreadCountStore.decrement(1L, 2L);
+        unreadCountStore.decrement(1L, 2L);
+
+        assertEquals(0, unreadCountStore.getCount(1L, 2L));
+    }
+
+    @Test
+    void reset() {
+        unreadCountStore.increment(1L, 2L);
+
+        unreadCountStore.reset(1L, 2L);
+
+        assertEquals(0, unreadCountStore.getCount(1L, 2L));
+    }
+
+    @Test
+    void getCounts() {
+        unreadCountStore.increment(1L, 2L);
+        unreadCountStore.increment(3L, 2L);
+        unreadCountStore.increment(3L, 2L);
+
+        Map<Long, Integer> counts = unreadCountStore.getCounts(2L, List.of(1L, 3L, 4L));
+
+        assertEquals(Map.of(1L, 1, 3L, 2, 4L, 0), counts);
+    }
+
+    @Test
+    void findCountersPagesInKeyOrder() {
+        unreadCountStore.increment(3L, 2L);
+        unreadCountStore.increment(1L, 5L);
+        unreadCountStore.increment(1L, 2L);
+
+        List<Counter> firstPage = unreadCountStore.findCounters(null, 2);
+        List<Counter> secondPage = unreadCountStore.findCounters(firstPage.get(1).key(), 2);
+
+        assertEquals(List.of(new Key(1L, 2L), new Key(1L, 5L)), firstPage.stream().map(Counter::key).toList());
+        assertEquals(List.of(new Key(3L, 2L)), secondPage.stream().map(Counter::key).toList());
+    }
+
+    @Test
+    void correctIfUnchanged() {
+        unreadCountStore.increment(1L, 2L);
+        unreadCountStore.increment(5L, 2L);
+        List<Counter> counters = unreadCountStore.findCounters(null, 10);
+
+        int corrected = unreadCountStore.correctIfUnchanged(Map.of(counters.get(0), 7, counters.get(1), 0));
+
+        assertEquals(2, corrected);
+        assertEquals(7, unreadCountStore.getCount(1L, 2L));
+        assertTrue(unreadCountStore.findCounters(new Key(1L, 2L), 10).isEmpty());
+    }
+
+    @Test
+    void correctIfUnchangedSkipsCounterChangedAfterRead() {
+        unreadCountStore.increment(1L, 2L);
+        Counter counter = unreadCountStore.findCounters(null, 10).get(0);
+        unreadCountStore.increment(1L, 2L);
+
+        int corrected = unreadCountStore.correctIfUnchanged(Map.of(counter, 0));
+
+        assertEquals(0, corrected);
+        assertEquals(2, unreadCountStore.getCount(1L, 2L));
+    }
+
+    @Test
+    void createIfAbsent() {
+        unreadCountStore.increment(1L, 2L);
+
+        int created = unreadCountStore.createIfAbsent(Map.of(new Key(1L, 2L), 7, new Key(5L, 2L), 3));
+
+        assertEquals(1, created);
+        assertEquals(1, unreadCountStore.getCount(1L, 2L));
+        assertEquals(3, unreadCountStore.getCount(5L, 2L));
+    }
+}
@@ -0,0 +1,75 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.config.ChatBrokerProperties;
+import com.linked.classbridge.dto.chat.ChatMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaChatBroadcastPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private KafkaChatBroadcastPublisher publisher;
+
+    private final ChatMessageDto chatMessageDto = new ChatMessageDto("1", 1L, "Hello", false, "2024-01-01T00:00");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new KafkaChatBroadcastPublisher(kafkaTemplate, new ObjectMapper(), new ChatBrokerProperties(),
+                simpMessagingTemplate, meterRegistry);
+    }
+
+    @Test
+    void publish_fallsBackToLocalBrokerWhenSendFails() {
+        // given
+        given(kafkaTemplate.send(anyString(), eq("/chatRoom/1"), anyString()))
+                .willReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+
+        // when
+        publisher.publish("/chatRoom/1", chatMessageDto);
+
+        // then
+        verify(simpMessagingTemplate).convertAndSend("/chatRoom/1", chatMessageDto);
+        assertEquals(1.0, meterRegistry.counter(KafkaChatBroadcastPublisher.PUBLISH_FAILURES).count());
+    }
+
+    @Test
+    void publish_doesNotDeliverLocallyWhenSendSucceeds() {
+        // given
+        given(kafkaTemplate.send(anyString(), eq("/chatRoom/1"), anyString()))
+                .willReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        // when
+        publisher.publish("/chatRoom/1", chatMessageDto);
+
+        // then: 로컬 전달은 KafkaChatBroadcastSubscriber 가 한다.
+        verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertEquals(0.0, meterRegistry.counter(KafkaChatBroadcastPublisher.PUBLISH_FAILURES).count());
+    }
+}
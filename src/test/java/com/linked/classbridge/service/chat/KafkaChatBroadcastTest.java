@@ -0,0 +1,150 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.config.ChatBrokerProperties;
+import com.linked.classbridge.dto.chat.ChatMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/**
+ * kafka 모드에서 한 서버가 발행한 메시지가 두 서버의 로컬 구독자 모두에게 전달되는지 확인한다.
+ */
+@SpringJUnitConfig(KafkaChatBroadcastTest.TwoNodeConfig.class)
+@EmbeddedKafka(partitions = 1, topics = "chat-broadcast")
+class KafkaChatBroadcastTest {
+
+    @Autowired
+    private KafkaChatBroadcastPublisher publisher;
+
+    @Autowired
+    @Qualifier("node1Template")
+    private SimpMessagingTemplate node1Template;
+
+    @Autowired
+    @Qualifier("node2Template")
+    private SimpMessagingTemplate node2Template;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @BeforeEach
+    void waitForAssignment() {
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, embeddedKafkaBroker.getPartitionsPerTopic());
+        }
+    }
+
+    @Test
+    void broadcastReachesBothNodes() {
+        // given
+        ChatMessageDto chatMessageDto = new ChatMessageDto("1", 1L, "Hello", false, "2024-01-01T00:00");
+
+        // when
+        publisher.publish("/chatRoom/1", chatMessageDto);
+
+        // then
+        ArgumentCaptor<JsonNode> node1Payload = ArgumentCaptor.forClass(JsonNode.class);
+        ArgumentCaptor<JsonNode> node2Payload = ArgumentCaptor.forClass(JsonNode.class);
+        verify(node1Template, timeout(10000)).convertAndSend(eq("/chatRoom/1"), node1Payload.capture());
+        verify(node2Template, timeout(10000)).convertAndSend(eq("/chatRoom/1"), node2Payload.capture());
+        assertEquals("Hello", node1Payload.getValue().get("message").asText());
+        assertEquals("Hello", node2Payload.getValue().get("message").asText());
+    }
+
+    @Configuration
+    @EnableKafka
+    static class TwoNodeConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        ChatBrokerProperties chatBrokerProperties() {
+            return new ChatBrokerProperties();
+        }
+
+        @Bean
+        KafkaTemplate<String, String> kafkaTemplate(EmbeddedKafkaBroker broker) {
+            return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                    ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                    ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class)));
+        }
+
+        @Bean
+        ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+                EmbeddedKafkaBroker broker) {
+            ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                    new ConcurrentKafkaListenerContainerFactory<>();
+            factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                    ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                    ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class)));
+            return factory;
+        }
+
+        @Bean
+        KafkaChatBroadcastPublisher publisher(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper,
+                                              ChatBrokerProperties chatBrokerProperties) {
+            return new KafkaChatBroadcastPublisher(kafkaTemplate, objectMapper, chatBrokerProperties,
+                    node1Template(), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        SimpMessagingTemplate node1Template() {
+            return mock(SimpMessagingTemplate.class);
+        }
+
+        @Bean
+        SimpMessagingTemplate node2Template() {
+            return mock(SimpMessagingTemplate.class);
+        }
+
+        @Bean
+        KafkaChatBroadcastSubscriber node1Subscriber(ObjectMapper objectMapper,
+                                                     ChatBrokerProperties chatBrokerProperties) {
+            return new KafkaChatBroadcastSubscriber(node1Template(), objectMapper, chatBrokerProperties);
+        }
+
+        @Bean
+        KafkaChatBroadcastSubscriber node2Subscriber(ObjectMapper objectMapper,
+                                                     ChatBrokerProperties chatBrokerProperties) {
+            return new KafkaChatBroadcastSubscriber(node2Template(), objectMapper, chatBrokerProperties);
+        }
+    }
+}
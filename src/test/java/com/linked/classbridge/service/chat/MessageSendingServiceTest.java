@@ -6,18 +6,14 @@ import static org.mockito.Mockito.verify;
 import com.linked.classbridge.domain.ChatMessage;
 import com.linked.classbridge.dto.chat.ChatMessageDto;
 import com.linked.classbridge.dto.chat.ChatRoomUnreadCountInfoDto;
-import com.linked.classbridge.dto.chat.ReadReceipt;
-import com.linked.classbridge.dto.chat.ReadReceiptList;
+import com.linked.classbridge.dto.chat.ReadRangeReceipt;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class MessageSendingServiceTest {
@@ -25,10 +21,9 @@ class MessageSendingServiceTest {
     @InjectMocks
     private MessageSendingService messageSendingService;
     @Mock
-    private SimpMessagingTemplate simpMessagingTemplate;
+    private ChatBroadcastPublisher chatBroadcastPublisher;
 
     private ChatMessage chatMessage;
-    private ReadReceiptList readReceiptList;
     private ChatRoomUnreadCountInfoDto unreadCountInfo;
 
     @BeforeEach
@@ -41,15 +36,6 @@ class MessageSendingServiceTest {
                 .sendTime(LocalDateTime.of(2024, 1, 1, 0, 0))
                 .build();
 
-        ReadReceipt readReceipt = ReadReceipt.builder()
-                .userId(1L)
-                .chatMessageId("1")
-                .build();
-
-        readReceiptList = ReadReceiptList.builder()
-                .readReceipts(new ArrayList<>(List.of(readReceipt)))
-                .build();
-
         unreadCountInfo = ChatRoomUnreadCountInfoDto.builder()
                 .chatRoomId(1L)
                 .unreadMessageCount(1)
@@ -62,19 +48,26 @@ class MessageSendingServiceTest {
     void broadcastNewMessage() {
         messageSendingService.broadcastNewMessage(chatMessage.getChatRoomId(), chatMessage);
 
-        verify(simpMessagingTemplate).convertAndSend(
+        verify(chatBroadcastPublisher).publish(
                 eq("/chatRoom/" + chatMessage.getChatRoomId()),
                 eq(ChatMessageDto.fromEntity(chatMessage))
         );
     }
 
     @Test
-    void sendReadReceipt() {
-        messageSendingService.sendReadReceipt(chatMessage.getChatRoomId(), readReceiptList);
+    void sendReadRangeReceipt() {
+        ReadRangeReceipt readRangeReceipt = ReadRangeReceipt.builder()
+                .userId(2L)
+                .lastReadMessageId("1")
+                .readUpTo(chatMessage.getSendTime())
+                .readCount(5L)
+                .build();
+
+        messageSendingService.sendReadReceipt(chatMessage.getChatRoomId(), readRangeReceipt);
 
-        verify(simpMessagingTemplate).convertAndSend(
+        verify(chatBroadcastPublisher).publish(
                 eq("/read/" + chatMessage.getChatRoomId()),
-                eq(readReceiptList)
+                eq(readRangeReceipt)
         );
     }
 
@@ -82,7 +75,7 @@ class MessageSendingServiceTest {
     void sendUnreadCountInfo() {
         messageSendingService.sendUnreadCountInfo(chatMessage.getSenderId(), unreadCountInfo);
 
-        verify(simpMessagingTemplate).convertAndSend(
+        verify(chatBroadcastPublisher).publish(
                 eq("/chatRooms/" + chatMessage.getSenderId() + "/unreadCountInfo"),
                 eq(unreadCountInfo)
         );
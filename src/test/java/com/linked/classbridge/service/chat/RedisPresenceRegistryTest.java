@@ -0,0 +1,64 @@
+package com.linked.classbridge.service.chat;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@ExtendWith(MockitoExtension.class)
+class RedisPresenceRegistryTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private RedisPresenceRegistry presenceRegistry;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(redisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+        presenceRegistry = new RedisPresenceRegistry(redisTemplate, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void subscribe_trimsExpiredSubscriptions() {
+        // when
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+
+        // then: 다른 세션이 키의 ttl 을 연장해도 만료된 구독은 남지 않는다.
+        verify(zSetOperations).add(eq("chat:presence:1:2"), eq("session1:sub1"), anyDouble());
+        verify(zSetOperations).removeRangeByScore(eq("chat:presence:1:2"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+    }
+
+    @Test
+    void heartbeat_trimsExpiredSubscriptions() {
+        // given
+        presenceRegistry.subscribe("session1", "sub1", 1L, 2L);
+        given(hashOperations.entries("chat:presence:session:session1")).willReturn(Map.of("sub1", "1:2"));
+
+        // when
+        presenceRegistry.heartbeat();
+
+        // then
+        verify(zSetOperations, times(2))
+                .removeRangeByScore(eq("chat:presence:1:2"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+    }
+}
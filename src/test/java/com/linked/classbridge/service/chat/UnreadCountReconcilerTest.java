@@ -0,0 +1,118 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+import com.linked.classbridge.domain.ChatMessage;
+import com.linked.classbridge.domain.ChatRoom;
+import com.linked.classbridge.domain.User;
+import com.linked.classbridge.repository.ChatRoomRepository;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountReconcilerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    private InMemoryUnreadCountStore unreadCountStore;
+
+    private UnreadCountReconciler unreadCountReconciler;
+
+    private ChatRoom chatRoom;
+
+    @BeforeEach
+    void setUp() {
+        unreadCountStore = new InMemoryUnreadCountStore();
+        unreadCountReconciler = new UnreadCountReconciler(mongoTemplate, chatRoomRepository, unreadCountStore, 2);
+        chatRoom = ChatRoom.builder()
+                .chatRoomId(1L)
+                .initiatedBy(User.builder().userId(10L).build())
+                .initiatedTo(User.builder().userId(20L).build())
+                .build();
+    }
+
+    @Test
+    void reconcile_correctsDriftedCountersAndRemovesStaleOnes() {
+        // given: 20번 사용자는 실제로 3개를 안 읽었고, 10번 사용자 카운터와 삭제된 채팅방 카운터는 남아 있으면 안 된다.
+        unreadCountStore.increment(1L, 20L);
+        unreadCountStore.increment(1L, 10L);
+        unreadCountStore.increment(9L, 10L);
+        given(chatRoomRepository.findAllById(any())).willReturn(List.of(chatRoom));
+        given(mongoTemplate.aggregate(any(Aggregation.class), eq(ChatMessage.class), eq(Document.class)))
+                .willReturn(unread(1L, 10L, 3));
+
+        // when
+        unreadCountReconciler.reconcile();
+
+        // then
+        assertEquals(3, unreadCountStore.getCount(1L, 20L));
+        assertEquals(List.of(new UnreadCountStore.Key(1L, 20L)), unreadCountStore.findCounters(null, 10).stream()
+                .map(UnreadCountStore.Counter::key)
+                .toList());
+    }
+
+    @Test
+    void reconcile_keepsIncrementsMadeWhileCounting() {
+        // given: 집계하는 사이에 새 메시지가 도착해 카운터가 증가한다.
+        unreadCountStore.increment(1L, 20L);
+        given(chatRoomRepository.findAllById(any())).willReturn(List.of(chatRoom));
+        given(mongoTemplate.aggregate(any(Aggregation.class), eq(ChatMessage.class), eq(Document.class)))
+                .willAnswer(invocation -> {
+                    unreadCountStore.increment(1L, 20L);
+                    return unread(1L, 10L, 5);
+                });
+
+        // when
+        unreadCountReconciler.reconcile();
+
+        // then: 집계 결과로 덮어쓰지 않고 다음 재집계로 넘긴다.
+        assertEquals(2, unreadCountStore.getCount(1L, 20L));
+    }
+
+    @Test
+    void backfill_createsOnlyMissingCounters() {
+        // given
+        unreadCountStore.increment(1L, 10L);
+        given(chatRoomRepository.findByChatRoomIdGreaterThanOrderByChatRoomIdAsc(anyLong(), any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(chatRoom)));
+        given(mongoTemplate.aggregate(any(Aggregation.class), eq(ChatMessage.class), eq(Document.class)))
+                .willReturn(new AggregationResults<>(List.of(
+                        group(1L, 10L, 4),
+                        group(1L, 20L, 7)), new Document()));
+
+        // when
+        int created = unreadCountReconciler.backfill();
+
+        // then
+        assertEquals(1, created);
+        assertEquals(1, unreadCountStore.getCount(1L, 10L));
+        assertEquals(4, unreadCountStore.getCount(1L, 20L));
+    }
+
+    private AggregationResults<Document> unread(Long chatRoomId, Long senderId, int count) {
+        return new AggregationResults<>(List.of(group(chatRoomId, senderId, count)), new Document());
+    }
+
+    private Document group(Long chatRoomId, Long senderId, int count) {
+        return new Document("_id", new Document("chatRoomId", chatRoomId).append("senderId", senderId))
+                .append("count", count);
+    }
+}
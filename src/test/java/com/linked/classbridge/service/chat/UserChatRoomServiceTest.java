@@ -1,15 +1,11 @@
 package com.linked.classbridge.service.chat;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import com.linked.classbridge.domain.ChatRoom;
 import com.linked.classbridge.domain.User;
 import com.linked.classbridge.domain.UserChatRoom;
 import com.linked.classbridge.repository.UserChatRoomRepository;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -59,55 +55,4 @@ class UserChatRoomServiceTest {
 
         verify(userChatRoomRepository).delete(userChatRoom);
     }
-
-    @Test
-    void leaveAllChatRoomsByEmail() {
-
-        userChatRoomService.leaveAllChatRoomsByEmail(user);
-
-        verify(userChatRoomRepository).updateIsOnlineByUser_Email(user.getEmail(), false);
-    }
-
-    @Test
-    void setUserToOnline() {
-        // given
-        userChatRoom = UserChatRoom.builder()
-                .user(user)
-                .chatRoom(chatRoom)
-                .isOnline(false)
-                .build();
-
-        List<UserChatRoom> userChatRooms = List.of(userChatRoom);
-
-        when(userChatRoomRepository.save(userChatRoom)).thenReturn(userChatRoom);
-
-        // when
-        userChatRoomService.setUserToOnline(user, userChatRooms);
-
-        // then
-        assertTrue(userChatRoom.isOnline());
-        verify(userChatRoomRepository).save(userChatRoom);
-    }
-
-    @Test
-    void setUSerOffline() {
-        // given
-        userChatRoom = UserChatRoom.builder()
-                .user(user)
-                .chatRoom(chatRoom)
-                .isOnline(true)
-                .build();
-
-        List<UserChatRoom> userChatRooms = List.of(userChatRoom);
-
-        when(userChatRoomRepository.save(userChatRoom)).thenReturn(userChatRoom);
-
-        // when
-        userChatRoomService.setUserToOffline(user, userChatRooms);
-
-        // then
-        assertFalse(userChatRoom.isOnline());
-        verify(userChatRoomRepository).save(userChatRoom);
-    }
-
-}
\ No newline at end of file
+}
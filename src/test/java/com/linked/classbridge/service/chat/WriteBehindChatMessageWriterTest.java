@@ -0,0 +1,194 @@
+package com.linked.classbridge.service.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linked.classbridge.domain.ChatMessage;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+class WriteBehindChatMessageWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+
+    private MongoTemplate mongoTemplate;
+
+    private final List<WriteBehindChatMessageWriter> writers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        mongoTemplate = mock(MongoTemplate.class);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (WriteBehindChatMessageWriter writer : writers) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void write_persistsQueuedMessagesInOneBatch() throws InterruptedException {
+        // given: 첫 번째 batch 저장이 끝나지 않은 동안 메시지가 쌓인다.
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> {
+            Collection<?> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            if (batchSizes.size() == 1) {
+                firstInsertStarted.countDown();
+                releaseFirstInsert.await(5, TimeUnit.SECONDS);
+            }
+            return batch;
+        }).given(mongoTemplate).insert(anyCollection(), eq(ChatMessage.class));
+        WriteBehindChatMessageWriter writer = start(3);
+
+        // when
+        writer.write(chatMessage("1"));
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+        writer.write(chatMessage("2"));
+        writer.write(chatMessage("3"));
+        writer.write(chatMessage("4"));
+        releaseFirstInsert.countDown();
+
+        // then
+        verify(mongoTemplate, timeout(5000).times(2)).insert(anyCollection(), eq(ChatMessage.class));
+        assertEquals(List.of(1, 3), batchSizes);
+    }
+
+    @Test
+    void flush_waitsForBatchBeingPersisted() throws Exception {
+        // given
+        CountDownLatch insertStarted = new CountDownLatch(1);
+        CountDownLatch releaseInsert = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            insertStarted.countDown();
+            releaseInsert.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        }).given(mongoTemplate).insert(anyCollection(), eq(ChatMessage.class));
+        WriteBehindChatMessageWriter writer = start(10);
+        writer.write(chatMessage("1"));
+        assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+
+        // when
+        CompletableFuture<Void> flushed = CompletableFuture.runAsync(writer::flush);
+
+        // then
+        Thread.sleep(100);
+        assertFalse(flushed.isDone());
+        releaseInsert.countDown();
+        flushed.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void write_retriesFailedBatch() throws InterruptedException {
+        // given: 첫 시도는 실패하고 두 번째 시도는 성공한다.
+        given(mongoTemplate.insert(anyCollection(), eq(ChatMessage.class)))
+                .willThrow(new DataAccessResourceFailureException("mongo unavailable"))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        WriteBehindChatMessageWriter writer = start(10);
+
+        // when
+        writer.write(chatMessage("1"));
+        writer.flush();
+        writer.stop();
+        writers.remove(writer);
+
+        // then: 저장이 끝났으므로 재시작해도 복구할 메시지가 없다.
+        verify(mongoTemplate, times(2)).insert(anyCollection(), eq(ChatMessage.class));
+        MongoTemplate restartedMongoTemplate = mock(MongoTemplate.class);
+        start(restartedMongoTemplate, 10);
+        verify(restartedMongoTemplate, never()).save(any(ChatMessage.class));
+    }
+
+    @Test
+    void write_savesOneByOneWhenPartOfBatchAlreadyExists() throws InterruptedException {
+        // given: 이전 시도에서 일부가 이미 저장되었다.
+        given(mongoTemplate.insert(anyCollection(), eq(ChatMessage.class)))
+                .willThrow(new DuplicateKeyException("duplicate id"));
+        WriteBehindChatMessageWriter writer = start(10);
+
+        // when
+        writer.write(chatMessage("1"));
+        writer.flush();
+
+        // then
+        verify(mongoTemplate, timeout(5000)).save(argThat((ChatMessage message) -> "1".equals(message.getId())));
+    }
+
+    @Test
+    void start_replaysMessagesLeftInWriteAheadLogAfterRestart() throws InterruptedException {
+        // given: 저장을 모두 실패한 채 서버가 내려간다.
+        given(mongoTemplate.insert(anyCollection(), eq(ChatMessage.class)))
+                .willThrow(new DataAccessResourceFailureException("mongo unavailable"));
+        WriteBehindChatMessageWriter writer = start(10);
+        writer.write(chatMessage("1"));
+        writer.write(chatMessage("2"));
+        writer.flush();
+        writer.stop();
+        writers.remove(writer);
+
+        // when
+        MongoTemplate restartedMongoTemplate = mock(MongoTemplate.class);
+        start(restartedMongoTemplate, 10);
+
+        // then
+        verify(restartedMongoTemplate).save(argThat((ChatMessage message) -> "1".equals(message.getId())));
+        verify(restartedMongoTemplate).save(argThat((ChatMessage message) -> "2".equals(message.getId())));
+    }
+
+    private WriteBehindChatMessageWriter start(int batchSize) {
+        return start(mongoTemplate, batchSize);
+    }
+
+    private WriteBehindChatMessageWriter start(MongoTemplate mongoTemplate, int batchSize) {
+        WriteBehindChatMessageWriter writer = new WriteBehindChatMessageWriter(mongoTemplate, objectMapper,
+                directory.toString(), 100, 100, batchSize, 10, 100, 5000);
+        writer.start();
+        writers.add(writer);
+        return writer;
+    }
+
+    private ChatMessage chatMessage(String id) {
+        return ChatMessage.builder()
+                .id(id)
+                .chatRoomId(1L)
+                .senderId(2L)
+                .message("message " + id)
+                .sendTime(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .isRead(false)
+                .build();
+    }
+}
@@ -0,0 +1,245 @@
+package com.linked.classbridge.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+class StripedChannelExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StripedChannelExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new StripedChannelExecutor("testChannel", 8, false, 8, 10000, meterRegistry);
+        executor.setCorePoolSize(8);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void keepOrderWithinChatRoom() throws InterruptedException {
+        // given
+        int count = 500;
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(count);
+
+        // when
+        for (int i = 0; i < count; i++) {
+            int sequence = i;
+            executor.execute(task("/app/send/1", "session-" + (i % 5), () -> {
+                processed.add(sequence);
+                latch.countDown();
+            }));
+        }
+
+        // then
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, processed.get(i));
+        }
+    }
+
+    @Test
+    void stripeByChatRoomThenSession() {
+        // given
+        Runnable room1FromA = task("/app/send/1", "session-a", () -> {});
+        Runnable room1FromB = task("/app/send/1", "session-b", () -> {});
+        Runnable readFromA = task("/app/read/abc", "session-a", () -> {});
+
+        // when & then
+        assertEquals(1L, StripedChannelExecutor.keyOf(room1FromA));
+        assertEquals(executor.stripeOf(room1FromA), executor.stripeOf(room1FromB));
+        assertEquals("session-a", StripedChannelExecutor.keyOf(readFromA));
+    }
+
+    @Test
+    void stripeSubscriptionByChatRoom() {
+        // given: StompHandler 가 채팅방 ID 헤더를 붙인 SUBSCRIBE
+        Runnable subscribe = task(null, "session-a", Map.of(StripedChannelExecutor.CHAT_ROOM_ID_HEADER, 1L),
+                () -> {});
+        Runnable room1FromB = task("/app/send/1", "session-b", () -> {});
+
+        // when & then
+        assertEquals(1L, StripedChannelExecutor.keyOf(subscribe));
+        assertEquals(executor.stripeOf(room1FromB), executor.stripeOf(subscribe));
+    }
+
+    @Test
+    void disconnectAfterPendingSubscribeOnChatRoomStripe() throws InterruptedException {
+        // given: 채팅방 1 스트라이프와 다른 스트라이프에 놓이는 세션
+        Runnable room1 = task("/app/send/1", "session-x", () -> {});
+        String sessionId = IntStream.range(0, 100)
+                .mapToObj(i -> "session-" + i)
+                .filter(id -> executor.stripeOf(task(null, id, () -> {})) != executor.stripeOf(room1))
+                .findFirst()
+                .orElseThrow();
+        List<String> processed = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(task("/app/send/1", "session-other", () -> {
+            started.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(task(null, sessionId, Map.of(StripedChannelExecutor.CHAT_ROOM_ID_HEADER, 1L),
+                () -> processed.add("subscribe")));
+
+        // when
+        Map<String, Object> subscribedChatRooms =
+                Map.of(StripedChannelExecutor.SESSION_CHAT_ROOM_IDS_HEADER, List.of(1L));
+        executor.execute(task(null, sessionId, subscribedChatRooms, () -> {
+            processed.add("disconnect");
+            done.countDown();
+        }));
+
+        // then: 채팅방 스트라이프가 막혀 있는 동안 DISCONNECT 는 처리되지 않는다.
+        assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("subscribe", "disconnect"), processed);
+    }
+
+    @Test
+    void recordMetrics() throws InterruptedException {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // when
+        executor.execute(task("/app/send/1", "session-a", latch::countDown));
+
+        // then
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(meterRegistry.find(StripedChannelExecutor.QUEUE_DEPTH)
+                .tag("channel", "testChannel").gauge() != null);
+        assertTrue(meterRegistry.find(StripedChannelExecutor.QUEUE_LATENCY)
+                .tag("channel", "testChannel").timer() != null);
+    }
+
+    @Test
+    void rejectWhenStripeQueueIsFull() throws InterruptedException {
+        // given: 스트라이프당 대기 작업 2개 (queueCapacity 16 / stripe 8)
+        StripedChannelExecutor bounded = new StripedChannelExecutor("boundedChannel", 8, false, 8, 16,
+                meterRegistry);
+        bounded.initialize();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            bounded.execute(task("/app/send/1", "session-a", () -> {
+                started.countDown();
+                awaitQuietly(release);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            bounded.execute(task("/app/send/1", "session-a", () -> {}));
+            bounded.execute(task("/app/send/1", "session-a", () -> {}));
+
+            // when & then
+            assertThrows(TaskRejectedException.class,
+                    () -> bounded.execute(task("/app/send/1", "session-a", () -> {})));
+            assertEquals(1.0, meterRegistry.find(StripedChannelExecutor.REJECTED)
+                    .tag("channel", "boundedChannel").counter().count());
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void limitPoolThreadsToMaxPoolSize() throws InterruptedException {
+        // given: 스트라이프는 8개지만 풀 스레드는 2개까지만 만든다. 나머지는 제출한 스레드가 직접 실행한다.
+        StripedChannelExecutor limited = new StripedChannelExecutor("limitedChannel", 8, false, 2, 10000,
+                meterRegistry);
+        limited.setCorePoolSize(1);
+        limited.initialize();
+        Set<String> poolThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(8);
+        try {
+            // when
+            for (int chatRoomId = 0; chatRoomId < 8; chatRoomId++) {
+                Runnable task = task("/app/send/" + chatRoomId, "session-a", () -> {
+                    String threadName = Thread.currentThread().getName();
+                    if (threadName.startsWith("limitedChannel-")) {
+                        poolThreads.add(threadName);
+                    }
+                    awaitQuietly(new CountDownLatch(1), 50);
+                    done.countDown();
+                });
+                new Thread(() -> limited.execute(task)).start();
+            }
+
+            // then
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(poolThreads.size() <= 2);
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        awaitQuietly(latch, 5000);
+    }
+
+    private void awaitQuietly(CountDownLatch latch, long timeoutMs) {
+        try {
+            latch.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Runnable task(String destination, String sessionId, Runnable body) {
+        return task(destination, sessionId, Map.of(), body);
+    }
+
+    private Runnable task(String destination, String sessionId, Map<String, Object> headers, Runnable body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setDestination(destination);
+        accessor.setSessionId(sessionId);
+        headers.forEach(accessor::setHeader);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        return new MessageHandlingRunnable() {
+            @Override
+            public Message<?> getMessage() {
+                return message;
+            }
+
+            @Override
+            public MessageHandler getMessageHandler() {
+                return m -> {};
+            }
+
+            @Override
+            public void run() {
+                body.run();
+            }
+        };
+    }
+}